@@ -59,6 +59,7 @@ public class YangModuleInfoCompilationTest {
     private static final File GENERATOR_OUTPUT_DIR = new File(GENERATOR_OUTPUT_PATH);
     private static final String COMPILER_OUTPUT_PATH = TEST_PATH + FS + "bin";
     private static final File COMPILER_OUTPUT_DIR = new File(COMPILER_OUTPUT_PATH);
+    private static final File RESOURCE_OUTPUT_DIR = new File(TEST_PATH + FS + "resources");
 
     @BeforeClass
     public static void createTestDirs() {
@@ -148,6 +149,7 @@ public class YangModuleInfoCompilationTest {
         final EffectiveModelContext context = YangParserTestUtils.parseYangFiles(sourceFiles);
         CodeGeneratorImpl codegen = new CodeGeneratorImpl();
         codegen.setBuildContext(new DefaultBuildContext());
+        codegen.setResourceBaseDir(RESOURCE_OUTPUT_DIR);
         codegen.generateSources(context, sourcesOutputDir, Set.copyOf(context.getModules()),
             module -> Optional.of(resourceDirPath + File.separator + module.getName()
             + YangConstants.RFC6020_YANG_FILE_EXTENSION));
@@ -159,7 +161,7 @@ public class YangModuleInfoCompilationTest {
         final EffectiveModelContext context = YangParserTestUtils.parseYangFiles(sourceFiles);
         CodeGeneratorImpl codegen = new CodeGeneratorImpl();
         codegen.setBuildContext(new DefaultBuildContext());
-        codegen.setResourceBaseDir(null);
+        codegen.setResourceBaseDir(RESOURCE_OUTPUT_DIR);
         codegen.setMavenProject(new MavenProject());
         codegen.setAdditionalConfig(ImmutableMap.of("test", "test"));
         Collection<File> files = codegen.generateSources(context, null, Set.copyOf(context.getModules()),
@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.api.query;
+
+import com.google.common.annotations.Beta;
+import org.opendaylight.yangtools.concepts.Immutable;
+
+/**
+ * An opaque aggregation over the results of a {@link QueryExpression}. Executing an aggregation yields a single value
+ * computed from the objects matched by the expression, without the objects themselves being made available. This
+ * allows implementations to evaluate the aggregation without instantiating the matched objects.
+ *
+ * <p>
+ * Instances are created through {@link QueryFactory} and executed via {@link QueryExecutor#executeAggregate(
+ * QueryAggregate)}. Implementations of this interface are expected to be effectively-immutable and therefore
+ * thread-safe and reusable.
+ *
+ * @param <R> Aggregation result type
+ */
+@Beta
+public interface QueryAggregate<R> extends Immutable {
+
+}
@@ -15,4 +15,14 @@ import org.opendaylight.yangtools.yang.binding.DataObject;
 public interface QueryExecutor {
 
     <T extends DataObject> ListenableFuture<? extends QueryResult<T>> executeQuery(QueryExpression<T> query);
+
+    /**
+     * Execute a {@link QueryAggregate}. Implementations are expected to evaluate the aggregation without instantiating
+     * the objects matched by the underlying query.
+     *
+     * @param <R> Aggregation result type
+     * @param aggregate Aggregation to execute
+     * @return A future completing with the aggregation result
+     */
+    <R> ListenableFuture<R> executeAggregate(QueryAggregate<R> aggregate);
 }
@@ -8,12 +8,21 @@
 package org.opendaylight.mdsal.binding.api.query;
 
 import com.google.common.annotations.Beta;
+import java.util.Optional;
+import java.util.Set;
 import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.mdsal.binding.api.query.MatchBuilderPath.LeafReference;
 import org.opendaylight.yangtools.yang.binding.DataObject;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 
 /**
- * Primary entry point to creating {@link QueryExpression} instances.
+ * Primary entry point to creating {@link QueryExpression} and {@link QueryAggregate} instances.
+ *
+ * <p>
+ * Aggregates over leaf values are evaluated without instantiating binding objects, hence they are limited to leaves
+ * whose value is not subject to a value codec, i.e. the leaf's getter returns a {@link String}, a {@link Boolean},
+ * a {@link java.math.BigDecimal} or a signed or unsigned integer type. Leaves of other types, such as enumerations or
+ * typedefs, are rejected with a {@link QueryStructureException}.
  */
 @Beta
 public interface QueryFactory {
@@ -30,4 +39,66 @@ public interface QueryFactory {
      * @throws NullPointerException if rootPath is null
      */
     <T extends DataObject> @NonNull DescendantQueryBuilder<T> querySubtree(InstanceIdentifier<T> rootPath);
+
+    /**
+     * Create a {@link QueryAggregate} counting the objects matched by a query.
+     *
+     * @param <T> Query result type
+     * @param query Query to aggregate
+     * @return A count aggregate
+     * @throws IllegalArgumentException if query was not created by this factory
+     * @throws NullPointerException if query is null
+     */
+    <T extends DataObject> @NonNull QueryAggregate<Long> count(QueryExpression<T> query);
+
+    /**
+     * Create a {@link QueryAggregate} collecting the distinct values of a leaf of objects matched by a query. Objects
+     * which do not have the leaf present are ignored.
+     *
+     * @param <T> Query result type
+     * @param <V> Leaf value type
+     * @param query Query to aggregate
+     * @param methodRef method reference to the leaf's getter method
+     * @return A distinct aggregate
+     * @throws IllegalArgumentException if query was not created by this factory
+     * @throws NullPointerException if any argument is null
+     * @throws QueryStructureException if methodRef does not refer to a leaf of query result type, or if the leaf's
+     *         type is not supported for aggregation
+     */
+    <T extends DataObject, V extends Comparable<V>> @NonNull QueryAggregate<Set<V>> distinct(
+        QueryExpression<T> query, LeafReference<T, V> methodRef);
+
+    /**
+     * Create a {@link QueryAggregate} finding the minimum value of a leaf of objects matched by a query. Objects which
+     * do not have the leaf present are ignored.
+     *
+     * @param <T> Query result type
+     * @param <V> Leaf value type
+     * @param query Query to aggregate
+     * @param methodRef method reference to the leaf's getter method
+     * @return A minimum aggregate, empty if there are no matching leaves
+     * @throws IllegalArgumentException if query was not created by this factory
+     * @throws NullPointerException if any argument is null
+     * @throws QueryStructureException if methodRef does not refer to a leaf of query result type, or if the leaf's
+     *         type is not supported for aggregation
+     */
+    <T extends DataObject, V extends Comparable<V>> @NonNull QueryAggregate<Optional<V>> min(
+        QueryExpression<T> query, LeafReference<T, V> methodRef);
+
+    /**
+     * Create a {@link QueryAggregate} finding the maximum value of a leaf of objects matched by a query. Objects which
+     * do not have the leaf present are ignored.
+     *
+     * @param <T> Query result type
+     * @param <V> Leaf value type
+     * @param query Query to aggregate
+     * @param methodRef method reference to the leaf's getter method
+     * @return A maximum aggregate, empty if there are no matching leaves
+     * @throws IllegalArgumentException if query was not created by this factory
+     * @throws NullPointerException if any argument is null
+     * @throws QueryStructureException if methodRef does not refer to a leaf of query result type, or if the leaf's
+     *         type is not supported for aggregation
+     */
+    <T extends DataObject, V extends Comparable<V>> @NonNull QueryAggregate<Optional<V>> max(
+        QueryExpression<T> query, LeafReference<T, V> methodRef);
 }
@@ -7,18 +7,19 @@
  */
 package org.opendaylight.mdsal.binding.dom.adapter;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import com.google.common.annotations.VisibleForTesting;
 import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.Map.Entry;
 import org.opendaylight.mdsal.binding.api.DataTreeIdentifier;
 import org.opendaylight.mdsal.binding.api.DataTreeWriteCursor;
+import org.opendaylight.mdsal.binding.dom.codec.api.BindingDataObjectCodecTreeNode;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteCursor;
 import org.opendaylight.yangtools.yang.binding.DataObject;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
-import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
 final class BindingDOMDataTreeWriteCursorAdapter<T extends DOMDataTreeWriteCursor>
         extends AbstractBindingAdapter<T> implements DataTreeWriteCursor {
@@ -38,15 +39,22 @@ final class BindingDOMDataTreeWriteCursorAdapter<T extends DOMDataTreeWriteCurso
         return ret.getLastPathArgument();
     }
 
-    private <P extends DataObject> Entry<YangInstanceIdentifier, NormalizedNode<?, ?>> convertToNormalized(
-            final PathArgument child, final P data) {
+    private <P extends DataObject> void writeNormalized(final PathArgument child, final P data,
+            final boolean merge) {
         stack.push(child);
         final InstanceIdentifier<?> iid = InstanceIdentifier.create(stack);
-        @SuppressWarnings({ "unchecked", "rawtypes" })
-        final Entry<YangInstanceIdentifier, NormalizedNode<?, ?>> entry = currentSerializer().toNormalizedNode(
-            (InstanceIdentifier) iid, data);
         stack.pop();
-        return entry;
+
+        @SuppressWarnings("unchecked")
+        final BindingDataObjectCodecTreeNode<P> codec = (BindingDataObjectCodecTreeNode<P>) currentSerializer()
+            .getSubtreeCodec(iid);
+        checkArgument(codec != null, "Cannot find codec for %s", iid);
+
+        // Stream the data into the cursor, so that we do not need to instantiate the entire NormalizedNode tree.
+        // Closing the writer restores the cursor position even if the codec fails.
+        try (CursorNormalizedNodeStreamWriter writer = new CursorNormalizedNodeStreamWriter(getDelegate(), merge)) {
+            codec.writeAsNormalizedNode(data, writer);
+        }
     }
 
     @Override
@@ -56,14 +64,12 @@ final class BindingDOMDataTreeWriteCursorAdapter<T extends DOMDataTreeWriteCurso
 
     @Override
     public <P extends DataObject> void merge(final PathArgument child, final P data) {
-        final Entry<YangInstanceIdentifier, NormalizedNode<?, ?>> entry = convertToNormalized(child, data);
-        getDelegate().merge(entry.getKey().getLastPathArgument(), entry.getValue());
+        writeNormalized(child, data, true);
     }
 
     @Override
     public <P extends DataObject> void write(final PathArgument child, final P data) {
-        final Entry<YangInstanceIdentifier, NormalizedNode<?, ?>> entry = convertToNormalized(child, data);
-        getDelegate().write(entry.getKey().getLastPathArgument(), entry.getValue());
+        writeNormalized(child, data, false);
     }
 
     @Override
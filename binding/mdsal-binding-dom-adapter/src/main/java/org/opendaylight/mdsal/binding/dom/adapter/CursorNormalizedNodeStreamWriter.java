@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.adapter;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import javax.xml.transform.dom.DOMSource;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteCursor;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+
+/**
+ * A {@link NormalizedNodeStreamWriter} which applies the events it receives to a {@link DOMDataTreeWriteCursor},
+ * positioned at the parent of the first node being written. Containers, unordered maps, choices and augmentations are
+ * written as empty nodes, which are then entered and populated with their children. All other nodes, most notably map
+ * entries, are built as a detached NormalizedNode and written once they are complete. This means that only the node
+ * currently being built is held in memory, as opposed to the entire tree being written. For an unordered map this is
+ * a single entry at a time, but that entry is built together with all of its descendants, including any nested lists.
+ *
+ * <p>
+ * Closing the writer exits all nodes it has entered in the cursor, so that the cursor is left where it was found even
+ * if the stream has been interrupted by an error.
+ */
+final class CursorNormalizedNodeStreamWriter implements NormalizedNodeStreamWriter {
+    private final DOMDataTreeWriteCursor cursor;
+    private final boolean merge;
+
+    // Number of nodes we have entered in the cursor
+    private int entered;
+    // Non-null when we are building a detached node
+    private NormalizedNodeResult result;
+    private NormalizedNodeStreamWriter buffer;
+    // Nesting depth within the detached node
+    private int bufferDepth;
+
+    CursorNormalizedNodeStreamWriter(final DOMDataTreeWriteCursor cursor, final boolean merge) {
+        this.cursor = requireNonNull(cursor);
+        this.merge = merge;
+    }
+
+    @Override
+    public void startLeafNode(final NodeIdentifier name) throws IOException {
+        buffer().startLeafNode(name);
+        bufferDepth++;
+    }
+
+    @Override
+    public void startLeafSet(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        buffer().startLeafSet(name, childSizeHint);
+        bufferDepth++;
+    }
+
+    @Override
+    public void startOrderedLeafSet(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        buffer().startOrderedLeafSet(name, childSizeHint);
+        bufferDepth++;
+    }
+
+    @Override
+    public void startLeafSetEntryNode(final NodeWithValue<?> name) throws IOException {
+        buffer().startLeafSetEntryNode(name);
+        bufferDepth++;
+    }
+
+    @Override
+    public void startContainerNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        if (buffer != null) {
+            buffer.startContainerNode(name, childSizeHint);
+            bufferDepth++;
+        } else {
+            enter(Builders.containerBuilder().withNodeIdentifier(name).build());
+        }
+    }
+
+    @Override
+    public void startUnkeyedList(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        // Unkeyed list entries are not addressable, hence the list needs to be written as a whole
+        buffer().startUnkeyedList(name, childSizeHint);
+        bufferDepth++;
+    }
+
+    @Override
+    public void startUnkeyedListItem(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        buffer().startUnkeyedListItem(name, childSizeHint);
+        bufferDepth++;
+    }
+
+    @Override
+    public void startMapNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        if (buffer != null) {
+            buffer.startMapNode(name, childSizeHint);
+            bufferDepth++;
+        } else {
+            enter(Builders.mapBuilder().withNodeIdentifier(name).build());
+        }
+    }
+
+    @Override
+    public void startMapEntryNode(final NodeIdentifierWithPredicates identifier, final int childSizeHint)
+            throws IOException {
+        buffer().startMapEntryNode(identifier, childSizeHint);
+        bufferDepth++;
+    }
+
+    @Override
+    public void startOrderedMapNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        // Entries need to be written together to retain their order
+        buffer().startOrderedMapNode(name, childSizeHint);
+        bufferDepth++;
+    }
+
+    @Override
+    public void startChoiceNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        if (buffer != null) {
+            buffer.startChoiceNode(name, childSizeHint);
+            bufferDepth++;
+        } else {
+            enter(Builders.choiceBuilder().withNodeIdentifier(name).build());
+        }
+    }
+
+    @Override
+    public void startAugmentationNode(final AugmentationIdentifier identifier) throws IOException {
+        if (buffer != null) {
+            buffer.startAugmentationNode(identifier);
+            bufferDepth++;
+        } else {
+            enter(Builders.augmentationBuilder().withNodeIdentifier(identifier).build());
+        }
+    }
+
+    @Override
+    public boolean startAnydataNode(final NodeIdentifier name, final Class<?> objectModel) throws IOException {
+        final boolean ret = buffer().startAnydataNode(name, objectModel);
+        if (ret) {
+            bufferDepth++;
+        } else {
+            resetBufferIfEmpty();
+        }
+        return ret;
+    }
+
+    @Override
+    public boolean startAnyxmlNode(final NodeIdentifier name, final Class<?> objectModel) throws IOException {
+        final boolean ret = buffer().startAnyxmlNode(name, objectModel);
+        if (ret) {
+            bufferDepth++;
+        } else {
+            resetBufferIfEmpty();
+        }
+        return ret;
+    }
+
+    @Override
+    public void startYangModeledAnyXmlNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        buffer().startYangModeledAnyXmlNode(name, childSizeHint);
+        bufferDepth++;
+    }
+
+    @Override
+    public void domSourceValue(final DOMSource value) throws IOException {
+        checkState(buffer != null, "Value %s outside of a node", value);
+        buffer.domSourceValue(value);
+    }
+
+    @Override
+    public void scalarValue(final Object value) throws IOException {
+        checkState(buffer != null, "Value %s outside of a node", value);
+        buffer.scalarValue(value);
+    }
+
+    @Override
+    public void endNode() throws IOException {
+        if (buffer == null) {
+            checkState(entered > 0, "Unbalanced endNode()");
+            cursor.exit();
+            entered--;
+            return;
+        }
+
+        buffer.endNode();
+        if (--bufferDepth == 0) {
+            buffer.close();
+            final NormalizedNode<?, ?> node = result.getResult();
+            buffer = null;
+            result = null;
+            apply(node);
+        }
+    }
+
+    @Override
+    public void flush() {
+        // No-op
+    }
+
+    @Override
+    public void close() {
+        final boolean complete = buffer == null && entered == 0;
+        for (; entered > 0; entered--) {
+            cursor.exit();
+        }
+        buffer = null;
+        result = null;
+        bufferDepth = 0;
+        checkState(complete, "Writer closed with an incomplete node");
+    }
+
+    private NormalizedNodeStreamWriter buffer() {
+        if (buffer == null) {
+            result = new NormalizedNodeResult();
+            buffer = ImmutableNormalizedNodeStreamWriter.from(result);
+        }
+        return buffer;
+    }
+
+    private void resetBufferIfEmpty() {
+        if (bufferDepth == 0) {
+            buffer = null;
+            result = null;
+        }
+    }
+
+    private void enter(final NormalizedNode<?, ?> emptyNode) {
+        apply(emptyNode);
+        cursor.enter(emptyNode.getIdentifier());
+        entered++;
+    }
+
+    private void apply(final NormalizedNode<?, ?> node) {
+        if (merge) {
+            cursor.merge(node.getIdentifier(), node);
+        } else {
+            cursor.write(node.getIdentifier(), node);
+        }
+    }
+}
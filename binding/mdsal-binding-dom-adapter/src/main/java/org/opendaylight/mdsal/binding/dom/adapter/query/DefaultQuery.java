@@ -15,14 +15,21 @@ import org.opendaylight.mdsal.binding.api.query.QueryExpression;
 import org.opendaylight.mdsal.dom.api.query.DOMQuery;
 import org.opendaylight.mdsal.dom.api.query.DOMQueryLike;
 import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 
 final class DefaultQuery<T extends DataObject> implements QueryExpression<T>, DOMQueryLike {
+    private final @NonNull InstanceIdentifier<T> select;
     private final @NonNull DOMQuery domQuery;
 
-    DefaultQuery(final DOMQuery domQuery) {
+    DefaultQuery(final InstanceIdentifier<T> select, final DOMQuery domQuery) {
+        this.select = requireNonNull(select);
         this.domQuery = requireNonNull(domQuery);
     }
 
+    @NonNull InstanceIdentifier<T> selectPath() {
+        return select;
+    }
+
     @Override
     public DOMQuery asDOMQuery() {
         return domQuery;
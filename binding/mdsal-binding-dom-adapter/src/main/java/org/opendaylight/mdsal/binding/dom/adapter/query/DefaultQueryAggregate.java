@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.adapter.query;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.mdsal.binding.api.query.QueryAggregate;
+import org.opendaylight.mdsal.dom.api.query.DOMQueryAggregate;
+import org.opendaylight.mdsal.dom.api.query.DOMQueryAggregateLike;
+
+final class DefaultQueryAggregate<R> implements QueryAggregate<R>, DOMQueryAggregateLike<R> {
+    private final @NonNull DOMQueryAggregate<R> domAggregate;
+
+    DefaultQueryAggregate(final DOMQueryAggregate<R> domAggregate) {
+        this.domAggregate = requireNonNull(domAggregate);
+    }
+
+    @Override
+    public DOMQueryAggregate<R> asDOMQueryAggregate() {
+        return domAggregate;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("dom", domAggregate).toString();
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.adapter.query;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.Map.Entry;
+import java.util.stream.Collector;
+import org.opendaylight.mdsal.binding.api.query.QueryAggregate;
+import org.opendaylight.mdsal.binding.api.query.QueryExecutor;
+import org.opendaylight.mdsal.binding.api.query.QueryExpression;
+import org.opendaylight.mdsal.binding.api.query.QueryResult;
+import org.opendaylight.mdsal.binding.dom.codec.api.BindingNormalizedNodeSerializer;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeReadOperations;
+import org.opendaylight.mdsal.dom.api.query.DOMQuery;
+import org.opendaylight.mdsal.dom.api.query.DOMQueryAggregate;
+import org.opendaylight.mdsal.dom.spi.query.DOMQueryEvaluator;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * A {@link QueryExecutor} evaluating queries on data read from a {@link DOMDataTreeReadOperations}, such as a DOM
+ * read transaction, using {@link DOMQueryEvaluator}. Aggregates are evaluated on the DOM data, without decoding
+ * the matched objects.
+ */
+@Beta
+public final class DefaultQueryExecutor implements QueryExecutor {
+    private final BindingNormalizedNodeSerializer serializer;
+    private final DOMDataTreeReadOperations delegate;
+    private final LogicalDatastoreType datastore;
+
+    public DefaultQueryExecutor(final BindingNormalizedNodeSerializer serializer,
+            final DOMDataTreeReadOperations delegate, final LogicalDatastoreType datastore) {
+        this.serializer = requireNonNull(serializer);
+        this.delegate = requireNonNull(delegate);
+        this.datastore = requireNonNull(datastore);
+    }
+
+    @Override
+    public <T extends DataObject> ListenableFuture<? extends QueryResult<T>> executeQuery(
+            final QueryExpression<T> query) {
+        checkArgument(requireNonNull(query) instanceof DefaultQuery, "Unsupported query %s", query);
+        final InstanceIdentifier<T> select = ((DefaultQuery<T>) query).selectPath();
+        final DOMQuery domQuery = ((DefaultQuery<T>) query).asDOMQuery();
+
+        return Futures.transform(delegate.read(datastore, domQuery.getRoot()), data -> {
+            final ImmutableList.Builder<T> builder = ImmutableList.builder();
+            data.ifPresent(root -> {
+                for (Entry<YangInstanceIdentifier, NormalizedNode<?, ?>> match
+                        : DOMQueryEvaluator.evaluate(domQuery, root)) {
+                    builder.add(select.getTargetType().cast(
+                        serializer.fromNormalizedNode(match.getKey(), match.getValue()).getValue()));
+                }
+            });
+            final ImmutableList<T> values = builder.build();
+            return (QueryResult<T>) values::spliterator;
+        }, MoreExecutors.directExecutor());
+    }
+
+    @Override
+    public <R> ListenableFuture<R> executeAggregate(final QueryAggregate<R> aggregate) {
+        checkArgument(requireNonNull(aggregate) instanceof DefaultQueryAggregate, "Unsupported aggregate %s",
+            aggregate);
+        final DOMQueryAggregate<R> domAggregate = ((DefaultQueryAggregate<R>) aggregate).asDOMQueryAggregate();
+
+        return Futures.transform(delegate.read(datastore, domAggregate.getQuery().getRoot()),
+            data -> data.isPresent() ? DOMQueryEvaluator.evaluate(domAggregate, data.get())
+                : emptyResult(domAggregate.collector()),
+            MoreExecutors.directExecutor());
+    }
+
+    // Result of an aggregation which did not match anything, for when the query root does not exist
+    private static <A, R> R emptyResult(final Collector<Object, A, R> collector) {
+        return collector.finisher().apply(collector.supplier().get());
+    }
+}
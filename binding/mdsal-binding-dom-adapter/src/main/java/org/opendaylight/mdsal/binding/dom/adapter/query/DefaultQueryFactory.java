@@ -7,23 +7,58 @@
  */
 package org.opendaylight.mdsal.binding.dom.adapter.query;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.base.Verify.verify;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.Beta;
+import com.google.common.collect.ImmutableSet;
+import java.math.BigDecimal;
+import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.Set;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import org.eclipse.jdt.annotation.NonNull;
 import org.kohsuke.MetaInfServices;
 import org.opendaylight.mdsal.binding.api.query.DescendantQueryBuilder;
+import org.opendaylight.mdsal.binding.api.query.MatchBuilderPath.LeafReference;
+import org.opendaylight.mdsal.binding.api.query.QueryAggregate;
+import org.opendaylight.mdsal.binding.api.query.QueryExpression;
 import org.opendaylight.mdsal.binding.api.query.QueryFactory;
+import org.opendaylight.mdsal.binding.api.query.QueryStructureException;
+import org.opendaylight.mdsal.binding.dom.adapter.query.LambdaDecoder.LambdaTarget;
 import org.opendaylight.mdsal.binding.dom.codec.api.BindingCodecTree;
+import org.opendaylight.mdsal.binding.dom.codec.api.BindingDataObjectCodecTreeNode;
+import org.opendaylight.mdsal.dom.api.query.DOMQuery;
+import org.opendaylight.mdsal.dom.api.query.DOMQueryAggregate.Count;
+import org.opendaylight.mdsal.dom.api.query.DOMQueryAggregate.Distinct;
+import org.opendaylight.mdsal.dom.api.query.DOMQueryAggregate.Max;
+import org.opendaylight.mdsal.dom.api.query.DOMQueryAggregate.Min;
 import org.opendaylight.yangtools.yang.binding.DataObject;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.common.Uint16;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.common.Uint64;
+import org.opendaylight.yangtools.yang.common.Uint8;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DocumentedNode.WithStatus;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
 
 @Beta
 @MetaInfServices
 @Singleton
 public final class DefaultQueryFactory implements QueryFactory {
+    // Leaf value types whose binding representation is the same as their DOM representation. Aggregates produce
+    // DOM values, hence they can only be supported for these.
+    private static final ImmutableSet<Class<?>> AGGREGATE_VALUE_TYPES = ImmutableSet.of(Boolean.class, Byte.class,
+        Short.class, Integer.class, Long.class, Uint8.class, Uint16.class, Uint32.class, Uint64.class,
+        BigDecimal.class, String.class);
+
     private final BindingCodecTree codec;
 
     public DefaultQueryFactory() {
@@ -39,4 +74,67 @@ public final class DefaultQueryFactory implements QueryFactory {
     public <T extends DataObject> DescendantQueryBuilder<T> querySubtree(final InstanceIdentifier<T> rootPath) {
         return new DefaultDescendantQueryBuilder<>(codec, rootPath);
     }
+
+    @Override
+    public <T extends DataObject> QueryAggregate<Long> count(final QueryExpression<T> query) {
+        return new DefaultQueryAggregate<>(new Count(domQuery(query)));
+    }
+
+    @Override
+    public <T extends DataObject, V extends Comparable<V>> QueryAggregate<Set<V>> distinct(
+            final QueryExpression<T> query, final LeafReference<T, V> methodRef) {
+        return new DefaultQueryAggregate<>(new Distinct<V>(domQuery(query), leafPath(query, methodRef)));
+    }
+
+    @Override
+    public <T extends DataObject, V extends Comparable<V>> QueryAggregate<Optional<V>> min(
+            final QueryExpression<T> query, final LeafReference<T, V> methodRef) {
+        return new DefaultQueryAggregate<>(new Min<V>(domQuery(query), leafPath(query, methodRef)));
+    }
+
+    @Override
+    public <T extends DataObject, V extends Comparable<V>> QueryAggregate<Optional<V>> max(
+            final QueryExpression<T> query, final LeafReference<T, V> methodRef) {
+        return new DefaultQueryAggregate<>(new Max<V>(domQuery(query), leafPath(query, methodRef)));
+    }
+
+    private static @NonNull DOMQuery domQuery(final QueryExpression<?> query) {
+        return checkQuery(query).asDOMQuery();
+    }
+
+    private @NonNull YangInstanceIdentifier leafPath(final QueryExpression<?> query,
+            final LeafReference<?, ?> methodRef) {
+        final InstanceIdentifier<?> select = checkQuery(query).selectPath();
+        final BindingDataObjectCodecTreeNode<?> selectCodec = codec.getSubtreeCodec(select);
+        checkState(selectCodec != null, "Failed to find codec for %s", select);
+
+        final WithStatus selectSchema = selectCodec.getSchema();
+        verify(selectSchema instanceof DataNodeContainer, "Unexpected select schema %s", selectSchema);
+
+        final LambdaTarget targetLeaf = LambdaDecoder.resolveLambda(requireNonNull(methodRef));
+        verify(targetLeaf.targetClass.equals(select.getTargetType().getName()), "Mismatched target %s and path %s",
+            targetLeaf, select);
+        final DataSchemaNode child = QueryBuilderState.findChild((DataNodeContainer) selectSchema,
+            targetLeaf.targetMethod);
+        if (!(child instanceof LeafSchemaNode)) {
+            throw new QueryStructureException("Cannot aggregate non-leaf " + child);
+        }
+
+        final Class<?> valueType;
+        try {
+            valueType = select.getTargetType().getMethod(targetLeaf.targetMethod).getReturnType();
+        } catch (NoSuchMethodException e) {
+            throw new QueryStructureException("Failed to find method for " + targetLeaf, e);
+        }
+        if (!AGGREGATE_VALUE_TYPES.contains(valueType)) {
+            throw new QueryStructureException("Cannot aggregate " + child + " of type " + valueType
+                + ", as its value would require a codec");
+        }
+        return YangInstanceIdentifier.create(new NodeIdentifier(child.getQName()));
+    }
+
+    private static DefaultQuery<?> checkQuery(final QueryExpression<?> query) {
+        checkArgument(requireNonNull(query) instanceof DefaultQuery, "Unsupported query %s", query);
+        return (DefaultQuery<?>) query;
+    }
 }
@@ -8,7 +8,12 @@
 package org.opendaylight.mdsal.binding.dom.adapter.query;
 
 import com.google.common.annotations.Beta;
+import java.util.Optional;
+import java.util.Set;
 import org.opendaylight.mdsal.binding.api.query.DescendantQueryBuilder;
+import org.opendaylight.mdsal.binding.api.query.MatchBuilderPath.LeafReference;
+import org.opendaylight.mdsal.binding.api.query.QueryAggregate;
+import org.opendaylight.mdsal.binding.api.query.QueryExpression;
 import org.opendaylight.mdsal.binding.api.query.QueryFactory;
 import org.opendaylight.mdsal.binding.dom.codec.api.BindingCodecTree;
 import org.opendaylight.yangtools.yang.binding.DataObject;
@@ -35,6 +40,29 @@ public final class OSGiQueryFactory implements QueryFactory {
         return delegate.querySubtree(rootPath);
     }
 
+    @Override
+    public <T extends DataObject> QueryAggregate<Long> count(final QueryExpression<T> query) {
+        return delegate.count(query);
+    }
+
+    @Override
+    public <T extends DataObject, V extends Comparable<V>> QueryAggregate<Set<V>> distinct(
+            final QueryExpression<T> query, final LeafReference<T, V> methodRef) {
+        return delegate.distinct(query, methodRef);
+    }
+
+    @Override
+    public <T extends DataObject, V extends Comparable<V>> QueryAggregate<Optional<V>> min(
+            final QueryExpression<T> query, final LeafReference<T, V> methodRef) {
+        return delegate.min(query, methodRef);
+    }
+
+    @Override
+    public <T extends DataObject, V extends Comparable<V>> QueryAggregate<Optional<V>> max(
+            final QueryExpression<T> query, final LeafReference<T, V> methodRef) {
+        return delegate.max(query, methodRef);
+    }
+
     @Activate
     void activate() {
         delegate = new DefaultQueryFactory(codec);
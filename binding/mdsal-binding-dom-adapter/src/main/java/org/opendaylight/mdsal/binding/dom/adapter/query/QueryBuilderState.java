@@ -48,6 +48,7 @@ final class QueryBuilderState {
 
     private final List<DOMQueryPredicate> predicates = new ArrayList<>();
     private final YangInstanceIdentifier root;
+    private InstanceIdentifier<?> bindingSelect;
     private YangInstanceIdentifier absoluteSelect;
     private YangInstanceIdentifier relativeSelect;
 
@@ -60,6 +61,7 @@ final class QueryBuilderState {
         checkState(root != null, "Root path has not been set yet");
         checkState(relativeSelect == null, "Select path has already been set to %s", relativeSelect);
 
+        bindingSelect = selectPath;
         absoluteSelect = fromBinding(selectPath);
         relativeSelect = absoluteSelect.relativeTo(root)
                 .orElseThrow(() -> new IllegalStateException(root + " is not an ancestor of " + absoluteSelect));
@@ -89,15 +91,17 @@ final class QueryBuilderState {
         predicates.add(requireNonNull(predicate));
     }
 
+    @SuppressWarnings("unchecked")
     <T extends DataObject> @NonNull QueryExpression<T> buildQuery() {
-        return new DefaultQuery<>(new DOMQuery(root, relativeSelect, predicates));
+        return new DefaultQuery<>((InstanceIdentifier<T>) bindingSelect,
+            new DOMQuery(root, relativeSelect, predicates));
     }
 
     private @NonNull YangInstanceIdentifier fromBinding(final InstanceIdentifier<?> bindingId) {
         return codec.getInstanceIdentifierCodec().fromBinding(bindingId);
     }
 
-    private static DataSchemaNode findChild(final DataNodeContainer parent, final String methodName) {
+    static DataSchemaNode findChild(final DataNodeContainer parent, final String methodName) {
         for (DataSchemaNode child : parent.getChildNodes()) {
             if (methodName.equals(BindingSchemaMapping.getGetterMethodName(child))) {
                 return child;
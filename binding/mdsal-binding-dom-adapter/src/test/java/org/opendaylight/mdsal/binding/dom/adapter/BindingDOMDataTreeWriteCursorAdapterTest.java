@@ -8,18 +8,23 @@
 package org.opendaylight.mdsal.binding.dom.adapter;
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import com.google.common.collect.ImmutableList;
-import java.util.AbstractMap.SimpleEntry;
 import java.util.Deque;
 import org.junit.Test;
 import org.opendaylight.mdsal.binding.api.DataTreeIdentifier;
+import org.opendaylight.mdsal.binding.dom.codec.api.BindingDataObjectCodecTreeNode;
 import org.opendaylight.mdsal.binding.dom.codec.spi.BindingDOMCodecServices;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteCursor;
@@ -27,8 +32,10 @@ import org.opendaylight.yangtools.yang.binding.DataObject;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier.Item;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
-import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
 
 public class BindingDOMDataTreeWriteCursorAdapterTest {
     @Test
@@ -53,15 +60,14 @@ public class BindingDOMDataTreeWriteCursorAdapterTest {
         doNothing().when(delegate).delete(any());
         doReturn(YangInstanceIdentifier.empty()).when(registry).toYangInstanceIdentifier(any());
         doNothing().when(delegate).close();
-        final NormalizedNode<?, ?> normalizedNode = mock(NormalizedNode.class);
+        @SuppressWarnings("unchecked")
+        final BindingDataObjectCodecTreeNode<DataObject> codecNode = mock(BindingDataObjectCodecTreeNode.class);
+        doReturn(codecNode).when(registry).getSubtreeCodec(any(InstanceIdentifier.class));
+        doNothing().when(codecNode).writeAsNormalizedNode(any(), any());
 
-        doReturn(new SimpleEntry<YangInstanceIdentifier,NormalizedNode<?,?>>(YangInstanceIdentifier.empty(),
-                normalizedNode)).when(registry).toNormalizedNode(any(), any());
         adapter.write(pathArgument, data);
-        verify(delegate).write(any(), any());
-
         adapter.merge(pathArgument, data);
-        verify(delegate).merge(any(), any());
+        verify(codecNode, times(2)).writeAsNormalizedNode(eq(data), any(CursorNormalizedNodeStreamWriter.class));
 
         adapter.delete(pathArgument);
         verify(delegate).delete(any());
@@ -75,4 +81,31 @@ public class BindingDOMDataTreeWriteCursorAdapterTest {
         adapter.close();
         verify(delegate).close();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void codecFailureTest() throws Exception {
+        final DOMDataTreeWriteCursor delegate = mock(DOMDataTreeWriteCursor.class);
+        final BindingDOMCodecServices registry = mock(BindingDOMCodecServices.class);
+        final BindingDOMDataTreeWriteCursorAdapter<?> adapter = new BindingDOMDataTreeWriteCursorAdapter<>(
+            new ConstantAdapterContext(registry), delegate,
+            DataTreeIdentifier.create(LogicalDatastoreType.OPERATIONAL, InstanceIdentifier.create(DataObject.class)));
+
+        @SuppressWarnings("unchecked")
+        final BindingDataObjectCodecTreeNode<DataObject> codecNode = mock(BindingDataObjectCodecTreeNode.class);
+        doReturn(codecNode).when(registry).getSubtreeCodec(any(InstanceIdentifier.class));
+        final IllegalArgumentException failure = new IllegalArgumentException("codec failure");
+        doAnswer(invocation -> {
+            final NormalizedNodeStreamWriter writer = invocation.getArgument(1);
+            writer.startContainerNode(new NodeIdentifier(QName.create("foo", "foo")), 1);
+            writer.startMapNode(new NodeIdentifier(QName.create("foo", "bar")), 1);
+            throw failure;
+        }).when(codecNode).writeAsNormalizedNode(any(), any());
+
+        // The cursor is returned to its original position
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+            () -> adapter.write(Item.of(DataObject.class), mock(DataObject.class)));
+        assertSame(failure, ex);
+        verify(delegate, times(2)).enter(any(YangInstanceIdentifier.PathArgument.class));
+        verify(delegate, times(2)).exit();
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.adapter;
+
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteCursor;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+@RunWith(MockitoJUnitRunner.StrictStubs.class)
+public class CursorNormalizedNodeStreamWriterTest {
+    private static final QName TOP = QName.create("foo", "top");
+    private static final QName LIST = QName.create(TOP, "list");
+    private static final QName KEY = QName.create(TOP, "key");
+    private static final NodeIdentifier TOP_ID = new NodeIdentifier(TOP);
+    private static final NodeIdentifier LIST_ID = new NodeIdentifier(LIST);
+
+    private static final MapEntryNode ENTRY_ONE = ImmutableNodes.mapEntry(LIST, KEY, "one");
+    private static final MapEntryNode ENTRY_TWO = ImmutableNodes.mapEntry(LIST, KEY, "two");
+    private static final ContainerNode DATA = Builders.containerBuilder().withNodeIdentifier(TOP_ID)
+            .withChild(ImmutableNodes.mapNodeBuilder(LIST).withChild(ENTRY_ONE).withChild(ENTRY_TWO).build())
+            .build();
+
+    @Mock
+    private DOMDataTreeWriteCursor cursor;
+
+    @Test
+    public void testWrite() throws IOException {
+        doNothing().when(cursor).write(any(), any());
+        doNothing().when(cursor).enter(any(NodeIdentifier.class));
+        doNothing().when(cursor).exit();
+
+        stream(false);
+
+        final InOrder inOrder = inOrder(cursor);
+        inOrder.verify(cursor).write(TOP_ID, Builders.containerBuilder().withNodeIdentifier(TOP_ID).build());
+        inOrder.verify(cursor).enter(TOP_ID);
+        inOrder.verify(cursor).write(LIST_ID, ImmutableNodes.mapNodeBuilder(LIST).build());
+        inOrder.verify(cursor).enter(LIST_ID);
+        inOrder.verify(cursor, times(2)).exit();
+        // Map entries are written individually, in no particular order
+        verify(cursor).write(ENTRY_ONE.getIdentifier(), ENTRY_ONE);
+        verify(cursor).write(ENTRY_TWO.getIdentifier(), ENTRY_TWO);
+        verify(cursor, never()).merge(any(), any());
+    }
+
+    @Test
+    public void testMerge() throws IOException {
+        doNothing().when(cursor).merge(any(), any());
+        doNothing().when(cursor).enter(any(NodeIdentifier.class));
+        doNothing().when(cursor).exit();
+
+        stream(true);
+
+        verify(cursor).merge(TOP_ID, Builders.containerBuilder().withNodeIdentifier(TOP_ID).build());
+        verify(cursor).merge(ENTRY_ONE.getIdentifier(), ENTRY_ONE);
+        verify(cursor).merge(ENTRY_TWO.getIdentifier(), ENTRY_TWO);
+        verify(cursor, never()).write(any(), any());
+    }
+
+    @Test
+    public void testCloseIncomplete() throws IOException {
+        doNothing().when(cursor).write(any(), any());
+        doNothing().when(cursor).enter(any(NodeIdentifier.class));
+        doNothing().when(cursor).exit();
+
+        final CursorNormalizedNodeStreamWriter writer = new CursorNormalizedNodeStreamWriter(cursor, false);
+        writer.startContainerNode(TOP_ID, 1);
+        writer.startMapNode(LIST_ID, 2);
+        writer.startMapEntryNode(ENTRY_ONE.getIdentifier(), 1);
+
+        // Entered nodes are exited even though the stream is incomplete
+        assertThrows(IllegalStateException.class, writer::close);
+        verify(cursor, times(2)).exit();
+        verify(cursor, never()).write(ENTRY_ONE.getIdentifier(), ENTRY_ONE);
+    }
+
+    private void stream(final boolean merge) throws IOException {
+        try (CursorNormalizedNodeStreamWriter writer = new CursorNormalizedNodeStreamWriter(cursor, merge)) {
+            NormalizedNodeWriter.forStreamWriter(writer).write(DATA);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.adapter.query;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.mdsal.binding.api.WriteTransaction;
+import org.opendaylight.mdsal.binding.api.query.QueryExecutor;
+import org.opendaylight.mdsal.binding.api.query.QueryExpression;
+import org.opendaylight.mdsal.binding.api.query.QueryFactory;
+import org.opendaylight.mdsal.binding.api.query.QueryStructureException;
+import org.opendaylight.mdsal.binding.dom.adapter.CurrentAdapterSerializer;
+import org.opendaylight.mdsal.binding.dom.adapter.test.AbstractDataBrokerTest;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.Top;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.TopBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.TopLevelList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.TopLevelListBuilder;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+public class DefaultQueryExecutorTest extends AbstractDataBrokerTest {
+    private static final InstanceIdentifier<Top> TOP_PATH = InstanceIdentifier.create(Top.class);
+    private static final TopLevelList FOO = new TopLevelListBuilder().setName("foo").build();
+    private static final TopLevelList BAR = new TopLevelListBuilder().setName("bar").build();
+
+    private CurrentAdapterSerializer serializer;
+    private QueryFactory factory;
+
+    @Before
+    public void before() {
+        serializer = getDataBrokerTestCustomizer().getAdapterContext().currentSerializer();
+        factory = new DefaultQueryFactory(serializer);
+    }
+
+    @Test
+    public void testExecuteAggregates() throws InterruptedException, ExecutionException {
+        writeTop();
+        final QueryExpression<TopLevelList> query = listQuery();
+
+        assertEquals(Long.valueOf(2), executor().executeAggregate(factory.count(query)).get());
+        assertEquals(Set.of("foo", "bar"),
+            executor().executeAggregate(factory.distinct(query, TopLevelList::getName)).get());
+        assertEquals(Optional.of("bar"), executor().executeAggregate(factory.min(query, TopLevelList::getName)).get());
+        assertEquals(Optional.of("foo"), executor().executeAggregate(factory.max(query, TopLevelList::getName)).get());
+    }
+
+    @Test
+    public void testExecuteFilteredAggregate() throws InterruptedException, ExecutionException,
+            QueryStructureException {
+        writeTop();
+        final QueryExpression<TopLevelList> query = factory.querySubtree(TOP_PATH)
+            .extractChild(TopLevelList.class)
+            .matching()
+                .leaf(TopLevelList::getName).valueEquals("foo")
+            .build();
+
+        assertEquals(Long.valueOf(1), executor().executeAggregate(factory.count(query)).get());
+    }
+
+    @Test
+    public void testExecuteAggregateWithoutData() throws InterruptedException, ExecutionException {
+        final QueryExpression<TopLevelList> query = listQuery();
+
+        assertEquals(Long.valueOf(0), executor().executeAggregate(factory.count(query)).get());
+        assertEquals(Set.of(), executor().executeAggregate(factory.distinct(query, TopLevelList::getName)).get());
+        assertEquals(Optional.empty(), executor().executeAggregate(factory.max(query, TopLevelList::getName)).get());
+    }
+
+    @Test
+    public void testExecuteQuery() throws InterruptedException, ExecutionException {
+        writeTop();
+
+        final List<? extends TopLevelList> values = executor().executeQuery(listQuery()).get().getValues();
+        assertEquals(2, values.size());
+        assertEquals(Set.of(FOO, BAR), Set.copyOf(values));
+    }
+
+    // Read transactions are snapshots, hence a new executor needs to be created after data has been written
+    private QueryExecutor executor() {
+        return new DefaultQueryExecutor(serializer, getDomBroker().newReadOnlyTransaction(),
+            LogicalDatastoreType.OPERATIONAL);
+    }
+
+    private QueryExpression<TopLevelList> listQuery() {
+        return factory.querySubtree(TOP_PATH).extractChild(TopLevelList.class).build();
+    }
+
+    private void writeTop() throws InterruptedException, ExecutionException {
+        final WriteTransaction tx = getDataBroker().newWriteOnlyTransaction();
+        tx.put(LogicalDatastoreType.OPERATIONAL, TOP_PATH,
+            new TopBuilder().setTopLevelList(Map.of(FOO.key(), FOO, BAR.key(), BAR)).build());
+        tx.commit().get();
+    }
+}
@@ -7,27 +7,46 @@
  */
 package org.opendaylight.mdsal.binding.dom.adapter.query;
 
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.opendaylight.binding.runtime.spi.BindingRuntimeHelpers;
+import org.opendaylight.mdsal.binding.api.query.QueryAggregate;
 import org.opendaylight.mdsal.binding.api.query.QueryExpression;
 import org.opendaylight.mdsal.binding.api.query.QueryFactory;
 import org.opendaylight.mdsal.binding.api.query.QueryStructureException;
-import org.opendaylight.mdsal.binding.dom.codec.api.BindingCodecTree;
-import org.opendaylight.mdsal.binding.dom.codec.impl.DefaultBindingCodecTreeFactory;
+import org.opendaylight.mdsal.binding.dom.codec.impl.BindingCodecContext;
+import org.opendaylight.mdsal.dom.api.query.DOMQueryAggregate;
+import org.opendaylight.mdsal.dom.api.query.DOMQueryAggregate.Count;
+import org.opendaylight.mdsal.dom.api.query.DOMQueryAggregate.Distinct;
+import org.opendaylight.mdsal.dom.api.query.DOMQueryAggregate.Max;
+import org.opendaylight.mdsal.dom.spi.query.DOMQueryEvaluator;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns._default.value.test.norev.EnumContainer;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.Top;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.TopBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.TopLevelList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.TopLevelListBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.top.level.list.NestedList;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
 public class QueryBuilderTest {
-    private static BindingCodecTree CODEC;
+    private static BindingCodecContext CODEC;
 
     private final QueryFactory factory = new DefaultQueryFactory(CODEC);
 
     @BeforeClass
     public static void beforeClass() {
-        CODEC = new DefaultBindingCodecTreeFactory().create(BindingRuntimeHelpers.createRuntimeContext());
+        CODEC = new BindingCodecContext(BindingRuntimeHelpers.createRuntimeContext());
     }
 
     @Test
@@ -45,4 +64,54 @@ public class QueryBuilderTest {
 //        // Execution fetch
 //        final TopLevelList value = result.getValue();
     }
+
+    @Test
+    public void testAggregates() {
+        final QueryExpression<TopLevelList> query = factory.querySubtree(InstanceIdentifier.builder(Top.class).build())
+                .extractChild(TopLevelList.class)
+                .build();
+        final YangInstanceIdentifier namePath = YangInstanceIdentifier.of(QName.create(Top.QNAME, "name"));
+
+        final QueryAggregate<Long> count = factory.count(query);
+        assertThat(((DefaultQueryAggregate<?>) count).asDOMQueryAggregate(), instanceOf(Count.class));
+
+        final QueryAggregate<Set<String>> distinct = factory.distinct(query, TopLevelList::getName);
+        final DOMQueryAggregate<?> domDistinct = ((DefaultQueryAggregate<?>) distinct).asDOMQueryAggregate();
+        assertThat(domDistinct, instanceOf(Distinct.class));
+        assertEquals(namePath, ((Distinct<?>) domDistinct).getPath());
+
+        final QueryAggregate<Optional<String>> max = factory.max(query, TopLevelList::getName);
+        final DOMQueryAggregate<?> domMax = ((DefaultQueryAggregate<?>) max).asDOMQueryAggregate();
+        assertThat(domMax, instanceOf(Max.class));
+        assertEquals(namePath, ((Max<?>) domMax).getPath());
+    }
+
+    @Test
+    public void testEvaluateAggregates() {
+        final InstanceIdentifier<Top> topPath = InstanceIdentifier.create(Top.class);
+        final QueryExpression<TopLevelList> query = factory.querySubtree(topPath)
+                .extractChild(TopLevelList.class)
+                .build();
+
+        final TopLevelList foo = new TopLevelListBuilder().setName("foo").build();
+        final TopLevelList bar = new TopLevelListBuilder().setName("bar").build();
+        final NormalizedNode<?, ?> data = CODEC.toNormalizedNode(topPath,
+            new TopBuilder().setTopLevelList(Map.of(foo.key(), foo, bar.key(), bar)).build()).getValue();
+
+        assertEquals(Long.valueOf(2), evaluate(factory.count(query), data));
+        assertEquals(Set.of("foo", "bar"), evaluate(factory.distinct(query, TopLevelList::getName), data));
+        assertEquals(Optional.of("bar"), evaluate(factory.min(query, TopLevelList::getName), data));
+        assertEquals(Optional.of("foo"), evaluate(factory.max(query, TopLevelList::getName), data));
+    }
+
+    @Test
+    public void testAggregateCodecLeaf() {
+        final QueryExpression<EnumContainer> query = factory.querySubtree(InstanceIdentifier.create(
+            EnumContainer.class)).build();
+        assertThrows(QueryStructureException.class, () -> factory.distinct(query, EnumContainer::getEnumLeaf));
+    }
+
+    private static <R> R evaluate(final QueryAggregate<R> aggregate, final NormalizedNode<?, ?> data) {
+        return DOMQueryEvaluator.evaluate(((DefaultQueryAggregate<R>) aggregate).asDOMQueryAggregate(), data);
+    }
 }
@@ -136,6 +136,22 @@ public interface BindingDataObjectCodecTreeNode<T extends DataObject> extends Bi
     @NonNull BindingNormalizedNodeCachingCodec<T> createCachingCodec(
             @NonNull ImmutableCollection<Class<? extends BindingObject>> cacheSpecifier);
 
+    /**
+     * Returns codec which uses bounded caches for serialization results. Unlike
+     * {@link #createCachingCodec(ImmutableCollection)}, whose caches retain entries only as long as they are reachable
+     * from elsewhere, each cache of the returned codec retains at most {@code maximumWeight} worth of entries, evicting
+     * least recently used entries once this limit is reached. The weight of an entry is the number of NormalizedNodes
+     * in its serialized form.
+     *
+     * @param cacheSpecifier Set of objects, for which cache may be in place
+     * @param maximumWeight Maximum weight of each cache
+     * @return Codec which uses cache for serialization / deserialization.
+     * @throws IllegalArgumentException if {@code maximumWeight} is negative
+     */
+    @Beta
+    @NonNull BindingNormalizedNodeCachingCodec<T> createCachingCodec(
+            @NonNull ImmutableCollection<Class<? extends BindingObject>> cacheSpecifier, long maximumWeight);
+
     @Beta
     void writeAsNormalizedNode(T data, NormalizedNodeStreamWriter writer);
 
@@ -8,6 +8,8 @@
 package org.opendaylight.mdsal.binding.dom.codec.api;
 
 import com.google.common.annotations.Beta;
+import com.google.common.cache.CacheStats;
+import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.yangtools.yang.binding.BindingObject;
 
 /**
@@ -19,6 +21,16 @@ import org.opendaylight.yangtools.yang.binding.BindingObject;
 @Beta
 public interface BindingNormalizedNodeCachingCodec<T extends BindingObject> extends BindingNormalizedNodeCodec<T>,
         AutoCloseable {
+    /**
+     * Return statistics of caches used by this codec, aggregated across all cached types. Codecs which do not use
+     * any caches report empty statistics.
+     *
+     * @return Cache statistics
+     */
+    default @NonNull CacheStats getCacheStats() {
+        return new CacheStats(0, 0, 0, 0, 0, 0);
+    }
+
     /**
      * Invoking close will invalidate this codec and any of its child codecs and will invalidate cache. Any subsequent
      * calls to this codec will fail with {@link IllegalStateException} thrown.
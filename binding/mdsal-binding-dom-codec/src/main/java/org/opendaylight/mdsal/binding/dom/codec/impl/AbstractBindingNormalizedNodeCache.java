@@ -11,6 +11,7 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
 import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.yangtools.yang.binding.BindingObject;
@@ -26,12 +27,15 @@ import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
  */
 abstract class AbstractBindingNormalizedNodeCache<T extends BindingObject, C extends NodeCodecContext>
         extends CacheLoader<T, NormalizedNode<?, ?>> {
-    private final LoadingCache<T, NormalizedNode<?, ?>> cache = CacheBuilder.newBuilder().weakValues().build(this);
-
+    private final LoadingCache<T, NormalizedNode<?, ?>> cache;
     private final @NonNull C rootContext;
 
-    AbstractBindingNormalizedNodeCache(final C rootContext) {
+    AbstractBindingNormalizedNodeCache(final C rootContext, final long maximumWeight) {
         this.rootContext = requireNonNull(rootContext);
+        // A negative maximum weight indicates an unbounded cache, which retains entries only while they are reachable
+        cache = maximumWeight < 0 ? CacheBuilder.newBuilder().weakValues().recordStats().build(this)
+            : CacheBuilder.newBuilder().maximumWeight(maximumWeight).weigher(NormalizedNodeWeigher.INSTANCE)
+                .recordStats().build(this);
     }
 
     /**
@@ -53,4 +57,13 @@ abstract class AbstractBindingNormalizedNodeCache<T extends BindingObject, C ext
     final NormalizedNode<?, ?> get(final @NonNull T obj) {
         return cache.getUnchecked(obj);
     }
+
+    /**
+     * Returns statistics of this cache.
+     *
+     * @return Cache statistics
+     */
+    final @NonNull CacheStats stats() {
+        return cache.stats();
+    }
 }
@@ -11,6 +11,7 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableSet;
 import org.opendaylight.mdsal.binding.dom.codec.api.BindingObjectCodecTreeNode;
@@ -29,9 +30,9 @@ abstract class AbstractBindingNormalizedNodeCacheHolder {
                 public AbstractBindingNormalizedNodeCache load(final NodeCodecContext key) {
                     if (key instanceof DataContainerCodecContext) {
                         return new DataObjectNormalizedNodeCache(AbstractBindingNormalizedNodeCacheHolder.this,
-                            (DataContainerCodecContext<?, ?>) key);
+                            (DataContainerCodecContext<?, ?>) key, maximumWeight);
                     } else if (key instanceof OfTypeObject) {
-                        return new TypeObjectNormalizedNodeCache<>((OfTypeObject)key);
+                        return new TypeObjectNormalizedNodeCache<>((OfTypeObject)key, maximumWeight);
                     } else {
                         throw new IllegalStateException("Unhandled context " + key);
                     }
@@ -39,9 +40,18 @@ abstract class AbstractBindingNormalizedNodeCacheHolder {
             });
 
     private final ImmutableSet<Class<? extends BindingObject>> cacheSpec;
+    private final long maximumWeight;
 
-    AbstractBindingNormalizedNodeCacheHolder(final ImmutableSet<Class<? extends BindingObject>> cacheSpec) {
+    /**
+     * Constructor.
+     *
+     * @param cacheSpec Set of cached types
+     * @param maximumWeight Maximum weight of each cache, negative values indicate unbounded caches
+     */
+    AbstractBindingNormalizedNodeCacheHolder(final ImmutableSet<Class<? extends BindingObject>> cacheSpec,
+            final long maximumWeight) {
         this.cacheSpec = requireNonNull(cacheSpec);
+        this.maximumWeight = maximumWeight;
     }
 
     @SuppressWarnings("unchecked")
@@ -53,4 +63,17 @@ abstract class AbstractBindingNormalizedNodeCacheHolder {
     final boolean isCached(final Class<? extends BindingObject> type) {
         return cacheSpec.contains(type);
     }
+
+    /**
+     * Returns statistics aggregated across all caches instantiated in this holder.
+     *
+     * @return Aggregated cache statistics
+     */
+    final CacheStats aggregateStats() {
+        CacheStats ret = new CacheStats(0, 0, 0, 0, 0, 0);
+        for (AbstractBindingNormalizedNodeCache<?, ?> cache : caches.asMap().values()) {
+            ret = ret.plus(cache.stats());
+        }
+        return ret;
+    }
 }
@@ -13,7 +13,9 @@ import com.google.common.base.MoreObjects.ToStringHelper;
 import com.google.common.collect.ImmutableMap;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
+import java.util.Map;
 import java.util.Optional;
+import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.binding.spec.reflect.BindingReflections;
 import org.opendaylight.yangtools.yang.binding.Augmentable;
@@ -33,11 +35,15 @@ import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
 public abstract class AugmentableCodecDataObject<T extends DataObject & Augmentable<T>>
         extends CodecDataObject<T> implements Augmentable<T>, AugmentationHolder<T> {
     private static final VarHandle CACHED_AUGMENTATIONS;
+    private static final VarHandle DECODED_AUGMENTATIONS;
 
     static {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
         try {
-            CACHED_AUGMENTATIONS = MethodHandles.lookup().findVarHandle(AugmentableCodecDataObject.class,
-                "cachedAugmentations", ImmutableMap.class);
+            CACHED_AUGMENTATIONS = lookup.findVarHandle(AugmentableCodecDataObject.class, "cachedAugmentations",
+                LazyAugmentationMap.class);
+            DECODED_AUGMENTATIONS = lookup.findVarHandle(AugmentableCodecDataObject.class, "decodedAugmentations",
+                ImmutableMap.class);
         } catch (ReflectiveOperationException e) {
             throw new ExceptionInInitializerError(e);
         }
@@ -45,7 +51,11 @@ public abstract class AugmentableCodecDataObject<T extends DataObject & Augmenta
 
     // Used via VarHandle
     @SuppressWarnings("unused")
-    private volatile ImmutableMap<Class<? extends Augmentation<T>>, Augmentation<T>> cachedAugmentations;
+    private volatile LazyAugmentationMap<T> cachedAugmentations;
+    // Augmentations which have already been deserialized, shared between augmentation() and augmentations(). Used via
+    // VarHandle.
+    @SuppressWarnings("unused")
+    private volatile ImmutableMap<Class<?>, Augmentation<T>> decodedAugmentations;
 
     protected AugmentableCodecDataObject(final DataObjectCodecContext<T, ?> context,
             final NormalizedNodeContainer<?, ?, ?> data) {
@@ -57,7 +67,15 @@ public abstract class AugmentableCodecDataObject<T extends DataObject & Augmenta
     public final <A extends Augmentation<T>> @Nullable A augmentation(final Class<A> augmentationType) {
         requireNonNull(augmentationType, "Supplied augmentation must not be null.");
 
-        final ImmutableMap<Class<? extends Augmentation<T>>, Augmentation<T>> aug = acquireAugmentations();
+        final ImmutableMap<Class<?>, Augmentation<T>> decoded = acquireDecoded();
+        if (decoded != null) {
+            final Augmentation<T> existing = decoded.get(augmentationType);
+            if (existing != null) {
+                return (A) existing;
+            }
+        }
+
+        final LazyAugmentationMap<T> aug = acquireAugmentations();
         if (aug != null) {
             return (A) aug.get(augmentationType);
         }
@@ -75,7 +93,8 @@ public abstract class AugmentableCodecDataObject<T extends DataObject & Augmenta
             if (augmentationType.isAssignableFrom(augCtx.getBindingClass())) {
                 final Optional<NormalizedNode<?, ?>> augData = codecData().getChild(augCtx.getDomPathArgument());
                 if (augData.isPresent()) {
-                    return (A) augCtx.deserialize(augData.get());
+                    return (A) cacheAugmentation(augCtx.getBindingClass(),
+                        (Augmentation<T>) augCtx.deserialize(augData.get()));
                 }
             }
         }
@@ -83,8 +102,8 @@ public abstract class AugmentableCodecDataObject<T extends DataObject & Augmenta
     }
 
     @Override
-    public final ImmutableMap<Class<? extends Augmentation<T>>, Augmentation<T>> augmentations() {
-        final ImmutableMap<Class<? extends Augmentation<T>>, Augmentation<T>> local = acquireAugmentations();
+    public final Map<Class<? extends Augmentation<T>>, Augmentation<T>> augmentations() {
+        final LazyAugmentationMap<T> local = acquireAugmentations();
         return local != null ? local : loadAugmentations();
     }
 
@@ -103,15 +122,66 @@ public abstract class AugmentableCodecDataObject<T extends DataObject & Augmenta
         return super.codecAugmentedFillToString(helper).add("augmentation", augmentations().values());
     }
 
-    private ImmutableMap<Class<? extends Augmentation<T>>, Augmentation<T>> acquireAugmentations() {
-        return (ImmutableMap<Class<? extends Augmentation<T>>, Augmentation<T>>) CACHED_AUGMENTATIONS.getAcquire(this);
+    /**
+     * Return the augmentation corresponding to specified prototype, deserializing it unless it has already been
+     * deserialized. The augmentation is expected to be present in backing data.
+     *
+     * @param prototype Augmentation prototype
+     * @return Augmentation
+     */
+    @SuppressWarnings("unchecked")
+    final @NonNull Augmentation<T> loadAugmentation(final DataContainerCodecPrototype<?> prototype) {
+        final Class<?> key = prototype.getBindingClass();
+        final ImmutableMap<Class<?>, Augmentation<T>> decoded = acquireDecoded();
+        if (decoded != null) {
+            final Augmentation<T> existing = decoded.get(key);
+            if (existing != null) {
+                return existing;
+            }
+        }
+
+        final Optional<NormalizedNode<?, ?>> augData = codecData().getChild(prototype.getYangArg());
+        return cacheAugmentation(key, (Augmentation<T>) prototype.get().deserializeObject(augData.orElseThrow()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private LazyAugmentationMap<T> acquireAugmentations() {
+        return (LazyAugmentationMap<T>) CACHED_AUGMENTATIONS.getAcquire(this);
     }
 
     @SuppressWarnings("unchecked")
-    private ImmutableMap<Class<? extends Augmentation<T>>, Augmentation<T>> loadAugmentations() {
-        final ImmutableMap<Class<? extends Augmentation<T>>, Augmentation<T>> ret = ImmutableMap.copyOf(
-            codecContext().getAllAugmentationsFrom(codecData()));
+    private ImmutableMap<Class<?>, Augmentation<T>> acquireDecoded() {
+        return (ImmutableMap<Class<?>, Augmentation<T>>) DECODED_AUGMENTATIONS.getAcquire(this);
+    }
+
+    @SuppressWarnings("unchecked")
+    private @NonNull LazyAugmentationMap<T> loadAugmentations() {
+        final LazyAugmentationMap<T> ret = new LazyAugmentationMap<>(this,
+            (ImmutableMap<Class<? extends Augmentation<T>>, DataContainerCodecPrototype<?>>) (ImmutableMap<?, ?>)
+                codecContext().getAugmentationPrototypesFrom(codecData()));
         final Object witness = CACHED_AUGMENTATIONS.compareAndExchangeRelease(this, null, ret);
-        return witness == null ? ret : (ImmutableMap<Class<? extends Augmentation<T>>, Augmentation<T>>) witness;
+        return witness == null ? ret : (LazyAugmentationMap<T>) witness;
+    }
+
+    private @NonNull Augmentation<T> cacheAugmentation(final Class<?> key, final @NonNull Augmentation<T> value) {
+        ImmutableMap<Class<?>, Augmentation<T>> current = acquireDecoded();
+        while (true) {
+            if (current != null) {
+                // Another thread may have raced us, in which case we use its result
+                final Augmentation<T> existing = current.get(key);
+                if (existing != null) {
+                    return existing;
+                }
+            }
+
+            final ImmutableMap<Class<?>, Augmentation<T>> updated = current == null ? ImmutableMap.of(key, value)
+                : ImmutableMap.<Class<?>, Augmentation<T>>builderWithExpectedSize(current.size() + 1)
+                    .putAll(current).put(key, value).build();
+            final Object witness = DECODED_AUGMENTATIONS.compareAndExchangeRelease(this, current, updated);
+            if (witness == current) {
+                return value;
+            }
+            current = acquireDecoded();
+        }
     }
 }
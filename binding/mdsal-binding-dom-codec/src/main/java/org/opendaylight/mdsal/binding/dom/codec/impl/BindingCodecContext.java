@@ -17,6 +17,7 @@ import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.IOException;
 import java.lang.reflect.Field;
@@ -35,7 +36,13 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.jdt.annotation.NonNull;
@@ -70,7 +77,9 @@ import org.opendaylight.yangtools.yang.binding.OpaqueObject;
 import org.opendaylight.yangtools.yang.binding.RpcInput;
 import org.opendaylight.yangtools.yang.binding.RpcOutput;
 import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.LeafSetNode;
@@ -83,12 +92,17 @@ import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeS
 import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
 import org.opendaylight.yangtools.yang.model.api.AnydataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.AnyxmlSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.DocumentedNode.WithStatus;
 import org.opendaylight.yangtools.yang.model.api.LeafListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
+import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
 import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
@@ -124,6 +138,10 @@ public final class BindingCodecContext extends AbstractBindingNormalizedNodeSeri
     }
 
     private static final Logger LOG = LoggerFactory.getLogger(BindingCodecContext.class);
+    // Intern list keys and their path arguments, so that repeated decoding of the same list entries returns canonical
+    // instances
+    private static final boolean INTERN_LIST_KEYS = Boolean.getBoolean(
+        "org.opendaylight.mdsal.binding.dom.codec.impl.internListKeys");
 
     private final LoadingCache<Class<?>, DataObjectStreamer<?>> streamers = CacheBuilder.newBuilder().build(
         new CacheLoader<Class<?>, DataObjectStreamer<?>>() {
@@ -143,11 +161,13 @@ public final class BindingCodecContext extends AbstractBindingNormalizedNodeSeri
             }
         });
 
+    private final ConcurrentMap<Class<?>, ListMaterializationPolicy> listPolicies = new ConcurrentHashMap<>();
     private final @NonNull CodecClassLoader loader = CodecClassLoader.create();
     private final @NonNull InstanceIdentifierCodec instanceIdentifierCodec;
     private final @NonNull IdentityCodec identityCodec;
     private final @NonNull BindingRuntimeContext context;
     private final SchemaRootCodecContext<?> root;
+    private final boolean internListKeys;
 
     public BindingCodecContext() {
         this(ServiceLoader.load(BindingRuntimeContext.class).findFirst()
@@ -156,7 +176,12 @@ public final class BindingCodecContext extends AbstractBindingNormalizedNodeSeri
 
     @Inject
     public BindingCodecContext(final BindingRuntimeContext context) {
+        this(context, INTERN_LIST_KEYS);
+    }
+
+    BindingCodecContext(final BindingRuntimeContext context, final boolean internListKeys) {
         this.context = requireNonNull(context, "Binding Runtime Context is required.");
+        this.internListKeys = internListKeys;
         this.root = SchemaRootCodecContext.create(this);
         this.identityCodec = new IdentityCodec(context);
         this.instanceIdentifierCodec = new InstanceIdentifierCodec(this);
@@ -197,6 +222,77 @@ public final class BindingCodecContext extends AbstractBindingNormalizedNodeSeri
         return serializers.getUnchecked(type);
     }
 
+    /**
+     * Eagerly instantiate the codec tree of all modules known to this context, including generated classes. This
+     * moves the cost of codec instantiation from first use to a time of caller's choosing, typically system startup.
+     *
+     * @param pool Pool to execute warm-up on
+     * @return A task completing once warm-up has finished
+     * @throws NullPointerException if {@code pool} is null
+     */
+    @Beta
+    public @NonNull ForkJoinTask<?> warmUp(final @NonNull ForkJoinPool pool) {
+        return warmUp(pool, module -> true);
+    }
+
+    /**
+     * Eagerly instantiate the codec tree of selected modules, including generated classes. The data tree,
+     * notifications and RPCs of each selected module are walked in parallel, each node being processed in a separate
+     * {@link ForkJoinTask}. Nodes shared with other modules, for example through augmentations, are instantiated as
+     * well.
+     *
+     * @param pool Pool to execute warm-up on
+     * @param modules Predicate selecting modules to warm up
+     * @return A task completing once warm-up has finished
+     * @throws NullPointerException if any argument is null
+     */
+    @Beta
+    public @NonNull ForkJoinTask<?> warmUp(final @NonNull ForkJoinPool pool,
+            final @NonNull Predicate<QNameModule> modules) {
+        requireNonNull(modules);
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (Module module : context.getEffectiveModelContext().getModules()) {
+            if (!modules.test(module.getQNameModule())) {
+                continue;
+            }
+
+            for (DataSchemaNode child : module.getChildNodes()) {
+                if (child instanceof DataNodeContainer || child instanceof ChoiceSchemaNode) {
+                    final NodeIdentifier arg = NodeIdentifier.create(child.getQName());
+                    tasks.add(ForkJoinTask.adapt(() -> warmUpSubtree(root.yangPathArgumentChild(arg))));
+                }
+            }
+            for (NotificationDefinition notification : module.getNotifications()) {
+                tasks.add(ForkJoinTask.adapt(() -> warmUpNotification(notification)));
+            }
+            for (RpcDefinition rpc : module.getRpcs()) {
+                tasks.add(ForkJoinTask.adapt(() -> warmUpRpc(rpc.getInput())));
+                tasks.add(ForkJoinTask.adapt(() -> warmUpRpc(rpc.getOutput())));
+            }
+        }
+
+        LOG.debug("Warming up {} codec subtrees", tasks.size());
+        return pool.submit(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+    }
+
+    private void warmUpNotification(final NotificationDefinition schema) {
+        warmUpSubtree(root.getNotification(context.getClassForSchema(schema).asSubclass(Notification.class)));
+    }
+
+    private void warmUpRpc(final ContainerSchemaNode schema) {
+        warmUpSubtree(root.getRpc(context.getClassForSchema(schema).asSubclass(DataContainer.class)));
+    }
+
+    private static void warmUpSubtree(final DataContainerCodecContext<?, ?> codec) {
+        // Instantiate children first, so that their streamers are available when we generate ours
+        ForkJoinTask.invokeAll(codec.childPrototypes().stream()
+            .map(prototype -> ForkJoinTask.adapt(() -> warmUpSubtree(prototype.get())))
+            .collect(Collectors.toList()));
+        if (codec instanceof DataObjectCodecContext) {
+            codec.eventStreamSerializer();
+        }
+    }
+
     @Override
     public Entry<YangInstanceIdentifier, BindingStreamEventWriter> newWriterAndIdentifier(
             final InstanceIdentifier<?> path, final NormalizedNodeStreamWriter domWriter) {
@@ -460,7 +556,23 @@ public final class BindingCodecContext extends AbstractBindingNormalizedNodeSeri
             final QName name = leaf.getDomPathArgument().getNodeType();
             valueCtx.put(name, new ValueContext(identifier, leaf));
         }
-        return IdentifiableItemCodec.of(schema, identifier, listClz, valueCtx);
+        return IdentifiableItemCodec.of(schema, identifier, listClz, valueCtx, internListKeys);
+    }
+
+    @Override
+    public ListMaterializationPolicy getListMaterializationPolicy(final Class<?> type) {
+        return listPolicies.computeIfAbsent(type, ListMaterializationPolicy::new);
+    }
+
+    /**
+     * Return a snapshot of statistics about how Lists and Maps of each list type have been populated, and whether they
+     * are currently populated eagerly or lazily.
+     *
+     * @return Statistics indexed by list type
+     */
+    @Beta
+    public @NonNull ImmutableMap<Class<?>, ListMaterializationStatistics> getListMaterializationStatistics() {
+        return ImmutableMap.copyOf(Maps.transformValues(listPolicies, ListMaterializationPolicy::snapshot));
     }
 
     @SuppressWarnings("unchecked")
@@ -9,6 +9,7 @@ package org.opendaylight.mdsal.binding.dom.codec.impl;
 
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.ImmutableSet;
 import org.opendaylight.mdsal.binding.dom.codec.api.BindingNormalizedNodeCachingCodec;
 import org.opendaylight.yangtools.yang.binding.BindingObject;
@@ -20,8 +21,8 @@ class CachingNormalizedNodeCodec<D extends DataObject> extends AbstractBindingNo
     private final DataContainerCodecContext<D, ?> context;
 
     CachingNormalizedNodeCodec(final DataContainerCodecContext<D, ?> subtreeRoot,
-            final ImmutableSet<Class<? extends BindingObject>> cacheSpec) {
-        super(cacheSpec);
+            final ImmutableSet<Class<? extends BindingObject>> cacheSpec, final long maximumWeight) {
+        super(cacheSpec, maximumWeight);
         this.context = requireNonNull(subtreeRoot);
     }
 
@@ -38,6 +39,11 @@ class CachingNormalizedNodeCodec<D extends DataObject> extends AbstractBindingNo
                 : cache.get(data);
     }
 
+    @Override
+    public CacheStats getCacheStats() {
+        return aggregateStats();
+    }
+
     @Override
     public void close() {
         // NOOP as of now.
@@ -19,6 +19,7 @@ import com.google.common.collect.MultimapBuilder.SetMultimapBuilder;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.SetMultimap;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -187,6 +188,12 @@ final class ChoiceNodeCodecContext<D extends DataObject> extends DataContainerCo
         byClass = ImmutableMap.copyOf(byClassBuilder);
     }
 
+    @Override
+    Collection<DataContainerCodecPrototype<?>> childPrototypes() {
+        // Substitutions share prototypes with the cases they substitute
+        return ImmutableSet.copyOf(byClass.values());
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public <C extends DataObject> DataContainerCodecContext<C, ?> streamChild(final Class<C> childClass) {
@@ -13,7 +13,6 @@ import static java.util.Objects.requireNonNull;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.MoreObjects.ToStringHelper;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
 import java.util.Optional;
 import org.eclipse.jdt.annotation.NonNull;
@@ -34,25 +33,14 @@ public abstract class CodecDataObject<T extends DataObject> implements DataObjec
     // An object representing a null value in a member field.
     private static final @NonNull Object NULL_VALUE = new Object();
 
-    private static final VarHandle CACHED_HASH_CODE;
-
-    static {
-        try {
-            CACHED_HASH_CODE = MethodHandles.lookup().findVarHandle(CodecDataObject.class, "cachedHashcode",
-                Integer.class);
-        } catch (NoSuchFieldException | IllegalAccessException e) {
-            throw new ExceptionInInitializerError(e);
-        }
-    }
-
     private final @NonNull DataObjectCodecContext<T, ?> context;
     @SuppressWarnings("rawtypes")
     private final @NonNull NormalizedNodeContainer data;
 
-    // Accessed via a VarHandle
-    @SuppressWarnings("unused")
-    // FIXME: consider using a primitive int-based cache (with 0 being uninit)
-    private volatile Integer cachedHashcode;
+    // Cached hash code, 0 being uninitialized. Racy single-check idiom, just like String.hashCode(): the hash code is
+    // computed from immutable state, hence concurrent computations always end up with the same value. This saves us
+    // an Integer object per instance.
+    private int cachedHashcode;
 
     protected CodecDataObject(final DataObjectCodecContext<T, ?> context, final NormalizedNodeContainer<?, ?, ?> data) {
         this.data = requireNonNull(data, "Data must not be null");
@@ -61,8 +49,8 @@ public abstract class CodecDataObject<T extends DataObject> implements DataObjec
 
     @Override
     public final int hashCode() {
-        final Integer cached = (Integer) CACHED_HASH_CODE.getAcquire(this);
-        return cached != null ? cached : loadHashCode();
+        final int cached = cachedHashcode;
+        return cached != 0 ? cached : loadHashCode();
     }
 
     @Override
@@ -164,8 +152,8 @@ public abstract class CodecDataObject<T extends DataObject> implements DataObjec
     // Helper split out of hashCode() to aid its inlining
     private int loadHashCode() {
         final int result = codecAugmentedHashCode();
-        final Object witness = CACHED_HASH_CODE.compareAndExchangeRelease(this, null, Integer.valueOf(result));
-        return witness == null ? result : (Integer) witness;
+        cachedHashcode = result;
+        return result;
     }
 
     private static @NonNull Object maskNull(final @Nullable Object unmasked) {
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.codec.impl;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A snapshot of statistics of a single codec operation, such as serialization, of a particular binding type. Latency
+ * is tracked in a histogram with power-of-two buckets: bucket {@code n} counts invocations which took at least
+ * {@code 2^n} and less than {@code 2^(n+1)} nanoseconds, except for bucket {@code 0}, which also counts invocations
+ * reported as taking zero nanoseconds.
+ */
+@Beta
+public final class CodecOperationStatistics {
+    static final int BUCKETS = Long.SIZE - 1;
+
+    /**
+     * Mutable counterpart to {@link CodecOperationStatistics}, safe to update from multiple threads.
+     */
+    static final class Recorder {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+        void record(final long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            histogram.incrementAndGet(bucketOf(nanos));
+        }
+
+        CodecOperationStatistics snapshot() {
+            final long[] buckets = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; ++i) {
+                buckets[i] = histogram.get(i);
+            }
+            return new CodecOperationStatistics(count.sum(), totalNanos.sum(), maxNanos.get(), buckets);
+        }
+    }
+
+    private final long count;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final long[] histogram;
+
+    private CodecOperationStatistics(final long count, final long totalNanos, final long maxNanos,
+            final long[] histogram) {
+        this.count = count;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.histogram = histogram;
+    }
+
+    /**
+     * Return the number of invocations.
+     *
+     * @return Number of invocations
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Return the total time spent in invocations, in nanoseconds.
+     *
+     * @return Total time in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Return the longest time spent in a single invocation, in nanoseconds.
+     *
+     * @return Maximum time in nanoseconds
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Return the mean time spent in an invocation, in nanoseconds.
+     *
+     * @return Mean time in nanoseconds, or {@code 0} if there were no invocations
+     */
+    public long getMeanNanos() {
+        return count == 0 ? 0 : totalNanos / count;
+    }
+
+    /**
+     * Return the latency histogram. See class documentation for the meaning of buckets.
+     *
+     * @return Latency histogram
+     */
+    public long[] getHistogram() {
+        return histogram.clone();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("count", count).add("meanNanos", getMeanNanos())
+            .add("maxNanos", maxNanos).toString();
+    }
+
+    static int bucketOf(final long nanos) {
+        return nanos <= 1 ? 0 : Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.codec.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * A snapshot of codec statistics of a single binding type, as recorded by {@link InstrumentedBindingDOMCodecServices}.
+ */
+@Beta
+public final class CodecTypeStatistics {
+    private final @NonNull Class<?> bindingClass;
+    private final @NonNull CodecOperationStatistics serialization;
+    private final @NonNull CodecOperationStatistics deserialization;
+    private final int generatedClassCount;
+
+    CodecTypeStatistics(final Class<?> bindingClass, final CodecOperationStatistics serialization,
+            final CodecOperationStatistics deserialization, final int generatedClassCount) {
+        this.bindingClass = requireNonNull(bindingClass);
+        this.serialization = requireNonNull(serialization);
+        this.deserialization = requireNonNull(deserialization);
+        this.generatedClassCount = generatedClassCount;
+    }
+
+    public @NonNull Class<?> getBindingClass() {
+        return bindingClass;
+    }
+
+    /**
+     * Return statistics of serialization of this type from binding to DOM.
+     *
+     * @return Serialization statistics
+     */
+    public @NonNull CodecOperationStatistics getSerialization() {
+        return serialization;
+    }
+
+    /**
+     * Return statistics of deserialization of this type from DOM to binding. Note that deserialization is generally
+     * lazy, hence this does not include decoding of individual members of the resulting binding object.
+     *
+     * @return Deserialization statistics
+     */
+    public @NonNull CodecOperationStatistics getDeserialization() {
+        return deserialization;
+    }
+
+    /**
+     * Return the number of classes generated for this type.
+     *
+     * @return Number of generated classes
+     */
+    public int getGeneratedClassCount() {
+        return generatedClassCount;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("bindingClass", bindingClass).add("serialization", serialization)
+            .add("deserialization", deserialization).add("generatedClasses", generatedClassCount).toString();
+    }
+}
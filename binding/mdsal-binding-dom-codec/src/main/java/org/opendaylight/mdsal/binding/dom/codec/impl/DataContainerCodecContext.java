@@ -15,6 +15,7 @@ import com.google.common.collect.ImmutableSet;
 import java.io.IOException;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -159,7 +160,17 @@ abstract class DataContainerCodecContext<D extends DataObject, T extends WithSta
         if (cacheSpecifier.isEmpty()) {
             return new NonCachingCodec<>(this);
         }
-        return new CachingNormalizedNodeCodec<>(this, ImmutableSet.copyOf(cacheSpecifier));
+        return new CachingNormalizedNodeCodec<>(this, ImmutableSet.copyOf(cacheSpecifier), -1);
+    }
+
+    @Override
+    public BindingNormalizedNodeCachingCodec<D> createCachingCodec(
+            final ImmutableCollection<Class<? extends BindingObject>> cacheSpecifier, final long maximumWeight) {
+        checkArgument(maximumWeight >= 0, "Invalid maximum weight %s", maximumWeight);
+        if (cacheSpecifier.isEmpty()) {
+            return new NonCachingCodec<>(this);
+        }
+        return new CachingNormalizedNodeCodec<>(this, ImmutableSet.copyOf(cacheSpecifier), maximumWeight);
     }
 
     @NonNull BindingStreamEventWriter createWriter(final NormalizedNodeStreamWriter domWriter) {
@@ -231,6 +242,16 @@ abstract class DataContainerCodecContext<D extends DataObject, T extends WithSta
         return child.getNodeType();
     }
 
+    /**
+     * Return prototypes of children which can be instantiated ahead of their use. This is used to warm up the codec
+     * tree, hence it does not need to be exhaustive. The default implementation reports no children.
+     *
+     * @return Child prototypes
+     */
+    @NonNull Collection<DataContainerCodecPrototype<?>> childPrototypes() {
+        return ImmutableSet.of();
+    }
+
     final DataObjectSerializer eventStreamSerializer() {
         final DataObjectSerializer existing = (DataObjectSerializer) EVENT_STREAM_SERIALIZER.getAcquire(this);
         return existing != null ? existing : loadEventStreamSerializer();
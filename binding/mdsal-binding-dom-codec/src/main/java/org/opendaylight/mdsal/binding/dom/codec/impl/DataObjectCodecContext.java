@@ -13,12 +13,14 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.Beta;
 import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMap.Builder;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -258,6 +260,13 @@ public abstract class DataObjectCodecContext<D extends DataObject, T extends Dat
         }
     }
 
+    @Override
+    Collection<DataContainerCodecPrototype<?>> childPrototypes() {
+        final ImmutableMap<Class<?>, DataContainerCodecPrototype<?>> augments = augmentations.byStream;
+        return ImmutableList.<DataContainerCodecPrototype<?>>builderWithExpectedSize(
+            byStreamClass.size() + augments.size()).addAll(byStreamClass.values()).addAll(augments.values()).build();
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public <C extends DataObject> DataContainerCodecContext<C, ?> streamChild(final Class<C> childClass) {
@@ -515,30 +524,31 @@ public abstract class DataObjectCodecContext<D extends DataObject, T extends Dat
         }
     }
 
-    @SuppressWarnings("unchecked")
-    Map<Class<? extends Augmentation<?>>, Augmentation<?>> getAllAugmentationsFrom(
+    /**
+     * Return the augmentations present in specified data, without deserializing them.
+     *
+     * @param data Data to examine
+     * @return Prototypes of present augmentations, indexed by their binding class
+     */
+    @NonNull ImmutableMap<Class<?>, DataContainerCodecPrototype<?>> getAugmentationPrototypesFrom(
             final NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>> data) {
-
-        @SuppressWarnings("rawtypes")
-        final Map map = new HashMap<>();
+        final Map<Class<?>, DataContainerCodecPrototype<?>> map = new HashMap<>();
 
         for (final NormalizedNode<?, ?> childValue : data.getValue()) {
             if (childValue instanceof AugmentationNode) {
-                final AugmentationNode augDomNode = (AugmentationNode) childValue;
-                final DataContainerCodecPrototype<?> codecProto = yangAugmentationChild(augDomNode.getIdentifier());
+                final DataContainerCodecPrototype<?> codecProto = yangAugmentationChild(
+                    ((AugmentationNode) childValue).getIdentifier());
                 if (codecProto != null) {
-                    final DataContainerCodecContext<?, ?> codec = codecProto.get();
-                    map.put(codec.getBindingClass(), codec.deserializeObject(augDomNode));
+                    map.put(codecProto.getBindingClass(), codecProto);
                 }
             }
         }
         for (final DataContainerCodecPrototype<?> value : augmentations.byStream.values()) {
-            final Optional<NormalizedNode<?, ?>> augData = data.getChild(value.getYangArg());
-            if (augData.isPresent()) {
-                map.put(value.getBindingClass(), value.get().deserializeObject(augData.get()));
+            if (data.getChild(value.getYangArg()).isPresent()) {
+                map.put(value.getBindingClass(), value);
             }
         }
-        return map;
+        return ImmutableMap.copyOf(map);
     }
 
     final @NonNull Class<? extends CodecDataObject<?>> generatedClass() {
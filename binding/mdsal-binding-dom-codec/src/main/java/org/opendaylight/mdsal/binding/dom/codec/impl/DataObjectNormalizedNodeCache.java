@@ -20,8 +20,8 @@ final class DataObjectNormalizedNodeCache
     private final AbstractBindingNormalizedNodeCacheHolder cacheHolder;
 
     DataObjectNormalizedNodeCache(final AbstractBindingNormalizedNodeCacheHolder cacheHolder,
-            final DataContainerCodecContext<?, ?> rootContext) {
-        super(rootContext);
+            final DataContainerCodecContext<?, ?> rootContext, final long maximumWeight) {
+        super(rootContext, maximumWeight);
         this.cacheHolder = requireNonNull(cacheHolder, "cacheHolder");
     }
 
@@ -18,6 +18,7 @@ import com.google.common.collect.ImmutableMap;
 import java.io.IOException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -208,6 +209,26 @@ final class DataObjectStreamerGenerator<T extends DataObjectStreamer<?>> impleme
         @SuppressWarnings("unchecked")
         Builder<T> builder = (Builder<T>) TEMPLATE.name(fqcn);
 
+        final List<ChildStream> children = createStreams(loader);
+        final GeneratorResult<T> result = GeneratorResult.of(builder
+            .defineMethod("serialize", BB_VOID, PUB_FINAL)
+                .withParameters(BB_DOSR, BB_DATAOBJECT, BB_BESV)
+                .throwing(BB_IOX)
+            .intercept(new SerializeImplementation(bindingInterface, startEvent, children)).make(),
+            dependencies(children));
+
+        LOG.trace("Definition of {} done", fqcn);
+        return result;
+    }
+
+    @Override
+    public Collection<Class<?>> precompiledDependencies(final CodecClassLoader loader,
+            final Class<?> bindingInterface) {
+        // Child streamers are referenced directly, hence we need to make sure they are available
+        return dependencies(createStreams(loader));
+    }
+
+    private List<ChildStream> createStreams(final CodecClassLoader loader) {
         final ImmutableMap<String, Type> props = collectAllProperties(genType);
         final List<ChildStream> children = new ArrayList<>(props.size());
         for (final DataSchemaNode schemaChild : schema.getChildNodes()) {
@@ -226,7 +247,10 @@ final class DataObjectStreamerGenerator<T extends DataObjectStreamer<?>> impleme
                 }
             }
         }
+        return children;
+    }
 
+    private static ImmutableList<Class<?>> dependencies(final List<ChildStream> children) {
         final ImmutableList.Builder<Class<?>> depBuilder = ImmutableList.builder();
         for (ChildStream child : children) {
             final Class<?> dependency = child.getDependency();
@@ -234,15 +258,7 @@ final class DataObjectStreamerGenerator<T extends DataObjectStreamer<?>> impleme
                 depBuilder.add(dependency);
             }
         }
-
-        final GeneratorResult<T> result = GeneratorResult.of(builder
-            .defineMethod("serialize", BB_VOID, PUB_FINAL)
-                .withParameters(BB_DOSR, BB_DATAOBJECT, BB_BESV)
-                .throwing(BB_IOX)
-            .intercept(new SerializeImplementation(bindingInterface, startEvent, children)).make(), depBuilder.build());
-
-        LOG.trace("Definition of {} done", fqcn);
-        return result;
+        return depBuilder.build();
     }
 
     private ChildStream createStream(final CodecClassLoader loader, final ImmutableMap<String, Type> props,
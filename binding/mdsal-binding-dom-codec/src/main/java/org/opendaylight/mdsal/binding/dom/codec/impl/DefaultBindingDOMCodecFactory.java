@@ -27,16 +27,29 @@ import org.slf4j.LoggerFactory;
 @Component(immediate = true)
 public final class DefaultBindingDOMCodecFactory implements BindingDOMCodecFactory {
     private static final Logger LOG = LoggerFactory.getLogger(DefaultBindingDOMCodecFactory.class);
+    // Record per-type codec statistics, see InstrumentedBindingDOMCodecServices
+    private static final boolean INSTRUMENTED = Boolean.getBoolean(
+        "org.opendaylight.mdsal.binding.dom.codec.impl.instrumented");
+
+    private final boolean instrumented;
+
+    public DefaultBindingDOMCodecFactory() {
+        this(INSTRUMENTED);
+    }
+
+    DefaultBindingDOMCodecFactory(final boolean instrumented) {
+        this.instrumented = instrumented;
+    }
 
     @Override
     public BindingDOMCodecServices createBindingDOMCodec(final BindingRuntimeContext context) {
-        return new BindingCodecContext(context);
+        final BindingCodecContext codec = new BindingCodecContext(context);
+        return instrumented ? new InstrumentedBindingDOMCodecServices(codec) : codec;
     }
 
     @Activate
-    @SuppressWarnings("static-method")
     void activate() {
-        LOG.info("Binding/DOM Codec enabled");
+        LOG.info("Binding/DOM Codec enabled{}", instrumented ? " with instrumentation" : "");
     }
 
     @Deactivate
@@ -60,6 +60,10 @@ final class EncapsulatedValueCodec extends ReflectionBasedCodec implements Schem
         return valueType.isInstance(value);
     }
 
+    Class<?> getValueType() {
+        return valueType;
+    }
+
     @Override
     @SuppressWarnings("checkstyle:illegalCatch")
     public Object deserialize(final Object input) {
@@ -10,7 +10,11 @@ package org.opendaylight.mdsal.binding.dom.codec.impl;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
@@ -21,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.binding.spec.naming.BindingMapping;
 import org.opendaylight.yangtools.concepts.AbstractIllegalArgumentCodec;
 import org.opendaylight.yangtools.util.ImmutableOffsetMap;
@@ -47,8 +52,9 @@ abstract class IdentifiableItemCodec
         private final QName keyName;
 
         SingleKey(final ListSchemaNode schema, final Class<? extends Identifier<?>> keyClass,
-                final Class<?> identifiable, final QName keyName, final ValueContext keyContext) {
-            super(schema, keyClass, identifiable);
+                final Class<?> identifiable, final QName keyName, final ValueContext keyContext,
+                final boolean intern) {
+            super(schema, keyClass, identifiable, intern);
             this.keyContext = requireNonNull(keyContext);
             this.keyName = requireNonNull(keyName);
             ctor = getConstructor(keyClass, 1).asType(CTOR_TYPE);
@@ -72,8 +78,8 @@ abstract class IdentifiableItemCodec
         private final MethodHandle ctor;
 
         MultiKey(final ListSchemaNode schema, final Class<? extends Identifier<?>> keyClass,
-                final Class<?> identifiable, final Map<QName, ValueContext> keyValueContexts) {
-            super(schema, keyClass, identifiable);
+                final Class<?> identifiable, final Map<QName, ValueContext> keyValueContexts, final boolean intern) {
+            super(schema, keyClass, identifiable, intern);
 
             final MethodHandle tmpCtor = getConstructor(keyClass, keyValueContexts.size());
             final MethodHandle inv = MethodHandles.spreadInvoker(tmpCtor.type(), 0);
@@ -127,31 +133,43 @@ abstract class IdentifiableItemCodec
     private final Class<?> identifiable;
     private final QName qname;
 
+    /*
+     * Optional interning caches, mapping NodeIdentifierWithPredicates to canonical keys and path arguments. Values are
+     * held weakly, so an entry is retained only as long as its key or path argument is in use.
+     */
+    private final @Nullable LoadingCache<NodeIdentifierWithPredicates, Identifier<?>> keys;
+    private final @Nullable LoadingCache<NodeIdentifierWithPredicates, IdentifiableItem<?, ?>> items;
+
     IdentifiableItemCodec(final ListSchemaNode schema, final Class<? extends Identifier<?>> keyClass,
-            final Class<?> identifiable) {
+            final Class<?> identifiable, final boolean intern) {
         this.identifiable = requireNonNull(identifiable);
         this.qname = schema.getQName();
+        if (intern) {
+            keys = CacheBuilder.newBuilder().weakValues().build(CacheLoader.from(this::createIdentifier));
+            items = CacheBuilder.newBuilder().weakValues().build(CacheLoader.from(this::createItem));
+        } else {
+            keys = null;
+            items = null;
+        }
     }
 
     static IdentifiableItemCodec of(final ListSchemaNode schema,
             final Class<? extends Identifier<?>> keyClass, final Class<?> identifiable,
-                    final Map<QName, ValueContext> keyValueContexts) {
+                    final Map<QName, ValueContext> keyValueContexts, final boolean intern) {
         switch (keyValueContexts.size()) {
             case 0:
                 throw new IllegalArgumentException("Key " + keyClass + " of " + identifiable + " has no components");
             case 1:
                 final Entry<QName, ValueContext> entry = keyValueContexts.entrySet().iterator().next();
-                return new SingleKey(schema, keyClass, identifiable, entry.getKey(), entry.getValue());
+                return new SingleKey(schema, keyClass, identifiable, entry.getKey(), entry.getValue(), intern);
             default:
-                return new MultiKey(schema, keyClass, identifiable, keyValueContexts);
+                return new MultiKey(schema, keyClass, identifiable, keyValueContexts, intern);
         }
     }
 
     @Override
-    @SuppressWarnings({ "rawtypes", "unchecked" })
     protected final IdentifiableItem<?, ?> deserializeImpl(final NodeIdentifierWithPredicates input) {
-        final Identifier<?> identifier = deserializeIdentifier(input);
-        return IdentifiableItem.of((Class) identifiable, (Identifier) identifier);
+        return items == null ? createItem(input) : getInterned(items, input);
     }
 
     @Override
@@ -159,8 +177,17 @@ abstract class IdentifiableItemCodec
         return serializeIdentifier(qname, input.getKey());
     }
 
-    @SuppressWarnings("checkstyle:illegalCatch")
     final @NonNull Identifier<?> deserializeIdentifier(final NodeIdentifierWithPredicates input) {
+        return keys == null ? createIdentifier(input) : getInterned(keys, input);
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private @NonNull IdentifiableItem<?, ?> createItem(final NodeIdentifierWithPredicates input) {
+        return IdentifiableItem.of((Class) identifiable, (Identifier) deserializeIdentifier(input));
+    }
+
+    @SuppressWarnings("checkstyle:illegalCatch")
+    private @NonNull Identifier<?> createIdentifier(final NodeIdentifierWithPredicates input) {
         try {
             return deserializeIdentifierImpl(input);
         } catch (Throwable e) {
@@ -175,6 +202,16 @@ abstract class IdentifiableItemCodec
 
     abstract @NonNull NodeIdentifierWithPredicates serializeIdentifier(QName qname, Identifier<?> key);
 
+    private static <V> @NonNull V getInterned(final LoadingCache<NodeIdentifierWithPredicates, V> cache,
+            final NodeIdentifierWithPredicates input) {
+        try {
+            return cache.getUnchecked(input);
+        } catch (UncheckedExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw e;
+        }
+    }
+
     static MethodHandle getConstructor(final Class<? extends Identifier<?>> clazz, final int nrArgs) {
         for (final Constructor<?> ctor : clazz.getConstructors()) {
             // Check argument count
@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.codec.impl;
+
+import static com.google.common.base.Verify.verify;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.ImmutableMap;
+import java.time.Instant;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.HashSet;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.mdsal.binding.dom.codec.api.BindingCodecTreeNode;
+import org.opendaylight.mdsal.binding.dom.codec.api.BindingDataObjectCodecTreeNode;
+import org.opendaylight.mdsal.binding.dom.codec.api.BindingStreamEventWriter;
+import org.opendaylight.mdsal.binding.dom.codec.impl.CodecOperationStatistics.Recorder;
+import org.opendaylight.mdsal.binding.dom.codec.spi.ForwardingBindingDOMCodecServices;
+import org.opendaylight.yangtools.yang.binding.Action;
+import org.opendaylight.yangtools.yang.binding.DataContainer;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.binding.Notification;
+import org.opendaylight.yangtools.yang.binding.RpcInput;
+import org.opendaylight.yangtools.yang.binding.RpcOutput;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.opendaylight.yangtools.yang.model.api.stmt.SchemaNodeIdentifier.Absolute;
+
+/**
+ * A {@link ForwardingBindingDOMCodecServices} recording the number and latency of serialization and deserialization
+ * calls for each binding type, along with the number of classes generated for it by the underlying
+ * {@link BindingCodecContext}. Statistics can be queried at runtime via {@link #getStatistics()}.
+ *
+ * <p>
+ * Besides direct translation, this covers codecs obtained through {@link #getSubtreeCodec(InstanceIdentifier)} and
+ * its siblings, as well as writers obtained through {@link #newWriter(InstanceIdentifier, NormalizedNodeStreamWriter)}
+ * and its siblings. {@link DefaultBindingDOMCodecFactory} wraps every codec it creates in an instance of this class
+ * if the {@code org.opendaylight.mdsal.binding.dom.codec.impl.instrumented} system property is set to {@code true}.
+ */
+@Beta
+public final class InstrumentedBindingDOMCodecServices extends ForwardingBindingDOMCodecServices {
+    private static final class TypeRecorder {
+        final Recorder serialization = new Recorder();
+        final Recorder deserialization = new Recorder();
+    }
+
+    private static final CodecOperationStatistics EMPTY = new Recorder().snapshot();
+
+    private final ConcurrentMap<Class<?>, TypeRecorder> recorders = new ConcurrentHashMap<>();
+    private final @NonNull BindingCodecContext delegate;
+
+    public InstrumentedBindingDOMCodecServices(final BindingCodecContext delegate) {
+        this.delegate = requireNonNull(delegate);
+    }
+
+    @Override
+    protected BindingCodecContext delegate() {
+        return delegate;
+    }
+
+    /**
+     * Return a snapshot of statistics of all binding types which have been serialized, deserialized or had a class
+     * generated for them.
+     *
+     * @return Statistics indexed by binding type
+     */
+    public @NonNull ImmutableMap<Class<?>, CodecTypeStatistics> getStatistics() {
+        final ImmutableMap<Class<?>, Integer> generated = delegate.getLoader().getGeneratedClassCounts();
+        final Set<Class<?>> types = new HashSet<>(generated.keySet());
+        types.addAll(recorders.keySet());
+
+        final ImmutableMap.Builder<Class<?>, CodecTypeStatistics> builder =
+            ImmutableMap.builderWithExpectedSize(types.size());
+        for (Class<?> type : types) {
+            final TypeRecorder recorder = recorders.get(type);
+            builder.put(type, new CodecTypeStatistics(type,
+                recorder == null ? EMPTY : recorder.serialization.snapshot(),
+                recorder == null ? EMPTY : recorder.deserialization.snapshot(),
+                generated.getOrDefault(type, 0)));
+        }
+        return builder.build();
+    }
+
+    @Override
+    public <T extends DataObject> Entry<YangInstanceIdentifier, NormalizedNode<?, ?>> toNormalizedNode(
+            final InstanceIdentifier<T> path, final T data) {
+        final long start = System.nanoTime();
+        final Entry<YangInstanceIdentifier, NormalizedNode<?, ?>> ret = super.toNormalizedNode(path, data);
+        recorderFor(path.getTargetType()).serialization.record(System.nanoTime() - start);
+        return ret;
+    }
+
+    @Override
+    public ContainerNode toNormalizedNodeNotification(final Notification data) {
+        final long start = System.nanoTime();
+        final ContainerNode ret = super.toNormalizedNodeNotification(data);
+        recorderFor(data.implementedInterface()).serialization.record(System.nanoTime() - start);
+        return ret;
+    }
+
+    @Override
+    public ContainerNode toNormalizedNodeRpcData(final DataContainer data) {
+        final long start = System.nanoTime();
+        final ContainerNode ret = super.toNormalizedNodeRpcData(data);
+        recorderFor(data.implementedInterface()).serialization.record(System.nanoTime() - start);
+        return ret;
+    }
+
+    @Override
+    public Entry<InstanceIdentifier<?>, DataObject> fromNormalizedNode(final YangInstanceIdentifier path,
+            final NormalizedNode<?, ?> data) {
+        final long start = System.nanoTime();
+        final Entry<InstanceIdentifier<?>, DataObject> ret = super.fromNormalizedNode(path, data);
+        if (ret != null) {
+            recordDeserialization(ret.getValue(), start);
+        }
+        return ret;
+    }
+
+    @Override
+    public Notification fromNormalizedNodeNotification(final SchemaPath path, final ContainerNode data) {
+        final long start = System.nanoTime();
+        final Notification ret = super.fromNormalizedNodeNotification(path, data);
+        recordDeserialization(ret, start);
+        return ret;
+    }
+
+    @Override
+    public Notification fromNormalizedNodeNotification(final SchemaPath path, final ContainerNode data,
+            final Instant eventInstant) {
+        final long start = System.nanoTime();
+        final Notification ret = super.fromNormalizedNodeNotification(path, data, eventInstant);
+        recordDeserialization(ret, start);
+        return ret;
+    }
+
+    @Override
+    public DataObject fromNormalizedNodeRpcData(final SchemaPath path, final ContainerNode data) {
+        final long start = System.nanoTime();
+        final DataObject ret = super.fromNormalizedNodeRpcData(path, data);
+        recordDeserialization(ret, start);
+        return ret;
+    }
+
+    private void recordDeserialization(final DataContainer result, final long start) {
+        final long elapsed = System.nanoTime() - start;
+        if (result != null) {
+            recorderFor(result.implementedInterface()).deserialization.record(elapsed);
+        }
+    }
+
+    @Override
+    public ContainerNode toNormalizedNodeActionInput(final Class<? extends Action<?, ?, ?>> action,
+            final RpcInput input) {
+        final long start = System.nanoTime();
+        final ContainerNode ret = super.toNormalizedNodeActionInput(action, input);
+        recorderFor(action).serialization.record(System.nanoTime() - start);
+        return ret;
+    }
+
+    @Override
+    public ContainerNode toNormalizedNodeActionOutput(final Class<? extends Action<?, ?, ?>> action,
+            final RpcOutput output) {
+        final long start = System.nanoTime();
+        final ContainerNode ret = super.toNormalizedNodeActionOutput(action, output);
+        recorderFor(action).serialization.record(System.nanoTime() - start);
+        return ret;
+    }
+
+    @Override
+    public <T extends RpcInput> T fromNormalizedNodeActionInput(final Class<? extends Action<?, ?, ?>> action,
+            final ContainerNode input) {
+        final long start = System.nanoTime();
+        final T ret = super.fromNormalizedNodeActionInput(action, input);
+        recorderFor(action).deserialization.record(System.nanoTime() - start);
+        return ret;
+    }
+
+    @Override
+    public <T extends RpcOutput> T fromNormalizedNodeActionOutput(final Class<? extends Action<?, ?, ?>> action,
+            final ContainerNode output) {
+        final long start = System.nanoTime();
+        final T ret = super.fromNormalizedNodeActionOutput(action, output);
+        recorderFor(action).deserialization.record(System.nanoTime() - start);
+        return ret;
+    }
+
+    @Override
+    public Entry<YangInstanceIdentifier, BindingStreamEventWriter> newWriterAndIdentifier(
+            final InstanceIdentifier<?> path, final NormalizedNodeStreamWriter domWriter) {
+        final Entry<YangInstanceIdentifier, BindingStreamEventWriter> ret =
+            super.newWriterAndIdentifier(path, domWriter);
+        return new SimpleImmutableEntry<>(ret.getKey(), instrumentWriter(path.getTargetType(), ret.getValue()));
+    }
+
+    @Override
+    public BindingStreamEventWriter newWriter(final InstanceIdentifier<?> path,
+            final NormalizedNodeStreamWriter domWriter) {
+        return instrumentWriter(path.getTargetType(), super.newWriter(path, domWriter));
+    }
+
+    @Override
+    public BindingStreamEventWriter newNotificationWriter(final Class<? extends Notification> notification,
+            final NormalizedNodeStreamWriter domWriter) {
+        return instrumentWriter(notification, super.newNotificationWriter(notification, domWriter));
+    }
+
+    @Override
+    public BindingStreamEventWriter newActionInputWriter(final Class<? extends Action<?, ?, ?>> action,
+            final NormalizedNodeStreamWriter domWriter) {
+        return instrumentWriter(action, super.newActionInputWriter(action, domWriter));
+    }
+
+    @Override
+    public BindingStreamEventWriter newActionOutputWriter(final Class<? extends Action<?, ?, ?>> action,
+            final NormalizedNodeStreamWriter domWriter) {
+        return instrumentWriter(action, super.newActionOutputWriter(action, domWriter));
+    }
+
+    @Override
+    public BindingStreamEventWriter newRpcWriter(final Class<? extends DataContainer> rpcInputOrOutput,
+            final NormalizedNodeStreamWriter domWriter) {
+        return instrumentWriter(rpcInputOrOutput, super.newRpcWriter(rpcInputOrOutput, domWriter));
+    }
+
+    @Override
+    public <T extends DataObject> BindingDataObjectCodecTreeNode<T> getSubtreeCodec(final InstanceIdentifier<T> path) {
+        return instrumentDataObject(super.getSubtreeCodec(path));
+    }
+
+    @Override
+    public BindingCodecTreeNode getSubtreeCodec(final YangInstanceIdentifier path) {
+        return instrumentNode(super.getSubtreeCodec(path));
+    }
+
+    @Override
+    public BindingCodecTreeNode getSubtreeCodec(final Absolute path) {
+        return instrumentNode(super.getSubtreeCodec(path));
+    }
+
+    Recorder serializationRecorder(final Class<?> type) {
+        return recorderFor(type).serialization;
+    }
+
+    Recorder deserializationRecorder(final Class<?> type) {
+        return recorderFor(type).deserialization;
+    }
+
+    <T extends DataObject> BindingDataObjectCodecTreeNode<T> instrumentDataObject(
+            final BindingDataObjectCodecTreeNode<T> codec) {
+        return codec == null ? null : new InstrumentedDataObjectCodecTreeNode<>(this, codec);
+    }
+
+    BindingCodecTreeNode instrumentNode(final BindingCodecTreeNode codec) {
+        // Leaf and opaque codecs are not instrumented, they are only reachable from their parent's codec
+        return codec instanceof BindingDataObjectCodecTreeNode
+            ? instrumentDataObject((BindingDataObjectCodecTreeNode<?>) codec) : codec;
+    }
+
+    private BindingStreamEventWriter instrumentWriter(final Class<?> type, final BindingStreamEventWriter writer) {
+        // BindingCodecContext always hands out writers capable of emitting anydata
+        verify(writer instanceof AnydataBindingStreamWriter, "Unexpected writer %s", writer);
+        return new InstrumentedBindingStreamWriter((AnydataBindingStreamWriter) writer,
+            recorderFor(type).serialization);
+    }
+
+    private TypeRecorder recorderFor(final Class<?> type) {
+        final TypeRecorder existing = recorders.get(type);
+        return existing != null ? existing : recorders.computeIfAbsent(type, key -> new TypeRecorder());
+    }
+}
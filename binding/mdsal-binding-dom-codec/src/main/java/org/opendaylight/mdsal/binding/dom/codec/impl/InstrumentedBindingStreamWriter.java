@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.codec.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import org.opendaylight.mdsal.binding.dom.codec.impl.CodecOperationStatistics.Recorder;
+import org.opendaylight.yangtools.yang.binding.Augmentation;
+import org.opendaylight.yangtools.yang.binding.DataContainer;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.Identifiable;
+import org.opendaylight.yangtools.yang.binding.Identifier;
+import org.opendaylight.yangtools.yang.binding.OpaqueObject;
+
+/**
+ * A writer recording the time spent translating events into the DOM writer. The time is accumulated across events and
+ * recorded as a single serialization once the outermost node ends, or when the writer is closed. Time spent by
+ * the caller between events is not included.
+ */
+final class InstrumentedBindingStreamWriter extends ForwardingBindingStreamEventWriter {
+    private final AnydataBindingStreamWriter delegate;
+    private final Recorder recorder;
+
+    private long elapsed;
+    private int depth;
+
+    InstrumentedBindingStreamWriter(final AnydataBindingStreamWriter delegate, final Recorder recorder) {
+        this.delegate = requireNonNull(delegate);
+        this.recorder = requireNonNull(recorder);
+    }
+
+    @Override
+    protected AnydataBindingStreamWriter delegate() {
+        return delegate;
+    }
+
+    @Override
+    public void leafNode(final String localName, final Object value) throws IOException {
+        final long start = System.nanoTime();
+        super.leafNode(localName, value);
+        elapsed += System.nanoTime() - start;
+    }
+
+    @Override
+    public void startLeafSet(final String localName, final int childSizeHint) throws IOException {
+        final long start = System.nanoTime();
+        super.startLeafSet(localName, childSizeHint);
+        started(start);
+    }
+
+    @Override
+    public void startOrderedLeafSet(final String localName, final int childSizeHint) throws IOException {
+        final long start = System.nanoTime();
+        super.startOrderedLeafSet(localName, childSizeHint);
+        started(start);
+    }
+
+    @Override
+    public void leafSetEntryNode(final Object value) throws IOException {
+        final long start = System.nanoTime();
+        super.leafSetEntryNode(value);
+        elapsed += System.nanoTime() - start;
+    }
+
+    @Override
+    public void startContainerNode(final Class<? extends DataObject> container, final int childSizeHint)
+            throws IOException {
+        final long start = System.nanoTime();
+        super.startContainerNode(container, childSizeHint);
+        started(start);
+    }
+
+    @Override
+    public void startUnkeyedList(final Class<? extends DataObject> localName, final int childSizeHint)
+            throws IOException {
+        final long start = System.nanoTime();
+        super.startUnkeyedList(localName, childSizeHint);
+        started(start);
+    }
+
+    @Override
+    public void startUnkeyedListItem(final int childSizeHint) throws IOException {
+        final long start = System.nanoTime();
+        super.startUnkeyedListItem(childSizeHint);
+        started(start);
+    }
+
+    @Override
+    public <T extends DataObject & Identifiable<?>> void startMapNode(final Class<T> mapEntryType,
+            final int childSizeHint) throws IOException {
+        final long start = System.nanoTime();
+        super.startMapNode(mapEntryType, childSizeHint);
+        started(start);
+    }
+
+    @Override
+    public <T extends DataObject & Identifiable<?>> void startOrderedMapNode(final Class<T> mapEntryType,
+            final int childSizeHint) throws IOException {
+        final long start = System.nanoTime();
+        super.startOrderedMapNode(mapEntryType, childSizeHint);
+        started(start);
+    }
+
+    @Override
+    public void startMapEntryNode(final Identifier<?> keyValues, final int childSizeHint) throws IOException {
+        final long start = System.nanoTime();
+        super.startMapEntryNode(keyValues, childSizeHint);
+        started(start);
+    }
+
+    @Override
+    public void startChoiceNode(final Class<? extends DataContainer> choice, final int childSizeHint)
+            throws IOException {
+        final long start = System.nanoTime();
+        super.startChoiceNode(choice, childSizeHint);
+        started(start);
+    }
+
+    @Override
+    public void startCase(final Class<? extends DataObject> caze, final int childSizeHint) throws IOException {
+        final long start = System.nanoTime();
+        super.startCase(caze, childSizeHint);
+        started(start);
+    }
+
+    @Override
+    public void startAugmentationNode(final Class<? extends Augmentation<?>> augmentationType) throws IOException {
+        final long start = System.nanoTime();
+        super.startAugmentationNode(augmentationType);
+        started(start);
+    }
+
+    @Override
+    public void anydataNode(final String name, final OpaqueObject<?> value) throws IOException {
+        final long start = System.nanoTime();
+        super.anydataNode(name, value);
+        elapsed += System.nanoTime() - start;
+    }
+
+    @Override
+    public void anyxmlNode(final String name, final Object value) throws IOException {
+        final long start = System.nanoTime();
+        super.anyxmlNode(name, value);
+        elapsed += System.nanoTime() - start;
+    }
+
+    @Override
+    public void endNode() throws IOException {
+        final long start = System.nanoTime();
+        super.endNode();
+        elapsed += System.nanoTime() - start;
+        if (--depth == 0) {
+            record();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            // Report whatever has not been reported, for example when the outermost node was never ended
+            if (elapsed != 0) {
+                record();
+            }
+        }
+    }
+
+    private void started(final long start) {
+        elapsed += System.nanoTime() - start;
+        depth++;
+    }
+
+    private void record() {
+        recorder.record(elapsed);
+        elapsed = 0;
+    }
+}
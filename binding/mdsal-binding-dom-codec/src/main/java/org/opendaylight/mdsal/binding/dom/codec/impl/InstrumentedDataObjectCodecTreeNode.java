@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.codec.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableCollection;
+import java.util.List;
+import java.util.Optional;
+import org.opendaylight.mdsal.binding.dom.codec.api.BindingCodecTreeNode;
+import org.opendaylight.mdsal.binding.dom.codec.api.BindingDataObjectCodecTreeNode;
+import org.opendaylight.mdsal.binding.dom.codec.api.BindingNormalizedNodeCachingCodec;
+import org.opendaylight.mdsal.binding.dom.codec.api.BindingNormalizedNodeCodec;
+import org.opendaylight.mdsal.binding.dom.codec.impl.CodecOperationStatistics.Recorder;
+import org.opendaylight.yangtools.yang.binding.BindingObject;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.model.api.DocumentedNode.WithStatus;
+
+/**
+ * A {@link BindingDataObjectCodecTreeNode} recording serialization and deserialization into an
+ * {@link InstrumentedBindingDOMCodecServices}. Child codecs and caching codecs obtained from it are instrumented as
+ * well.
+ */
+final class InstrumentedDataObjectCodecTreeNode<T extends DataObject> implements BindingDataObjectCodecTreeNode<T> {
+    private static final class CachingCodec<T extends BindingObject> implements BindingNormalizedNodeCachingCodec<T> {
+        private final BindingNormalizedNodeCachingCodec<T> delegate;
+        private final Recorder serialization;
+        private final Recorder deserialization;
+
+        CachingCodec(final BindingNormalizedNodeCachingCodec<T> delegate, final Recorder serialization,
+                final Recorder deserialization) {
+            this.delegate = requireNonNull(delegate);
+            this.serialization = requireNonNull(serialization);
+            this.deserialization = requireNonNull(deserialization);
+        }
+
+        @Override
+        public T deserialize(final NormalizedNode<?, ?> data) {
+            return timedDeserialize(delegate, deserialization, data);
+        }
+
+        @Override
+        public NormalizedNode<?, ?> serialize(final T data) {
+            return timedSerialize(delegate, serialization, data);
+        }
+
+        @Override
+        public CacheStats getCacheStats() {
+            return delegate.getCacheStats();
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+
+    private final InstrumentedBindingDOMCodecServices owner;
+    private final BindingDataObjectCodecTreeNode<T> delegate;
+    private final Recorder serialization;
+    private final Recorder deserialization;
+
+    InstrumentedDataObjectCodecTreeNode(final InstrumentedBindingDOMCodecServices owner,
+            final BindingDataObjectCodecTreeNode<T> delegate) {
+        this.owner = requireNonNull(owner);
+        this.delegate = requireNonNull(delegate);
+        serialization = owner.serializationRecorder(delegate.getBindingClass());
+        deserialization = owner.deserializationRecorder(delegate.getBindingClass());
+    }
+
+    @Override
+    public Class<T> getBindingClass() {
+        return delegate.getBindingClass();
+    }
+
+    @Override
+    public WithStatus getSchema() {
+        return delegate.getSchema();
+    }
+
+    @Override
+    public T deserialize(final NormalizedNode<?, ?> data) {
+        return timedDeserialize(delegate, deserialization, data);
+    }
+
+    @Override
+    public NormalizedNode<?, ?> serialize(final T data) {
+        return timedSerialize(delegate, serialization, data);
+    }
+
+    @Override
+    public void writeAsNormalizedNode(final T data, final NormalizedNodeStreamWriter writer) {
+        final long start = System.nanoTime();
+        delegate.writeAsNormalizedNode(data, writer);
+        serialization.record(System.nanoTime() - start);
+    }
+
+    @Override
+    public <E extends DataObject> BindingDataObjectCodecTreeNode<E> streamChild(final Class<E> childClass) {
+        return owner.instrumentDataObject(delegate.streamChild(childClass));
+    }
+
+    @Override
+    public <E extends DataObject> Optional<? extends BindingDataObjectCodecTreeNode<E>> possibleStreamChild(
+            final Class<E> childClass) {
+        return delegate.possibleStreamChild(childClass).map(owner::instrumentDataObject);
+    }
+
+    @Override
+    public BindingCodecTreeNode yangPathArgumentChild(final PathArgument child) {
+        return owner.instrumentNode(delegate.yangPathArgumentChild(child));
+    }
+
+    @Override
+    public BindingDataObjectCodecTreeNode<?> bindingPathArgumentChild(final InstanceIdentifier.PathArgument arg,
+            final List<PathArgument> builder) {
+        return owner.instrumentDataObject(delegate.bindingPathArgumentChild(arg, builder));
+    }
+
+    @Override
+    public PathArgument serializePathArgument(final InstanceIdentifier.PathArgument arg) {
+        return delegate.serializePathArgument(arg);
+    }
+
+    @Override
+    public InstanceIdentifier.PathArgument deserializePathArgument(final PathArgument arg) {
+        return delegate.deserializePathArgument(arg);
+    }
+
+    @Override
+    public ChildAddressabilitySummary getChildAddressabilitySummary() {
+        return delegate.getChildAddressabilitySummary();
+    }
+
+    @Override
+    public BindingNormalizedNodeCachingCodec<T> createCachingCodec(
+            final ImmutableCollection<Class<? extends BindingObject>> cacheSpecifier) {
+        return new CachingCodec<>(delegate.createCachingCodec(cacheSpecifier), serialization, deserialization);
+    }
+
+    @Override
+    public BindingNormalizedNodeCachingCodec<T> createCachingCodec(
+            final ImmutableCollection<Class<? extends BindingObject>> cacheSpecifier, final long maximumWeight) {
+        return new CachingCodec<>(delegate.createCachingCodec(cacheSpecifier, maximumWeight), serialization,
+            deserialization);
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+
+    private static <T extends BindingObject> T timedDeserialize(final BindingNormalizedNodeCodec<T> codec,
+            final Recorder recorder, final NormalizedNode<?, ?> data) {
+        final long start = System.nanoTime();
+        final T ret = codec.deserialize(data);
+        recorder.record(System.nanoTime() - start);
+        return ret;
+    }
+
+    private static <T extends BindingObject> NormalizedNode<?, ?> timedSerialize(
+            final BindingNormalizedNodeCodec<T> codec, final Recorder recorder, final T data) {
+        final long start = System.nanoTime();
+        final NormalizedNode<?, ?> ret = codec.serialize(data);
+        recorder.record(System.nanoTime() - start);
+        return ret;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.codec.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterators;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Set;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.yang.binding.Augmentable;
+import org.opendaylight.yangtools.yang.binding.Augmentation;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+
+/**
+ * Lazily-populated map of augmentations of an {@link AugmentableCodecDataObject}. The set of augmentations present is
+ * determined when this map is instantiated, but individual augmentations are deserialized only when they are accessed.
+ * Presence checks, such as {@link #containsKey(Object)}, do not deserialize anything.
+ *
+ * @param <T> Augmentable type
+ */
+final class LazyAugmentationMap<T extends DataObject & Augmentable<T>>
+        extends AbstractMap<Class<? extends Augmentation<T>>, Augmentation<T>> implements Immutable {
+    private final class EntrySet extends AbstractSet<Entry<Class<? extends Augmentation<T>>, Augmentation<T>>>
+            implements Immutable {
+        @Override
+        public Iterator<Entry<Class<? extends Augmentation<T>>, Augmentation<T>>> iterator() {
+            return Iterators.transform(prototypes.entrySet().iterator(),
+                entry -> new SimpleImmutableEntry<>(entry.getKey(), owner.loadAugmentation(entry.getValue())));
+        }
+
+        @Override
+        public int size() {
+            return prototypes.size();
+        }
+    }
+
+    private final @NonNull AugmentableCodecDataObject<T> owner;
+    private final @NonNull ImmutableMap<Class<? extends Augmentation<T>>, DataContainerCodecPrototype<?>> prototypes;
+
+    LazyAugmentationMap(final AugmentableCodecDataObject<T> owner,
+            final ImmutableMap<Class<? extends Augmentation<T>>, DataContainerCodecPrototype<?>> prototypes) {
+        this.owner = requireNonNull(owner);
+        this.prototypes = requireNonNull(prototypes);
+    }
+
+    @Override
+    public int size() {
+        return prototypes.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return prototypes.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return prototypes.containsKey(key);
+    }
+
+    @Override
+    public Augmentation<T> get(final Object key) {
+        final DataContainerCodecPrototype<?> prototype = prototypes.get(key);
+        return prototype == null ? null : owner.loadAugmentation(prototype);
+    }
+
+    @Override
+    public Set<Class<? extends Augmentation<T>>> keySet() {
+        return prototypes.keySet();
+    }
+
+    @Override
+    public Set<Entry<Class<? extends Augmentation<T>>, Augmentation<T>>> entrySet() {
+        return new EntrySet();
+    }
+}
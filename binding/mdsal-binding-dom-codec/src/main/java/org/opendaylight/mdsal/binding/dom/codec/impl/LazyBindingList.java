@@ -16,8 +16,11 @@ import java.lang.invoke.VarHandle;
 import java.util.AbstractList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.RandomAccess;
+import java.util.Spliterator;
 import java.util.function.UnaryOperator;
 import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.yangtools.concepts.Immutable;
@@ -37,6 +40,10 @@ import org.slf4j.LoggerFactory;
  *   <li>initial load additionally incurs a {@link VarHandle#compareAndExchangeRelease(Object...)} store</li>
  * </ul>
  *
+ * <p>
+ * The first access to the list is reported to the list's {@link ListMaterializationPolicy}, which decides whether
+ * future lists of the same type should be populated lazily at all.
+ *
  * @param <E> the type of elements in this list
  */
 final class LazyBindingList<E extends DataObject> extends AbstractList<E> implements Immutable, RandomAccess {
@@ -50,6 +57,8 @@ final class LazyBindingList<E extends DataObject> extends AbstractList<E> implem
 
     @VisibleForTesting
     static final int LAZY_CUTOFF;
+    // Explicitly-configured cutoff is not subject to adaptation
+    private static final boolean ADAPTIVE_CUTOFF = System.getProperty(LAZY_CUTOFF_PROPERTY) == null;
 
     static {
         final int value = Integer.getInteger(LAZY_CUTOFF_PROPERTY, DEFAULT_LAZY_CUTOFF);
@@ -57,7 +66,8 @@ final class LazyBindingList<E extends DataObject> extends AbstractList<E> implem
             LOG.info("Lazy population of lists disabled");
             LAZY_CUTOFF = Integer.MAX_VALUE;
         } else {
-            LOG.info("Using lazy population for lists larger than {} element(s)", value);
+            LOG.info("Using {} lazy population for lists larger than {} element(s)",
+                ADAPTIVE_CUTOFF ? "adaptive" : "fixed", value);
             LAZY_CUTOFF = value;
         }
     }
@@ -65,6 +75,10 @@ final class LazyBindingList<E extends DataObject> extends AbstractList<E> implem
     private final ListNodeCodecContext<E> codec;
     private final Object[] objects;
 
+    // Set once the first access has been reported. Races only result in multiple reports, hence this need not be
+    // volatile.
+    private boolean observed;
+
     private LazyBindingList(final ListNodeCodecContext<E> codec,
             final Collection<? extends NormalizedNodeContainer<?, ?, ?>> entries) {
         this.codec = requireNonNull(codec);
@@ -77,7 +91,8 @@ final class LazyBindingList<E extends DataObject> extends AbstractList<E> implem
             // Do not bother with lazy instantiation in case of a singleton
             return List.of(codec.createBindingProxy(entries.iterator().next()));
         }
-        return size > LAZY_CUTOFF ? new LazyBindingList<>(codec, entries) : eagerList(codec, size, entries);
+        return codec.materializationPolicy().useLazy(size, LAZY_CUTOFF, ADAPTIVE_CUTOFF)
+            ? new LazyBindingList<>(codec, entries) : eagerList(codec, size, entries);
     }
 
     private static <E extends DataObject> @NonNull List<E> eagerList(final ListNodeCodecContext<E> codec,
@@ -99,6 +114,10 @@ final class LazyBindingList<E extends DataObject> extends AbstractList<E> implem
 
     @Override
     public E get(final int index) {
+        if (!observed) {
+            observe(false);
+        }
+
         final Object obj = OBJ_AA.getAcquire(objects, index);
         // Check whether the object has been converted. The object is always non-null, but it can either be in DOM form
         // (either a MapEntryNode or UnkeyedListEntryNode) or in Binding form. We know the exact class for the latter,
@@ -115,6 +134,41 @@ final class LazyBindingList<E extends DataObject> extends AbstractList<E> implem
         return (witness = OBJ_AA.compareAndExchangeRelease(objects, index, node, ret)) == node ? ret : (E) witness;
     }
 
+    @Override
+    public Iterator<E> iterator() {
+        observe(true);
+        return super.iterator();
+    }
+
+    @Override
+    public ListIterator<E> listIterator() {
+        observe(true);
+        return super.listIterator();
+    }
+
+    @Override
+    public ListIterator<E> listIterator(final int index) {
+        observe(true);
+        return super.listIterator(index);
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        observe(true);
+        return super.spliterator();
+    }
+
+    private void observe(final boolean full) {
+        if (!observed) {
+            observed = true;
+            if (full) {
+                codec.materializationPolicy().recordFullIteration();
+            } else {
+                codec.materializationPolicy().recordSparseAccess();
+            }
+        }
+    }
+
     @Override
     @SuppressWarnings("checkstyle:parameterName")
     public boolean remove(final Object o) {
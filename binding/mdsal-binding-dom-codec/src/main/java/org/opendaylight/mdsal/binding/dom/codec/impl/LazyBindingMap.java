@@ -34,7 +34,8 @@ import org.slf4j.LoggerFactory;
 /**
  * Lazily-populated Map of binding DTOs. This implementation acts as the main entry point, so that we can decide on the
  * translation strategy we are going to use. We make that decision based on the first method that touches the mappings
- * (or materializes a view).
+ * (or materializes a view). That decision is also reported to the list's {@link ListMaterializationPolicy}, which
+ * decides whether future maps of the same type should be populated lazily at all.
  *
  * @param <K> key type
  * @param <V> value type
@@ -47,6 +48,8 @@ final class LazyBindingMap<K extends Identifier<V>, V extends DataObject & Ident
     private static final int DEFAULT_LAZY_CUTOFF = 1;
     @VisibleForTesting
     static final int LAZY_CUTOFF;
+    // Explicitly-configured cutoff is not subject to adaptation
+    private static final boolean ADAPTIVE_CUTOFF = System.getProperty(LAZY_CUTOFF_PROPERTY) == null;
 
     private static final VarHandle STATE;
 
@@ -63,7 +66,8 @@ final class LazyBindingMap<K extends Identifier<V>, V extends DataObject & Ident
             LOG.info("Lazy population of maps disabled");
             LAZY_CUTOFF = Integer.MAX_VALUE;
         } else {
-            LOG.info("Using lazy population for maps larger than {} element(s)", value);
+            LOG.info("Using {} lazy population for maps larger than {} element(s)",
+                ADAPTIVE_CUTOFF ? "adaptive" : "fixed", value);
             LAZY_CUTOFF = value;
         }
     }
@@ -87,7 +91,8 @@ final class LazyBindingMap<K extends Identifier<V>, V extends DataObject & Ident
             final V entry = codec.createBindingProxy(mapNode.getValue().iterator().next());
             return Map.of(entry.key(), entry);
         }
-        return size > LAZY_CUTOFF ? new LazyBindingMap<>(codec, mapNode) : eagerMap(codec, mapNode, size);
+        return codec.materializationPolicy().useLazy(size, LAZY_CUTOFF, ADAPTIVE_CUTOFF)
+            ? new LazyBindingMap<>(codec, mapNode) : eagerMap(codec, mapNode, size);
     }
 
     private static <K extends Identifier<V>, V extends DataObject & Identifiable<K>> @NonNull Map<K, V> eagerMap(
@@ -189,6 +194,7 @@ final class LazyBindingMap<K extends Identifier<V>, V extends DataObject & Ident
 
     @SuppressWarnings("unchecked")
     private @NonNull State<K, V> loadLookup() {
+        codec.materializationPolicy().recordSparseAccess();
         final State<K, V> ret = new LazyBindingMapLookupState<>(this);
         final Object witness;
         return (witness = STATE.compareAndExchangeRelease(this, null, ret)) == null ? ret : (State<K, V>) witness;
@@ -196,6 +202,7 @@ final class LazyBindingMap<K extends Identifier<V>, V extends DataObject & Ident
 
     @SuppressWarnings("unchecked")
     private @NonNull State<K, V> loadIter() {
+        codec.materializationPolicy().recordFullIteration();
         final State<K, V> ret = new LazyBindingMapIterState<>(this);
         final Object witness;
         return (witness = STATE.compareAndExchangeRelease(this, null, ret)) == null ? ret : (State<K, V>) witness;
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.codec.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.jdt.annotation.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per-list-type policy deciding whether {@link LazyBindingList} and {@link LazyBindingMap} should be populated eagerly
+ * or lazily. Lazy instances report how they are first accessed: either by a full iteration, which makes the lazy
+ * representation pure overhead, or by sparse lookups, which is where the lazy representation pays off. Every
+ * {@link #WINDOW} observations the policy re-evaluates its preference.
+ *
+ * <p>
+ * While eager population is preferred, a random sample of instances is still created lazily, so that the policy can
+ * notice when the access pattern changes.
+ */
+final class ListMaterializationPolicy {
+    private static final Logger LOG = LoggerFactory.getLogger(ListMaterializationPolicy.class);
+
+    // Number of observations in a single evaluation window
+    @VisibleForTesting
+    static final int WINDOW = 64;
+    // Percentage of full iterations within a window, at or above which we switch to eager population
+    private static final int EAGER_PERCENT = 75;
+    // One in this many instances is created lazily even when eager population is preferred
+    private static final int SAMPLE_RATE = 16;
+    // Observations in current window are packed into a single long: full iterations in the upper 32 bits and total
+    // observations in the lower 32 bits, so that we can update and reset them atomically.
+    private static final long FULL_INCREMENT = (1L << 32) + 1;
+    private static final long SPARSE_INCREMENT = 1;
+
+    private final LongAdder lazyInstances = new LongAdder();
+    private final LongAdder eagerInstances = new LongAdder();
+    private final LongAdder fullIterations = new LongAdder();
+    private final LongAdder sparseAccesses = new LongAdder();
+    private final AtomicLong window = new AtomicLong();
+    private final @NonNull Class<?> bindingClass;
+
+    private volatile boolean preferEager;
+
+    ListMaterializationPolicy(final Class<?> bindingClass) {
+        this.bindingClass = requireNonNull(bindingClass);
+    }
+
+    /**
+     * Decide whether a list of specified size should be populated lazily.
+     *
+     * @param size Number of elements
+     * @param cutoff Maximum number of elements which is always populated eagerly
+     * @param adaptive True if observed access patterns should be taken into account
+     * @return True if the list should be populated lazily
+     */
+    boolean useLazy(final int size, final int cutoff, final boolean adaptive) {
+        final boolean lazy = size > cutoff
+            && (!adaptive || !preferEager || ThreadLocalRandom.current().nextInt(SAMPLE_RATE) == 0);
+        (lazy ? lazyInstances : eagerInstances).increment();
+        return lazy;
+    }
+
+    /**
+     * Record that a lazily-populated instance was first accessed by an operation touching all of its elements.
+     */
+    void recordFullIteration() {
+        fullIterations.increment();
+        observe(FULL_INCREMENT);
+    }
+
+    /**
+     * Record that a lazily-populated instance was first accessed by a lookup of a single element.
+     */
+    void recordSparseAccess() {
+        sparseAccesses.increment();
+        observe(SPARSE_INCREMENT);
+    }
+
+    @NonNull ListMaterializationStatistics snapshot() {
+        return new ListMaterializationStatistics(bindingClass, lazyInstances.sum(), eagerInstances.sum(),
+            fullIterations.sum(), sparseAccesses.sum(), preferEager);
+    }
+
+    @VisibleForTesting
+    boolean prefersEager() {
+        return preferEager;
+    }
+
+    private void observe(final long increment) {
+        final long current = window.addAndGet(increment);
+        // Exactly one thread observes the total reaching the window size, that thread evaluates the window and removes
+        // its observations, leaving any concurrent observations in place for the next window.
+        if ((int) current == WINDOW) {
+            window.addAndGet(-current);
+
+            final boolean eager = (current >>> 32) * 100 >= WINDOW * EAGER_PERCENT;
+            if (eager != preferEager) {
+                LOG.debug("Switching {} to {} population", bindingClass, eager ? "eager" : "lazy");
+                preferEager = eager;
+            }
+        }
+    }
+}
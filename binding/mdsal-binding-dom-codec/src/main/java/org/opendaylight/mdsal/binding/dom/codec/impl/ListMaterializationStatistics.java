@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.codec.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * A snapshot of statistics about how Lists and Maps of a single list type are populated, as reported by
+ * {@link BindingCodecContext#getListMaterializationStatistics()}.
+ */
+@Beta
+public final class ListMaterializationStatistics {
+    private final @NonNull Class<?> bindingClass;
+    private final long lazyInstances;
+    private final long eagerInstances;
+    private final long fullIterations;
+    private final long sparseAccesses;
+    private final boolean preferEager;
+
+    ListMaterializationStatistics(final Class<?> bindingClass, final long lazyInstances, final long eagerInstances,
+            final long fullIterations, final long sparseAccesses, final boolean preferEager) {
+        this.bindingClass = requireNonNull(bindingClass);
+        this.lazyInstances = lazyInstances;
+        this.eagerInstances = eagerInstances;
+        this.fullIterations = fullIterations;
+        this.sparseAccesses = sparseAccesses;
+        this.preferEager = preferEager;
+    }
+
+    public @NonNull Class<?> getBindingClass() {
+        return bindingClass;
+    }
+
+    /**
+     * Return the number of instances which were populated lazily.
+     *
+     * @return Number of lazy instances
+     */
+    public long getLazyInstances() {
+        return lazyInstances;
+    }
+
+    /**
+     * Return the number of instances which were populated eagerly. This does not include singleton lists.
+     *
+     * @return Number of eager instances
+     */
+    public long getEagerInstances() {
+        return eagerInstances;
+    }
+
+    /**
+     * Return the number of lazy instances which were first accessed by an operation touching all their elements.
+     *
+     * @return Number of full iterations
+     */
+    public long getFullIterations() {
+        return fullIterations;
+    }
+
+    /**
+     * Return the number of lazy instances which were first accessed by a lookup of a single element.
+     *
+     * @return Number of sparse accesses
+     */
+    public long getSparseAccesses() {
+        return sparseAccesses;
+    }
+
+    /**
+     * Return true if eager population is currently preferred for this list type.
+     *
+     * @return True if eager population is preferred
+     */
+    public boolean isPreferEager() {
+        return preferEager;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("bindingClass", bindingClass).add("lazy", lazyInstances)
+            .add("eager", eagerInstances).add("fullIterations", fullIterations).add("sparseAccesses", sparseAccesses)
+            .add("preferEager", preferEager).toString();
+    }
+}
@@ -19,13 +19,17 @@ import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListNode;
 import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
 
 class ListNodeCodecContext<D extends DataObject> extends DataObjectCodecContext<D, ListSchemaNode> {
+    private final @NonNull ListMaterializationPolicy materializationPolicy;
+
     ListNodeCodecContext(final DataContainerCodecPrototype<ListSchemaNode> prototype) {
         super(prototype);
+        materializationPolicy = factory().getListMaterializationPolicy(getBindingClass());
     }
 
     ListNodeCodecContext(final DataContainerCodecPrototype<ListSchemaNode> prototype,
             final Method keyMethod) {
         super(prototype, keyMethod);
+        materializationPolicy = factory().getListMaterializationPolicy(getBindingClass());
     }
 
     @Override
@@ -54,6 +58,10 @@ class ListNodeCodecContext<D extends DataObject> extends DataObjectCodecContext<
         }
     }
 
+    final @NonNull ListMaterializationPolicy materializationPolicy() {
+        return materializationPolicy;
+    }
+
     @NonNull Object fromMap(final MapNode map, final int size) {
         return LazyBindingList.create(this, size, map.getValue());
     }
@@ -75,6 +75,14 @@ abstract class NodeCodecContext implements BindingCodecTreeNode {
          */
         IdentifiableItemCodec getPathArgumentCodec(Class<?> type, ListSchemaNode schema);
 
+        /**
+         * Returns the policy for populating Lists and Maps of a list type.
+         *
+         * @param type Type of list item
+         * @return Policy shared by all codecs of supplied list item type
+         */
+        @NonNull ListMaterializationPolicy getListMaterializationPolicy(Class<?> type);
+
         /**
          * Return the codec loader associated with this factory.
          *
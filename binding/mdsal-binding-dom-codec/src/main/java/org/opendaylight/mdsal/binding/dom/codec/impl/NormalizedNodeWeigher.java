@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.codec.impl;
+
+import com.google.common.cache.Weigher;
+import java.util.Collection;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedNodeContainer;
+
+/**
+ * A {@link Weigher} approximating the size of a NormalizedNode by the number of nodes in the tree rooted at it.
+ */
+final class NormalizedNodeWeigher implements Weigher<Object, NormalizedNode<?, ?>> {
+    static final NormalizedNodeWeigher INSTANCE = new NormalizedNodeWeigher();
+
+    private NormalizedNodeWeigher() {
+        // Hidden on purpose
+    }
+
+    @Override
+    public int weigh(final Object key, final NormalizedNode<?, ?> value) {
+        final long weight = weightOf(value);
+        return weight < Integer.MAX_VALUE ? (int) weight : Integer.MAX_VALUE;
+    }
+
+    static long weightOf(final NormalizedNode<?, ?> node) {
+        final Collection<? extends NormalizedNode<?, ?>> children;
+        if (node instanceof NormalizedNodeContainer) {
+            children = ((NormalizedNodeContainer<?, ?, ?>) node).getValue();
+        } else if (node instanceof OrderedNodeContainer) {
+            children = ((OrderedNodeContainer<?>) node).getValue();
+        } else {
+            return 1;
+        }
+
+        long ret = 1;
+        for (NormalizedNode<?, ?> child : children) {
+            ret += weightOf(child);
+        }
+        return ret;
+    }
+}
@@ -16,8 +16,8 @@ import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
  */
 final class TypeObjectNormalizedNodeCache<C extends NodeCodecContext & BindingTypeObjectCodecTreeNode<TypeObject>>
         extends AbstractBindingNormalizedNodeCache<TypeObject, C> {
-    TypeObjectNormalizedNodeCache(final C rootContext) {
-        super(rootContext);
+    TypeObjectNormalizedNodeCache(final C rootContext, final long maximumWeight) {
+        super(rootContext, maximumWeight);
     }
 
     @Override
@@ -7,11 +7,15 @@
  */
 package org.opendaylight.mdsal.binding.dom.codec.impl;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import java.lang.reflect.Method;
 import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.opendaylight.mdsal.binding.generator.util.BaseYangTypesProvider;
 import org.opendaylight.mdsal.binding.spec.naming.BindingMapping;
 import org.opendaylight.yangtools.concepts.IllegalArgumentCodec;
@@ -27,8 +31,13 @@ import org.opendaylight.yangtools.yang.model.util.SchemaContextUtil;
 
 final class UnionTypeCodec extends ReflectionBasedCodec {
     private final ImmutableSet<UnionValueOptionContext> typeCodecs;
+    // Members which can accept a particular DOM value class, in declaration order. This allows us to dispatch on the
+    // input's class and try members in order only when they are ambiguous.
+    private final ConcurrentMap<Class<?>, ImmutableList<UnionValueOptionContext>> candidates =
+            new ConcurrentHashMap<>();
 
-    private UnionTypeCodec(final Class<?> unionCls,final Set<UnionValueOptionContext> codecs) {
+    @VisibleForTesting
+    UnionTypeCodec(final Class<?> unionCls,final Set<UnionValueOptionContext> codecs) {
         super(unionCls);
         typeCodecs = ImmutableSet.copyOf(codecs);
     }
@@ -47,7 +56,7 @@ final class UnionTypeCodec extends ReflectionBasedCodec {
                     final IllegalArgumentCodec<Object, Object> valueCodec =
                             bindingCodecContext.getCodec(valueType, subtype);
 
-                    values.add(new UnionValueOptionContext(unionCls, valueType, valueGetter, valueCodec));
+                    values.add(new UnionValueOptionContext(unionCls, valueType, valueGetter, valueCodec, subtype));
                 }
             }
 
@@ -99,22 +108,40 @@ final class UnionTypeCodec extends ReflectionBasedCodec {
         // prepare codec of union subtype according to return type of referenced
         // leaf
         final IllegalArgumentCodec<Object, Object> valueCodec = bindingCodecContext.getCodec(returnType, subtype);
-        values.add(new UnionValueOptionContext(unionCls, returnType, valueGetterParent, valueCodec));
+        values.add(new UnionValueOptionContext(unionCls, returnType, valueGetterParent, valueCodec,
+            typeNode.getType()));
     }
 
     @Override
     public Object deserialize(final Object input) {
-        for (final UnionValueOptionContext member : typeCodecs) {
-            final Object ret = member.deserializeUnion(input);
+        final ImmutableList<UnionValueOptionContext> members = candidates.computeIfAbsent(input.getClass(),
+            this::candidatesFor);
+        if (members.size() == 1) {
+            // Unambiguous, no need to check patterns as the member will do that
+            final Object ret = members.get(0).deserializeUnion(input);
             if (ret != null) {
                 return ret;
             }
+        } else {
+            for (final UnionValueOptionContext member : members) {
+                if (member.matchesPatterns(input)) {
+                    final Object ret = member.deserializeUnion(input);
+                    if (ret != null) {
+                        return ret;
+                    }
+                }
+            }
         }
 
         throw new IllegalArgumentException(String.format("Failed to construct instance of %s for input %s",
             getTypeClass(), input));
     }
 
+    private ImmutableList<UnionValueOptionContext> candidatesFor(final Class<?> domType) {
+        return typeCodecs.stream().filter(member -> member.acceptsDomType(domType))
+            .collect(ImmutableList.toImmutableList());
+    }
+
     @Override
     public Object serialize(final Object input) {
         if (input != null) {
@@ -10,11 +10,23 @@ package org.opendaylight.mdsal.binding.dom.codec.impl;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.concepts.IllegalArgumentCodec;
+import org.opendaylight.yangtools.yang.binding.RegexPatterns;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.ModifierKind;
+import org.opendaylight.yangtools.yang.model.api.type.PatternConstraint;
+import org.opendaylight.yangtools.yang.model.api.type.StringTypeDefinition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,11 +38,16 @@ final class UnionValueOptionContext {
     private final IllegalArgumentCodec<Object,Object> codec;
     private final MethodHandle getter;
     private final MethodHandle unionCtor;
+    // Class of DOM values this member can accept, null if not known
+    private final @Nullable Class<?> domType;
+    private final ImmutableList<Pattern> patterns;
 
     UnionValueOptionContext(final Class<?> unionType, final Class<?> valueType, final Method getter,
-            final IllegalArgumentCodec<Object, Object> codec) {
+            final IllegalArgumentCodec<Object, Object> codec, final TypeDefinition<?> memberType) {
         this.bindingType = requireNonNull(valueType);
         this.codec = requireNonNull(codec);
+        this.domType = domType(valueType, codec);
+        this.patterns = patternsOf(memberType);
 
         try {
             this.getter = MethodHandles.publicLookup().unreflect(getter).asType(OBJECT_TYPE);
@@ -47,6 +64,35 @@ final class UnionValueOptionContext {
         }
     }
 
+    /**
+     * Check whether this member can possibly accept a DOM value of specified class.
+     *
+     * @param type DOM value class
+     * @return True if the member can accept the value
+     */
+    boolean acceptsDomType(final Class<?> type) {
+        return domType == null || domType.isAssignableFrom(type);
+    }
+
+    /**
+     * Check whether an input matches the patterns restricting this member. This allows us to skip over members which
+     * would reject the input without paying the cost of constructing an exception.
+     *
+     * @param input DOM value
+     * @return False if the input is known not to match this member's patterns
+     */
+    boolean matchesPatterns(final Object input) {
+        if (input instanceof String) {
+            final String str = (String) input;
+            for (Pattern pattern : patterns) {
+                if (!pattern.matcher(str).matches()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     Object serialize(final Object input) {
         final Object baValue = getValueFrom(input);
         return baValue == null ? null : codec.serialize(baValue);
@@ -88,6 +134,48 @@ final class UnionValueOptionContext {
         }
     }
 
+    private static @Nullable Class<?> domType(final Class<?> valueType, final IllegalArgumentCodec<?, ?> codec) {
+        if (codec == ValueTypeCodec.NOOP_CODEC) {
+            // Binding uses the same representation as DOM
+            return valueType.isPrimitive() ? null : valueType;
+        }
+        if (codec instanceof EncapsulatedValueCodec) {
+            return ((EncapsulatedValueCodec) codec).getValueType();
+        }
+        if (codec instanceof EnumerationCodec) {
+            return String.class;
+        }
+        if (codec instanceof BitsCodec) {
+            return Set.class;
+        }
+        if (codec instanceof IdentityCodec) {
+            return QName.class;
+        }
+        if (codec instanceof InstanceIdentifierCodec) {
+            return YangInstanceIdentifier.class;
+        }
+        // Composite and nested union codecs, we do not know
+        return null;
+    }
+
+    // Collect patterns of a string type, including those inherited from its base types, as enforced by Binding
+    // constructors
+    private static ImmutableList<Pattern> patternsOf(final TypeDefinition<?> memberType) {
+        final ImmutableList.Builder<Pattern> builder = ImmutableList.builder();
+        for (TypeDefinition<?> type = memberType; type instanceof StringTypeDefinition; type = type.getBaseType()) {
+            for (PatternConstraint constraint : ((StringTypeDefinition) type).getPatternConstraints()) {
+                final String regex = constraint.getJavaPatternString();
+                final Optional<ModifierKind> modifier = constraint.getModifier();
+                if (modifier.isEmpty()) {
+                    builder.add(Pattern.compile(regex));
+                } else if (modifier.get() == ModifierKind.INVERT_MATCH) {
+                    builder.add(Pattern.compile(RegexPatterns.negatePatternString(regex)));
+                }
+            }
+        }
+        return builder.build();
+    }
+
     @Override
     public int hashCode() {
         return bindingType.hashCode();
@@ -12,22 +12,32 @@ import static com.google.common.base.Verify.verify;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.Beta;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
 import com.google.common.base.Supplier;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.Set;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.DynamicType.Unloaded;
 import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -70,6 +80,21 @@ public abstract class CodecClassLoader extends ClassLoader {
         default Class<T> customizeLoading(final @NonNull Supplier<Class<T>> loader) {
             return loader.get();
         }
+
+        /**
+         * Return the generated classes a precompiled class depends on, as if they were reported by
+         * {@link GeneratorResult#getDependencies()}. This method is invoked instead of
+         * {@link #generateClass(CodecClassLoader, String, Class)} when a precompiled class is found. The default
+         * implementation reports no dependencies.
+         *
+         * @param loader Class loader which is to host the class
+         * @param bindingInterface Binding interface for which the class was generated
+         * @return Dependencies of the precompiled class
+         */
+        default Collection<Class<?>> precompiledDependencies(final CodecClassLoader loader,
+                final Class<?> bindingInterface) {
+            return ImmutableSet.of();
+        }
     }
 
     public static final class GeneratorResult<T> {
@@ -110,12 +135,44 @@ public abstract class CodecClassLoader extends ClassLoader {
         verify(ClassLoader.registerAsParallelCapable());
     }
 
+    /**
+     * Resource prefix under which precompiled classes are looked up in the class loader of the binding interface. A
+     * precompiled class is stored in a resource formed by appending its binary name, with dots replaced by slashes,
+     * and {@code .class} to this prefix. Next to it there must be a resource with {@link #FINGERPRINT_SUFFIX} appended,
+     * holding the fingerprint of the codec and binding interface the class was generated for. A precompiled class whose
+     * fingerprint is missing or does not match is ignored and the class is generated instead.
+     *
+     * <p>
+     * This matches the layout produced by
+     * {@code org.opendaylight.mdsal.binding.dom.codec.loader.bytecodeDumpDirectory}, hence the contents of a dump
+     * directory can be packaged under this prefix alongside the binding classes.
+     */
+    public static final String PRECOMPILED_PREFIX = "META-INF/mdsal-binding-codec/";
+
+    /**
+     * Suffix appended to the resource name of a precompiled class to form the name of the resource holding its
+     * fingerprint.
+     */
+    public static final String FINGERPRINT_SUFFIX = ".fingerprint";
+
+    // Version of the layout of generated classes. This needs to be bumped whenever generated code changes in a way
+    // which makes it incompatible with previously-generated code.
+    private static final int PRECOMPILED_FORMAT = 1;
+
     private static final Logger LOG = LoggerFactory.getLogger(CodecClassLoader.class);
-    private static final File BYTECODE_DIRECTORY;
+    private static final String CODEC_VERSION;
+    private static final boolean USE_PRECOMPILED = !Boolean.getBoolean(
+        "org.opendaylight.mdsal.binding.dom.codec.loader.ignorePrecompiled");
+
+    private static volatile File bytecodeDirectory;
 
     static {
         final String dir = System.getProperty("org.opendaylight.mdsal.binding.dom.codec.loader.bytecodeDumpDirectory");
-        BYTECODE_DIRECTORY = Strings.isNullOrEmpty(dir) ? null : new File(dir);
+        bytecodeDirectory = Strings.isNullOrEmpty(dir) ? null : new File(dir);
+
+        final Package pkg = CodecClassLoader.class.getPackage();
+        final String version = pkg == null ? null : pkg.getImplementationVersion();
+        CODEC_VERSION = version == null ? "" : version;
     }
 
     CodecClassLoader(final ClassLoader parentLoader) {
@@ -133,7 +190,8 @@ public abstract class CodecClassLoader extends ClassLoader {
 
     /**
      * The name of the target class is formed through concatenation of the name of a {@code bindingInterface} and
-     * specified {@code suffix}.
+     * specified {@code suffix}. If a precompiled class is available (see {@link #PRECOMPILED_PREFIX}), it is loaded
+     * instead of running the generator.
      *
      * @param bindingInterface Binding compile-time-generated interface
      * @param suffix Suffix to use
@@ -159,6 +217,30 @@ public abstract class CodecClassLoader extends ClassLoader {
         return ret;
     }
 
+    /**
+     * Return the number of classes loaded by this class loader hierarchy for each binding interface, both generated
+     * and precompiled.
+     *
+     * @return Number of loaded classes, indexed by binding interface
+     */
+    public abstract @NonNull ImmutableMap<Class<?>, Integer> getGeneratedClassCounts();
+
+    /**
+     * Return the number of classes loaded by this class loader hierarchy from precompiled resources for each binding
+     * interface. These are also included in {@link #getGeneratedClassCounts()}.
+     *
+     * @return Number of precompiled classes, indexed by binding interface
+     */
+    public abstract @NonNull ImmutableMap<Class<?>, Integer> getPrecompiledClassCounts();
+
+    /**
+     * Record that a class has been loaded for a binding interface.
+     *
+     * @param bindingInterface Binding interface
+     * @param precompiled True if the class was loaded from a precompiled resource
+     */
+    abstract void recordGeneratedClass(@NonNull Class<?> bindingInterface, boolean precompiled);
+
     /**
      * Append specified loaders to this class loader for the purposes of looking up generated classes. Note that the
      * loaders are expected to have required classes already loaded. This is required to support generation of
@@ -189,14 +271,32 @@ public abstract class CodecClassLoader extends ClassLoader {
                 return (Class<T>) existing;
             }
 
+            final Optional<byte[]> precompiled = findPrecompiled(bindingInterface, fqcn);
+            if (precompiled.isPresent()) {
+                LOG.debug("Loading precompiled {}", fqcn);
+                final byte[] byteCode = precompiled.get();
+                processDependencies(generator.precompiledDependencies(this, bindingInterface));
+                final Class<T> ret = generator.customizeLoading(() -> {
+                    // Precompiled classes are emitted by the same generator under the same name, hence this is
+                    // the class it would have generated
+                    @SuppressWarnings("unchecked")
+                    final Class<T> loaded = (Class<T>) loadClass(fqcn, byteCode);
+                    return loaded;
+                });
+                recordGeneratedClass(bindingInterface, true);
+                return ret;
+            }
+
             final GeneratorResult<T> result = generator.generateClass(this, fqcn, bindingInterface);
             final Unloaded<T> unloaded = result.getResult();
             verify(fqcn.equals(unloaded.getTypeDescription().getName()), "Unexpected class in %s", unloaded);
             verify(unloaded.getAuxiliaryTypes().isEmpty(), "Auxiliary types present in %s", unloaded);
-            dumpBytecode(unloaded);
+            dumpBytecode(bindingInterface, unloaded);
 
             processDependencies(result.getDependencies());
-            return generator.customizeLoading(() -> (Class<T>) unloaded.load(this, STRATEGY).getLoaded());
+            final Class<T> ret = generator.customizeLoading(() -> (Class<T>) unloaded.load(this, STRATEGY).getLoaded());
+            recordGeneratedClass(bindingInterface, false);
+            return ret;
         }
     }
 
@@ -233,12 +333,91 @@ public abstract class CodecClassLoader extends ClassLoader {
         }
     }
 
-    private static void dumpBytecode(final Unloaded<?> unloaded) {
-        if (BYTECODE_DIRECTORY != null) {
+    private static Optional<byte[]> findPrecompiled(final Class<?> bindingInterface, final String fqcn) {
+        if (!USE_PRECOMPILED) {
+            return Optional.empty();
+        }
+        final ClassLoader target = bindingInterface.getClassLoader();
+        if (target == null) {
+            return Optional.empty();
+        }
+
+        final String resource = PRECOMPILED_PREFIX + fqcn.replace('.', '/') + ".class";
+        final Optional<byte[]> byteCode;
+        final Optional<byte[]> fingerprint;
+        try {
+            byteCode = readResource(target, resource);
+            if (byteCode.isEmpty()) {
+                return byteCode;
+            }
+            fingerprint = readResource(target, resource + FINGERPRINT_SUFFIX);
+        } catch (IOException e) {
+            LOG.warn("Failed to read precompiled {}, generating it instead", fqcn, e);
+            return Optional.empty();
+        }
+
+        if (fingerprint.isEmpty()) {
+            LOG.warn("Precompiled {} does not have a fingerprint, generating it instead", fqcn);
+            return Optional.empty();
+        }
+        final String actual = new String(fingerprint.get(), StandardCharsets.US_ASCII).strip();
+        final String expected = fingerprint(bindingInterface, fqcn);
+        if (!expected.equals(actual)) {
+            LOG.warn("Precompiled {} has fingerprint {}, expected {}, generating it instead", fqcn, actual, expected);
+            return Optional.empty();
+        }
+        return byteCode;
+    }
+
+    private static Optional<byte[]> readResource(final ClassLoader loader, final String name) throws IOException {
+        final InputStream is = loader.getResourceAsStream(name);
+        if (is == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(is.readAllBytes());
+        } finally {
+            is.close();
+        }
+    }
+
+    /**
+     * Compute the fingerprint of a generated class. It covers the layout of generated code, the version of this codec
+     * (if available) and the signatures of all methods of the binding interface, which reflect the schema the binding
+     * interface was generated from.
+     *
+     * @param bindingInterface Binding interface
+     * @param fqcn Generated class name
+     * @return Fingerprint string
+     */
+    @VisibleForTesting
+    static @NonNull String fingerprint(final Class<?> bindingInterface, final String fqcn) {
+        final Hasher hasher = Hashing.sha256().newHasher()
+            .putInt(PRECOMPILED_FORMAT)
+            .putString(CODEC_VERSION, StandardCharsets.UTF_8).putChar('\n')
+            .putString(fqcn, StandardCharsets.UTF_8).putChar('\n');
+        Arrays.stream(bindingInterface.getMethods()).map(Method::toGenericString).sorted()
+            .forEach(method -> hasher.putString(method, StandardCharsets.UTF_8).putChar('\n'));
+        return hasher.hash().toString();
+    }
+
+    @VisibleForTesting
+    static @Nullable File setBytecodeDumpDirectory(final @Nullable File directory) {
+        final File prev = bytecodeDirectory;
+        bytecodeDirectory = directory;
+        return prev;
+    }
+
+    private static void dumpBytecode(final Class<?> bindingInterface, final Unloaded<?> unloaded) {
+        final File directory = bytecodeDirectory;
+        if (directory != null) {
+            final String fqcn = unloaded.getTypeDescription().getName();
             try {
-                unloaded.saveIn(BYTECODE_DIRECTORY);
+                unloaded.saveIn(directory);
+                Files.writeString(new File(directory, fqcn.replace('.', File.separatorChar) + ".class"
+                    + FINGERPRINT_SUFFIX).toPath(), fingerprint(bindingInterface, fqcn), StandardCharsets.US_ASCII);
             } catch (IOException | IllegalArgumentException e) {
-                LOG.info("Failed to save {}", unloaded.getTypeDescription().getName(), e);
+                LOG.info("Failed to save {}", fqcn, e);
             }
         }
     }
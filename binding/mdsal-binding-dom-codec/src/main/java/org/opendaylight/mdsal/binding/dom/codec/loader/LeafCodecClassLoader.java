@@ -10,6 +10,7 @@ package org.opendaylight.mdsal.binding.dom.codec.loader;
 import static com.google.common.base.Verify.verify;
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import java.util.ArrayList;
 import java.util.List;
@@ -68,6 +69,21 @@ final class LeafCodecClassLoader extends CodecClassLoader {
         return target.equals(bindingTarget) ? this : root.findClassLoader(bindingClass);
     }
 
+    @Override
+    public ImmutableMap<Class<?>, Integer> getGeneratedClassCounts() {
+        return root.getGeneratedClassCounts();
+    }
+
+    @Override
+    public ImmutableMap<Class<?>, Integer> getPrecompiledClassCounts() {
+        return root.getPrecompiledClassCounts();
+    }
+
+    @Override
+    void recordGeneratedClass(final Class<?> bindingInterface, final boolean precompiled) {
+        root.recordGeneratedClass(bindingInterface, precompiled);
+    }
+
     @Override
     void appendLoaders(final Set<LeafCodecClassLoader> newLoaders) {
         while (true) {
@@ -15,6 +15,8 @@ import com.google.common.collect.ImmutableMap.Builder;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import org.opendaylight.yangtools.yang.binding.DataContainer;
 import org.slf4j.Logger;
@@ -35,6 +37,9 @@ final class RootCodecClassLoader extends CodecClassLoader {
 
     private volatile ImmutableMap<ClassLoader, CodecClassLoader> loaders = ImmutableMap.of();
 
+    private final ConcurrentMap<Class<?>, Integer> generatedClassCounts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, Integer> precompiledClassCounts = new ConcurrentHashMap<>();
+
     RootCodecClassLoader() {
         super(LOADER);
     }
@@ -84,6 +89,24 @@ final class RootCodecClassLoader extends CodecClassLoader {
         }
     }
 
+    @Override
+    public ImmutableMap<Class<?>, Integer> getGeneratedClassCounts() {
+        return ImmutableMap.copyOf(generatedClassCounts);
+    }
+
+    @Override
+    public ImmutableMap<Class<?>, Integer> getPrecompiledClassCounts() {
+        return ImmutableMap.copyOf(precompiledClassCounts);
+    }
+
+    @Override
+    void recordGeneratedClass(final Class<?> bindingInterface, final boolean precompiled) {
+        generatedClassCounts.merge(bindingInterface, 1, Integer::sum);
+        if (precompiled) {
+            precompiledClassCounts.merge(bindingInterface, 1, Integer::sum);
+        }
+    }
+
     @Override
     void appendLoaders(final Set<LeafCodecClassLoader> newLoaders) {
         // Root loader should never see the requirement for other loaders, as that would violate loop-free nature
@@ -12,8 +12,10 @@ import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import java.util.Collection;
@@ -144,6 +146,42 @@ public class CachingCodecTest extends AbstractBindingCodecTest {
         assertEquals(ImmutableMap.of(), output.nonnullTopLevelList());
     }
 
+    @Test
+    public void testBoundedCache() {
+        final BindingNormalizedNodeCachingCodec<Top> cachingCodec = topNode.createCachingCodec(
+            ImmutableSet.of(TopLevelList.class), 100);
+        final NormalizedNode<?, ?> first = cachingCodec.serialize(TOP_TWO_LIST_DATA);
+        final NormalizedNode<?, ?> second = cachingCodec.serialize(TOP_TWO_LIST_DATA);
+        verifyListItemSame(first, second);
+
+        final CacheStats stats = cachingCodec.getCacheStats();
+        assertEquals(2, stats.missCount());
+        assertEquals(2, stats.hitCount());
+        assertEquals(0, stats.evictionCount());
+    }
+
+    @Test
+    public void testBoundedCacheEviction() {
+        final BindingNormalizedNodeCachingCodec<Top> cachingCodec = topNode.createCachingCodec(
+            ImmutableSet.of(TopLevelList.class), 0);
+        final NormalizedNode<?, ?> first = cachingCodec.serialize(TOP_TWO_LIST_DATA);
+        final NormalizedNode<?, ?> second = cachingCodec.serialize(TOP_TWO_LIST_DATA);
+        assertEquals(first, second);
+        assertNotSame(getListItems(first).getValue().iterator().next(),
+            getListItems(second).getValue().iterator().next());
+
+        final CacheStats stats = cachingCodec.getCacheStats();
+        assertEquals(4, stats.missCount());
+        assertEquals(0, stats.hitCount());
+        assertEquals(4, stats.evictionCount());
+    }
+
+    @Test
+    public void testNegativeMaximumWeight() {
+        assertThrows(IllegalArgumentException.class,
+            () -> topNode.createCachingCodec(ImmutableSet.of(TopLevelList.class), -1));
+    }
+
     @SafeVarargs
     private final BindingNormalizedNodeCachingCodec<Top> createCachingCodec(
             final Class<? extends DataObject>... classes) {
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.codec.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map.Entry;
+import org.junit.Test;
+import org.opendaylight.mdsal.binding.dom.codec.api.BindingDataObjectCodecTreeNode;
+import org.opendaylight.mdsal.binding.dom.codec.api.BindingStreamEventWriter;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.Top;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.TopBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.TopLevelList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.TopLevelListBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.TopLevelListKey;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+
+public class InstrumentedBindingDOMCodecServicesTest extends AbstractBindingCodecTest {
+    @Test
+    public void testStatistics() {
+        final InstrumentedBindingDOMCodecServices codec = new InstrumentedBindingDOMCodecServices(codecContext);
+        final Entry<YangInstanceIdentifier, NormalizedNode<?, ?>> dom = codec.toNormalizedNode(
+            InstanceIdentifier.create(Top.class), new TopBuilder().build());
+        codec.toNormalizedNode(InstanceIdentifier.create(Top.class), new TopBuilder().build());
+        codec.fromNormalizedNode(dom.getKey(), dom.getValue());
+
+        final CodecTypeStatistics stats = codec.getStatistics().get(Top.class);
+        assertNotNull(stats);
+        assertEquals(Top.class, stats.getBindingClass());
+        assertEquals(2, stats.getSerialization().getCount());
+        assertEquals(2, Arrays.stream(stats.getSerialization().getHistogram()).sum());
+        assertTrue(stats.getSerialization().getMaxNanos() <= stats.getSerialization().getTotalNanos());
+        assertEquals(1, stats.getDeserialization().getCount());
+        assertTrue(stats.getGeneratedClassCount() > 0);
+    }
+
+    @Test
+    public void testSubtreeCodec() {
+        final InstrumentedBindingDOMCodecServices codec = new InstrumentedBindingDOMCodecServices(codecContext);
+        final BindingDataObjectCodecTreeNode<Top> subtree = codec.getSubtreeCodec(InstanceIdentifier.create(Top.class));
+        subtree.deserialize(subtree.serialize(new TopBuilder().build()));
+
+        // Codecs looked up by DOM path and child codecs are instrumented as well
+        final BindingDataObjectCodecTreeNode<?> domSubtree = (BindingDataObjectCodecTreeNode<?>) codec.getSubtreeCodec(
+            YangInstanceIdentifier.of(Top.QNAME));
+        final BindingDataObjectCodecTreeNode<TopLevelList> child = subtree.streamChild(TopLevelList.class);
+        child.serialize(new TopLevelListBuilder().setName("foo").build());
+
+        final CodecTypeStatistics stats = codec.getStatistics().get(Top.class);
+        assertEquals(1, stats.getSerialization().getCount());
+        assertEquals(1, stats.getDeserialization().getCount());
+        assertEquals(1, codec.getStatistics().get(TopLevelList.class).getSerialization().getCount());
+        assertTrue(domSubtree instanceof InstrumentedDataObjectCodecTreeNode);
+    }
+
+    @Test
+    public void testWriter() throws IOException {
+        final InstrumentedBindingDOMCodecServices codec = new InstrumentedBindingDOMCodecServices(codecContext);
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        final BindingStreamEventWriter writer = codec.newWriter(InstanceIdentifier.create(Top.class),
+            ImmutableNormalizedNodeStreamWriter.from(result));
+        writer.startContainerNode(Top.class, 0);
+        writer.startMapNode(TopLevelList.class, 1);
+        writer.startMapEntryNode(new TopLevelListKey("foo"), 1);
+        writer.leafNode("name", "foo");
+        writer.endNode();
+        writer.endNode();
+        final CodecTypeStatistics before = codec.getStatistics().get(Top.class);
+        assertTrue(before == null || before.getSerialization().getCount() == 0);
+
+        // The whole subtree is recorded once the outermost node ends
+        writer.endNode();
+        assertTrue(result.isFinished());
+        assertEquals(1, codec.getStatistics().get(Top.class).getSerialization().getCount());
+    }
+
+    @Test
+    public void testFactory() {
+        assertTrue(new DefaultBindingDOMCodecFactory(true).createBindingDOMCodec(getRuntimeContext())
+            instanceof InstrumentedBindingDOMCodecServices);
+        assertTrue(new DefaultBindingDOMCodecFactory(false).createBindingDOMCodec(getRuntimeContext())
+            instanceof BindingCodecContext);
+    }
+
+    @Test
+    public void testBucketOf() {
+        assertEquals(0, CodecOperationStatistics.bucketOf(0));
+        assertEquals(0, CodecOperationStatistics.bucketOf(1));
+        assertEquals(1, CodecOperationStatistics.bucketOf(2));
+        assertEquals(1, CodecOperationStatistics.bucketOf(3));
+        assertEquals(10, CodecOperationStatistics.bucketOf(1024));
+        assertEquals(CodecOperationStatistics.BUCKETS - 1, CodecOperationStatistics.bucketOf(Long.MAX_VALUE));
+    }
+}
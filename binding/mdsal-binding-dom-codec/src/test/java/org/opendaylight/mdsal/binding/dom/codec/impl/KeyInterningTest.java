@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.codec.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import com.google.common.collect.Iterables;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.Top;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.TopLevelList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.TopLevelListKey;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+
+public class KeyInterningTest extends AbstractBindingRuntimeTest {
+    private static final InstanceIdentifier<TopLevelList> PATH = InstanceIdentifier.create(Top.class)
+            .child(TopLevelList.class, new TopLevelListKey("foo"));
+
+    @Test
+    public void testInterning() {
+        final BindingCodecContext codec = new BindingCodecContext(getRuntimeContext(), true);
+        final PathArgument first = decodeLast(codec);
+        final PathArgument second = decodeLast(codec);
+
+        assertEquals(Iterables.getLast(PATH.getPathArguments()), first);
+        assertSame(first, second);
+    }
+
+    @Test
+    public void testNoInterning() {
+        final BindingCodecContext codec = new BindingCodecContext(getRuntimeContext(), false);
+        final PathArgument first = decodeLast(codec);
+        final PathArgument second = decodeLast(codec);
+
+        assertEquals(first, second);
+        assertNotSame(first, second);
+    }
+
+    private static PathArgument decodeLast(final BindingCodecContext codec) {
+        // Use distinct YangInstanceIdentifiers, so that any reuse comes from the codec
+        final YangInstanceIdentifier yangPath = YangInstanceIdentifier.create(
+            codec.toYangInstanceIdentifier(PATH).getPathArguments());
+        return Iterables.getLast(codec.fromYangInstanceIdentifier(yangPath).getPathArguments());
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.codec.impl;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.opendaylight.mdsal.binding.spec.reflect.BindingReflections.getAugmentations;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.augment.rev140709.TreeComplexUsesAugment;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.augment.rev140709.TreeLeafOnlyAugment;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.augment.rev140709.TreeLeafOnlyAugmentBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.augment.rev140709.TreeSecondLeafOnlyAugment;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.augment.rev140709.TreeSecondLeafOnlyAugmentBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.Top;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.TopLevelList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.TopLevelListBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.TopLevelListKey;
+import org.opendaylight.yangtools.yang.binding.Augmentation;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+public class LazyAugmentationMapTest extends AbstractBindingCodecTest {
+    private static final TopLevelListKey TOP_FOO_KEY = new TopLevelListKey("foo");
+    private static final InstanceIdentifier<TopLevelList> BA_TOP_LEVEL_LIST = InstanceIdentifier.builder(Top.class)
+            .child(TopLevelList.class, TOP_FOO_KEY).build();
+
+    private TopLevelList expected;
+    private TopLevelList actual;
+
+    @Override
+    @Before
+    public void before() {
+        super.before();
+
+        expected = new TopLevelListBuilder()
+            .withKey(TOP_FOO_KEY)
+            .addAugmentation(TreeLeafOnlyAugment.class, new TreeLeafOnlyAugmentBuilder().setSimpleValue("foo").build())
+            .addAugmentation(TreeSecondLeafOnlyAugment.class,
+                new TreeSecondLeafOnlyAugmentBuilder().setSecondSimpleValue("bar").build())
+            .build();
+        final Entry<YangInstanceIdentifier, NormalizedNode<?, ?>> entry = codecContext.toNormalizedNode(
+            BA_TOP_LEVEL_LIST, expected);
+        actual = (TopLevelList) codecContext.fromNormalizedNode(entry.getKey(), entry.getValue()).getValue();
+    }
+
+    @Test
+    public void testPresence() {
+        final Map<Class<? extends Augmentation<?>>, Augmentation<?>> augs = getAugmentations(actual);
+        assertThat(augs, instanceOf(LazyAugmentationMap.class));
+        assertEquals(2, augs.size());
+        assertFalse(augs.isEmpty());
+        assertTrue(augs.containsKey(TreeLeafOnlyAugment.class));
+        assertTrue(augs.containsKey(TreeSecondLeafOnlyAugment.class));
+        assertFalse(augs.containsKey(TreeComplexUsesAugment.class));
+        assertEquals(ImmutableSet.of(TreeLeafOnlyAugment.class, TreeSecondLeafOnlyAugment.class), augs.keySet());
+        assertNull(augs.get(TreeComplexUsesAugment.class));
+    }
+
+    @Test
+    public void testSingleLookupShared() {
+        final TreeLeafOnlyAugment aug = actual.augmentation(TreeLeafOnlyAugment.class);
+        assertEquals(expected.augmentation(TreeLeafOnlyAugment.class), aug);
+        assertSame(aug, actual.augmentation(TreeLeafOnlyAugment.class));
+        assertSame(aug, getAugmentations(actual).get(TreeLeafOnlyAugment.class));
+        assertNull(actual.augmentation(TreeComplexUsesAugment.class));
+    }
+
+    @Test
+    public void testMapLookupShared() {
+        final Augmentation<?> aug = getAugmentations(actual).get(TreeSecondLeafOnlyAugment.class);
+        assertEquals(expected.augmentation(TreeSecondLeafOnlyAugment.class), aug);
+        assertSame(aug, actual.augmentation(TreeSecondLeafOnlyAugment.class));
+    }
+
+    @Test
+    public void testEquality() {
+        assertEquals(getAugmentations(expected), getAugmentations(actual));
+        assertEquals(getAugmentations(actual), getAugmentations(expected));
+        assertEquals(getAugmentations(expected).hashCode(), getAugmentations(actual).hashCode());
+        assertEquals(expected, actual);
+        assertEquals(expected.hashCode(), actual.hashCode());
+    }
+}
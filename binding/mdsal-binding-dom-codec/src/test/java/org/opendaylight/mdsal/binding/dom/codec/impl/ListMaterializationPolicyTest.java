@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.codec.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.Top;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.TopLevelList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.TopLevelListBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.top.level.list.NestedList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.top.level.list.NestedListBuilder;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+public class ListMaterializationPolicyTest extends AbstractBindingCodecTest {
+    @Test
+    public void testAdaptation() {
+        final ListMaterializationPolicy policy = new ListMaterializationPolicy(NestedList.class);
+        assertFalse(policy.prefersEager());
+        assertFalse(policy.useLazy(1, 1, true));
+        assertTrue(policy.useLazy(2, 1, true));
+
+        // Full iterations switch to eager population, with only a sample being lazy
+        for (int i = 0; i < ListMaterializationPolicy.WINDOW; ++i) {
+            policy.recordFullIteration();
+        }
+        assertTrue(policy.prefersEager());
+        int lazy = 0;
+        for (int i = 0; i < 1000; ++i) {
+            if (policy.useLazy(2, 1, true)) {
+                lazy++;
+            }
+        }
+        assertTrue(lazy < 500);
+
+        // A non-adaptive cutoff ignores the preference
+        assertTrue(policy.useLazy(2, 1, false));
+
+        // Sparse accesses switch back to lazy population
+        for (int i = 0; i < ListMaterializationPolicy.WINDOW; ++i) {
+            policy.recordSparseAccess();
+        }
+        assertFalse(policy.prefersEager());
+        assertTrue(policy.useLazy(2, 1, true));
+
+        final ListMaterializationStatistics stats = policy.snapshot();
+        assertEquals(NestedList.class, stats.getBindingClass());
+        assertEquals(ListMaterializationPolicy.WINDOW, stats.getFullIterations());
+        assertEquals(ListMaterializationPolicy.WINDOW, stats.getSparseAccesses());
+        assertEquals(1004, stats.getLazyInstances() + stats.getEagerInstances());
+        assertFalse(stats.isPreferEager());
+    }
+
+    @Test
+    public void testStatistics() {
+        final List<NestedList> nested = new ArrayList<>();
+        for (int i = 0; i < 2 * LazyBindingList.LAZY_CUTOFF; ++i) {
+            nested.add(new NestedListBuilder().setName(String.valueOf(i)).build());
+        }
+        final TopLevelList expected = new TopLevelListBuilder().setName("test").setNestedList(nested).build();
+        final InstanceIdentifier<TopLevelList> path = InstanceIdentifier.create(Top.class)
+            .child(TopLevelList.class, expected.key());
+
+        assertEquals(expected.getNestedList(), thereAndBackAgain(path, expected).getNestedList());
+        thereAndBackAgain(path, expected).getNestedList().get(0);
+
+        final ListMaterializationStatistics stats = codecContext.getListMaterializationStatistics()
+            .get(NestedList.class);
+        assertNotNull(stats);
+        assertEquals(2, stats.getLazyInstances());
+        assertEquals(1, stats.getFullIterations());
+        assertEquals(1, stats.getSparseAccesses());
+    }
+}
@@ -15,6 +15,7 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.opendaylight.yang.gen.v1.bug5446.rev151105.IpAddressBinary;
 import org.opendaylight.yang.gen.v1.bug5446.rev151105.IpAddressBinaryBuilder;
+import org.opendaylight.yang.gen.v1.bug5446.rev151105.Ipv6AddressBinary;
 import org.opendaylight.yang.gen.v1.bug5446.rev151105.Root;
 import org.opendaylight.yang.gen.v1.bug5446.rev151105.RootBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.yangtools.test.union.rev150121.TopLevel;
@@ -66,4 +67,19 @@ public class UnionTypeTest extends AbstractBindingCodecTest {
         IpAddressBinary desIpAddress = ((Root) rootObj).getIpAddress();
         assertEquals(ipAddress, desIpAddress);
     }
+
+    @Test
+    public void ambiguousMemberTest() {
+        // Both members are byte[], the second one has to be selected by trying the first one
+        final byte[] bytes = new byte[16];
+        bytes[15] = 1;
+        final IpAddressBinary ipAddress = new IpAddressBinary(new Ipv6AddressBinary(bytes));
+        final Root root = new RootBuilder().setIpAddress(ipAddress).build();
+        final NormalizedNode<?, ?> rootNode = codecContext.toNormalizedNode(InstanceIdentifier.create(Root.class),
+            root).getValue();
+
+        final DataObject rootObj = codecContext.fromNormalizedNode(YangInstanceIdentifier.of(rootNode.getNodeType()),
+            rootNode).getValue();
+        assertEquals(ipAddress, ((Root) rootObj).getIpAddress());
+    }
 }
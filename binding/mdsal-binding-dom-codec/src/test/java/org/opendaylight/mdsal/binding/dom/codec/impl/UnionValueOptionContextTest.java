@@ -12,11 +12,25 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
+import com.google.common.collect.ImmutableSet;
 import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.function.Function;
 import org.junit.Before;
 import org.junit.Test;
+import org.opendaylight.yangtools.concepts.IllegalArgumentCodec;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.opendaylight.yangtools.yang.model.api.type.StringTypeDefinition;
+import org.opendaylight.yangtools.yang.model.util.BaseConstraints;
+import org.opendaylight.yangtools.yang.model.util.type.BaseTypes;
+import org.opendaylight.yangtools.yang.model.util.type.RestrictedTypes;
+import org.opendaylight.yangtools.yang.model.util.type.StringTypeBuilder;
 
 public class UnionValueOptionContextTest {
+    private static final String IPV4_PATTERN = "([0-9]{1,3}\\.){3}[0-9]{1,3}";
+    private static final String IPV6_PATTERN = "[0-9a-fA-F:]+";
+
     private static UnionValueOptionContext TEST_UVOC_1;
     private static UnionValueOptionContext TEST_UVOC_2;
 
@@ -25,16 +39,16 @@ public class UnionValueOptionContextTest {
         final Method methodFoo1 = TestDataObject1.class.getMethod("foo");
         final Method methodFoo2 = TestDataObject2.class.getMethod("foo");
         TEST_UVOC_1 = new UnionValueOptionContext(TestUnion.class, TestDataObject1.class, methodFoo1,
-            ValueTypeCodec.NOOP_CODEC);
+            ValueTypeCodec.NOOP_CODEC, BaseTypes.stringType());
         TEST_UVOC_2 = new UnionValueOptionContext(TestUnion.class, TestDataObject2.class, methodFoo2,
-            ValueTypeCodec.NOOP_CODEC);
+            ValueTypeCodec.NOOP_CODEC, BaseTypes.stringType());
     }
 
     @Test
     public void hashCodeTest() throws Exception {
         final Method methodFoo1 = TestDataObject1.class.getMethod("foo");
         final UnionValueOptionContext test_uvoc = new UnionValueOptionContext(TestUnion.class, TestDataObject1.class,
-            methodFoo1, ValueTypeCodec.NOOP_CODEC);
+            methodFoo1, ValueTypeCodec.NOOP_CODEC, BaseTypes.stringType());
 
         assertEquals("HashCode", test_uvoc.hashCode(), TEST_UVOC_1.hashCode());
         assertNotEquals("HashCode", TEST_UVOC_1.hashCode(), TEST_UVOC_2.hashCode());
@@ -44,12 +58,42 @@ public class UnionValueOptionContextTest {
     public void equalsTest() throws Exception {
         final Method methodFoo1 = TestDataObject1.class.getMethod("foo");
         final UnionValueOptionContext test_uvoc = new UnionValueOptionContext(TestUnion.class, TestDataObject1.class,
-            methodFoo1, ValueTypeCodec.NOOP_CODEC);
+            methodFoo1, ValueTypeCodec.NOOP_CODEC, BaseTypes.stringType());
 
         assertTrue("Equals", TEST_UVOC_1.equals(test_uvoc));
         assertFalse("Not equals", TEST_UVOC_1.equals(TEST_UVOC_2));
     }
 
+    @Test
+    public void patternPreCheckTest() throws Exception {
+        final CountingCodec ipv4Codec = new CountingCodec(Ipv4Address::new);
+        final CountingCodec ipv6Codec = new CountingCodec(Ipv6Address::new);
+        final UnionValueOptionContext ipv4 = new UnionValueOptionContext(IpAddress.class, Ipv4Address.class,
+            IpAddress.class.getMethod("getIpv4Address"), ipv4Codec, patternType("ipv4-address", IPV4_PATTERN));
+        final UnionValueOptionContext ipv6 = new UnionValueOptionContext(IpAddress.class, Ipv6Address.class,
+            IpAddress.class.getMethod("getIpv6Address"), ipv6Codec, patternType("ipv6-address", IPV6_PATTERN));
+
+        assertFalse(ipv4.matchesPatterns("fe80::1"));
+        assertTrue(ipv6.matchesPatterns("fe80::1"));
+
+        // Both members take a String, hence the codec has to consult the patterns to tell them apart
+        final UnionTypeCodec codec = new UnionTypeCodec(IpAddress.class, ImmutableSet.of(ipv4, ipv6));
+        final IpAddress address = (IpAddress) codec.deserialize("fe80::1");
+        assertEquals("fe80::1", address.getIpv6Address().value);
+        assertEquals(0, ipv4Codec.invocations);
+        assertEquals(1, ipv6Codec.invocations);
+
+        assertEquals("192.0.2.1", ((IpAddress) codec.deserialize("192.0.2.1")).getIpv4Address().value);
+        assertEquals(1, ipv4Codec.invocations);
+    }
+
+    private static StringTypeDefinition patternType(final String name, final String regex) {
+        final StringTypeBuilder builder = RestrictedTypes.newStringBuilder(BaseTypes.stringType(),
+            SchemaPath.create(true, QName.create("test", name)));
+        builder.addPatternConstraint(BaseConstraints.newPatternConstraint(regex, Optional.empty(), Optional.empty()));
+        return builder.build();
+    }
+
     protected static final class TestDataObject1 {
         public void foo() {
 
@@ -71,4 +115,65 @@ public class UnionValueOptionContextTest {
 
         }
     }
+
+    public static final class Ipv4Address {
+        final String value;
+
+        public Ipv4Address(final String value) {
+            this.value = value;
+        }
+    }
+
+    public static final class Ipv6Address {
+        final String value;
+
+        public Ipv6Address(final String value) {
+            this.value = value;
+        }
+    }
+
+    public static final class IpAddress {
+        private final Ipv4Address ipv4Address;
+        private final Ipv6Address ipv6Address;
+
+        public IpAddress(final Ipv4Address ipv4Address) {
+            this.ipv4Address = ipv4Address;
+            this.ipv6Address = null;
+        }
+
+        public IpAddress(final Ipv6Address ipv6Address) {
+            this.ipv4Address = null;
+            this.ipv6Address = ipv6Address;
+        }
+
+        public Ipv4Address getIpv4Address() {
+            return ipv4Address;
+        }
+
+        public Ipv6Address getIpv6Address() {
+            return ipv6Address;
+        }
+    }
+
+    // Stands in for the codec of a typedef, counting how many times the typedef has been instantiated
+    private static final class CountingCodec implements IllegalArgumentCodec<Object, Object> {
+        private final Function<String, Object> constructor;
+
+        int invocations;
+
+        CountingCodec(final Function<String, Object> constructor) {
+            this.constructor = constructor;
+        }
+
+        @Override
+        public Object deserialize(final Object input) {
+            invocations++;
+            return constructor.apply((String) input);
+        }
+
+        @Override
+        public Object serialize(final Object input) {
+            throw new UnsupportedOperationException();
+        }
+    }
 }
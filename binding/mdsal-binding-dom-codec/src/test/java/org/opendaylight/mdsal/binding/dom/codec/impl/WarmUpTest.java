@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.codec.impl;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThrows;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.controller.md.sal.test.bi.ba.notification.rev150205.OutOfPixieDustNotification;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.Top;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.TopLevelList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.top.level.list.NestedList;
+
+public class WarmUpTest extends AbstractBindingCodecTest {
+    @Test
+    public void testWarmUp() throws InterruptedException, ExecutionException {
+        assertThrows(IllegalArgumentException.class,
+            () -> codecContext.getLoader().getGeneratedClass(Top.class, "codecImpl"));
+
+        codecContext.warmUp(ForkJoinPool.commonPool()).get();
+
+        for (Class<?> bindingClass : new Class<?>[] {
+            Top.class, TopLevelList.class, NestedList.class, OutOfPixieDustNotification.class
+        }) {
+            assertNotNull(codecContext.getLoader().getGeneratedClass(bindingClass, "codecImpl"));
+            assertNotNull(codecContext.getLoader().getGeneratedClass(bindingClass, "streamer"));
+        }
+    }
+
+    @Test
+    public void testWarmUpNothing() throws InterruptedException, ExecutionException {
+        codecContext.warmUp(ForkJoinPool.commonPool(), module -> false).get();
+
+        assertThrows(IllegalArgumentException.class,
+            () -> codecContext.getLoader().getGeneratedClass(Top.class, "codecImpl"));
+    }
+}
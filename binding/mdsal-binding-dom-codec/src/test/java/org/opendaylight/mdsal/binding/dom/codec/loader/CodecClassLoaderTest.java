@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.codec.loader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.DynamicType.Unloaded;
+import org.junit.Test;
+import org.opendaylight.mdsal.binding.dom.codec.loader.CodecClassLoader.ClassGenerator;
+import org.opendaylight.mdsal.binding.dom.codec.loader.CodecClassLoader.GeneratorResult;
+
+public class CodecClassLoaderTest {
+    public interface Generated {
+        // Marker for classes generated by generators
+    }
+
+    public interface Precompiled {
+        // Marker for classes found as resources
+    }
+
+    public interface Stale {
+        // Marker for classes found as resources, but with a mismatched fingerprint
+    }
+
+    public interface Unstamped {
+        // Marker for classes found as resources, but without a fingerprint
+    }
+
+    @Test
+    public void testGeneratedClass() {
+        final AtomicInteger invocations = new AtomicInteger();
+        final ClassGenerator<Object> generator = (loader, fqcn, bindingInterface) -> {
+            invocations.incrementAndGet();
+            return GeneratorResult.of(new ByteBuddy().subclass(Object.class).name(fqcn).make());
+        };
+
+        final CodecClassLoader loader = CodecClassLoader.create();
+        final Class<?> generated = loader.generateClass(Generated.class, "test", generator);
+        assertEquals(Generated.class.getName() + "$$$test", generated.getName());
+        assertSame(generated, loader.generateClass(Generated.class, "test", generator));
+        assertEquals(1, invocations.get());
+    }
+
+    @Test
+    public void testPrecompiledClass() throws IOException, URISyntaxException {
+        final String fqcn = Precompiled.class.getName() + "$$$test";
+        final List<File> files = savePrecompiled(fqcn, CodecClassLoader.fingerprint(Precompiled.class, fqcn));
+
+        try {
+            final CodecClassLoader codecLoader = CodecClassLoader.create();
+            final Class<?> precompiled = codecLoader.generateClass(Precompiled.class, "test",
+                (loader, name, bindingInterface) -> {
+                    throw new AssertionError("Generator should not be invoked for " + name);
+                });
+            assertEquals(fqcn, precompiled.getName());
+            assertTrue(precompiled.getClassLoader() instanceof CodecClassLoader);
+            assertEquals(Map.of(Precompiled.class, 1), codecLoader.getPrecompiledClassCounts());
+        } finally {
+            files.forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void testStalePrecompiledClass() throws IOException, URISyntaxException {
+        final String fqcn = Stale.class.getName() + "$$$test";
+        // Fingerprint of a class generated for a different binding interface
+        final List<File> files = savePrecompiled(fqcn, CodecClassLoader.fingerprint(Comparable.class, fqcn));
+
+        try {
+            final AtomicInteger invocations = new AtomicInteger();
+            final CodecClassLoader codecLoader = CodecClassLoader.create();
+            final Class<?> generated = codecLoader.generateClass(Stale.class, "test",
+                (loader, name, bindingInterface) -> {
+                    invocations.incrementAndGet();
+                    return GeneratorResult.of(new ByteBuddy().subclass(Object.class).name(name).make());
+                });
+            assertEquals(fqcn, generated.getName());
+            assertEquals(1, invocations.get());
+            assertEquals(Map.of(), codecLoader.getPrecompiledClassCounts());
+        } finally {
+            files.forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void testPrecompiledWithoutFingerprint() throws IOException, URISyntaxException {
+        final String fqcn = Unstamped.class.getName() + "$$$test";
+        final List<File> files = savePrecompiled(fqcn, null);
+
+        try {
+            final AtomicInteger invocations = new AtomicInteger();
+            final Class<?> generated = CodecClassLoader.create().generateClass(Unstamped.class, "test",
+                (loader, name, bindingInterface) -> {
+                    invocations.incrementAndGet();
+                    return GeneratorResult.of(new ByteBuddy().subclass(Object.class).name(name).make());
+                });
+            assertEquals(fqcn, generated.getName());
+            assertEquals(1, invocations.get());
+        } finally {
+            files.forEach(File::delete);
+        }
+    }
+
+    private static List<File> savePrecompiled(final String fqcn, final String fingerprint)
+            throws IOException, URISyntaxException {
+        final Unloaded<Object> unloaded = new ByteBuddy().subclass(Object.class).name(fqcn).make();
+        final File root = new File(new File(CodecClassLoaderTest.class.getResource("/").toURI()),
+            CodecClassLoader.PRECOMPILED_PREFIX);
+        final File file = unloaded.saveIn(root).values().iterator().next();
+        if (fingerprint == null) {
+            return List.of(file);
+        }
+
+        final File stamp = new File(file.getPath() + CodecClassLoader.FINGERPRINT_SUFFIX);
+        Files.writeString(stamp.toPath(), fingerprint, StandardCharsets.US_ASCII);
+        return List.of(file, stamp);
+    }
+}
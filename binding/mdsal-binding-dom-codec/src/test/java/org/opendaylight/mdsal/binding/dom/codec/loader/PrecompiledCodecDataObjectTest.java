@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.binding.dom.codec.loader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Test;
+import org.opendaylight.mdsal.binding.dom.codec.impl.AbstractBindingRuntimeTest;
+import org.opendaylight.mdsal.binding.dom.codec.impl.BindingCodecContext;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.augment.rev140709.TreeLeafOnlyAugment;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.augment.rev140709.TreeLeafOnlyAugmentBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.Top;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.TopBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.TopLevelList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.TopLevelListBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsal.test.binding.rev140701.two.level.list.top.level.list.NestedListBuilder;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+public class PrecompiledCodecDataObjectTest extends AbstractBindingRuntimeTest {
+    private static final InstanceIdentifier<Top> TOP = InstanceIdentifier.create(Top.class);
+
+    @Test
+    public void testPrecompiledCodecDataObject() throws IOException, URISyntaxException {
+        final TopLevelList foo = new TopLevelListBuilder().setName("foo")
+            .setNestedList(List.of(new NestedListBuilder().setName("one").build(),
+                new NestedListBuilder().setName("two").build()))
+            .build();
+        final TopLevelList bar = new TopLevelListBuilder().setName("bar")
+            .addAugmentation(TreeLeafOnlyAugment.class, new TreeLeafOnlyAugmentBuilder().setSimpleValue("baz").build())
+            .build();
+        final Top expected = new TopBuilder().setTopLevelList(Map.of(foo.key(), foo, bar.key(), bar)).build();
+
+        final Path root = new File(new File(PrecompiledCodecDataObjectTest.class.getResource("/").toURI()),
+            CodecClassLoader.PRECOMPILED_PREFIX).toPath();
+        Files.createDirectories(root);
+        final Set<Path> existing = listFiles(root);
+
+        final Entry<YangInstanceIdentifier, NormalizedNode<?, ?>> dom;
+        final File prev = CodecClassLoader.setBytecodeDumpDirectory(root.toFile());
+        try {
+            // Generate and dump all classes needed to serialize and deserialize the data
+            final BindingCodecContext first = new BindingCodecContext(getRuntimeContext());
+            dom = first.toNormalizedNode(TOP, expected);
+            assertEquals(expected, first.fromNormalizedNode(dom.getKey(), dom.getValue()).getValue());
+        } finally {
+            CodecClassLoader.setBytecodeDumpDirectory(prev);
+        }
+
+        try {
+            // A fresh context should pick up the dumped classes instead of generating them. Their static initializers
+            // resolve constants through ClassGeneratorBridge, hence this can only work if precompiled classes are
+            // loaded via ClassGenerator.customizeLoading()
+            final BindingCodecContext second = new BindingCodecContext(getRuntimeContext());
+            final Top actual = (Top) second.fromNormalizedNode(dom.getKey(), dom.getValue()).getValue();
+            assertEquals(expected, actual);
+            assertEquals(dom.getValue(), second.toNormalizedNode(TOP, actual).getValue());
+
+            assertEquals("baz", actual.nonnullTopLevelList().get(bar.key()).augmentation(TreeLeafOnlyAugment.class)
+                .getSimpleValue());
+
+            final Map<Class<?>, Integer> precompiled = second.getLoader().getPrecompiledClassCounts();
+            assertNotNull(precompiled.get(Top.class));
+            assertNotNull(precompiled.get(TopLevelList.class));
+            assertNotNull(precompiled.get(TreeLeafOnlyAugment.class));
+        } finally {
+            final Set<Path> created = listFiles(root);
+            created.removeAll(existing);
+            for (Path path : created) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static Set<Path> listFiles(final Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            // Reverse order, so that files are deleted before the directories containing them
+            return paths.sorted(Comparator.reverseOrder()).collect(Collectors.toCollection(LinkedHashSet::new));
+        }
+    }
+}
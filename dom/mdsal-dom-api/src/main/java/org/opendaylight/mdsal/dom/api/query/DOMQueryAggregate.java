@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.api.query;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.MoreObjects.ToStringHelper;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+
+/**
+ * An aggregation over the results of a {@link DOMQuery}. Rather than producing the matching nodes, an aggregation
+ * reduces them to a single value. Aggregations which operate on a leaf value of each matching node ignore nodes which
+ * do not have that leaf present.
+ *
+ * @param <R> Aggregation result type
+ */
+@Beta
+public abstract class DOMQueryAggregate<R> implements Immutable {
+    /**
+     * Base class for aggregations operating on a leaf value of each matching node.
+     *
+     * @param <R> Aggregation result type
+     */
+    public abstract static class AbstractLeafDOMQueryAggregate<R> extends DOMQueryAggregate<R> {
+        private final @NonNull YangInstanceIdentifier relativePath;
+
+        AbstractLeafDOMQueryAggregate(final DOMQuery query, final YangInstanceIdentifier relativePath) {
+            super(query);
+            this.relativePath = requireNonNull(relativePath);
+        }
+
+        /**
+         * Return the path of the aggregated leaf, relative to the node selected by the query.
+         *
+         * @return Relative path of the aggregated leaf
+         */
+        public final @NonNull YangInstanceIdentifier getPath() {
+            return relativePath;
+        }
+
+        @Override
+        ToStringHelper addToStringAttributes(final ToStringHelper helper) {
+            return helper.add("path", relativePath);
+        }
+    }
+
+    /**
+     * Count of nodes matching the query.
+     */
+    public static final class Count extends DOMQueryAggregate<Long> {
+        public Count(final DOMQuery query) {
+            super(query);
+        }
+
+        @Override
+        public Collector<Object, ?, Long> collector() {
+            return Collectors.counting();
+        }
+    }
+
+    /**
+     * Set of distinct values of a leaf in nodes matching the query.
+     */
+    public static final class Distinct<T> extends AbstractLeafDOMQueryAggregate<Set<T>> {
+        public Distinct(final DOMQuery query, final YangInstanceIdentifier relativePath) {
+            super(query, relativePath);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Collector<Object, ?, Set<T>> collector() {
+            return Collectors.mapping(value -> (T) value, Collectors.toUnmodifiableSet());
+        }
+    }
+
+    /**
+     * Minimum value of a leaf in nodes matching the query.
+     */
+    public static final class Min<T extends Comparable<T>> extends AbstractLeafDOMQueryAggregate<Optional<T>> {
+        public Min(final DOMQuery query, final YangInstanceIdentifier relativePath) {
+            super(query, relativePath);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Collector<Object, ?, Optional<T>> collector() {
+            return Collectors.mapping(value -> (T) value, Collectors.minBy(Comparator.naturalOrder()));
+        }
+    }
+
+    /**
+     * Maximum value of a leaf in nodes matching the query.
+     */
+    public static final class Max<T extends Comparable<T>> extends AbstractLeafDOMQueryAggregate<Optional<T>> {
+        public Max(final DOMQuery query, final YangInstanceIdentifier relativePath) {
+            super(query, relativePath);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Collector<Object, ?, Optional<T>> collector() {
+            return Collectors.mapping(value -> (T) value, Collectors.maxBy(Comparator.naturalOrder()));
+        }
+    }
+
+    private final @NonNull DOMQuery query;
+
+    DOMQueryAggregate(final DOMQuery query) {
+        this.query = requireNonNull(query);
+    }
+
+    /**
+     * Return the query whose results are being aggregated.
+     *
+     * @return Aggregated query
+     */
+    public final @NonNull DOMQuery getQuery() {
+        return query;
+    }
+
+    /**
+     * Return a {@link Collector} which performs the aggregation. For aggregations operating on leaves it is fed leaf
+     * values, otherwise it is fed the matching nodes.
+     *
+     * @return A Collector
+     */
+    public abstract @NonNull Collector<Object, ?, R> collector();
+
+    @Override
+    public String toString() {
+        return addToStringAttributes(MoreObjects.toStringHelper(this).add("query", query)).toString();
+    }
+
+    ToStringHelper addToStringAttributes(final ToStringHelper helper) {
+        return helper;
+    }
+}
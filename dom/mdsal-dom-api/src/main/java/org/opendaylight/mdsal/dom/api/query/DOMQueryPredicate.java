@@ -96,7 +96,7 @@ public abstract class DOMQueryPredicate implements Immutable, Predicate<Object>
 
         @Override
         boolean test(final int valueToData) {
-            return valueToData <= 0;
+            return valueToData < 0;
         }
     }
 
@@ -108,7 +108,7 @@ public abstract class DOMQueryPredicate implements Immutable, Predicate<Object>
 
         @Override
         boolean test(final int valueToData) {
-            return valueToData < 0;
+            return valueToData <= 0;
         }
     }
 
@@ -119,7 +119,7 @@ public abstract class DOMQueryPredicate implements Immutable, Predicate<Object>
 
         @Override
         boolean test(final int valueToData) {
-            return valueToData >= 0;
+            return valueToData > 0;
         }
     }
 
@@ -130,7 +130,7 @@ public abstract class DOMQueryPredicate implements Immutable, Predicate<Object>
 
         @Override
         boolean test(final int valueToData) {
-            return valueToData > 0;
+            return valueToData >= 0;
         }
     }
 
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.api.query;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableMap;
+import java.util.Map;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * A change in the result set of a standing {@link DOMQuery}, as observed by a {@link DOMQueryResultListener}. Each
+ * entry is keyed by the absolute path of the matching node.
+ */
+@Beta
+public final class DOMQueryResultDelta implements Immutable {
+    private final @NonNull ImmutableMap<YangInstanceIdentifier, NormalizedNode<?, ?>> added;
+    private final @NonNull ImmutableMap<YangInstanceIdentifier, NormalizedNode<?, ?>> changed;
+    private final @NonNull ImmutableMap<YangInstanceIdentifier, NormalizedNode<?, ?>> removed;
+
+    public DOMQueryResultDelta(final Map<YangInstanceIdentifier, NormalizedNode<?, ?>> added,
+            final Map<YangInstanceIdentifier, NormalizedNode<?, ?>> changed,
+            final Map<YangInstanceIdentifier, NormalizedNode<?, ?>> removed) {
+        this.added = ImmutableMap.copyOf(added);
+        this.changed = ImmutableMap.copyOf(changed);
+        this.removed = ImmutableMap.copyOf(removed);
+    }
+
+    /**
+     * Return nodes which have started matching the query.
+     *
+     * @return Newly-matching nodes
+     */
+    public @NonNull Map<YangInstanceIdentifier, NormalizedNode<?, ?>> getAdded() {
+        return added;
+    }
+
+    /**
+     * Return nodes which have been matching the query and have been modified while continuing to match it.
+     *
+     * @return Modified matching nodes, with their current data
+     */
+    public @NonNull Map<YangInstanceIdentifier, NormalizedNode<?, ?>> getChanged() {
+        return changed;
+    }
+
+    /**
+     * Return nodes which have stopped matching the query, either because they have been removed or because they no
+     * longer satisfy the query's predicates.
+     *
+     * @return Previously-matching nodes, with their last matching data
+     */
+    public @NonNull Map<YangInstanceIdentifier, NormalizedNode<?, ?>> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * Check whether this delta is empty.
+     *
+     * @return True if this delta does not contain any changes.
+     */
+    public boolean isEmpty() {
+        return added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("added", added.keySet()).add("changed", changed.keySet())
+            .add("removed", removed.keySet()).toString();
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.api.query;
+
+import com.google.common.annotations.Beta;
+import java.util.EventListener;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * Interface implemented by classes interested in the result set of a standing {@link DOMQuery}. The query is
+ * evaluated once when the listener is registered and its result set is then maintained incrementally as the data tree
+ * changes.
+ */
+@Beta
+public interface DOMQueryResultListener extends EventListener {
+    /**
+     * Invoked when the result set of the query has changed. The first invocation reports the initial result set, with
+     * all matching nodes reported as added. That initial delta may be empty if there are no matching nodes.
+     *
+     * @param delta Change in the result set
+     */
+    void onQueryResultChanged(@NonNull DOMQueryResultDelta delta);
+}
@@ -8,7 +8,6 @@
 package org.opendaylight.mdsal.dom.broker;
 
 import static com.google.common.base.Preconditions.checkArgument;
-import static com.google.common.base.Verify.verifyNotNull;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.collect.ArrayListMultimap;
@@ -46,7 +45,8 @@ import org.slf4j.LoggerFactory;
 public final class ShardedDOMDataTree implements DOMDataTreeService, DOMDataTreeShardingService {
     private static final Logger LOG = LoggerFactory.getLogger(ShardedDOMDataTree.class);
 
-    @GuardedBy("this")
+    // Modifications are guarded by this object, lookups which do not need to be consistent with other state can be
+    // performed without holding the lock, as the table itself is thread-safe.
     private final DOMDataTreePrefixTable<DOMDataTreeShardRegistration<?>> shards = DOMDataTreePrefixTable.create();
     @GuardedBy("this")
     private final DOMDataTreePrefixTable<DOMDataTreeProducer> producers = DOMDataTreePrefixTable.create();
@@ -199,7 +199,7 @@ public final class ShardedDOMDataTree implements DOMDataTreeService, DOMDataTree
 
     @SuppressWarnings({ "checkstyle:IllegalCatch", "checkstyle:hiddenField" })
     @Override
-    public synchronized <T extends DOMDataTreeListener> ListenerRegistration<T> registerListener(final T listener,
+    public <T extends DOMDataTreeListener> ListenerRegistration<T> registerListener(final T listener,
             final Collection<DOMDataTreeIdentifier> subtrees, final boolean allowRxMerges,
             final Collection<DOMDataTreeProducer> producers) throws DOMDataTreeLoopException {
         requireNonNull(listener, "listener");
@@ -232,8 +232,7 @@ public final class ShardedDOMDataTree implements DOMDataTreeService, DOMDataTree
         final ListMultimap<DOMDataTreeShardRegistration<?>, DOMDataTreeIdentifier> needed =
                 ArrayListMultimap.create();
         for (final DOMDataTreeIdentifier subtree : subtrees) {
-            final DOMDataTreeShardRegistration<?> reg = verifyNotNull(shards.lookup(subtree).getValue());
-            needed.put(reg, subtree);
+            needed.put(lookupShard(subtree), subtree);
         }
 
         LOG.trace("Listener {} is attaching to shards {}", listener, needed);
@@ -263,6 +262,26 @@ public final class ShardedDOMDataTree implements DOMDataTreeService, DOMDataTree
         };
     }
 
+    /**
+     * Look up the registration of the shard handling a subtree. This method does not require holding the lock, hence
+     * the shard found may be removed concurrently, in which case we retry the lookup, finding its parent.
+     *
+     * @param subtree Subtree to look up
+     * @return Shard registration
+     * @throws IllegalArgumentException if no shard handles the subtree
+     */
+    private DOMDataTreeShardRegistration<?> lookupShard(final DOMDataTreeIdentifier subtree) {
+        while (true) {
+            final DOMDataTreePrefixTableEntry<DOMDataTreeShardRegistration<?>> entry = shards.lookup(subtree);
+            checkArgument(entry != null, "No shard registered for subtree %s", subtree);
+            final DOMDataTreeShardRegistration<?> reg = entry.getValue();
+            if (reg != null) {
+                return reg;
+            }
+            LOG.debug("Shard for {} was removed concurrently, retrying lookup", subtree);
+        }
+    }
+
     private static ListenerRegistration<?> createRegisteredListener(final DOMDataTreeListener userListener,
             final Map<DOMDataTreeShardRegistration<?>, Collection<DOMDataTreeIdentifier>> needed,
             final boolean allowRxMerges, final Collection<DOMDataTreeProducer> producers) {
@@ -19,15 +19,18 @@ import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.checkerframework.checker.lock.qual.GuardedBy;
 import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.mdsal.common.api.CommitInfo;
+import org.opendaylight.mdsal.common.api.TransactionCommitFailedException;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeCursorAwareTransaction;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteCursor;
@@ -142,10 +145,18 @@ final class ShardedDOMDataTreeWriteTransaction implements DOMDataTreeCursorAware
                 break;
             }
             default:
-                internalFuture = Futures.allAsList(transactions.values().stream().map(tx -> {
-                    tx.ready();
-                    return tx.submit();
-                }).collect(Collectors.toList()));
+                // Cross-shard transaction: drive a three-phase commit across all shards. Each phase runs concurrently
+                // on all shards, so that disjoint shards work on their own executors without waiting for each other,
+                // but a phase is started only once all shards have completed the previous one. If any shard rejects
+                // the transaction during validate or prepare, all shard transactions are aborted, hence no shard
+                // commits its part.
+                transactions.values().forEach(DOMDataTreeShardWriteTransaction::ready);
+                final ListenableFuture<List<Void>> prepared = Futures.transformAsync(
+                    allShards(DOMDataTreeShardWriteTransaction::validate), this::prepareValidated,
+                    MoreExecutors.directExecutor());
+                internalFuture = Futures.transformAsync(
+                    Futures.catchingAsync(prepared, Throwable.class, this::abortShards, MoreExecutors.directExecutor()),
+                    ignored -> commitPrepared(), MoreExecutors.directExecutor());
         }
 
         Futures.addCallback(internalFuture, new FutureCallback<Object>() {
@@ -161,6 +172,35 @@ final class ShardedDOMDataTreeWriteTransaction implements DOMDataTreeCursorAware
         }, MoreExecutors.directExecutor());
     }
 
+    private ListenableFuture<List<Void>> prepareValidated(final List<Boolean> validated) {
+        if (!validated.stream().allMatch(Boolean.TRUE::equals)) {
+            LOG.debug("Transaction {} was rejected by one of shards {}", identifier, transactions.keySet());
+            return Futures.immediateFailedFuture(new TransactionCommitFailedException(
+                "Transaction " + identifier + " was rejected by one of its shards"));
+        }
+
+        LOG.debug("Transaction {} validated, preparing shards {}", identifier, transactions.keySet());
+        return allShards(DOMDataTreeShardWriteTransaction::prepare);
+    }
+
+    private ListenableFuture<?> commitPrepared() {
+        LOG.debug("Transaction {} prepared, committing shards {}", identifier, transactions.keySet());
+        return allShards(DOMDataTreeShardWriteTransaction::commit);
+    }
+
+    private ListenableFuture<List<Void>> abortShards(final Throwable cause) {
+        LOG.debug("Transaction {} failed, aborting shards {}", identifier, transactions.keySet(), cause);
+        // Report the original failure, regardless of how the abort turns out
+        return Futures.whenAllComplete(transactions.values().stream().map(DOMDataTreeShardWriteTransaction::abort)
+            .collect(Collectors.toList())).callAsync(() -> Futures.immediateFailedFuture(cause),
+                MoreExecutors.directExecutor());
+    }
+
+    private <T> ListenableFuture<List<T>> allShards(
+            final Function<DOMDataTreeShardWriteTransaction, ListenableFuture<T>> phase) {
+        return Futures.allAsList(transactions.values().stream().map(phase).collect(Collectors.toList()));
+    }
+
     void onTransactionSuccess(final CommitInfo commitInfo) {
         future.set(commitInfo);
     }
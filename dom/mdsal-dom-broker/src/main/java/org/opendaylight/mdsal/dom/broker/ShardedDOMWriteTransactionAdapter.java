@@ -17,6 +17,7 @@ import java.util.Collections;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.mdsal.common.api.CommitInfo;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
@@ -46,7 +47,6 @@ public class ShardedDOMWriteTransactionAdapter implements DOMDataTreeWriteTransa
     private final @NonNull Object txIdentifier;
 
     private boolean finished = false;
-    private boolean initialized = false;
 
     ShardedDOMWriteTransactionAdapter(final Object identifier, final DOMDataTreeService transactionDelegator) {
         this.treeService = requireNonNull(transactionDelegator);
@@ -74,7 +74,7 @@ public class ShardedDOMWriteTransactionAdapter implements DOMDataTreeWriteTransa
     public @NonNull FluentFuture<? extends @NonNull CommitInfo> commit() {
         checkRunning();
         LOG.debug("{}: Submitting transaction", txIdentifier);
-        if (!initialized) {
+        if (transactionMap.isEmpty()) {
             // If underlying producers, transactions and cursors are
             // not even initialized just seal this transaction and
             // return immediate future
@@ -83,9 +83,10 @@ public class ShardedDOMWriteTransactionAdapter implements DOMDataTreeWriteTransa
         }
         // First we need to close cursors
         cursorMap.values().forEach(DOMDataTreeWriteCursor::close);
+        // Only datastores which have actually been touched are committed, each of them concurrently
         final FluentFuture<List<CommitInfo>> aggregatedSubmit = FluentFuture.from(Futures.allAsList(
-                transactionMap.get(LogicalDatastoreType.CONFIGURATION).commit(),
-                transactionMap.get(LogicalDatastoreType.OPERATIONAL).commit()));
+                transactionMap.values().stream().map(DOMDataTreeCursorAwareTransaction::commit)
+                    .collect(Collectors.toList())));
 
         // Now we can close producers and mark transaction as finished
         closeProducers();
@@ -105,12 +106,7 @@ public class ShardedDOMWriteTransactionAdapter implements DOMDataTreeWriteTransa
         checkRunning();
         LOG.debug("{}: Invoking put operation at {}:{}", txIdentifier, store, path);
         LOG.trace("{}: payload is {}", txIdentifier, data);
-        if (!initialized) {
-            initializeDataTreeProducerLayer(path.getParent());
-        }
-
-        final DOMDataTreeWriteCursor cursor = cursorMap.get(store);
-        cursor.write(path.getLastPathArgument(), data);
+        cursorFor(store, path).write(path.getLastPathArgument(), data);
     }
 
     @Override
@@ -119,56 +115,37 @@ public class ShardedDOMWriteTransactionAdapter implements DOMDataTreeWriteTransa
         checkRunning();
         LOG.debug("{}: Invoking merge operation at {}:{}", txIdentifier, store, path);
         LOG.trace("{}: payload is {}", txIdentifier, data);
-        if (!initialized) {
-            initializeDataTreeProducerLayer(path.getParent());
-        }
-
-        final DOMDataTreeWriteCursor cursor = cursorMap.get(store);
-        cursor.merge(path.getLastPathArgument(), data);
+        cursorFor(store, path).merge(path.getLastPathArgument(), data);
     }
 
     @Override
     public void delete(final LogicalDatastoreType store, final YangInstanceIdentifier path) {
         checkRunning();
         LOG.debug("{}: Invoking delete operation at {}:{}", txIdentifier, store, path);
-        if (!initialized) {
-            initializeDataTreeProducerLayer(path.getParent());
-        }
+        cursorFor(store, path).delete(path.getLastPathArgument());
+    }
 
-        final DOMDataTreeWriteCursor cursor = cursorMap.get(store);
-        cursor.delete(path.getLastPathArgument());
+    private DOMDataTreeWriteCursor cursorFor(final LogicalDatastoreType store, final YangInstanceIdentifier path) {
+        final DOMDataTreeWriteCursor existing = cursorMap.get(store);
+        return existing != null ? existing : initializeDataTreeProducerLayer(store, path.getParent());
     }
 
-    // TODO initialize producer, transaction and cursor for only
-    // for necessary data store at one time
-    private void initializeDataTreeProducerLayer(final YangInstanceIdentifier path) {
-        checkState(producerMap.isEmpty(), "Producers already initialized");
-        checkState(transactionMap.isEmpty(), "Transactions already initialized");
-        checkState(cursorMap.isEmpty(), "Cursors already initialized");
-
-        LOG.debug("{}: Creating data tree producers on path {}", txIdentifier, path);
-        producerMap.put(LogicalDatastoreType.CONFIGURATION,
-                treeService.createProducer(
-                        Collections.singleton(new DOMDataTreeIdentifier(LogicalDatastoreType.CONFIGURATION, path))));
-        producerMap.put(LogicalDatastoreType.OPERATIONAL,
-                treeService.createProducer(
-                        Collections.singleton(new DOMDataTreeIdentifier(LogicalDatastoreType.OPERATIONAL, path))));
-
-        LOG.debug("{}: Creating DOMDataTreeCursorAwareTransactions delegates on {}", txIdentifier, path);
-        transactionMap.put(LogicalDatastoreType.CONFIGURATION,
-                producerMap.get(LogicalDatastoreType.CONFIGURATION).createTransaction(true));
-        transactionMap.put(LogicalDatastoreType.OPERATIONAL,
-                producerMap.get(LogicalDatastoreType.OPERATIONAL).createTransaction(true));
-
-        LOG.debug("{}: Creating DOMDataTreeWriteCursors delegates", txIdentifier);
-        cursorMap.put(LogicalDatastoreType.CONFIGURATION,
-                transactionMap.get(LogicalDatastoreType.CONFIGURATION)
-                        .createCursor(new DOMDataTreeIdentifier(LogicalDatastoreType.CONFIGURATION, path)));
-        cursorMap.put(LogicalDatastoreType.OPERATIONAL,
-                transactionMap.get(LogicalDatastoreType.OPERATIONAL)
-                        .createCursor(new DOMDataTreeIdentifier(LogicalDatastoreType.OPERATIONAL, path)));
-
-        initialized = true;
+    private DOMDataTreeWriteCursor initializeDataTreeProducerLayer(final LogicalDatastoreType store,
+            final YangInstanceIdentifier path) {
+        final DOMDataTreeIdentifier treeId = new DOMDataTreeIdentifier(store, path);
+
+        LOG.debug("{}: Creating data tree producer on {}", txIdentifier, treeId);
+        final DOMDataTreeProducer producer = treeService.createProducer(Collections.singleton(treeId));
+        producerMap.put(store, producer);
+
+        LOG.debug("{}: Creating DOMDataTreeCursorAwareTransaction delegate on {}", txIdentifier, treeId);
+        final DOMDataTreeCursorAwareTransaction transaction = producer.createTransaction(true);
+        transactionMap.put(store, transaction);
+
+        LOG.debug("{}: Creating DOMDataTreeWriteCursor delegate on {}", txIdentifier, treeId);
+        final DOMDataTreeWriteCursor cursor = transaction.createCursor(treeId);
+        cursorMap.put(store, cursor);
+        return cursor;
     }
 
     private void checkRunning() {
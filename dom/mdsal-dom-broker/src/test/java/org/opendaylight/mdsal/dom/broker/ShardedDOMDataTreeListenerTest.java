@@ -7,14 +7,18 @@
  */
 package org.opendaylight.mdsal.dom.broker;
 
+import static org.hamcrest.CoreMatchers.startsWith;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.opendaylight.mdsal.dom.broker.MockingUtilities.captorFor;
@@ -102,6 +106,30 @@ public class ShardedDOMDataTreeListenerTest {
         treeService.registerListener(listener, Collections.emptyList(), true, Collections.emptyList());
     }
 
+    @Test
+    public void registerListenerWithoutShard() {
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+            () -> treeService.registerListener(listener, Collections.singleton(new DOMDataTreeIdentifier(
+                LogicalDatastoreType.CONFIGURATION, TestModel.TEST_PATH)), true, Collections.emptyList()));
+        assertThat(ex.getMessage(), startsWith("No shard registered for subtree"));
+    }
+
+    @Test
+    public void registerListenerAfterShardRemoval() throws Exception {
+        final ShardedDOMDataTreeProducer childProducer = Mockito.mock(ShardedDOMDataTreeProducer.class);
+        doReturn(SUBTREES_TEST).when(childProducer).getSubtrees();
+        doNothing().when(childProducer).subshardAdded(anyMap());
+        doNothing().when(rootShard).onChildAttached(TEST_ID, childShard);
+        doNothing().when(rootShard).onChildDetached(TEST_ID, childShard);
+        ((ShardedDOMDataTree) treeService).registerDataTreeShard(TEST_ID, childShard, childProducer).close();
+
+        // The subtree is handled by the parent of the removed shard
+        treeService.registerListener(listener, SUBTREES_TEST, true, Collections.emptyList());
+        verify(rootShard).registerTreeChangeListener(eq(TEST_ID.getRootIdentifier()),
+            any(DOMDataTreeChangeListener.class));
+        verify(childShard, never()).registerTreeChangeListener(any(), any());
+    }
+
     @Test
     public void registerRootListener() throws DOMDataTreeLoopException {
         treeService.registerListener(listener, SUBTREES_ROOT, true, Collections.emptyList());
@@ -7,7 +7,11 @@
  */
 package org.opendaylight.mdsal.dom.broker;
 
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyCollection;
@@ -22,12 +26,16 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 import com.google.common.collect.Iterables;
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
@@ -35,6 +43,8 @@ import org.mockito.Captor;
 import org.mockito.InOrder;
 import org.mockito.MockitoAnnotations;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.common.api.TransactionCommitFailedException;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeChangeListener;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeListener;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeProducer;
@@ -250,6 +260,102 @@ public class ShardedDOMDataTreeProducerMultiShardTest extends AbstractDatastoreT
         verifyNoMoreInteractions(mockedDataTreeListener);
     }
 
+    @Test
+    public void testSplitShard() throws Exception {
+        final DOMDataTreeShardProducer producer = rootShard.createProducer(Collections.singletonList(TEST_ID));
+        writeCrossShardContainer(producer.createTransaction());
+
+        assertEquals(1, rootShard.getStatistics().getCommitDurations().getTotalDurations());
+        assertEquals(Map.of(TestModel.TEST_PATH.getLastPathArgument(), 1L),
+            rootShard.getStatistics().getChildCommitCounts());
+
+        // A listener registered before the split keeps observing the subtree
+        final DOMDataTreeChangeListener rootListener = mock(DOMDataTreeChangeListener.class);
+        doNothing().when(rootListener).onDataTreeChanged(anyCollection());
+        rootShard.registerTreeChangeListener(TestModel.TEST_PATH, rootListener);
+        verify(rootListener).onDataTreeChanged(anyCollection());
+
+        // A transaction allocated before the split targets the old layout
+        final DOMDataTreeShardWriteTransaction staleTx = producer.createTransaction();
+
+        final InMemoryDOMDataTreeShard innerShard = rootShard.createChildShard(INNER_CONTAINER_ID);
+        final DOMDataTreeProducer shardRegProducer =
+                dataTreeService.createProducer(Collections.singletonList(INNER_CONTAINER_ID));
+        innerShardReg = dataTreeService.registerDataTreeShard(INNER_CONTAINER_ID, innerShard, shardRegProducer);
+        shardRegProducer.close();
+
+        // ... hence it is rejected rather than writing into data which is no longer ours
+        final DOMDataTreeWriteCursor cursor = staleTx.createCursor(ROOT_ID);
+        cursor.write(TestModel.TEST_PATH.getLastPathArgument(), crossShardContainer);
+        cursor.close();
+        staleTx.ready();
+        final ExecutionException ex = assertThrows(ExecutionException.class, () -> staleTx.submit().get());
+        assertThat(ex.getCause(), instanceOf(TransactionCommitFailedException.class));
+
+        // The listener observes the subtree being removed from the old shard, followed by it appearing in the new one
+        verify(rootListener, timeout(1000).times(3)).onDataTreeChanged(captorForChanges.capture());
+        final List<Collection<DataTreeCandidate>> rootChanges = captorForChanges.getAllValues();
+        assertEquals(Optional.empty(), innerDataAfter(rootChanges.get(1)));
+        assertEquals(crossShardContainer.getChild(TestModel.INNER_CONTAINER_PATH.getLastPathArgument()),
+            innerDataAfter(rootChanges.get(2)));
+
+        // Subsequent writes are committed through the new shard
+        writeCrossShardContainer(producer.createTransaction());
+        assertEquals(1, innerShard.getStatistics().getCommitDurations().getTotalDurations());
+
+        // Data has been moved into the new shard, hence it is reported as initial data of the subtree
+        final DOMDataTreeListener mockedDataTreeListener = mock(DOMDataTreeListener.class);
+        doNothing().when(mockedDataTreeListener).onDataTreeChanged(anyCollection(), anyMap());
+        dataTreeService.registerListener(mockedDataTreeListener, Collections.singletonList(INNER_CONTAINER_ID),
+                true, Collections.emptyList());
+        verify(mockedDataTreeListener, timeout(1000)).onDataTreeChanged(captorForChanges.capture(),
+            captorForSubtrees.capture());
+        assertEquals(crossShardContainer.getChild(TestModel.INNER_CONTAINER_PATH.getLastPathArgument()).get(),
+            captorForSubtrees.getValue().get(INNER_CONTAINER_ID));
+    }
+
+    @Test
+    public void testSplitShardNeverAttached() throws Exception {
+        final DOMDataTreeShardProducer producer = rootShard.createProducer(Collections.singletonList(TEST_ID));
+        writeCrossShardContainer(producer.createTransaction());
+
+        final InMemoryDOMDataTreeShard innerShard = rootShard.createChildShard(INNER_CONTAINER_ID, 500,
+            TimeUnit.MILLISECONDS);
+
+        // Commits in the new shard are held back while it waits for data, but do not hang once the split times out
+        final ListenableFuture<Void> future = writeShardedValue(innerShard);
+        assertFalse(future.isDone());
+        future.get(5, TimeUnit.SECONDS);
+
+        // The split is no longer pending, hence it can be retried
+        rootShard.createChildShard(INNER_CONTAINER_ID);
+    }
+
+    @Test
+    public void testSplitShardAttachedElsewhere() throws Exception {
+        final DOMDataTreeShardProducer producer = rootShard.createProducer(Collections.singletonList(TEST_ID));
+        writeCrossShardContainer(producer.createTransaction());
+
+        final InMemoryDOMDataTreeShard innerShard = rootShard.createChildShard(INNER_CONTAINER_ID);
+
+        // Attach an intermediate shard, which becomes the parent of the new shard
+        final InMemoryDOMDataTreeShard testShard = InMemoryDOMDataTreeShard.create(TEST_ID, executor, 1);
+        testShard.onModelContextUpdated(SCHEMA_CONTEXT);
+        final DOMDataTreeProducer testShardProducer = dataTreeService.createProducer(
+            Collections.singletonList(TEST_ID));
+        dataTreeService.registerDataTreeShard(TEST_ID, testShard, testShardProducer);
+        testShardProducer.close();
+
+        final DOMDataTreeProducer innerShardProducer = dataTreeService.createProducer(
+            Collections.singletonList(INNER_CONTAINER_ID));
+        innerShardReg = dataTreeService.registerDataTreeShard(INNER_CONTAINER_ID, innerShard, innerShardProducer);
+        innerShardProducer.close();
+
+        // The split is cancelled right away, without waiting for it to time out
+        writeShardedValue(innerShard).get(5, TimeUnit.SECONDS);
+        rootShard.createChildShard(INNER_CONTAINER_ID);
+    }
+
     @Test
     public void testMultipleShardsProducerClose() throws Exception {
         final InMemoryDOMDataTreeShard innerShard = InMemoryDOMDataTreeShard.create(INNER_CONTAINER_ID, executor, 1);
@@ -497,6 +603,24 @@ public class ShardedDOMDataTreeProducerMultiShardTest extends AbstractDatastoreT
         return testContainer;
     }
 
+    private static Optional<NormalizedNode<?, ?>> innerDataAfter(final Collection<DataTreeCandidate> changes) {
+        final DataTreeCandidate candidate = Iterables.getOnlyElement(changes);
+        assertEquals(TestModel.TEST_PATH, candidate.getRootPath());
+        return candidate.getRootNode().getModifiedChild(TestModel.INNER_CONTAINER_PATH.getLastPathArgument())
+            .orElseThrow().getDataAfter();
+    }
+
+    private static ListenableFuture<Void> writeShardedValue(final InMemoryDOMDataTreeShard shard) {
+        final DOMDataTreeShardProducer producer = shard.createProducer(Collections.singletonList(INNER_CONTAINER_ID));
+        final DOMDataTreeShardWriteTransaction transaction = producer.createTransaction();
+        final DOMDataTreeWriteCursor cursor = transaction.createCursor(INNER_CONTAINER_ID);
+        cursor.write(new NodeIdentifier(TestModel.SHARDED_VALUE_1), ImmutableLeafNodeBuilder.create()
+            .withNodeIdentifier(new NodeIdentifier(TestModel.SHARDED_VALUE_1)).withValue("new value").build());
+        cursor.close();
+        transaction.ready();
+        return transaction.submit();
+    }
+
     private void writeCrossShardContainer(final DOMDataTreeShardWriteTransaction transaction) throws Exception {
         final DOMDataTreeWriteCursor cursor = transaction.createCursor(ROOT_ID);
 
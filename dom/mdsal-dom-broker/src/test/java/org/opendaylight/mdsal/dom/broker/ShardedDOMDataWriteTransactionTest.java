@@ -7,17 +7,26 @@
  */
 package org.opendaylight.mdsal.dom.broker;
 
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.MockitoAnnotations.initMocks;
 
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.FluentFuture;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import java.util.ArrayDeque;
 import java.util.Collection;
@@ -26,9 +35,13 @@ import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.common.api.TransactionCommitFailedException;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeCursorAwareTransaction;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeProducer;
@@ -111,6 +124,85 @@ public class ShardedDOMDataWriteTransactionTest {
                 newTx.getIdentifier());
     }
 
+    @Test
+    public void testCrossShardValidation() throws Exception {
+        final DOMDataTreeIdentifier configRootId =
+                new DOMDataTreeIdentifier(LogicalDatastoreType.CONFIGURATION, YangInstanceIdentifier.empty());
+        final DOMDataTreeShardWriteTransaction operTx = mockShardTransaction(true);
+        final DOMDataTreeShardWriteTransaction configTx = mockShardTransaction(false);
+
+        final ShardedDOMDataTree shardedDOMDataTree = new ShardedDOMDataTree();
+        registerShard(shardedDOMDataTree, ROOT_ID, operTx);
+        registerShard(shardedDOMDataTree, configRootId, configTx);
+
+        final DOMDataTreeProducer producer = shardedDOMDataTree.createProducer(List.of(ROOT_ID, configRootId));
+        final FluentFuture<?> future = producer.createTransaction(false).commit();
+
+        final ExecutionException ex = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertThat(ex.getCause(), instanceOf(TransactionCommitFailedException.class));
+        for (DOMDataTreeShardWriteTransaction tx : List.of(operTx, configTx)) {
+            verify(tx).validate();
+            verify(tx).abort();
+            verify(tx, never()).prepare();
+            verify(tx, never()).commit();
+            verify(tx, never()).submit();
+        }
+    }
+
+    @Test
+    public void testCrossShardCommit() throws Exception {
+        final DOMDataTreeIdentifier configRootId =
+                new DOMDataTreeIdentifier(LogicalDatastoreType.CONFIGURATION, YangInstanceIdentifier.empty());
+        final DOMDataTreeShardWriteTransaction operTx = mockShardTransaction(true);
+        final DOMDataTreeShardWriteTransaction configTx = mockShardTransaction(true);
+
+        final ShardedDOMDataTree shardedDOMDataTree = new ShardedDOMDataTree();
+        registerShard(shardedDOMDataTree, ROOT_ID, operTx);
+        registerShard(shardedDOMDataTree, configRootId, configTx);
+
+        final DOMDataTreeProducer producer = shardedDOMDataTree.createProducer(List.of(ROOT_ID, configRootId));
+        producer.createTransaction(false).commit().get(5, TimeUnit.SECONDS);
+
+        // Each phase has to complete on all shards before the next one starts
+        final List<DOMDataTreeShardWriteTransaction> txs = List.of(operTx, configTx);
+        for (DOMDataTreeShardWriteTransaction first : txs) {
+            for (DOMDataTreeShardWriteTransaction second : txs) {
+                final InOrder inOrder = inOrder(first, second);
+                inOrder.verify(first).validate();
+                inOrder.verify(second).prepare();
+                inOrder.verify(first).commit();
+            }
+        }
+        for (DOMDataTreeShardWriteTransaction tx : txs) {
+            verify(tx, never()).abort();
+            verify(tx, never()).submit();
+        }
+    }
+
+    private static DOMDataTreeShardWriteTransaction mockShardTransaction(final boolean valid) {
+        final DOMDataTreeShardWriteTransaction tx = mock(DOMDataTreeShardWriteTransaction.class);
+        doNothing().when(tx).ready();
+        doReturn(Futures.immediateFuture(valid)).when(tx).validate();
+        doReturn(Futures.immediateFuture(null)).when(tx).prepare();
+        doReturn(Futures.immediateFuture(null)).when(tx).commit();
+        doReturn(Futures.immediateFuture(null)).when(tx).abort();
+        doReturn(Futures.immediateFuture(null)).when(tx).submit();
+        return tx;
+    }
+
+    private static void registerShard(final ShardedDOMDataTree dataTree, final DOMDataTreeIdentifier prefix,
+            final DOMDataTreeShardWriteTransaction tx) throws Exception {
+        final WriteableDOMDataTreeShard shard = mock(WriteableDOMDataTreeShard.class);
+        final DOMDataTreeShardProducer shardProducer = mock(DOMDataTreeShardProducer.class);
+        doReturn(tx).when(shardProducer).createTransaction();
+        doNothing().when(shardProducer).close();
+        doReturn(shardProducer).when(shard).createProducer(any(Collection.class));
+
+        final DOMDataTreeProducer regProducer = dataTree.createProducer(Collections.singletonList(prefix));
+        dataTree.registerDataTreeShard(prefix, shard, regProducer);
+        regProducer.close();
+    }
+
     private final class TestDOMShardWriteTransaction implements DOMDataTreeShardWriteTransaction {
         @Override
         public DOMDataTreeWriteCursor createCursor(final DOMDataTreeIdentifier prefix) {
@@ -146,6 +238,11 @@ public class ShardedDOMDataWriteTransactionTest {
         public ListenableFuture<Void> commit() {
             return null;
         }
+
+        @Override
+        public ListenableFuture<Void> abort() {
+            return null;
+        }
     }
 
     private final class TestCursor implements DOMDataTreeWriteCursor {
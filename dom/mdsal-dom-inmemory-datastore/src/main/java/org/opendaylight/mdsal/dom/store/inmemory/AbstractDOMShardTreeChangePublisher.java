@@ -17,6 +17,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeChangeListener;
@@ -52,6 +53,8 @@ abstract class AbstractDOMShardTreeChangePublisher extends AbstractDOMStoreTreeC
 
     private final YangInstanceIdentifier shardPath;
     private final Map<DOMDataTreeIdentifier, ChildShardContext> childShards;
+    // Absolute paths of registered listeners, guarded by takeLock()/releaseLock()
+    private final Map<DOMDataTreeListenerWithSubshards, YangInstanceIdentifier> listeners = new HashMap<>();
     private final DataTree dataTree;
 
     protected AbstractDOMShardTreeChangePublisher(final DataTree dataTree,
@@ -85,6 +88,7 @@ abstract class AbstractDOMShardTreeChangePublisher extends AbstractDOMStoreTreeC
                 new DOMDataTreeListenerWithSubshards(dataTree, strippedIdentifier, listener);
         final AbstractDOMDataTreeChangeListenerRegistration<L> reg =
                 setupContextWithoutSubshards(strippedIdentifier, subshardListener);
+        listeners.put(subshardListener, listenerPath);
 
         for (final ChildShardContext maybeAffected : childShards.values()) {
             if (listenerPath.contains(maybeAffected.getPrefix().getRootIdentifier())) {
@@ -102,6 +106,7 @@ abstract class AbstractDOMShardTreeChangePublisher extends AbstractDOMStoreTreeC
         }
 
         initialDataChangeEvent(listenerPath, listener);
+        subshardListener.ownRegistration = reg;
 
         return reg;
     }
@@ -162,7 +167,13 @@ abstract class AbstractDOMShardTreeChangePublisher extends AbstractDOMStoreTreeC
                 new AbstractDOMDataTreeChangeListenerRegistration<>((L) listener) {
             @Override
             protected void removeRegistration() {
-                listener.close();
+                takeLock();
+                try {
+                    listeners.remove(listener);
+                    listener.close();
+                } finally {
+                    releaseLock();
+                }
                 AbstractDOMShardTreeChangePublisher.this.removeRegistration(node, this);
                 registrationRemoved(this);
             }
@@ -171,6 +182,29 @@ abstract class AbstractDOMShardTreeChangePublisher extends AbstractDOMStoreTreeC
         return registration;
     }
 
+    /**
+     * Forward changes of a newly-attached child shard to listeners which are already registered and whose subtree
+     * overlaps with the child shard.
+     *
+     * @param context Child shard context
+     */
+    void subshardAttached(final ChildShardContext context) {
+        final YangInstanceIdentifier childPath = context.getPrefix().getRootIdentifier();
+        takeLock();
+        try {
+            for (final Entry<DOMDataTreeListenerWithSubshards, YangInstanceIdentifier> entry : listeners.entrySet()) {
+                final YangInstanceIdentifier listenerPath = entry.getValue();
+                if (listenerPath.contains(childPath) || childPath.contains(listenerPath)) {
+                    LOG.debug("Adding new subshard{{}} to existing listener at {}", context.getPrefix(),
+                        listenerPath);
+                    entry.getKey().addSubshard(context);
+                }
+            }
+        } finally {
+            releaseLock();
+        }
+    }
+
     private Iterable<PathArgument> stripShardPath(final YangInstanceIdentifier listenerPath) {
         if (shardPath.isEmpty()) {
             return listenerPath.getPathArguments();
@@ -191,7 +225,7 @@ abstract class AbstractDOMShardTreeChangePublisher extends AbstractDOMStoreTreeC
         return listenerPathArgs;
     }
 
-    private static final class DOMDataTreeListenerWithSubshards implements DOMDataTreeChangeListener {
+    private final class DOMDataTreeListenerWithSubshards implements DOMDataTreeChangeListener {
 
         private final DataTree dataTree;
         private final YangInstanceIdentifier listenerPath;
@@ -200,6 +234,10 @@ abstract class AbstractDOMShardTreeChangePublisher extends AbstractDOMStoreTreeC
         private final Map<YangInstanceIdentifier, ListenerRegistration<DOMDataTreeChangeListener>> registrations =
                 new HashMap<>();
 
+        // Our registration, through which changes of subshards are queued behind changes of this shard. It is set once
+        // initial data has been delivered, until then changes are delivered directly.
+        private volatile AbstractDOMDataTreeChangeListenerRegistration<?> ownRegistration;
+
         DOMDataTreeListenerWithSubshards(final DataTree dataTree, final YangInstanceIdentifier listenerPath,
                 final DOMDataTreeChangeListener delegate) {
             this.dataTree = requireNonNull(dataTree);
@@ -217,13 +255,25 @@ abstract class AbstractDOMShardTreeChangePublisher extends AbstractDOMStoreTreeC
             final List<DataTreeCandidate> newCandidates = changes.stream()
                     .map(candidate -> DataTreeCandidates.newDataTreeCandidate(rootPath, candidate.getRootNode()))
                     .collect(Collectors.toList());
-            delegate.onDataTreeChanged(Collections.singleton(applyChanges(newCandidates)));
+            final Collection<DataTreeCandidate> translated = Collections.singleton(applyChanges(newCandidates));
+            final AbstractDOMDataTreeChangeListenerRegistration<?> reg = ownRegistration;
+            if (reg != null) {
+                notifyListener(reg, translated);
+            } else {
+                delegate.onDataTreeChanged(translated);
+            }
         }
 
         void addSubshard(final ChildShardContext context) {
             checkState(context.getShard() instanceof DOMStoreTreeChangePublisher,
                     "All subshards that are initialDataChangeEvent part of ListenerContext need to be listenable");
 
+            final YangInstanceIdentifier subshardPath = context.getPrefix().getRootIdentifier();
+            if (registrations.containsKey(subshardPath)) {
+                LOG.debug("Subshard {} is already registered", subshardPath);
+                return;
+            }
+
             final DOMStoreTreeChangePublisher listenableShard = (DOMStoreTreeChangePublisher) context.getShard();
             // since this is going into subshard we want to listen for ALL changes in the subshard
             registrations.put(context.getPrefix().getRootIdentifier(),
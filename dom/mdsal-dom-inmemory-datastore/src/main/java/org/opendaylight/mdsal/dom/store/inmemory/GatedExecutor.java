@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.store.inmemory;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import org.checkerframework.checker.lock.qual.GuardedBy;
+
+/**
+ * An {@link Executor} which can hold back tasks without occupying any threads. While the gate is closed, tasks are
+ * queued. Opening it hands them over to the delegate in submission order. Once open, the gate cannot be closed again.
+ */
+final class GatedExecutor implements Executor {
+    private final Executor delegate;
+
+    // Non-null while the gate is closed
+    @GuardedBy("this")
+    private Queue<Runnable> pending;
+
+    GatedExecutor(final Executor delegate) {
+        this.delegate = requireNonNull(delegate);
+    }
+
+    @Override
+    public synchronized void execute(final Runnable command) {
+        requireNonNull(command);
+        if (pending != null) {
+            pending.add(command);
+        } else {
+            delegate.execute(command);
+        }
+    }
+
+    /**
+     * Close the gate. This can only be done before any task has been submitted.
+     */
+    synchronized void close() {
+        checkState(pending == null, "Gate already closed");
+        pending = new ArrayDeque<>();
+    }
+
+    /**
+     * Open the gate, handing over all queued tasks to the delegate. Tasks are handed over while holding the lock, so
+     * that concurrently-submitted tasks cannot overtake them.
+     */
+    synchronized void open() {
+        if (pending != null) {
+            final Queue<Runnable> queued = pending;
+            pending = null;
+            queued.forEach(delegate::execute);
+        }
+    }
+}
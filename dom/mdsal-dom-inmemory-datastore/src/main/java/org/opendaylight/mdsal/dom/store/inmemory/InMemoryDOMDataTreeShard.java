@@ -14,15 +14,23 @@ import com.google.common.annotations.Beta;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeChangeListener;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
@@ -37,10 +45,14 @@ import org.opendaylight.yangtools.concepts.ListenerRegistration;
 import org.opendaylight.yangtools.util.concurrent.CountingRejectedExecutionHandler;
 import org.opendaylight.yangtools.util.concurrent.FastThreadPoolExecutor;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.CursorAwareDataTreeSnapshot;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
 import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContextListener;
@@ -49,20 +61,54 @@ import org.slf4j.LoggerFactory;
 
 @Beta
 public class InMemoryDOMDataTreeShard implements ReadableWriteableDOMDataTreeShard, EffectiveModelContextListener {
+    /**
+     * A child shard created by {@link #createChildShard(DOMDataTreeIdentifier)}, waiting for its data. The data future
+     * is cancelled if the child is not attached to its parent in time, or if it is attached elsewhere.
+     */
+    private static final class PendingSplit {
+        final SettableFuture<Optional<NormalizedNode<?, ?>>> data = SettableFuture.create();
+        final InMemoryDOMDataTreeShard parent;
+        final InMemoryDOMDataTreeShard child;
+
+        // Set before data is completed, hence visible to whoever observes data completing
+        ChildShardContext context;
+
+        PendingSplit(final InMemoryDOMDataTreeShard parent, final InMemoryDOMDataTreeShard child) {
+            this.parent = requireNonNull(parent);
+            this.child = requireNonNull(child);
+        }
+    }
+
     private static final Logger LOG = LoggerFactory.getLogger(InMemoryDOMDataTreeShard.class);
     private static final int DEFAULT_SUBMIT_QUEUE_SIZE = 1000;
+    private static final long DEFAULT_SPLIT_TIMEOUT_SECONDS = 30;
 
     private final DOMDataTreePrefixTable<ChildShardContext> childShardsTable = DOMDataTreePrefixTable.create();
-    private final Map<DOMDataTreeIdentifier, ChildShardContext> childShards = new HashMap<>();
+    // Concurrent, as createChildShard() checks it from the caller's thread
+    private final Map<DOMDataTreeIdentifier, ChildShardContext> childShards = new ConcurrentHashMap<>();
     private final Collection<InMemoryDOMDataTreeShardProducer> producers = new HashSet<>();
+    private final Map<DOMDataTreeIdentifier, PendingSplit> pendingSplits = new ConcurrentHashMap<>();
+    private final ShardCommitStatistics statistics = new ShardCommitStatistics();
     private final InMemoryDOMDataTreeShardChangePublisher shardChangePublisher;
     private final ListeningExecutorService executor;
+    // All commits go through this executor, so they can be held back while we are waiting for data from our parent
+    private final GatedExecutor commitExecutor;
+    private final Executor dataTreeChangeExecutor;
     private final DOMDataTreeIdentifier prefix;
     private final DataTree dataTree;
+    private final int maxDataChangeListenerQueueSize;
+    private final int submitQueueSize;
+
+    private volatile EffectiveModelContext modelContext;
+    // Non-null while we are waiting for data from our parent
+    private volatile PendingSplit pendingSplit;
 
     InMemoryDOMDataTreeShard(final DOMDataTreeIdentifier prefix, final Executor dataTreeChangeExecutor,
             final int maxDataChangeListenerQueueSize, final int submitQueueSize) {
         this.prefix = requireNonNull(prefix);
+        this.dataTreeChangeExecutor = requireNonNull(dataTreeChangeExecutor);
+        this.maxDataChangeListenerQueueSize = maxDataChangeListenerQueueSize;
+        this.submitQueueSize = submitQueueSize;
 
         final DataTreeConfiguration treeBaseConfig = treeTypeFor(prefix.getDatastoreType());
         final DataTreeConfiguration treeConfig = new DataTreeConfiguration.Builder(treeBaseConfig.getTreeType())
@@ -80,6 +126,7 @@ public class InMemoryDOMDataTreeShard implements ReadableWriteableDOMDataTreeSha
             InMemoryDOMDataTreeShard.class);
         fte.setRejectedExecutionHandler(CountingRejectedExecutionHandler.newCallerWaitsPolicy());
         this.executor = MoreExecutors.listeningDecorator(fte);
+        this.commitExecutor = new GatedExecutor(executor);
     }
 
     public static InMemoryDOMDataTreeShard create(final DOMDataTreeIdentifier id,
@@ -97,8 +144,95 @@ public class InMemoryDOMDataTreeShard implements ReadableWriteableDOMDataTreeSha
                 maxDataChangeListenerQueueSize, submitQueueSize);
     }
 
+    /**
+     * Return commit statistics of this shard.
+     *
+     * @return Commit statistics
+     */
+    public ShardCommitStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Create a new shard which is to take over a subtree of this shard. The returned shard is configured the same way
+     * as this shard and needs to be registered at {@code childPrefix} through
+     * {@link org.opendaylight.mdsal.dom.api.DOMDataTreeShardingService#registerDataTreeShard}. Once it is attached to
+     * this shard, the data this shard holds at {@code childPrefix} is moved into it and producers of this shard
+     * are switched to route modifications of that subtree to it.
+     *
+     * <p>
+     * The move happens asynchronously. Producers are switched on this shard's commit executor, hence the switch is
+     * atomic with respect to commits of this shard and producers do not need to be stopped. Transactions allocated
+     * before the switch would still target this shard's copy of the subtree, hence they fail with
+     * {@link org.opendaylight.mdsal.common.api.TransactionCommitFailedException} once submitted. The returned shard
+     * does not commit any transactions until it has received the data, which is published to its listeners as a write.
+     * Listeners already registered with this shard observe the removal of the subtree from this shard, followed by
+     * its contents being written in the returned shard.
+     *
+     * <p>
+     * If the returned shard is not attached to this shard within 30 seconds, or if it is attached to a different
+     * shard, the split is cancelled. The returned shard then starts empty and this shard retains its data.
+     *
+     * @param childPrefix Prefix of the subtree to split off
+     * @return A new shard
+     * @throws IllegalArgumentException if {@code childPrefix} is not a strict descendant of this shard's prefix or it
+     *                                  is already handled by a child shard
+     */
+    public InMemoryDOMDataTreeShard createChildShard(final DOMDataTreeIdentifier childPrefix) {
+        return createChildShard(childPrefix, DEFAULT_SPLIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Create a new shard which is to take over a subtree of this shard, as described in
+     * {@link #createChildShard(DOMDataTreeIdentifier)}, with a specified timeout for it to be attached.
+     *
+     * @param childPrefix Prefix of the subtree to split off
+     * @param timeout Time to wait for the returned shard to be attached
+     * @param unit Unit of {@code timeout}
+     * @return A new shard
+     * @throws IllegalArgumentException if {@code childPrefix} is not a strict descendant of this shard's prefix or it
+     *                                  is already handled by a child shard
+     */
+    public InMemoryDOMDataTreeShard createChildShard(final DOMDataTreeIdentifier childPrefix, final long timeout,
+            final TimeUnit unit) {
+        checkArgument(prefix.contains(childPrefix) && !prefix.equals(childPrefix),
+            "Prefix %s is not a descendant of shard root %s", childPrefix, prefix);
+        checkArgument(!childShards.containsKey(childPrefix), "Child shard with prefix %s already attached",
+            childPrefix);
+
+        final InMemoryDOMDataTreeShard child = create(childPrefix, dataTreeChangeExecutor,
+            maxDataChangeListenerQueueSize, submitQueueSize);
+        final EffectiveModelContext currentContext = modelContext;
+        if (currentContext != null) {
+            child.onModelContextUpdated(currentContext);
+        }
+        final PendingSplit split = new PendingSplit(this, child);
+        checkArgument(pendingSplits.putIfAbsent(child.prefix, split) == null, "Split of %s is already pending",
+            childPrefix);
+
+        // Hold off any commits in the child until it has received the subtree from us, without blocking its executor
+        child.pendingSplit = split;
+        child.commitExecutor.close();
+        split.data.addListener(() -> child.receiveSplit(split), child.executor);
+        CompletableFuture.delayedExecutor(timeout, unit).execute(() -> {
+            if (cancelSplit(split)) {
+                LOG.warn("Shard {} was not attached to {} in time, split cancelled", childPrefix, prefix);
+            }
+        });
+        return child;
+    }
+
+    private boolean cancelSplit(final PendingSplit split) {
+        if (pendingSplits.remove(split.child.prefix, split)) {
+            split.data.cancel(false);
+            return true;
+        }
+        return false;
+    }
+
     @Override
     public void onModelContextUpdated(final EffectiveModelContext newModelContext) {
+        modelContext = newModelContext;
         dataTree.setEffectiveModelContext(newModelContext);
     }
 
@@ -110,21 +244,118 @@ public class InMemoryDOMDataTreeShard implements ReadableWriteableDOMDataTreeSha
         final ChildShardContext context = createContextFor(childPrefix, child);
         childShards.put(childPrefix, context);
         childShardsTable.store(childPrefix, context);
-        updateProducers();
+
+        final Map<InMemoryDOMDataTreeShardProducer, InMemoryShardDataModificationFactory> factories =
+            createModificationFactories(childPrefix);
+        final PendingSplit split = pendingSplits.get(childPrefix);
+        if (split != null && split.child == child && pendingSplits.remove(childPrefix, split)) {
+            split.context = context;
+
+            // Switch producers on our executor, so no commit can interleave with it. Any transaction allocated before
+            // the switch is rejected once submitted, hence the data we hand over to the child is final. Our copy is
+            // removed before the switch, so transactions allocated after it do not conflict with the removal.
+            final YangInstanceIdentifier relativePath = relativePath(childPrefix);
+            commitExecutor.execute(() -> {
+                final Optional<NormalizedNode<?, ?>> data = dataTree.takeSnapshot().readNode(relativePath);
+                if (data.isPresent()) {
+                    // Listeners observe the removal here, followed by the subtree being written in the child once it
+                    // is attached to them
+                    shardChangePublisher.publishChange(
+                        commitDirect(modification -> modification.delete(relativePath)));
+                }
+                factories.forEach(InMemoryDOMDataTreeShardProducer::setModificationFactory);
+                split.data.set(data);
+            });
+        } else {
+            factories.forEach(InMemoryDOMDataTreeShardProducer::setModificationFactory);
+            if (child instanceof InMemoryDOMDataTreeShard) {
+                final PendingSplit other = ((InMemoryDOMDataTreeShard) child).pendingSplit;
+                if (other != null && other.parent.cancelSplit(other)) {
+                    LOG.warn("Shard {} created by {} was attached to {} at {}, split cancelled", other.child.prefix,
+                        other.parent.prefix, prefix, childPrefix);
+                }
+            }
+        }
+    }
+
+    // Invoked on our executor once the parent has handed over the data, or the split has been cancelled
+    private void receiveSplit(final PendingSplit split) {
+        pendingSplit = null;
+        try {
+            if (split.data.isCancelled()) {
+                LOG.debug("Shard {} will not receive data from {}", prefix, split.parent.prefix);
+                return;
+            }
+
+            final Optional<NormalizedNode<?, ?>> data;
+            try {
+                data = Futures.getDone(split.data);
+            } catch (ExecutionException e) {
+                LOG.error("Shard {} failed to receive data from its parent", prefix, e);
+                return;
+            }
+
+            final InMemoryDOMDataTreeShard parent = split.parent;
+            if (data.isPresent()) {
+                LOG.debug("Shard {} received data from {}", prefix, parent.prefix);
+                shardChangePublisher.publishChange(
+                    commitDirect(modification -> modification.write(YangInstanceIdentifier.empty(), data.get())));
+            } else {
+                LOG.debug("Shard {} has no data at {}, nothing to migrate", parent.prefix, prefix);
+            }
+            parent.commitExecutor.execute(() -> parent.completeSplit(split.context));
+        } finally {
+            // Queued commits run after this method returns, as they end up on this executor
+            commitExecutor.open();
+        }
+    }
+
+    private void completeSplit(final ChildShardContext context) {
+        shardChangePublisher.subshardAttached(context);
+        LOG.debug("Shard {} migrated {} to child shard", prefix, context.getPrefix());
+    }
+
+    private YangInstanceIdentifier relativePath(final DOMDataTreeIdentifier childPrefix) {
+        return childPrefix.getRootIdentifier().relativeTo(prefix.getRootIdentifier()).orElseThrow();
+    }
+
+    private DataTreeCandidate commitDirect(final Consumer<DataTreeModification> operation) {
+        final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        operation.accept(modification);
+        modification.ready();
+        final DataTreeCandidate candidate;
+        try {
+            dataTree.validate(modification);
+            candidate = dataTree.prepare(modification);
+        } catch (DataValidationFailedException e) {
+            throw new IllegalStateException("Failed to validate migration in shard " + prefix, e);
+        }
+        dataTree.commit(candidate);
+        return candidate;
     }
 
     @Override
     public void onChildDetached(final DOMDataTreeIdentifier childPrefix, final DOMDataTreeShard child) {
         childShards.remove(childPrefix);
         childShardsTable.remove(childPrefix);
-        //FIXME: Producers not being affected could be skipped over.
-        updateProducers();
+        createModificationFactories(childPrefix).forEach(InMemoryDOMDataTreeShardProducer::setModificationFactory);
     }
 
-    private void updateProducers() {
+    /**
+     * Create new modification factories for producers affected by a change of the child shard at
+     * {@code childPrefix}. Producers whose prefixes do not overlap with it are left alone, so their transactions are
+     * not rejected needlessly.
+     */
+    private Map<InMemoryDOMDataTreeShardProducer, InMemoryShardDataModificationFactory> createModificationFactories(
+            final DOMDataTreeIdentifier childPrefix) {
+        final Map<InMemoryDOMDataTreeShardProducer, InMemoryShardDataModificationFactory> ret = new HashMap<>();
         for (InMemoryDOMDataTreeShardProducer p : producers) {
-            p.setModificationFactory(createModificationFactory(p.getPrefixes()));
+            final Collection<DOMDataTreeIdentifier> prefixes = p.getPrefixes();
+            if (prefixes.stream().anyMatch(pp -> pp.contains(childPrefix) || childPrefix.contains(pp))) {
+                ret.put(p, createModificationFactory(prefixes));
+            }
         }
+        return ret;
     }
 
     @VisibleForTesting
@@ -248,9 +479,10 @@ public class InMemoryDOMDataTreeShard implements ReadableWriteableDOMDataTreeSha
     InmemoryDOMDataTreeShardWriteTransaction createTransaction(final String transactionId,
             final InMemoryDOMDataTreeShardProducer producer, final DataTreeSnapshot snapshot) {
         checkArgument(snapshot instanceof CursorAwareDataTreeSnapshot);
-        return new InmemoryDOMDataTreeShardWriteTransaction(producer,
-                producer.getModificationFactory().createModification((CursorAwareDataTreeSnapshot) snapshot), dataTree,
-                shardChangePublisher, executor);
+        final InMemoryShardDataModificationFactory modificationFactory = producer.getModificationFactory();
+        return new InmemoryDOMDataTreeShardWriteTransaction(producer, modificationFactory,
+                modificationFactory.createModification((CursorAwareDataTreeSnapshot) snapshot), dataTree,
+                shardChangePublisher, commitExecutor, statistics);
     }
 
     @VisibleForTesting
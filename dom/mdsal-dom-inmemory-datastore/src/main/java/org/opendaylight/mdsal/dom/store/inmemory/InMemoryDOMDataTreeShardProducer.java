@@ -106,7 +106,7 @@ class InMemoryDOMDataTreeShardProducer implements DOMDataTreeShardProducer {
             AtomicReferenceFieldUpdater.newUpdater(InMemoryDOMDataTreeShardProducer.class, State.class, "state");
     private volatile State state;
 
-    private InMemoryShardDataModificationFactory modificationFactory;
+    private volatile InMemoryShardDataModificationFactory modificationFactory;
 
     InMemoryDOMDataTreeShardProducer(final InMemoryDOMDataTreeShard parentShard,
             final Collection<DOMDataTreeIdentifier> prefixes,
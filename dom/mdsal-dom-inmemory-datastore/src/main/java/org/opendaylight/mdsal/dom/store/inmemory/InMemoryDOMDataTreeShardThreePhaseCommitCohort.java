@@ -32,13 +32,16 @@ class InMemoryDOMDataTreeShardThreePhaseCommitCohort implements DOMStoreThreePha
     private final DataTreeModification modification;
     private DataTreeCandidate candidate;
     private final InMemoryDOMDataTreeShardChangePublisher changePublisher;
+    private final ShardCommitStatistics statistics;
 
     InMemoryDOMDataTreeShardThreePhaseCommitCohort(final DataTree dataTree,
                                                    final DataTreeModification modification,
-                                                   final InMemoryDOMDataTreeShardChangePublisher changePublisher) {
+                                                   final InMemoryDOMDataTreeShardChangePublisher changePublisher,
+                                                   final ShardCommitStatistics statistics) {
         this.dataTree = requireNonNull(dataTree);
         this.modification = requireNonNull(modification);
         this.changePublisher = requireNonNull(changePublisher);
+        this.statistics = requireNonNull(statistics);
     }
 
     @SuppressWarnings("checkstyle:IllegalCatch")
@@ -84,7 +87,9 @@ class InMemoryDOMDataTreeShardThreePhaseCommitCohort implements DOMStoreThreePha
     public ListenableFuture<Void> commit() {
         Preconditions.checkState(candidate != null, "Attempted to commit an aborted transaction");
         LOG.debug("Commiting candidate {}", candidate);
+        final long startTime = System.nanoTime();
         dataTree.commit(candidate);
+        statistics.recordCommit(candidate, System.nanoTime() - startTime);
         // publish this change for listeners
         changePublisher.publishChange(candidate);
         return SUCCESSFUL_FUTURE;
@@ -11,13 +11,17 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
-import com.google.common.util.concurrent.ListeningExecutorService;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicLong;
+import org.opendaylight.mdsal.common.api.TransactionCommitFailedException;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteCursor;
 import org.opendaylight.mdsal.dom.spi.shard.DOMDataTreeShardWriteTransaction;
@@ -89,8 +93,10 @@ class InmemoryDOMDataTreeShardWriteTransaction implements DOMDataTreeShardWriteT
     private final ArrayList<DOMStoreThreePhaseCommitCohort> cohorts = new ArrayList<>();
     private final InMemoryDOMDataTreeShardChangePublisher changePublisher;
     private final InMemoryDOMDataTreeShardProducer producer;
+    private final InMemoryShardDataModificationFactory modificationFactory;
     private final ShardDataModification modification;
-    private final ListeningExecutorService executor;
+    private final Executor executor;
+    private final ShardCommitStatistics statistics;
     private final DataTree rootShardDataTree;
     private final String identifier;
 
@@ -99,17 +105,21 @@ class InmemoryDOMDataTreeShardWriteTransaction implements DOMDataTreeShardWriteT
     private boolean finished = false;
 
     InmemoryDOMDataTreeShardWriteTransaction(final InMemoryDOMDataTreeShardProducer producer,
+                                             final InMemoryShardDataModificationFactory modificationFactory,
                                              final ShardDataModification root,
                                              final DataTree rootShardDataTree,
                                              final InMemoryDOMDataTreeShardChangePublisher changePublisher,
-                                             final ListeningExecutorService executor) {
+                                             final Executor executor,
+                                             final ShardCommitStatistics statistics) {
         this.producer = producer;
+        this.modificationFactory = modificationFactory;
         this.modification = requireNonNull(root);
         this.rootShardDataTree = requireNonNull(rootShardDataTree);
         this.changePublisher = requireNonNull(changePublisher);
         this.identifier = "INMEMORY-SHARD-TX-" + COUNTER.getAndIncrement();
         LOG.debug("Shard transaction{} created", identifier);
         this.executor = executor;
+        this.statistics = requireNonNull(statistics);
     }
 
     @Override
@@ -177,7 +187,7 @@ class InmemoryDOMDataTreeShardWriteTransaction implements DOMDataTreeShardWriteT
 
         producer.transactionReady(this, rootModification);
         cohorts.add(new InMemoryDOMDataTreeShardThreePhaseCommitCohort(
-                rootShardDataTree, rootModification, changePublisher));
+                rootShardDataTree, rootModification, changePublisher, statistics));
         for (final Entry<DOMDataTreeIdentifier, ForeignShardModificationContext> entry :
                 modification.getChildShards().entrySet()) {
             cohorts.add(new ForeignShardThreePhaseCommitCohort(entry.getKey(), entry.getValue()));
@@ -192,25 +202,58 @@ class InmemoryDOMDataTreeShardWriteTransaction implements DOMDataTreeShardWriteT
         requireNonNull(cohorts);
         checkState(!cohorts.isEmpty(), "Transaction was not readied yet.");
 
-        return executor.submit(new ShardSubmitCoordinationTask(modification.getPrefix(), cohorts, this));
+        return submitFenced(new ShardSubmitCoordinationTask(modification.getPrefix(), cohorts, this));
     }
 
     @Override
     public ListenableFuture<Boolean> validate() {
         LOG.debug("CanCommit on open transaction on shard {}", modification.getPrefix());
-        return executor.submit(new ShardCanCommitCoordinationTask(modification.getPrefix(), cohorts));
+        return submitFenced(new ShardCanCommitCoordinationTask(modification.getPrefix(), cohorts));
     }
 
     @Override
     public ListenableFuture<Void> prepare() {
         LOG.debug("PreCommit on open transaction on shard {}", modification.getPrefix());
-        return executor.submit(new ShardPreCommitCoordinationTask(modification.getPrefix(), cohorts));
+        return submitFenced(new ShardPreCommitCoordinationTask(modification.getPrefix(), cohorts));
     }
 
     @Override
     public ListenableFuture<Void> commit() {
         LOG.debug("Commit open transaction on shard {}", modification.getPrefix());
-        return executor.submit(new ShardCommitCoordinationTask(modification.getPrefix(), cohorts, this));
+        return submitFenced(new ShardCommitCoordinationTask(modification.getPrefix(), cohorts, this));
+    }
+
+    @Override
+    public ListenableFuture<Void> abort() {
+        LOG.debug("Abort open transaction on shard {}", modification.getPrefix());
+        return Futures.submit(() -> {
+            abortCohorts();
+            return null;
+        }, executor);
+    }
+
+    /**
+     * Submit a commit phase to the shard executor. The layout of the shard may have changed between this transaction
+     * being allocated and the phase being executed, for example because a subtree has been split off into a child
+     * shard. Our modification would then be routed according to the old layout, hence we reject it instead.
+     */
+    private <T> ListenableFuture<T> submitFenced(final Callable<T> task) {
+        return Futures.submit(() -> {
+            if (producer.getModificationFactory() != modificationFactory) {
+                LOG.debug("Shard {} layout changed, rejecting transaction {}", modification.getPrefix(), identifier);
+                abortCohorts();
+                throw new TransactionCommitFailedException("Layout of shard " + modification.getPrefix()
+                    + " changed since transaction " + identifier + " was allocated");
+            }
+            return task.call();
+        }, executor);
+    }
+
+    private void abortCohorts() throws InterruptedException, ExecutionException {
+        for (final DOMStoreThreePhaseCommitCohort cohort : cohorts) {
+            cohort.abort().get();
+        }
+        producer.transactionAborted(this);
     }
 
     DataTreeModification getRootModification() {
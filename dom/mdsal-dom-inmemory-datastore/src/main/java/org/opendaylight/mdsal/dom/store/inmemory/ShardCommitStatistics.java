@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.store.inmemory;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.util.DurationStatisticsTracker;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+
+/**
+ * Commit statistics of a single {@link InMemoryDOMDataTreeShard}. Aside from overall commit count and duration, this
+ * class tracks how many commits have touched each immediate child of the shard root, so that hot subtrees can be
+ * identified and split off into their own shard via {@link InMemoryDOMDataTreeShard#createChildShard}.
+ */
+@Beta
+public final class ShardCommitStatistics {
+    private final DurationStatisticsTracker commitDurations = DurationStatisticsTracker.createConcurrent();
+    private final Map<PathArgument, LongAdder> childCommits = new ConcurrentHashMap<>();
+    private final LongAdder modifiedChildren = new LongAdder();
+
+    ShardCommitStatistics() {
+        // Hidden on purpose
+    }
+
+    /**
+     * Return the tracker of commit durations. Its {@link DurationStatisticsTracker#getTotalDurations()} is the number
+     * of commits performed by the shard.
+     *
+     * @return Commit duration tracker
+     */
+    public @NonNull DurationStatisticsTracker getCommitDurations() {
+        return commitDurations;
+    }
+
+    /**
+     * Return the total number of shard root children modified across all commits. Divided by the number of commits,
+     * this gives the average commit size.
+     *
+     * @return Number of modified children
+     */
+    public long getModifiedChildren() {
+        return modifiedChildren.sum();
+    }
+
+    /**
+     * Return a snapshot of the number of commits which have modified each immediate child of the shard root.
+     *
+     * @return Per-child commit counts
+     */
+    public @NonNull Map<PathArgument, Long> getChildCommitCounts() {
+        final ImmutableMap.Builder<PathArgument, Long> builder = ImmutableMap.builderWithExpectedSize(
+            childCommits.size());
+        childCommits.forEach((child, count) -> builder.put(child, count.sum()));
+        return builder.build();
+    }
+
+    /**
+     * Reset all statistics.
+     */
+    public void reset() {
+        commitDurations.reset();
+        childCommits.clear();
+        modifiedChildren.reset();
+    }
+
+    void recordCommit(final DataTreeCandidate candidate, final long elapsedNanos) {
+        commitDurations.addDuration(elapsedNanos);
+
+        for (DataTreeCandidateNode child : candidate.getRootNode().getChildNodes()) {
+            if (child.getModificationType() == ModificationType.UNMODIFIED) {
+                continue;
+            }
+            childCommits.computeIfAbsent(child.getIdentifier(), key -> new LongAdder()).increment();
+            modifiedChildren.increment();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("commits", commitDurations.getTotalDurations())
+            .add("modifiedChildren", getModifiedChildren()).toString();
+    }
+}
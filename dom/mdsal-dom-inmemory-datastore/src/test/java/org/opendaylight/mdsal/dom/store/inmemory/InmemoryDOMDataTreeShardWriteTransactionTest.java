@@ -7,14 +7,18 @@
  */
 package org.opendaylight.mdsal.dom.store.inmemory;
 
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.opendaylight.mdsal.dom.store.inmemory.TestUtils.DATA_TREE;
@@ -24,12 +28,15 @@ import static org.opendaylight.mdsal.dom.store.inmemory.TestUtils.resetMocks;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.MoreExecutors;
 import java.lang.reflect.Field;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.common.api.TransactionCommitFailedException;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteCursor;
 import org.opendaylight.mdsal.dom.spi.shard.ChildShardContext;
@@ -79,6 +86,7 @@ public class InmemoryDOMDataTreeShardWriteTransactionTest {
         final DataTreeCandidateNode dataTreeCandidateNode = mock(DataTreeCandidateNode.class);
         doReturn(dataTreeCandidateNode).when(dataTreeCandidate).getRootNode();
         doReturn(ModificationType.WRITE).when(dataTreeCandidateNode).getModificationType();
+        doReturn(List.of()).when(dataTreeCandidateNode).getChildNodes();
         doReturn(YANG_INSTANCE_IDENTIFIER).when(dataTreeCandidate).getRootPath();
         doReturn("testDataTreeCandidate").when(dataTreeCandidate).toString();
         doReturn(dataTreeCandidate).when(DATA_TREE).prepare(any());
@@ -89,11 +97,16 @@ public class InmemoryDOMDataTreeShardWriteTransactionTest {
         doNothing().when(mockProducer).transactionReady(any(), any());
         doNothing().when(mockProducer).onTransactionCommited(any());
         doNothing().when(mockProducer).transactionAborted(any());
+        final InMemoryShardDataModificationFactory modificationFactory =
+                new InmemoryShardDataModificationFactoryBuilder(DOM_DATA_TREE_IDENTIFIER).build();
+        doReturn(modificationFactory).when(mockProducer).getModificationFactory();
 
         inmemoryDOMDataTreeShardWriteTransaction =
-                new InmemoryDOMDataTreeShardWriteTransaction(mockProducer, shardDataModification, DATA_TREE,
+                new InmemoryDOMDataTreeShardWriteTransaction(mockProducer, modificationFactory,
+                        shardDataModification, DATA_TREE,
                         inMemoryDOMDataTreeShardChangePublisher,
-                        MoreExecutors.listeningDecorator(Executors.newSingleThreadExecutor()));
+                        MoreExecutors.listeningDecorator(Executors.newSingleThreadExecutor()),
+                        new ShardCommitStatistics());
     }
 
     @Test
@@ -166,6 +179,29 @@ public class InmemoryDOMDataTreeShardWriteTransactionTest {
         assertNull(inmemoryDOMDataTreeShardWriteTransaction.commit().get());
     }
 
+    @Test
+    public void abort() throws Exception {
+        inmemoryDOMDataTreeShardWriteTransaction.ready();
+        assertNull(inmemoryDOMDataTreeShardWriteTransaction.prepare().get());
+        assertNull(inmemoryDOMDataTreeShardWriteTransaction.abort().get());
+        verify(mockProducer).transactionAborted(inmemoryDOMDataTreeShardWriteTransaction);
+        verify(DATA_TREE, never()).commit(any());
+    }
+
+    @Test
+    public void submitAfterLayoutChange() throws Exception {
+        inmemoryDOMDataTreeShardWriteTransaction.ready();
+        doReturn(new InmemoryShardDataModificationFactoryBuilder(DOM_DATA_TREE_IDENTIFIER).build())
+            .when(mockProducer).getModificationFactory();
+
+        final ExecutionException ex = assertThrows(ExecutionException.class,
+            () -> inmemoryDOMDataTreeShardWriteTransaction.submit().get());
+        assertThat(ex.getCause(), instanceOf(TransactionCommitFailedException.class));
+        verify(mockProducer).transactionAborted(inmemoryDOMDataTreeShardWriteTransaction);
+        verify(DATA_TREE, never()).validate(any());
+        verify(DATA_TREE, never()).commit(any());
+    }
+
     @Test
     public void createCursor() throws Exception {
         assertNotNull(inmemoryDOMDataTreeShardWriteTransaction.createCursor(DOM_DATA_TREE_IDENTIFIER));
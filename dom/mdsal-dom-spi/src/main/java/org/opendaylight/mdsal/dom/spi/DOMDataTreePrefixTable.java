@@ -8,8 +8,8 @@
 package org.opendaylight.mdsal.dom.spi;
 
 import com.google.common.annotations.Beta;
-import java.util.EnumMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
@@ -19,7 +19,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Prefix table indexed by {@link DOMDataTreeIdentifier}. Stores values in tree and provides lookup of closest ancestor.
- * This class is not thread-safe.
+ * This class is thread-safe: lookups do not acquire any locks and can proceed concurrently with modifications, which
+ * are serialized with respect to each other.
  *
  * @param <V> Value type
  */
@@ -27,8 +28,7 @@ import org.slf4j.LoggerFactory;
 public final class DOMDataTreePrefixTable<V> {
 
     private static final Logger LOG = LoggerFactory.getLogger(DOMDataTreePrefixTable.class);
-    private final Map<LogicalDatastoreType, DOMDataTreePrefixTableEntry<V>> roots =
-        new EnumMap<>(LogicalDatastoreType.class);
+    private final Map<LogicalDatastoreType, DOMDataTreePrefixTableEntry<V>> roots = new ConcurrentHashMap<>(2);
 
     private DOMDataTreePrefixTable() {
 
@@ -40,7 +40,9 @@ public final class DOMDataTreePrefixTable<V> {
 
     /**
      * Lookups entry by provided {@link DOMDataTreeIdentifier}, if entry is not present returns
-     * closest non-null entry towards root or null if no entry towards root exists.
+     * closest non-null entry towards root or null if no entry towards root exists. Since lookups can run concurrently
+     * with {@link #remove(DOMDataTreeIdentifier)}, the value of the returned entry may have been cleared by the time
+     * it is accessed.
      *
      * @param prefix Prefix for lookup
      * @return closest non-null entry towards root or null if no entry towards root exists.
@@ -57,14 +59,9 @@ public final class DOMDataTreePrefixTable<V> {
      * @param value Value to be stored
      * @throws IllegalStateException If value is already stored for provided prefix
      */
-    public void store(final @NonNull DOMDataTreeIdentifier prefix, final @NonNull V value) {
-        DOMDataTreePrefixTableEntry<V> domDataTreePrefixTableEntry = roots.get(prefix.getDatastoreType());
-        if (domDataTreePrefixTableEntry == null) {
-            domDataTreePrefixTableEntry = new DOMDataTreePrefixTableEntry<>();
-            roots.put(prefix.getDatastoreType(), domDataTreePrefixTableEntry);
-        }
-
-        domDataTreePrefixTableEntry.store(prefix.getRootIdentifier(), value);
+    public synchronized void store(final @NonNull DOMDataTreeIdentifier prefix, final @NonNull V value) {
+        roots.computeIfAbsent(prefix.getDatastoreType(), key -> new DOMDataTreePrefixTableEntry<>())
+            .store(prefix.getRootIdentifier(), value);
     }
 
     /**
@@ -74,7 +71,7 @@ public final class DOMDataTreePrefixTable<V> {
      *
      * @param prefix to be removed
      */
-    public void remove(final @NonNull DOMDataTreeIdentifier prefix) {
+    public synchronized void remove(final @NonNull DOMDataTreeIdentifier prefix) {
         final DOMDataTreePrefixTableEntry<V> t = roots.get(prefix.getDatastoreType());
         if (t == null) {
             LOG.warn("Shard registration {} points to non-existent table", prefix);
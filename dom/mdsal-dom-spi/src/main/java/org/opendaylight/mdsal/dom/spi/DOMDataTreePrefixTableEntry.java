@@ -11,9 +11,9 @@ import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.Beta;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.opendaylight.yangtools.concepts.Identifiable;
 import org.opendaylight.yangtools.concepts.Mutable;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
@@ -22,15 +22,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * An entry in DOMDataTreePrefixTable. This class is not thread-safe.
+ * An entry in DOMDataTreePrefixTable. Lookups are safe to perform concurrently with modifications, but modifications
+ * themselves need to be serialized, which is what {@link DOMDataTreePrefixTable} does.
  */
 @Beta
 public final class DOMDataTreePrefixTableEntry<V> implements Identifiable<PathArgument>, Mutable {
     private static final Logger LOG = LoggerFactory.getLogger(DOMDataTreePrefixTableEntry.class);
     // FIXME: We do probably want to adapt map
-    private final Map<PathArgument, DOMDataTreePrefixTableEntry<V>> children = new HashMap<>();
+    private final Map<PathArgument, DOMDataTreePrefixTableEntry<V>> children = new ConcurrentHashMap<>(2);
     private final PathArgument identifier;
-    private V value;
+    private volatile V value;
 
     DOMDataTreePrefixTableEntry() {
         identifier = null;
@@ -52,7 +53,7 @@ public final class DOMDataTreePrefixTableEntry<V> implements Identifiable<PathAr
     DOMDataTreePrefixTableEntry<V> lookup(final YangInstanceIdentifier id) {
         final Iterator<PathArgument> it = id.getPathArguments().iterator();
         DOMDataTreePrefixTableEntry<V> entry = this;
-        DOMDataTreePrefixTableEntry<V> lastPresentEntry = entry.getValue() != null ? entry : null;
+        DOMDataTreePrefixTableEntry<V> lastPresentEntry = entry.value != null ? entry : null;
 
         while (it.hasNext()) {
             final PathArgument a = it.next();
@@ -64,7 +65,7 @@ public final class DOMDataTreePrefixTableEntry<V> implements Identifiable<PathAr
 
             entry = child;
 
-            if (child.getValue() != null) {
+            if (child.value != null) {
                 lastPresentEntry = child;
             }
         }
@@ -78,11 +79,8 @@ public final class DOMDataTreePrefixTableEntry<V> implements Identifiable<PathAr
 
         while (it.hasNext()) {
             final PathArgument a = it.next();
-            DOMDataTreePrefixTableEntry<V> child = entry.children.get(a);
-            if (child == null) {
-                child = new DOMDataTreePrefixTableEntry<>(a);
-                entry.children.put(a, child);
-            }
+            // Children are published before the value is set, so concurrent lookups never see a partial path
+            DOMDataTreePrefixTableEntry<V> child = entry.children.computeIfAbsent(a, DOMDataTreePrefixTableEntry::new);
             // TODO: Is this correct? We want to enter child
             entry = child;
         }
@@ -7,16 +7,25 @@
  */
 package org.opendaylight.mdsal.dom.spi.query;
 
-import com.google.common.collect.ImmutableList;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.stream.Collector;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.dom.api.query.DOMQuery;
+import org.opendaylight.mdsal.dom.api.query.DOMQueryAggregate;
+import org.opendaylight.mdsal.dom.api.query.DOMQueryAggregate.AbstractLeafDOMQueryAggregate;
 import org.opendaylight.mdsal.dom.api.query.DOMQueryPredicate;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
 
@@ -27,47 +36,102 @@ public final class DOMQueryEvaluator {
 
     public static List<? extends Entry<YangInstanceIdentifier, NormalizedNode<?, ?>>> evaluate(final DOMQuery query,
             final NormalizedNode<?, ?> root) {
-        final YangInstanceIdentifier path = query.getSelect();
-        return path.isEmpty() ? evalSingle(root, query)
-                : evalPath(new ArrayDeque<>(path.getPathArguments()), root, query);
-    }
-
-    private static List<? extends Entry<YangInstanceIdentifier, NormalizedNode<?, ?>>> evalPath(
-            final ArrayDeque<PathArgument> remaining, final NormalizedNode<?,?> data, final DOMQuery query) {
         final List<Entry<YangInstanceIdentifier, NormalizedNode<?, ?>>> result = new ArrayList<>();
-        evalPath(result, query.getRoot(), remaining, data, query);
+        evaluate(query, root, (path, data) -> result.add(new SimpleImmutableEntry<>(path, data)));
         return result;
     }
 
-    private static void evalPath(final List<Entry<YangInstanceIdentifier, NormalizedNode<?,?>>> result,
+    /**
+     * Evaluate a {@link DOMQueryAggregate} on a particular data tree. Matching nodes are fed directly into the
+     * aggregation, so that the full result set is never materialized.
+     *
+     * @param <R> Aggregation result type
+     * @param aggregate Aggregation to evaluate
+     * @param root Data corresponding to the query's root path
+     * @return Aggregation result
+     */
+    public static <R> R evaluate(final DOMQueryAggregate<R> aggregate, final NormalizedNode<?, ?> root) {
+        return evaluate(aggregate, aggregate.collector(), root);
+    }
+
+    private static <A, R> R evaluate(final DOMQueryAggregate<R> aggregate, final Collector<Object, A, R> collector,
+            final NormalizedNode<?, ?> root) {
+        final A container = collector.supplier().get();
+        final BiConsumer<A, Object> accumulator = collector.accumulator();
+
+        if (aggregate instanceof AbstractLeafDOMQueryAggregate) {
+            final YangInstanceIdentifier leafPath = ((AbstractLeafDOMQueryAggregate<?>) aggregate).getPath();
+            evaluate(aggregate.getQuery(), root, (path, data) -> {
+                final Object value = leafValue(data, leafPath);
+                if (value != null) {
+                    accumulator.accept(container, value);
+                }
+            });
+        } else {
+            evaluate(aggregate.getQuery(), root, (path, data) -> accumulator.accept(container, data));
+        }
+
+        return collector.finisher().apply(container);
+    }
+
+    private static void evaluate(final DOMQuery query, final NormalizedNode<?, ?> root,
+            final BiConsumer<YangInstanceIdentifier, NormalizedNode<?, ?>> consumer) {
+        evalPath(consumer, query.getRoot(), new ArrayDeque<>(query.getSelect().getPathArguments()), root, query);
+    }
+
+    private static void evalPath(final BiConsumer<YangInstanceIdentifier, NormalizedNode<?, ?>> consumer,
             final YangInstanceIdentifier path, final ArrayDeque<PathArgument> remaining,
             final NormalizedNode<?, ?> data, final DOMQuery query) {
         final PathArgument next = remaining.poll();
         if (next == null) {
-            if (matches(data, query)) {
-                result.add(new SimpleImmutableEntry<>(query.getRoot(), data));
+            if (data instanceof MapNode) {
+                // Select path points to the entire list, evaluate each entry
+                for (MapEntryNode entry : ((MapNode) data).getValue()) {
+                    evalEntry(consumer, path.node(entry.getIdentifier()), entry, query);
+                }
+            } else {
+                evalEntry(consumer, path, data, query);
             }
             return;
         }
 
-        // TODO: this is probably insufficient
-        NormalizedNodes.findNode(data, next)
-            .ifPresent(child -> evalPath(result, path.node(next), remaining, child, query));
+        if (data instanceof MapNode && !(next instanceof NodeIdentifierWithPredicates)) {
+            // Wildcarded list entry, i.e. NodeIdentifier of the list itself: it stands for each entry, hence it is
+            // consumed here and the rest of the select path is evaluated against each entry
+            if (next.getNodeType().equals(data.getNodeType())) {
+                for (MapEntryNode entry : ((MapNode) data).getValue()) {
+                    evalPath(consumer, path.node(entry.getIdentifier()), remaining, entry, query);
+                }
+            }
+        } else {
+            NormalizedNodes.findNode(data, next)
+                .ifPresent(child -> evalPath(consumer, path.node(next), remaining, child, query));
+        }
         remaining.push(next);
     }
 
-    private static List<? extends Entry<YangInstanceIdentifier, NormalizedNode<?, ?>>> evalSingle(
-            final NormalizedNode<?, ?> data, final DOMQuery query) {
-        return matches(data, query) ? ImmutableList.of()
-                : ImmutableList.of(new SimpleImmutableEntry<>(query.getRoot(), data));
+    private static void evalEntry(final BiConsumer<YangInstanceIdentifier, NormalizedNode<?, ?>> consumer,
+            final YangInstanceIdentifier path, final NormalizedNode<?, ?> data, final DOMQuery query) {
+        if (matches(data, query)) {
+            consumer.accept(path, data);
+        }
     }
 
-    private static boolean matches(final NormalizedNode<?, ?> data, final DOMQuery query) {
+    static boolean matches(final NormalizedNode<?, ?> data, final DOMQuery query) {
         for (DOMQueryPredicate pred : query.getPredicates()) {
-            if (!pred.test(data)) {
+            if (!pred.test(leafValue(data, pred.getPath()))) {
                 return false;
             }
         }
         return true;
     }
+
+    private static @Nullable Object leafValue(final NormalizedNode<?, ?> data, final YangInstanceIdentifier path) {
+        final Optional<NormalizedNode<?, ?>> found = NormalizedNodes.findNode(data, path.getPathArguments());
+        if (found.isEmpty()) {
+            return null;
+        }
+        final NormalizedNode<?, ?> node = found.get();
+        return node instanceof LeafNode ? node.getValue() : node;
+    }
 }
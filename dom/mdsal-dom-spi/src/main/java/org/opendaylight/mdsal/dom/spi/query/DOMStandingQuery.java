@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.spi.query;
+
+import static com.google.common.base.Verify.verify;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeChangeListener;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeChangeService;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
+import org.opendaylight.mdsal.dom.api.query.DOMQuery;
+import org.opendaylight.mdsal.dom.api.query.DOMQueryResultDelta;
+import org.opendaylight.mdsal.dom.api.query.DOMQueryResultListener;
+import org.opendaylight.yangtools.concepts.AbstractListenerRegistration;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+
+/**
+ * A standing {@link DOMQuery}, whose result set is maintained incrementally from {@link DataTreeCandidate}s. Rather
+ * than re-evaluating the query on each change, only the nodes touched by a candidate are re-evaluated, hence the cost
+ * of processing a change is proportional to the size of the change, not the size of the result set.
+ *
+ * <p>
+ * This class is not thread-safe, as it relies on {@link DOMDataTreeChangeListener} callbacks being serialized.
+ */
+@Beta
+public final class DOMStandingQuery implements DOMDataTreeChangeListener {
+    private final Map<YangInstanceIdentifier, NormalizedNode<?, ?>> results = new HashMap<>();
+    private final @NonNull DOMQueryResultListener listener;
+    private final @NonNull DOMQuery query;
+
+    public DOMStandingQuery(final DOMQuery query, final DOMQueryResultListener listener) {
+        this.query = requireNonNull(query);
+        this.listener = requireNonNull(listener);
+    }
+
+    /**
+     * Register a standing query with a {@link DOMDataTreeChangeService}. The listener will be notified of the initial
+     * result set and subsequently of any changes to it.
+     *
+     * @param <L> Listener type
+     * @param service Service to register with
+     * @param datastore Datastore to query
+     * @param query Query to evaluate
+     * @param listener Listener to notify
+     * @return A registration handle
+     * @throws NullPointerException if any argument is null
+     */
+    public static <L extends DOMQueryResultListener> @NonNull ListenerRegistration<L> register(
+            final DOMDataTreeChangeService service, final LogicalDatastoreType datastore, final DOMQuery query,
+            final L listener) {
+        final ListenerRegistration<?> reg = service.registerDataTreeChangeListener(
+            new DOMDataTreeIdentifier(datastore, query.getRoot()), new DOMStandingQuery(query, listener));
+        return new AbstractListenerRegistration<>(listener) {
+            @Override
+            protected void removeRegistration() {
+                reg.close();
+            }
+        };
+    }
+
+    /**
+     * Return the current result set of the query.
+     *
+     * @return Current result set
+     */
+    public @NonNull Map<YangInstanceIdentifier, NormalizedNode<?, ?>> getResults() {
+        return ImmutableMap.copyOf(results);
+    }
+
+    @Override
+    public void onInitialData() {
+        listener.onQueryResultChanged(new DOMQueryResultDelta(ImmutableMap.of(), ImmutableMap.of(),
+            ImmutableMap.of()));
+    }
+
+    @Override
+    public void onDataTreeChanged(final Collection<DataTreeCandidate> changes) {
+        // Original state of every path touched by this batch, null indicating non-presence
+        final Map<YangInstanceIdentifier, NormalizedNode<?, ?>> touched = new LinkedHashMap<>();
+        for (DataTreeCandidate candidate : changes) {
+            final YangInstanceIdentifier rootPath = candidate.getRootPath();
+            verify(query.getRoot().equals(rootPath), "Unexpected candidate root %s", rootPath);
+            evalNode(touched, rootPath, new ArrayDeque<>(query.getSelect().getPathArguments()),
+                candidate.getRootNode());
+        }
+
+        final Map<YangInstanceIdentifier, NormalizedNode<?, ?>> added = new LinkedHashMap<>();
+        final Map<YangInstanceIdentifier, NormalizedNode<?, ?>> changed = new LinkedHashMap<>();
+        final Map<YangInstanceIdentifier, NormalizedNode<?, ?>> removed = new LinkedHashMap<>();
+        for (Entry<YangInstanceIdentifier, NormalizedNode<?, ?>> entry : touched.entrySet()) {
+            final YangInstanceIdentifier path = entry.getKey();
+            final NormalizedNode<?, ?> before = entry.getValue();
+            final NormalizedNode<?, ?> after = results.get(path);
+            if (before == null) {
+                if (after != null) {
+                    added.put(path, after);
+                }
+            } else if (after == null) {
+                removed.put(path, before);
+            } else if (before != after) {
+                changed.put(path, after);
+            }
+        }
+
+        final DOMQueryResultDelta delta = new DOMQueryResultDelta(added, changed, removed);
+        if (!delta.isEmpty()) {
+            listener.onQueryResultChanged(delta);
+        }
+    }
+
+    private void evalNode(final Map<YangInstanceIdentifier, NormalizedNode<?, ?>> touched,
+            final YangInstanceIdentifier path, final ArrayDeque<PathArgument> remaining,
+            final DataTreeCandidateNode node) {
+        if (node.getModificationType() == ModificationType.UNMODIFIED) {
+            return;
+        }
+
+        final NormalizedNode<?, ?> data = node.getDataAfter().or(node::getDataBefore).orElse(null);
+        final PathArgument next = remaining.poll();
+        if (next == null) {
+            if (data instanceof MapNode) {
+                // Select path points to the entire list, evaluate each modified entry
+                for (DataTreeCandidateNode entry : node.getChildNodes()) {
+                    evalMatch(touched, path.node(entry.getIdentifier()), entry);
+                }
+            } else {
+                evalMatch(touched, path, node);
+            }
+            return;
+        }
+
+        if (data instanceof MapNode && !(next instanceof NodeIdentifierWithPredicates)) {
+            // Wildcarded list entry, i.e. NodeIdentifier of the list itself: it stands for each entry, hence it is
+            // consumed here and the rest of the select path is evaluated against each modified entry
+            if (next.getNodeType().equals(data.getNodeType())) {
+                for (DataTreeCandidateNode entry : node.getChildNodes()) {
+                    evalNode(touched, path.node(entry.getIdentifier()), remaining, entry);
+                }
+            }
+        } else {
+            node.getModifiedChild(next).ifPresent(child -> evalNode(touched, path.node(next), remaining, child));
+        }
+        remaining.push(next);
+    }
+
+    private void evalMatch(final Map<YangInstanceIdentifier, NormalizedNode<?, ?>> touched,
+            final YangInstanceIdentifier path, final DataTreeCandidateNode node) {
+        if (node.getModificationType() == ModificationType.UNMODIFIED) {
+            return;
+        }
+
+        final NormalizedNode<?, ?> previous;
+        final Optional<NormalizedNode<?, ?>> after = node.getDataAfter();
+        if (after.isPresent() && DOMQueryEvaluator.matches(after.get(), query)) {
+            previous = results.put(path, after.get());
+        } else {
+            previous = results.remove(path);
+        }
+
+        if (!touched.containsKey(path)) {
+            touched.put(path, previous);
+        }
+    }
+}
@@ -51,4 +51,11 @@ public interface DOMDataTreeShardWriteTransaction extends DOMDataTreeCursorProvi
 
     ListenableFuture<Void> commit();
 
+    /**
+     * Abort this transaction after it has been {@link #ready()}d, but before it was committed. This releases any
+     * resources held on behalf of this transaction by {@link #validate()} and {@link #prepare()}.
+     *
+     * @return A future completing once the transaction has been aborted
+     */
+    ListenableFuture<Void> abort();
 }
@@ -16,6 +16,7 @@ import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteCursor;
 import org.opendaylight.yangtools.concepts.Identifiable;
 import org.opendaylight.yangtools.concepts.Mutable;
+import org.opendaylight.yangtools.util.concurrent.FluentFutures;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -100,6 +101,18 @@ public final class ForeignShardModificationContext implements Identifiable<DOMDa
         return commit;
     }
 
+    public ListenableFuture<Void> abort() {
+        if (!ready || tx == null) {
+            closeForeignTransaction();
+            return FluentFutures.immediateNullFluentFuture();
+        }
+
+        final ListenableFuture<Void> abort = tx.abort();
+        ready = false;
+        tx = null;
+        return abort;
+    }
+
     public void closeForeignTransaction() {
         if (cursor != null) {
             cursor.close();
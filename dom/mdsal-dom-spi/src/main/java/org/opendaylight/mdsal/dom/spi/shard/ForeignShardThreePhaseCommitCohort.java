@@ -45,8 +45,7 @@ public class ForeignShardThreePhaseCommitCohort implements DOMStoreThreePhaseCom
     @Override
     public ListenableFuture<Void> abort() {
         LOG.debug("Aborting transaction of foreign shard {}", prefix);
-        shard.closeForeignTransaction();
-        return FluentFutures.immediateNullFluentFuture();
+        return shard.abort();
     }
 
     @Override
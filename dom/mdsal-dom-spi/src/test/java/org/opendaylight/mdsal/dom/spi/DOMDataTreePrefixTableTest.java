@@ -9,7 +9,11 @@ package org.opendaylight.mdsal.dom.spi;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.Test;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
@@ -37,4 +41,36 @@ public class DOMDataTreePrefixTableTest {
         domDataTreePrefixTable.remove(invalidDOMDataTreeIdentifier);
         assertNull(domDataTreePrefixTable.lookup(invalidDOMDataTreeIdentifier));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testConcurrentLookup() throws Exception {
+        final DOMDataTreePrefixTable<String> table = DOMDataTreePrefixTable.create();
+        final YangInstanceIdentifier parent = YangInstanceIdentifier.of(QName.create("", "parent"));
+        final DOMDataTreeIdentifier parentId = new DOMDataTreeIdentifier(LogicalDatastoreType.OPERATIONAL, parent);
+        final DOMDataTreeIdentifier childId = new DOMDataTreeIdentifier(LogicalDatastoreType.OPERATIONAL,
+            parent.node(QName.create("", "child")));
+        table.store(parentId, "parent");
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<?> writer = executor.submit(() -> {
+                for (int i = 0; i < 10000; ++i) {
+                    table.store(childId, "child");
+                    table.remove(childId);
+                }
+            });
+
+            // An entry has to be found regardless of what happens to the child. Its value may have been removed
+            // concurrently, but it has to point to one of the two registrations otherwise.
+            while (!writer.isDone()) {
+                final String value = table.lookup(childId).getValue();
+                assertTrue(value, value == null || "parent".equals(value) || "child".equals(value));
+            }
+            writer.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals("parent", table.lookup(childId).getValue());
+    }
+}
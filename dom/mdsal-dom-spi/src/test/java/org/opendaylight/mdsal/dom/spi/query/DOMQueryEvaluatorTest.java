@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.spi.query;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.junit.Test;
+import org.opendaylight.mdsal.dom.api.query.DOMQuery;
+import org.opendaylight.mdsal.dom.api.query.DOMQueryAggregate.Count;
+import org.opendaylight.mdsal.dom.api.query.DOMQueryAggregate.Distinct;
+import org.opendaylight.mdsal.dom.api.query.DOMQueryAggregate.Max;
+import org.opendaylight.mdsal.dom.api.query.DOMQueryAggregate.Min;
+import org.opendaylight.mdsal.dom.api.query.DOMQueryPredicate.GreaterThan;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class DOMQueryEvaluatorTest {
+    private static final QName FOO = QName.create("foo", "foo");
+    private static final QName BAR = QName.create(FOO, "bar");
+    private static final QName NAME = QName.create(FOO, "name");
+    private static final QName ALIAS = QName.create(FOO, "alias");
+    private static final QName VALUE = QName.create(FOO, "value");
+
+    private static final YangInstanceIdentifier ROOT = YangInstanceIdentifier.of(FOO);
+    // Wildcarded list, as encoded by the binding codec: the list itself followed by its (unkeyed) entry
+    private static final YangInstanceIdentifier SELECT = YangInstanceIdentifier.create(new NodeIdentifier(BAR),
+        new NodeIdentifier(BAR));
+    private static final YangInstanceIdentifier ALIAS_PATH = YangInstanceIdentifier.of(ALIAS);
+    private static final YangInstanceIdentifier VALUE_PATH = YangInstanceIdentifier.of(VALUE);
+
+    private static final ContainerNode DATA = Builders.containerBuilder()
+        .withNodeIdentifier(new NodeIdentifier(FOO))
+        .withChild(ImmutableNodes.mapNodeBuilder(BAR)
+            .withChild(entry("one", "a", 1))
+            .withChild(entry("two", "b", 2))
+            .withChild(entry("three", "a", 3))
+            .withChild(ImmutableNodes.mapEntry(BAR, NAME, "four"))
+            .build())
+        .build();
+
+    private static final DOMQuery ALL = new DOMQuery(ROOT, SELECT, ImmutableList.of());
+    private static final DOMQuery GT_ONE = new DOMQuery(ROOT, SELECT,
+        ImmutableList.of(new GreaterThan<>(VALUE_PATH, Uint32.ONE)));
+
+    @Test
+    public void testEvaluate() {
+        assertEquals(4, DOMQueryEvaluator.evaluate(ALL, DATA).size());
+        assertEquals(2, DOMQueryEvaluator.evaluate(GT_ONE, DATA).size());
+    }
+
+    @Test
+    public void testEvaluateSelect() {
+        // Select path pointing to the list itself
+        assertEquals(4, DOMQueryEvaluator.evaluate(new DOMQuery(ROOT, YangInstanceIdentifier.of(BAR),
+            ImmutableList.of()), DATA).size());
+        // Select path pointing to a single entry
+        assertEquals(ImmutableList.of(ROOT.node(BAR).node(NodeIdentifierWithPredicates.of(BAR, NAME, "two"))),
+            DOMQueryEvaluator.evaluate(new DOMQuery(ROOT, YangInstanceIdentifier.create(new NodeIdentifier(BAR),
+                NodeIdentifierWithPredicates.of(BAR, NAME, "two")), ImmutableList.of()), DATA).stream()
+            .map(Entry::getKey).collect(Collectors.toList()));
+        // Select path with wildcarded list entries in the middle
+        assertEquals(3, DOMQueryEvaluator.evaluate(new DOMQuery(ROOT, SELECT.node(ALIAS), ImmutableList.of()), DATA)
+            .size());
+        // Mismatched list identifier does not select anything
+        assertEquals(0, DOMQueryEvaluator.evaluate(new DOMQuery(ROOT, YangInstanceIdentifier.create(
+            new NodeIdentifier(BAR), new NodeIdentifier(FOO)), ImmutableList.of()), DATA).size());
+    }
+
+    @Test
+    public void testCount() {
+        assertEquals(Long.valueOf(4), DOMQueryEvaluator.evaluate(new Count(ALL), DATA));
+        assertEquals(Long.valueOf(2), DOMQueryEvaluator.evaluate(new Count(GT_ONE), DATA));
+    }
+
+    @Test
+    public void testDistinct() {
+        assertEquals(ImmutableSet.of("a", "b"), DOMQueryEvaluator.evaluate(new Distinct<>(ALL, ALIAS_PATH), DATA));
+        assertEquals(ImmutableSet.of(Uint32.valueOf(2), Uint32.valueOf(3)),
+            DOMQueryEvaluator.evaluate(new Distinct<>(GT_ONE, VALUE_PATH), DATA));
+    }
+
+    @Test
+    public void testMinMax() {
+        assertEquals(Optional.of(Uint32.ONE), DOMQueryEvaluator.evaluate(new Min<Uint32>(ALL, VALUE_PATH), DATA));
+        assertEquals(Optional.of(Uint32.valueOf(3)),
+            DOMQueryEvaluator.evaluate(new Max<Uint32>(ALL, VALUE_PATH), DATA));
+        assertEquals(Optional.empty(), DOMQueryEvaluator.evaluate(new Min<Uint32>(
+            new DOMQuery(ROOT, SELECT, ImmutableList.of(new GreaterThan<>(VALUE_PATH, Uint32.valueOf(3)))),
+            VALUE_PATH), DATA));
+    }
+
+    private static MapEntryNode entry(final String name, final String alias, final int value) {
+        return ImmutableNodes.mapEntryBuilder(BAR, NAME, name)
+            .withChild(ImmutableNodes.leafNode(ALIAS, alias))
+            .withChild(ImmutableNodes.leafNode(VALUE, Uint32.valueOf(value)))
+            .build();
+    }
+}
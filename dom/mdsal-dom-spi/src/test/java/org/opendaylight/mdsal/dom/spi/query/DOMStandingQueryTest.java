@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.dom.spi.query;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.mdsal.dom.api.query.DOMQuery;
+import org.opendaylight.mdsal.dom.api.query.DOMQueryPredicate.GreaterThan;
+import org.opendaylight.mdsal.dom.api.query.DOMQueryResultDelta;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNodes;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class DOMStandingQueryTest {
+    private static final QName FOO = QName.create("foo", "foo");
+    private static final QName BAR = QName.create(FOO, "bar");
+    private static final QName NAME = QName.create(FOO, "name");
+    private static final QName VALUE = QName.create(FOO, "value");
+
+    private static final YangInstanceIdentifier ROOT = YangInstanceIdentifier.of(FOO);
+    private static final YangInstanceIdentifier VALUE_PATH = YangInstanceIdentifier.of(VALUE);
+    // Wildcarded list, as encoded by the binding codec: the list itself followed by its (unkeyed) entry
+    private static final DOMQuery GT_ONE = new DOMQuery(ROOT,
+        YangInstanceIdentifier.create(new NodeIdentifier(BAR), new NodeIdentifier(BAR)),
+        ImmutableList.of(new GreaterThan<>(VALUE_PATH, Uint32.ONE)));
+
+    private static final MapEntryNode ONE = entry("one", 1);
+    private static final MapEntryNode TWO = entry("two", 2);
+    private static final MapEntryNode THREE = entry("three", 3);
+    private static final MapEntryNode FOUR = ImmutableNodes.mapEntry(BAR, NAME, "four");
+
+    private final List<DOMQueryResultDelta> deltas = new ArrayList<>();
+    private DOMStandingQuery query;
+
+    @Before
+    public void before() {
+        query = new DOMStandingQuery(GT_ONE, deltas::add);
+    }
+
+    @Test
+    public void testInitialEmpty() {
+        query.onInitialData();
+        assertEquals(1, deltas.size());
+        assertTrue(deltas.get(0).isEmpty());
+    }
+
+    @Test
+    public void testIncremental() {
+        final ContainerNode initial = data(ONE, TWO, THREE, FOUR);
+        query.onDataTreeChanged(ImmutableList.of(DataTreeCandidates.fromNormalizedNode(ROOT, initial)));
+        assertEquals(1, deltas.size());
+        assertEquals(ImmutableSet.of(path("two"), path("three")), deltas.get(0).getAdded().keySet());
+        assertEquals(ImmutableSet.of(path("two"), path("three")), query.getResults().keySet());
+
+        query.onDataTreeChanged(ImmutableList.of(DataTreeCandidates.newDataTreeCandidate(ROOT,
+            new ReplaceNode(initial, data(entry("one", 7), entry("two", 0), entry("three", 5), FOUR)))));
+        assertEquals(2, deltas.size());
+        final DOMQueryResultDelta delta = deltas.get(1);
+        assertEquals(ImmutableSet.of(path("one")), delta.getAdded().keySet());
+        assertEquals(ImmutableSet.of(path("three")), delta.getChanged().keySet());
+        assertEquals(ImmutableSet.of(path("two")), delta.getRemoved().keySet());
+        assertEquals(TWO, delta.getRemoved().get(path("two")));
+        assertEquals(ImmutableSet.of(path("one"), path("three")), query.getResults().keySet());
+    }
+
+    private static YangInstanceIdentifier path(final String name) {
+        return ROOT.node(BAR).node(NodeIdentifierWithPredicates.of(BAR, NAME, name));
+    }
+
+    private static ContainerNode data(final MapEntryNode... entries) {
+        return Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(FOO))
+            .withChild(ImmutableNodes.mapNodeBuilder(BAR).withValue(List.of(entries)).build())
+            .build();
+    }
+
+    private static MapEntryNode entry(final String name, final int value) {
+        return ImmutableNodes.mapEntryBuilder(BAR, NAME, name)
+            .withChild(ImmutableNodes.leafNode(VALUE, Uint32.valueOf(value)))
+            .build();
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static final class ReplaceNode implements DataTreeCandidateNode {
+        private final NormalizedNodeContainer before;
+        private final NormalizedNodeContainer after;
+
+        ReplaceNode(final NormalizedNodeContainer before, final NormalizedNodeContainer after) {
+            this.before = before;
+            this.after = after;
+        }
+
+        @Override
+        public PathArgument getIdentifier() {
+            return after.getIdentifier();
+        }
+
+        @Override
+        public Collection<DataTreeCandidateNode> getChildNodes() {
+            return DataTreeCandidateNodes.containerDelta(before, after);
+        }
+
+        @Override
+        public Optional<DataTreeCandidateNode> getModifiedChild(final PathArgument childIdentifier) {
+            return DataTreeCandidateNodes.containerDelta(before, after, childIdentifier);
+        }
+
+        @Override
+        public ModificationType getModificationType() {
+            return ModificationType.WRITE;
+        }
+
+        @Override
+        public Optional<NormalizedNode<?, ?>> getDataAfter() {
+            return Optional.of(after);
+        }
+
+        @Override
+        public Optional<NormalizedNode<?, ?>> getDataBefore() {
+            return Optional.of(before);
+        }
+    }
+}
@@ -13,8 +13,15 @@ import io.netty.bootstrap.Bootstrap;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
 import io.netty.channel.epoll.Epoll;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalServerChannel;
 import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.unix.DomainSocketAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.util.concurrent.TimeUnit;
 import org.eclipse.jdt.annotation.NonNull;
 
@@ -45,11 +52,56 @@ public abstract class AbstractBootstrapSupport implements AutoCloseable, Bootstr
         return new Bootstrap().group(workerGroup).channel(channelClass);
     }
 
+    @Override
+    public final Bootstrap newBootstrap(final SocketAddress address) {
+        if (address instanceof InetSocketAddress) {
+            return newBootstrap();
+        }
+        // LocalChannels are compatible with any single-threaded event loop, hence we can share our worker group
+        if (address instanceof LocalAddress) {
+            return new Bootstrap().group(workerGroup).channel(LocalChannel.class);
+        }
+        if (address instanceof DomainSocketAddress) {
+            return new Bootstrap().group(workerGroup).channel(domainSocketChannelClass());
+        }
+        throw new IllegalArgumentException("Unsupported address " + address);
+    }
+
     @Override
     public  final ServerBootstrap newServerBootstrap() {
         return new ServerBootstrap().group(bossGroup, workerGroup).channel(serverChannelClass);
     }
 
+    @Override
+    public final ServerBootstrap newServerBootstrap(final SocketAddress address) {
+        if (address instanceof InetSocketAddress) {
+            return newServerBootstrap();
+        }
+        if (address instanceof LocalAddress) {
+            return new ServerBootstrap().group(bossGroup, workerGroup).channel(LocalServerChannel.class);
+        }
+        if (address instanceof DomainSocketAddress) {
+            return new ServerBootstrap().group(bossGroup, workerGroup).channel(serverDomainSocketChannelClass());
+        }
+        throw new IllegalArgumentException("Unsupported address " + address);
+    }
+
+    /**
+     * Return the class of Unix domain socket channels.
+     *
+     * @return Domain socket channel class
+     * @throws IllegalArgumentException if this transport does not support Unix domain sockets
+     */
+    abstract @NonNull Class<? extends Channel> domainSocketChannelClass();
+
+    /**
+     * Return the class of Unix domain socket server channels.
+     *
+     * @return Domain socket server channel class
+     * @throws IllegalArgumentException if this transport does not support Unix domain sockets
+     */
+    abstract @NonNull Class<? extends ServerChannel> serverDomainSocketChannelClass();
+
     @Override
     public final void close() throws InterruptedException {
         bossGroup.shutdownGracefully();
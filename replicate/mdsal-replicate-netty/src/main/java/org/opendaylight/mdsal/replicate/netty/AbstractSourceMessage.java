@@ -9,52 +9,149 @@ package org.opendaylight.mdsal.replicate.netty;
 
 import static java.util.Objects.requireNonNull;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
-import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.mdsal.replicate.netty.ReplicationJournal.Entry;
 import org.opendaylight.yangtools.yang.data.codec.binfmt.DataTreeCandidateInputOutput;
 import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeDataOutput;
 import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeStreamVersion;
 
 abstract class AbstractSourceMessage {
     private static final class Empty extends AbstractSourceMessage {
+        private final long sequence;
+
+        Empty(final int subscription, final long sequence) {
+            super(subscription);
+            this.sequence = sequence;
+        }
+
         @Override
-        void encodeTo(final NormalizedNodeStreamVersion version, final List<Object> out) throws IOException {
-            out.add(Constants.EMPTY_DATA);
+        void encodeTo(final NormalizedNodeStreamVersion version, final ByteBufAllocator alloc,
+                final List<Object> out) throws IOException {
+            out.add(alloc.buffer(13).writeByte(Constants.MSG_EMPTY_DATA).writeInt(subscription()).writeLong(sequence));
+        }
+
+        @Override
+        int candidateCount() {
+            return 0;
         }
     }
 
     private static final class Deltas extends AbstractSourceMessage {
-        private final Collection<DataTreeCandidate> deltas;
+        private final List<Entry> deltas;
+        private final StreamCompression compression;
 
-        Deltas(final Collection<DataTreeCandidate> deltas) {
+        Deltas(final int subscription, final List<Entry> deltas, final StreamCompression compression) {
+            super(subscription);
             this.deltas = requireNonNull(deltas);
+            this.compression = requireNonNull(compression);
+        }
+
+        @Override
+        void encodeTo(final NormalizedNodeStreamVersion version, final ByteBufAllocator alloc,
+                final List<Object> out) throws IOException {
+            encodeDeltas(deltas, compression, version, alloc, out);
+            out.add(apply(alloc, subscription(), deltas));
         }
 
         @Override
-        void encodeTo(final NormalizedNodeStreamVersion version, final List<Object> out) throws IOException {
-            for (DataTreeCandidate candidate : deltas) {
-                try (DataOutputStream stream = new DataOutputStream(new SplittingOutputStream(out))) {
-                    try (NormalizedNodeDataOutput output = version.newDataOutput(stream)) {
-                        DataTreeCandidateInputOutput.writeDataTreeCandidate(output, candidate);
-                    }
+        int candidateCount() {
+            return deltas.size();
+        }
+    }
+
+    private static final class Shared extends AbstractSourceMessage {
+        private final ReplicationJournal.Batch batch;
+        private final StreamCompression compression;
+
+        Shared(final int subscription, final ReplicationJournal.Batch batch, final StreamCompression compression) {
+            super(subscription);
+            this.batch = requireNonNull(batch);
+            this.compression = requireNonNull(compression);
+        }
+
+        @Override
+        void encodeTo(final NormalizedNodeStreamVersion version, final ByteBufAllocator alloc,
+                final List<Object> out) throws IOException {
+            final List<ByteBuf> encoded = batch.encoded(compression, version);
+            if (encoded != null) {
+                // Each channel gets its own indices, the content is shared
+                for (ByteBuf buf : encoded) {
+                    out.add(buf.retainedDuplicate());
                 }
-                out.add(Constants.DTC_APPLY);
+            } else {
+                encodeDeltas(batch.entries(), compression, version, alloc, out);
             }
+            out.add(apply(alloc, subscription(), batch.entries()));
         }
+
+        @Override
+        int candidateCount() {
+            return batch.entries().size();
+        }
+    }
+
+    private final int subscription;
+
+    AbstractSourceMessage(final int subscription) {
+        this.subscription = subscription;
+    }
+
+    final int subscription() {
+        return subscription;
+    }
+
+    static AbstractSourceMessage empty(final int subscription, final long sequence) {
+        return new Empty(subscription, sequence);
     }
 
-    private static final AbstractSourceMessage EMPTY = new Empty();
+    static AbstractSourceMessage of(final int subscription, final List<Entry> deltas,
+            final StreamCompression compression) {
+        return new Deltas(subscription, deltas, compression);
+    }
 
-    static AbstractSourceMessage empty() {
-        return EMPTY;
+    static AbstractSourceMessage of(final int subscription, final ReplicationJournal.Batch batch,
+            final StreamCompression compression) {
+        return new Shared(subscription, batch, compression);
     }
 
-    static AbstractSourceMessage of(final Collection<DataTreeCandidate> deltas) {
-        return new Deltas(deltas);
+    abstract void encodeTo(NormalizedNodeStreamVersion version, ByteBufAllocator alloc, List<Object> out)
+        throws IOException;
+
+    /**
+     * Return the number of DataTreeCandidates carried by this message.
+     */
+    abstract int candidateCount();
+
+    /**
+     * Encode a number of candidates into a single DataTreeCandidate serialization stream, sliced into
+     * {@link Constants#MSG_DTC_CHUNK} messages. The stream starts with the number of candidates, as an inflating
+     * stream cannot reliably report its end. This layout is part of {@link Constants#PROTOCOL_VERSION}.
+     */
+    static void encodeDeltas(final Collection<Entry> deltas, final StreamCompression compression,
+            final NormalizedNodeStreamVersion version, final ByteBufAllocator alloc, final List<Object> out)
+            throws IOException {
+        try (DataOutputStream stream = new DataOutputStream(compression.wrap(new SplittingOutputStream(alloc, out)))) {
+            try (NormalizedNodeDataOutput output = version.newDataOutput(stream)) {
+                output.writeInt(deltas.size());
+                for (Entry delta : deltas) {
+                    output.writeLong(delta.sequence());
+                    DataTreeCandidateInputOutput.writeDataTreeCandidate(output, delta.candidate());
+                }
+            }
+        }
     }
 
-    abstract void encodeTo(NormalizedNodeStreamVersion version, List<Object> out) throws IOException;
+    /**
+     * Allocate a {@link Constants#MSG_DTC_APPLY} message concluding a DataTreeCandidate serialization stream. It is
+     * stamped with the time the last of the encoded candidates has been observed.
+     */
+    static ByteBuf apply(final ByteBufAllocator alloc, final int subscription, final List<Entry> deltas) {
+        return alloc.buffer(13).writeByte(Constants.MSG_DTC_APPLY).writeInt(subscription)
+            .writeLong(deltas.get(deltas.size() - 1).timestamp());
+    }
 }
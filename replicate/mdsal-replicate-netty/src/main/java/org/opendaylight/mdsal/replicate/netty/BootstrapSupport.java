@@ -10,6 +10,7 @@ package org.opendaylight.mdsal.replicate.netty;
 import com.google.common.annotations.Beta;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.bootstrap.ServerBootstrap;
+import java.net.SocketAddress;
 import org.eclipse.jdt.annotation.NonNull;
 
 @Beta
@@ -17,5 +18,25 @@ public interface BootstrapSupport {
 
     @NonNull Bootstrap newBootstrap();
 
+    /**
+     * Return a new {@link Bootstrap} suitable for connecting to specified address. Aside from TCP, this may support
+     * other transports, such as Unix domain sockets or in-JVM {@link io.netty.channel.local.LocalChannel}s.
+     *
+     * @param address Address to connect to
+     * @return A new Bootstrap
+     * @throws IllegalArgumentException if the address is not supported
+     */
+    @NonNull Bootstrap newBootstrap(SocketAddress address);
+
     @NonNull ServerBootstrap newServerBootstrap();
+
+    /**
+     * Return a new {@link ServerBootstrap} suitable for listening on specified address. Aside from TCP, this may
+     * support other transports, such as Unix domain sockets or in-JVM {@link io.netty.channel.local.LocalChannel}s.
+     *
+     * @param address Address to listen on
+     * @return A new ServerBootstrap
+     * @throws IllegalArgumentException if the address is not supported
+     */
+    @NonNull ServerBootstrap newServerBootstrap(SocketAddress address);
 }
\ No newline at end of file
@@ -14,22 +14,39 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 
 final class Constants {
     /**
-     * Subscribe request message. This is the only valid initial message in the sink->source direction. Its payload is
+     * Version of the protocol formed by the messages below. Peers exchange it via {@link #MSG_VERSION} and do not
+     * exchange any data unless their versions match exactly. The original protocol, which has no notion of versions,
+     * subscription identifiers, compression or journal positions, is considered to be version {@code 0}.
+     */
+    static final int PROTOCOL_VERSION = 1;
+
+    /**
+     * Subscribe request message. It may only be sent after {@link #MSG_VERSION}, but it may be sent multiple times to
+     * subscribe to multiple subtrees. Each subscription is identified by the order of its
+     * request, starting at 0, and all messages pertaining to it carry this identifier. Its payload is
      * composed of a binary normalized node stream. The stream must contain a {@link LogicalDatastoreType} serialized
      * via {@link LogicalDatastoreType#writeTo(java.io.DataOutput)} followed by a single {@link YangInstanceIdentifier}.
+     * These are followed by a single byte, identifying the {@link StreamCompression} the sink would like to use, which
+     * may in turn be followed by two longs, identifying the {@link ReplicationJournal} epoch and the sequence number of
+     * the last candidate applied by the sink, which it would like to resume from.
      */
     static final byte MSG_SUBSCRIBE_REQ = 1;
     /**
-     * Initial data indicating non-presence of the subscribed path.
+     * Initial data indicating non-presence of the subscribed path. Its payload is an int subscription identifier and
+     * a long journal sequence number this state corresponds to.
      */
     static final byte MSG_EMPTY_DATA    = 2;
     /**
      * A chunk of the DataTreeCandidate serialization stream. May be followed by another chunk or
-     * {@link #MSG_DTC_APPLY}.
+     * {@link #MSG_DTC_APPLY}. Chunks of different streams are never interleaved.
      */
     static final byte MSG_DTC_CHUNK     = 3;
     /**
-     * End-of-DataTreeCandidate serialization stream. The payload is empty.
+     * End-of-DataTreeCandidate serialization stream. The payload is an int identifier of the subscription the stream
+     * pertains to, followed by a long wall clock time, in milliseconds since the epoch, at which the source has
+     * observed the last candidate of the stream. The stream, after decompression, contains
+     * an int count of DataTreeCandidates, followed by that many pairs of a long journal sequence number and
+     * a DataTreeCandidate, which are to be applied in order.
      */
     static final byte MSG_DTC_APPLY     = 4;
     /**
@@ -37,9 +54,41 @@ final class Constants {
      */
     static final int MSG_PING           = 5;
     /**
-     * Verify the connection is alive.
+     * Response to {@link #MSG_PING}. The payload reports the sink's position in each subscription: an int count of
+     * subscriptions, followed by that many pairs of a long journal epoch and a long sequence number of the last
+     * candidate committed by the sink, in the order of subscription identifiers. Unknown positions are reported with
+     * an epoch of {@code 0}. The source ignores the payload until the {@link #MSG_VERSION} handshake has completed.
      */
     static final int MSG_PONG           = 6;
+    /**
+     * Acknowledgement of the {@link StreamCompression} requested in {@link #MSG_SUBSCRIBE_REQ}. It is sent only if the
+     * sink requested compression and precedes any data. Its payload is an int subscription identifier and a single
+     * byte, identifying the algorithm used for all subsequent DataTreeCandidate serialization streams of that
+     * subscription.
+     */
+    static final byte MSG_COMPRESSION   = 7;
+    /**
+     * Journal position of a subscription, sent in response to {@link #MSG_SUBSCRIBE_REQ} before any data. Its payload
+     * is an int subscription identifier, a long journal epoch and a boolean indicating whether the subscription resumes
+     * from the position requested by the sink. If it does not, the source follows up with the complete state of the
+     * subscribed path, either as {@link #MSG_EMPTY_DATA} or as a number of DataTreeCandidate serialization streams
+     * concluded by {@link #MSG_SNAPSHOT_END}.
+     */
+    static final byte MSG_JOURNAL       = 8;
+    /**
+     * End of the complete state of a subscribed path. Its payload is an int subscription identifier and a long journal
+     * sequence number the state corresponds to. Until this message is received, the state applied by the sink is
+     * incomplete and must not be used to resume the subscription.
+     */
+    static final byte MSG_SNAPSHOT_END  = 9;
+    /**
+     * Protocol version handshake. This is the only valid initial message in the sink->source direction. Its payload is
+     * an int {@link #PROTOCOL_VERSION} spoken by the sink. The source responds with a {@link #MSG_VERSION} carrying its
+     * own version, which precedes any other message except {@link #MSG_PING}, and closes the connection if the versions
+     * do not match. The sink does not accept any data until it has received a matching version. Peers which predate
+     * this handshake reject it as an unexpected message, hence mismatched peers never exchange data.
+     */
+    static final byte MSG_VERSION       = 10;
 
     /**
      * Length of the length field in each transmitted frame.
@@ -50,17 +99,18 @@ final class Constants {
      */
     static final int LENGTH_FIELD_MAX    = 1024 * 1024;
 
-    static final ByteBuf EMPTY_DATA = Unpooled.unreleasableBuffer(
-        Unpooled.wrappedBuffer(new byte[] { MSG_EMPTY_DATA }));
-
-    static final ByteBuf DTC_APPLY = Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(new byte[] { MSG_DTC_APPLY }));
+    /**
+     * Outbound buffer size at which the source stops writing to a sink, 4MiB.
+     */
+    static final int WRITE_BUFFER_HIGH_WATERMARK = 4 * LENGTH_FIELD_MAX;
+    /**
+     * Outbound buffer size at which the source resumes writing to a sink, 1MiB.
+     */
+    static final int WRITE_BUFFER_LOW_WATERMARK  = LENGTH_FIELD_MAX;
 
     static final ByteBuf PING = Unpooled.unreleasableBuffer(
         Unpooled.wrappedBuffer(new byte[] { MSG_PING }));
 
-    static final ByteBuf PONG = Unpooled.unreleasableBuffer(
-        Unpooled.wrappedBuffer(new byte[] { MSG_PONG }));
-
     private Constants() {
         // Hidden on purpose
     }
@@ -17,14 +17,21 @@ import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeStreamVer
 
 final class DeltaEncoder extends MessageToMessageEncoder<AbstractSourceMessage> {
     private final NormalizedNodeStreamVersion version;
+    private final ReplicationMetrics metrics;
 
-    DeltaEncoder(final NormalizedNodeStreamVersion version) {
+    DeltaEncoder(final NormalizedNodeStreamVersion version, final ReplicationMetrics metrics) {
         this.version = requireNonNull(version);
+        this.metrics = requireNonNull(metrics);
     }
 
     @Override
     protected void encode(final ChannelHandlerContext ctx, final AbstractSourceMessage msg, final List<Object> out)
             throws IOException {
-        msg.encodeTo(version, out);
+        final long start = System.nanoTime();
+        msg.encodeTo(version, ctx.alloc(), out);
+        final int count = msg.candidateCount();
+        if (count != 0) {
+            metrics.candidatesEncoded(count, System.nanoTime() - start);
+        }
     }
 }
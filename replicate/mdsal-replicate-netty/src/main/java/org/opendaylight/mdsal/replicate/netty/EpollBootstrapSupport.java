@@ -7,7 +7,11 @@
  */
 package org.opendaylight.mdsal.replicate.netty;
 
+import io.netty.channel.Channel;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.EpollDomainSocketChannel;
 import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerDomainSocketChannel;
 import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.epoll.EpollSocketChannel;
 
@@ -16,4 +20,14 @@ final class EpollBootstrapSupport extends AbstractBootstrapSupport {
         super(EpollSocketChannel.class, EpollServerSocketChannel.class, new EpollEventLoopGroup(),
             new EpollEventLoopGroup());
     }
+
+    @Override
+    Class<? extends Channel> domainSocketChannelClass() {
+        return EpollDomainSocketChannel.class;
+    }
+
+    @Override
+    Class<? extends ServerChannel> serverDomainSocketChannelClass() {
+        return EpollServerDomainSocketChannel.class;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.replicate.netty;
+
+import static java.util.Objects.requireNonNull;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundBuffer;
+import io.netty.channel.ChannelPromise;
+
+/**
+ * Handler reporting messages passing through a channel to {@link ReplicationMetrics}. It needs to be placed between
+ * {@link MessageFrameDecoder} and {@link MessageFrameEncoder}, so that it observes whole messages in both directions.
+ */
+final class MetricsHandler extends ChannelDuplexHandler {
+    private final ReplicationMetrics metrics;
+
+    MetricsHandler(final ReplicationMetrics metrics) {
+        this.metrics = requireNonNull(metrics);
+    }
+
+    @Override
+    public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+        if (msg instanceof ByteBuf) {
+            metrics.messageReceived(((ByteBuf) msg).readableBytes());
+        }
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) {
+        if (msg instanceof ByteBuf) {
+            metrics.messageSent(((ByteBuf) msg).readableBytes());
+        }
+        ctx.write(msg, promise);
+    }
+
+    @Override
+    public void flush(final ChannelHandlerContext ctx) {
+        ctx.flush();
+        reportPendingWrites(ctx);
+    }
+
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) {
+        reportPendingWrites(ctx);
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) {
+        // Anything still queued will be discarded
+        metrics.pendingWriteBytes(ctx.channel(), 0);
+        ctx.fireChannelInactive();
+    }
+
+    private void reportPendingWrites(final ChannelHandlerContext ctx) {
+        final Channel channel = ctx.channel();
+        final ChannelOutboundBuffer buffer = channel.unsafe().outboundBuffer();
+        metrics.pendingWriteBytes(channel, buffer != null ? buffer.totalPendingWriteBytes() : 0);
+    }
+}
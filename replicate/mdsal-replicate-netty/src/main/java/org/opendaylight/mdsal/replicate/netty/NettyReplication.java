@@ -10,14 +10,21 @@ package org.opendaylight.mdsal.replicate.netty;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Verify.verify;
 
+import io.netty.channel.unix.DomainSocketAddress;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.mdsal.dom.api.DOMDataBroker;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeChangeService;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
 import org.opendaylight.mdsal.singleton.common.api.ClusterSingletonServiceProvider;
 import org.opendaylight.yangtools.concepts.AbstractRegistration;
 import org.opendaylight.yangtools.concepts.Registration;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,22 +45,92 @@ public final class NettyReplication {
     public static Registration createSink(final BootstrapSupport bootstrapSupport, final DOMDataBroker dataBroker,
             final ClusterSingletonServiceProvider singletonService, final boolean enabled,
             final InetAddress sourceAddress, final int sourcePort, final Duration reconnectDelay,
-        final Duration keepaliveInterval, final int maxMissedKeepalives) {
+        final Duration keepaliveInterval, final int maxMissedKeepalives, final int maxBatchSize,
+        final String compression, final String datastores) {
+        return createSink(bootstrapSupport, dataBroker, singletonService, enabled,
+            new InetSocketAddress(sourceAddress, sourcePort), reconnectDelay, keepaliveInterval, maxMissedKeepalives,
+            maxBatchSize, compression, datastores, ReplicationMetrics.noop());
+    }
+
+    public static Registration createSink(final BootstrapSupport bootstrapSupport, final DOMDataBroker dataBroker,
+            final ClusterSingletonServiceProvider singletonService, final boolean enabled,
+            final SocketAddress sourceAddress, final Duration reconnectDelay, final Duration keepaliveInterval,
+            final int maxMissedKeepalives, final int maxBatchSize, final String compression, final String datastores,
+            final ReplicationMetrics metrics) {
         LOG.debug("Sink {}", enabled ? "enabled" : "disabled");
         checkArgument(maxMissedKeepalives > 0, "max-missed-keepalives %s must be greater than 0", maxMissedKeepalives);
+        checkArgument(maxBatchSize > 0, "max-batch-size %s must be greater than 0", maxBatchSize);
+        final StreamCompression streamCompression = StreamCompression.forName(compression);
+        final List<DOMDataTreeIdentifier> trees = parseDatastores(datastores);
         return enabled ? singletonService.registerClusterSingletonService(new SinkSingletonService(bootstrapSupport,
-            dataBroker, new InetSocketAddress(sourceAddress, sourcePort), reconnectDelay, keepaliveInterval,
-            maxMissedKeepalives)) : new Disabled();
+            dataBroker, sourceAddress, reconnectDelay, keepaliveInterval, maxMissedKeepalives, maxBatchSize,
+            streamCompression, trees, metrics)) : new Disabled();
     }
 
     public static Registration createSource(final BootstrapSupport bootstrapSupport, final DOMDataBroker dataBroker,
             final ClusterSingletonServiceProvider singletonService, final boolean enabled, final int listenPort,
-        final Duration keepaliveInterval, final int maxMissedKeepalives) {
+        final Duration keepaliveInterval, final int maxMissedKeepalives, final Duration flushDelay,
+        final int maxBatchSize, final int journalSize) {
+        return createSource(bootstrapSupport, dataBroker, singletonService, enabled, new InetSocketAddress(listenPort),
+            keepaliveInterval, maxMissedKeepalives, flushDelay, maxBatchSize, journalSize, ReplicationMetrics.noop());
+    }
+
+    public static Registration createSource(final BootstrapSupport bootstrapSupport, final DOMDataBroker dataBroker,
+            final ClusterSingletonServiceProvider singletonService, final boolean enabled,
+            final SocketAddress listenAddress, final Duration keepaliveInterval, final int maxMissedKeepalives,
+            final Duration flushDelay, final int maxBatchSize, final int journalSize,
+            final ReplicationMetrics metrics) {
         LOG.debug("Source {}", enabled ? "enabled" : "disabled");
         final DOMDataTreeChangeService dtcs = dataBroker.getExtensions().getInstance(DOMDataTreeChangeService.class);
         verify(dtcs != null, "Missing DOMDataTreeChangeService in broker %s", dataBroker);
         checkArgument(maxMissedKeepalives > 0, "max-missed-keepalives %s must be greater than 0", maxMissedKeepalives);
+        checkArgument(!flushDelay.isNegative(), "flush-delay %s must not be negative", flushDelay);
+        checkArgument(maxBatchSize > 0, "max-batch-size %s must be greater than 0", maxBatchSize);
+        checkArgument(journalSize >= 0, "journal-size %s must not be negative", journalSize);
         return enabled ? singletonService.registerClusterSingletonService(new SourceSingletonService(bootstrapSupport,
-            dtcs, listenPort, keepaliveInterval, maxMissedKeepalives)) : new Disabled();
+            dtcs, listenAddress, keepaliveInterval, maxMissedKeepalives, flushDelay, maxBatchSize, journalSize,
+            metrics)) : new Disabled();
+    }
+
+    /**
+     * Create the address of a replication endpoint. If {@code socketPath} is not empty, the address is a Unix domain
+     * socket, which requires native epoll transport. Otherwise it is a TCP address, with an empty {@code host}
+     * denoting the wildcard address.
+     *
+     * @param host Host name or address
+     * @param port TCP port
+     * @param socketPath Unix domain socket path
+     * @return An address
+     */
+    public static SocketAddress socketAddress(final String host, final int port, final String socketPath) {
+        if (!socketPath.isEmpty()) {
+            return new DomainSocketAddress(socketPath);
+        }
+        return host.isEmpty() ? new InetSocketAddress(port) : new InetSocketAddress(host, port);
+    }
+
+    /**
+     * Parse a comma-separated list of datastores, each of which is replicated in its entirety. Recognized datastore
+     * names are {@code config} and {@code operational}.
+     */
+    private static List<DOMDataTreeIdentifier> parseDatastores(final String datastores) {
+        final List<DOMDataTreeIdentifier> ret = new ArrayList<>();
+        for (String name : datastores.split(",")) {
+            final LogicalDatastoreType type;
+            switch (name.trim()) {
+                case "config":
+                    type = LogicalDatastoreType.CONFIGURATION;
+                    break;
+                case "operational":
+                    type = LogicalDatastoreType.OPERATIONAL;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unrecognized datastore " + name);
+            }
+            final DOMDataTreeIdentifier tree = new DOMDataTreeIdentifier(type, YangInstanceIdentifier.empty());
+            checkArgument(!ret.contains(tree), "Duplicate datastore %s", name);
+            ret.add(tree);
+        }
+        return ret;
     }
 }
@@ -7,6 +7,8 @@
  */
 package org.opendaylight.mdsal.replicate.netty;
 
+import io.netty.channel.Channel;
+import io.netty.channel.ServerChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
@@ -15,4 +17,14 @@ final class NioBootstrapSupport extends AbstractBootstrapSupport {
     NioBootstrapSupport() {
         super(NioSocketChannel.class, NioServerSocketChannel.class, new NioEventLoopGroup(), new NioEventLoopGroup());
     }
+
+    @Override
+    Class<? extends Channel> domainSocketChannelClass() {
+        throw new IllegalArgumentException("Unix domain sockets require native epoll transport");
+    }
+
+    @Override
+    Class<? extends ServerChannel> serverDomainSocketChannelClass() {
+        throw new IllegalArgumentException("Unix domain sockets require native epoll transport");
+    }
 }
\ No newline at end of file
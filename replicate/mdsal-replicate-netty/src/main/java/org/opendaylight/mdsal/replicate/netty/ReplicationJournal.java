@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.replicate.netty;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.checkerframework.checker.lock.qual.Holding;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.mdsal.dom.api.ClusteredDOMDataTreeChangeListener;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeChangeService;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeStreamVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded in-memory journal of DataTreeCandidates reported for a particular subtree. Each candidate is assigned a
+ * monotonically increasing sequence number, which allows a reconnecting sink to resume from the last candidate it has
+ * applied, as long as the journal still retains all subsequent candidates. Sequence numbers are scoped to an epoch,
+ * which is randomly chosen when the journal is created, so that positions are never mistaken across source restarts.
+ */
+final class ReplicationJournal implements ClusteredDOMDataTreeChangeListener {
+    /**
+     * A single journaled candidate.
+     */
+    static final class Entry {
+        private final @NonNull DataTreeCandidate candidate;
+        private final long sequence;
+        private final long timestamp;
+
+        Entry(final long sequence, final DataTreeCandidate candidate, final long timestamp) {
+            this.sequence = sequence;
+            this.candidate = requireNonNull(candidate);
+            this.timestamp = timestamp;
+        }
+
+        long sequence() {
+            return sequence;
+        }
+
+        /**
+         * Return the wall clock time at which the candidate was observed, in milliseconds since the epoch.
+         *
+         * @return Observation timestamp
+         */
+        long timestamp() {
+            return timestamp;
+        }
+
+        @NonNull DataTreeCandidate candidate() {
+            return candidate;
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this).add("sequence", sequence).add("candidate", candidate).toString();
+        }
+    }
+
+    /**
+     * A batch of entries appended to the journal by a single change notification. Its serialized form is shared by all
+     * subscribers, so that each candidate is encoded only once regardless of the number of connected sinks.
+     */
+    static final class Batch {
+        // Shared encodings are never released, as we do not know when the last subscriber has written them out. We
+        // therefore use heap buffers, which are reclaimed by GC once the batch becomes unreachable.
+        private static final ByteBufAllocator ALLOC = new UnpooledByteBufAllocator(false);
+
+        private final @NonNull List<Entry> entries;
+
+        @GuardedBy("this")
+        private final Map<StreamCompression, List<ByteBuf>> encoded = new EnumMap<>(StreamCompression.class);
+        @GuardedBy("this")
+        private NormalizedNodeStreamVersion version;
+
+        Batch(final List<Entry> entries) {
+            this.entries = requireNonNull(entries);
+        }
+
+        @NonNull List<Entry> entries() {
+            return entries;
+        }
+
+        /**
+         * Return the {@link Constants#MSG_DTC_CHUNK} messages encoding this batch with specified compression and stream
+         * version. The returned buffers are shared and must not be modified, users should write out their retained
+         * duplicates.
+         *
+         * @param compression Stream compression
+         * @param streamVersion Stream version
+         * @return Encoded chunks, or null if this batch has already been encoded with a different stream version
+         * @throws IOException if encoding fails
+         */
+        synchronized @Nullable List<ByteBuf> encoded(final StreamCompression compression,
+                final NormalizedNodeStreamVersion streamVersion) throws IOException {
+            if (version == null) {
+                version = streamVersion;
+            } else if (version != streamVersion) {
+                return null;
+            }
+
+            List<ByteBuf> ret = encoded.get(compression);
+            if (ret == null) {
+                final List<Object> out = new ArrayList<>();
+                AbstractSourceMessage.encodeDeltas(entries, compression, streamVersion, ALLOC, out);
+                ret = out.stream().map(ByteBuf.class::cast).collect(Collectors.toUnmodifiableList());
+                encoded.put(compression, ret);
+            }
+            return ret;
+        }
+    }
+
+    /**
+     * A subscriber to journal entries. All methods are invoked with the journal lock held, hence they need to be
+     * non-blocking.
+     */
+    interface Subscriber {
+        /**
+         * Invoked when a subscriber is successfully resumed from a requested position.
+         *
+         * @param epoch Journal epoch
+         * @param backlog Entries following the requested position
+         */
+        void onResumed(long epoch, List<Entry> backlog);
+
+        /**
+         * Invoked when a subscriber cannot be resumed and needs to acquire a full snapshot of the subtree. The snapshot
+         * is the state after {@code last}, which corresponds exactly to {@code sequence}. All entries following
+         * {@code sequence} will be reported via {@link #onEntries(Batch)}.
+         *
+         * @param epoch Journal epoch
+         * @param sequence Last sequence number known not to be reported to the subscriber
+         * @param last Last candidate reported by the data tree, its after-state being the snapshot, null if the subtree
+         *             has not been reported to exist
+         */
+        void onResync(long epoch, long sequence, @Nullable DataTreeCandidate last);
+
+        /**
+         * Invoked when new entries are appended to the journal.
+         *
+         * @param batch Batch of new entries
+         */
+        void onEntries(Batch batch);
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReplicationJournal.class);
+
+    @GuardedBy("this")
+    private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+    @GuardedBy("this")
+    private final Set<Subscriber> subscribers = new HashSet<>();
+    // Subscribers which need to be resynchronized once the initial state is known
+    @GuardedBy("this")
+    private final List<Subscriber> awaitingInitial = new ArrayList<>();
+    private final DOMDataTreeIdentifier tree;
+    private final int maxEntries;
+    private final long epoch;
+
+    @GuardedBy("this")
+    private long lastSequence;
+    @GuardedBy("this")
+    private DataTreeCandidate lastCandidate;
+    @GuardedBy("this")
+    private boolean initialized;
+
+    private ListenerRegistration<?> reg;
+
+    private ReplicationJournal(final DOMDataTreeIdentifier tree, final int maxEntries) {
+        checkArgument(maxEntries >= 0, "Invalid journal size %s", maxEntries);
+        this.tree = requireNonNull(tree);
+        this.maxEntries = maxEntries;
+
+        long newEpoch;
+        do {
+            newEpoch = ThreadLocalRandom.current().nextLong();
+        } while (newEpoch == 0);
+        epoch = newEpoch;
+    }
+
+    static @NonNull ReplicationJournal create(final DOMDataTreeChangeService dtcs, final DOMDataTreeIdentifier tree,
+            final int maxEntries) {
+        final ReplicationJournal ret = new ReplicationJournal(tree, maxEntries);
+        ret.reg = dtcs.registerDataTreeChangeListener(tree, ret);
+        LOG.debug("Journal for {} started with epoch {}", tree, ret.epoch);
+        return ret;
+    }
+
+    long epoch() {
+        return epoch;
+    }
+
+    synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Subscribe to this journal, resuming from a particular position if possible. The subscriber is notified of the
+     * outcome via either {@link Subscriber#onResumed(long, List)} or
+     * {@link Subscriber#onResync(long, long, DataTreeCandidate)}. If the initial state of the subtree has not been
+     * reported yet, a resynchronization is deferred until it is.
+     *
+     * @param subscriber Subscriber to add
+     * @param requestedEpoch Epoch of the requested position, {@code 0} if no position is known
+     * @param requestedSequence Sequence number of the last entry applied by the subscriber
+     */
+    synchronized void subscribe(final Subscriber subscriber, final long requestedEpoch,
+            final long requestedSequence) {
+        final List<Entry> backlog = backlogFrom(requestedEpoch, requestedSequence);
+        if (backlog != null) {
+            LOG.debug("Journal for {} resuming subscriber {} with {} entries", tree, subscriber, backlog.size());
+            subscriber.onResumed(epoch, backlog);
+        } else if (initialized) {
+            LOG.debug("Journal for {} cannot resume subscriber {} from {}/{}, resyncing at {}", tree, subscriber,
+                requestedEpoch, requestedSequence, lastSequence);
+            subscriber.onResync(epoch, lastSequence, lastCandidate);
+        } else {
+            LOG.debug("Journal for {} deferring resync of subscriber {} until initial data", tree, subscriber);
+            awaitingInitial.add(subscriber);
+        }
+        subscribers.add(subscriber);
+    }
+
+    synchronized void unsubscribe(final Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        awaitingInitial.remove(subscriber);
+    }
+
+    void close() {
+        reg.close();
+        synchronized (this) {
+            entries.clear();
+            subscribers.clear();
+            awaitingInitial.clear();
+        }
+    }
+
+    @Override
+    public synchronized void onInitialData() {
+        initialize(null);
+    }
+
+    @Override
+    public synchronized void onDataTreeChanged(final Collection<DataTreeCandidate> changes) {
+        final Iterator<DataTreeCandidate> it = changes.iterator();
+        if (!initialized) {
+            // The first candidate is the initial state, which is not a change and is acquired by subscribers as
+            // a snapshot
+            initialize(it.next());
+        }
+        if (!it.hasNext()) {
+            return;
+        }
+
+        final List<Entry> added = new ArrayList<>(changes.size());
+        final long now = System.currentTimeMillis();
+        while (it.hasNext()) {
+            lastCandidate = it.next();
+            final Entry entry = new Entry(++lastSequence, lastCandidate, now);
+            added.add(entry);
+            entries.addLast(entry);
+        }
+        while (entries.size() > maxEntries) {
+            entries.removeFirst();
+        }
+
+        final Batch batch = new Batch(added);
+        for (Subscriber subscriber : subscribers) {
+            subscriber.onEntries(batch);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("tree", tree).add("epoch", epoch).toString();
+    }
+
+    @Holding("this")
+    private void initialize(final @Nullable DataTreeCandidate initial) {
+        initialized = true;
+        lastCandidate = initial;
+        for (Subscriber subscriber : awaitingInitial) {
+            subscriber.onResync(epoch, lastSequence, initial);
+        }
+        awaitingInitial.clear();
+    }
+
+    @GuardedBy("this")
+    private @Nullable List<Entry> backlogFrom(final long requestedEpoch, final long requestedSequence) {
+        if (requestedEpoch != epoch || requestedSequence > lastSequence) {
+            return null;
+        }
+
+        final long firstSequence = entries.isEmpty() ? lastSequence + 1 : entries.getFirst().sequence();
+        if (requestedSequence < firstSequence - 1) {
+            // Some entries have already been dropped
+            return null;
+        }
+
+        final List<Entry> ret = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.sequence() > requestedSequence) {
+                ret.add(entry);
+            }
+        }
+        return ret;
+    }
+}
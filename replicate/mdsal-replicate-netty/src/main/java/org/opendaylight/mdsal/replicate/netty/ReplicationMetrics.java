@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.replicate.netty;
+
+import com.google.common.annotations.Beta;
+import io.netty.channel.Channel;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
+
+/**
+ * SPI for observing replication. Implementations are invoked from Netty event loops and encoding threads, hence they
+ * need to be thread-safe and non-blocking. All methods have a no-op default implementation, so that implementations
+ * need to override only what they are interested in. {@link ReplicationStatistics} is a simple in-memory
+ * implementation.
+ */
+@Beta
+public interface ReplicationMetrics {
+    /**
+     * Return a {@link ReplicationMetrics} which ignores all events.
+     *
+     * @return A no-op instance
+     */
+    static @NonNull ReplicationMetrics noop() {
+        return NoopReplicationMetrics.INSTANCE;
+    }
+
+    /**
+     * Invoked when a message is written to a channel.
+     *
+     * @param bytes Message size, not including framing
+     */
+    default void messageSent(final int bytes) {
+        // No-op
+    }
+
+    /**
+     * Invoked when a message is read from a channel.
+     *
+     * @param bytes Message size, not including framing
+     */
+    default void messageReceived(final int bytes) {
+        // No-op
+    }
+
+    /**
+     * Invoked when a channel is flushed or changes its writability, reporting the number of bytes which are queued
+     * for writing, but have not been written to the network yet. Each report replaces the previous one for the same
+     * channel. A channel becoming inactive is reported as having no bytes pending.
+     *
+     * @param channel Reporting channel
+     * @param bytes Number of bytes pending write
+     */
+    default void pendingWriteBytes(final Channel channel, final long bytes) {
+        // No-op
+    }
+
+    /**
+     * Invoked on the source when a number of DataTreeCandidates have been encoded for transmission.
+     *
+     * @param count Number of candidates
+     * @param elapsedNanos Time taken to encode them
+     */
+    default void candidatesEncoded(final int count, final long elapsedNanos) {
+        // No-op
+    }
+
+    /**
+     * Invoked on the source when a sink reports its position in a keepalive message.
+     *
+     * @param tree Replicated subtree
+     * @param candidates Number of candidates the sink has yet to commit, or {@code -1} if the sink is not able to
+     *                   resume from the source's journal
+     */
+    default void sinkBacklog(final DOMDataTreeIdentifier tree, final long candidates) {
+        // No-op
+    }
+
+    /**
+     * Invoked on the sink when a number of DataTreeCandidates have been received and decoded.
+     *
+     * @param count Number of candidates
+     * @param elapsedNanos Time taken to decode them
+     */
+    default void candidatesDecoded(final int count, final long elapsedNanos) {
+        // No-op
+    }
+
+    /**
+     * Invoked on the sink when a transaction containing a number of DataTreeCandidates has been committed.
+     *
+     * @param count Number of candidates
+     * @param elapsedNanos Time taken to commit the transaction
+     */
+    default void candidatesCommitted(final int count, final long elapsedNanos) {
+        // No-op
+    }
+
+    /**
+     * Invoked on the sink when a transaction has been committed, reporting the time elapsed since the source has
+     * observed the most recent change the transaction contains. The value is based on wall clock time of both source
+     * and sink, hence its accuracy depends on their clocks being synchronized.
+     *
+     * @param tree Replicated subtree
+     * @param lagMillis Replication lag, in milliseconds
+     */
+    default void replicationLag(final DOMDataTreeIdentifier tree, final long lagMillis) {
+        // No-op
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.replicate.netty;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableMap;
+import io.netty.channel.Channel;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
+import org.opendaylight.yangtools.util.DurationStatisticsTracker;
+
+/**
+ * In-memory {@link ReplicationMetrics}, keeping counters of transferred messages and candidates, durations of their
+ * processing and the last reported lag of each replicated subtree. A single instance can be shared by any number of
+ * channels.
+ */
+@Beta
+public final class ReplicationStatistics implements ReplicationMetrics {
+    private final DurationStatisticsTracker encodeDurations = DurationStatisticsTracker.createConcurrent();
+    private final DurationStatisticsTracker decodeDurations = DurationStatisticsTracker.createConcurrent();
+    private final DurationStatisticsTracker commitDurations = DurationStatisticsTracker.createConcurrent();
+    private final Map<DOMDataTreeIdentifier, Long> sinkBacklogs = new ConcurrentHashMap<>();
+    private final Map<DOMDataTreeIdentifier, Long> replicationLags = new ConcurrentHashMap<>();
+    // Only channels with a non-zero number of bytes pending write are tracked
+    private final Map<Channel, Long> pendingWriteBytes = new ConcurrentHashMap<>();
+    private final LongAdder messagesSent = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder messagesReceived = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final LongAdder candidatesEncoded = new LongAdder();
+    private final LongAdder candidatesDecoded = new LongAdder();
+    private final LongAdder candidatesCommitted = new LongAdder();
+
+    @Override
+    public void messageSent(final int bytes) {
+        messagesSent.increment();
+        bytesSent.add(bytes);
+    }
+
+    @Override
+    public void messageReceived(final int bytes) {
+        messagesReceived.increment();
+        bytesReceived.add(bytes);
+    }
+
+    @Override
+    public void pendingWriteBytes(final Channel channel, final long bytes) {
+        if (bytes != 0) {
+            pendingWriteBytes.put(channel, bytes);
+        } else {
+            pendingWriteBytes.remove(channel);
+        }
+    }
+
+    @Override
+    public void candidatesEncoded(final int count, final long elapsedNanos) {
+        candidatesEncoded.add(count);
+        encodeDurations.addDuration(elapsedNanos);
+    }
+
+    @Override
+    public void sinkBacklog(final DOMDataTreeIdentifier tree, final long candidates) {
+        sinkBacklogs.put(tree, candidates);
+    }
+
+    @Override
+    public void candidatesDecoded(final int count, final long elapsedNanos) {
+        candidatesDecoded.add(count);
+        decodeDurations.addDuration(elapsedNanos);
+    }
+
+    @Override
+    public void candidatesCommitted(final int count, final long elapsedNanos) {
+        candidatesCommitted.add(count);
+        commitDurations.addDuration(elapsedNanos);
+    }
+
+    @Override
+    public void replicationLag(final DOMDataTreeIdentifier tree, final long lagMillis) {
+        replicationLags.put(tree, lagMillis);
+    }
+
+    public long getMessagesSent() {
+        return messagesSent.sum();
+    }
+
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    public long getMessagesReceived() {
+        return messagesReceived.sum();
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+    /**
+     * Return the total number of bytes pending write, as last reported by each channel.
+     *
+     * @return Number of bytes pending write
+     */
+    public long getPendingWriteBytes() {
+        return pendingWriteBytes.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long getCandidatesEncoded() {
+        return candidatesEncoded.sum();
+    }
+
+    public long getCandidatesDecoded() {
+        return candidatesDecoded.sum();
+    }
+
+    public long getCandidatesCommitted() {
+        return candidatesCommitted.sum();
+    }
+
+    public @NonNull DurationStatisticsTracker getEncodeDurations() {
+        return encodeDurations;
+    }
+
+    public @NonNull DurationStatisticsTracker getDecodeDurations() {
+        return decodeDurations;
+    }
+
+    public @NonNull DurationStatisticsTracker getCommitDurations() {
+        return commitDurations;
+    }
+
+    /**
+     * Return a snapshot of the number of candidates each sink has yet to commit, as last reported by its keepalive
+     * messages. This is maintained on the source only.
+     *
+     * @return Per-subtree sink backlogs
+     */
+    public @NonNull Map<DOMDataTreeIdentifier, Long> getSinkBacklogs() {
+        return ImmutableMap.copyOf(sinkBacklogs);
+    }
+
+    /**
+     * Return a snapshot of the last replication lag of each subtree, in milliseconds. This is maintained on the sink
+     * only.
+     *
+     * @return Per-subtree replication lags
+     */
+    public @NonNull Map<DOMDataTreeIdentifier, Long> getReplicationLags() {
+        return ImmutableMap.copyOf(replicationLags);
+    }
+
+    /**
+     * Reset all statistics.
+     */
+    public void reset() {
+        encodeDurations.reset();
+        decodeDurations.reset();
+        commitDurations.reset();
+        sinkBacklogs.clear();
+        replicationLags.clear();
+        messagesSent.reset();
+        bytesSent.reset();
+        messagesReceived.reset();
+        bytesReceived.reset();
+        candidatesEncoded.reset();
+        candidatesDecoded.reset();
+        candidatesCommitted.reset();
+        pendingWriteBytes.clear();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("messagesSent", getMessagesSent())
+            .add("messagesReceived", getMessagesReceived())
+            .add("candidatesEncoded", getCandidatesEncoded())
+            .add("candidatesCommitted", getCandidatesCommitted())
+            .toString();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.replicate.netty;
+
+import com.google.common.base.MoreObjects;
+import io.netty.buffer.ByteBuf;
+import java.io.DataOutput;
+import java.io.IOException;
+import org.checkerframework.checker.lock.qual.GuardedBy;
+
+/**
+ * Position of the last candidate committed by a sink, expressed in terms of the source's {@link ReplicationJournal}.
+ * It is retained across reconnects, so that the sink can request the source to resume from it.
+ */
+final class SinkPosition {
+    @GuardedBy("this")
+    private long epoch;
+    @GuardedBy("this")
+    private long sequence;
+
+    /**
+     * Write this position as the resume request of a {@link Constants#MSG_SUBSCRIBE_REQ}. Nothing is written if the
+     * position is not known.
+     *
+     * @param out Output to write to
+     * @throws IOException if an I/O error occurs
+     */
+    synchronized void writeTo(final DataOutput out) throws IOException {
+        if (epoch != 0) {
+            out.writeLong(epoch);
+            out.writeLong(sequence);
+        }
+    }
+
+    /**
+     * Write this position into a {@link Constants#MSG_PONG}. Unknown position is written with an epoch of {@code 0}.
+     *
+     * @param buf Buffer to write to
+     */
+    synchronized void writeTo(final ByteBuf buf) {
+        buf.writeLong(epoch).writeLong(sequence);
+    }
+
+    /**
+     * Record that a candidate with a particular sequence number has been committed.
+     *
+     * @param newEpoch Journal epoch of the candidate
+     * @param newSequence Sequence number of the candidate
+     */
+    synchronized void committed(final long newEpoch, final long newSequence) {
+        if (newEpoch != epoch || newSequence > sequence) {
+            epoch = newEpoch;
+            sequence = newSequence;
+        }
+    }
+
+    /**
+     * Invalidate this position. This needs to be done when the source cannot resume from it, as local data will
+     * become inconsistent until a new snapshot is committed.
+     */
+    synchronized void invalidate() {
+        epoch = 0;
+        sequence = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return MoreObjects.toStringHelper(this).add("epoch", epoch).add("sequence", sequence).toString();
+    }
+}
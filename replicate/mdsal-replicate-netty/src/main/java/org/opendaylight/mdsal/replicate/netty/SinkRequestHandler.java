@@ -7,6 +7,7 @@
  */
 package org.opendaylight.mdsal.replicate.netty;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Verify.verify;
 import static java.util.Objects.requireNonNull;
@@ -15,13 +16,16 @@ import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.MoreExecutors;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
-import io.netty.buffer.Unpooled;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.EventLoop;
 import io.netty.channel.SimpleChannelInboundHandler;
+import java.io.DataInputStream;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import org.opendaylight.mdsal.common.api.CommitInfo;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteTransaction;
@@ -40,17 +44,71 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 final class SinkRequestHandler extends SimpleChannelInboundHandler<ByteBuf> {
+    /**
+     * State of a single subscription, identified by its index in {@link SinkRequestHandler#subscriptions}.
+     */
+    private static final class Subscription {
+        final DOMDataTreeIdentifier tree;
+        final SinkPosition position;
+
+        // Compression of DataTreeCandidate streams, as acknowledged by the source
+        StreamCompression compression = StreamCompression.NONE;
+        // Journal epoch of this subscription, as reported by the source
+        long epoch;
+        // Sequence number of the last candidate merged into the pending transaction, -1 if there is none
+        long pendingSequence = -1;
+        // True while receiving the complete state, which cannot be resumed from until it has been fully applied
+        boolean snapshotting;
+        // Number of times the source has resynchronized this subscription, positions reached before the last resync
+        // are not recorded
+        int generation;
+        // Source timestamp of the last stream merged into the pending transaction, 0 if there is none
+        long pendingTimestamp;
+
+        Subscription(final DOMDataTreeIdentifier tree, final SinkPosition position) {
+            this.tree = requireNonNull(tree);
+            this.position = requireNonNull(position);
+        }
+    }
+
     private static final Logger LOG = LoggerFactory.getLogger(SinkRequestHandler.class);
     private static final ContainerNode EMPTY_ROOT = ImmutableNodes.containerNode(SchemaContext.NAME);
 
     private final ReusableStreamReceiver receiver = ReusableImmutableNormalizedNodeStreamWriter.create();
-    private final List<ByteBuf> chunks = new ArrayList<>();
-    private final DOMDataTreeIdentifier tree;
+    private final List<Subscription> subscriptions;
+    private final ReplicationMetrics metrics;
     private final DOMTransactionChain chain;
+    private final int maxBatchSize;
 
-    SinkRequestHandler(final DOMDataTreeIdentifier tree, final DOMTransactionChain chain) {
-        this.tree = requireNonNull(tree);
+    // Chunks of the DataTreeCandidate being received, accumulated without copying
+    private CompositeByteBuf chunks;
+
+    // All state below is accessed from the channel's event loop only. While a commit is in flight, received candidates
+    // are merged into a single pending transaction, which is committed once the chain becomes idle or the batch
+    // reaches maxBatchSize.
+    private DOMDataTreeWriteTransaction pendingTx;
+    private int pendingCount;
+    private int inflightCommits;
+    // Set once the source has confirmed it speaks our protocol version
+    private boolean versioned;
+
+    /**
+     * Create a new handler.
+     *
+     * @param trees Subscribed trees and their positions, in the order of their subscription
+     * @param chain Transaction chain to apply data to
+     * @param maxBatchSize Maximum number of candidates merged into a single transaction
+     * @param metrics Metrics to report decoding and commits to
+     */
+    SinkRequestHandler(final Map<DOMDataTreeIdentifier, SinkPosition> trees, final DOMTransactionChain chain,
+            final int maxBatchSize, final ReplicationMetrics metrics) {
+        checkArgument(maxBatchSize > 0, "Invalid batch size %s", maxBatchSize);
+        subscriptions = trees.entrySet().stream()
+            .map(entry -> new Subscription(entry.getKey(), entry.getValue()))
+            .collect(Collectors.toUnmodifiableList());
         this.chain = requireNonNull(chain);
+        this.maxBatchSize = maxBatchSize;
+        this.metrics = requireNonNull(metrics);
     }
 
     @Override
@@ -60,64 +118,226 @@ final class SinkRequestHandler extends SimpleChannelInboundHandler<ByteBuf> {
         final short msgType = msg.readUnsignedByte();
         final Channel channel = ctx.channel();
         LOG.trace("Channel {} received message type {}", channel, msgType);
+        // Keepalive is independent of the protocol version, everything else is not
+        checkState(versioned || msgType == Constants.MSG_VERSION || msgType == Constants.MSG_PING,
+            "Unexpected message type %s before protocol version handshake", msgType);
         switch (msgType) {
+            case Constants.MSG_VERSION:
+                final int sourceVersion = msg.readInt();
+                checkState(sourceVersion == Constants.PROTOCOL_VERSION,
+                    "Source speaks protocol version %s, we speak %s", sourceVersion, Constants.PROTOCOL_VERSION);
+                LOG.debug("Channel {} speaks protocol version {}", channel, sourceVersion);
+                versioned = true;
+                break;
             case Constants.MSG_EMPTY_DATA:
-                handleEmptyData();
+                handleEmptyData(channel.eventLoop(), subscription(msg), msg.readLong());
                 break;
             case Constants.MSG_DTC_CHUNK:
-                chunks.add(msg.retain());
+                if (chunks == null) {
+                    // Do not limit the number of components, as consolidating them would mean copying
+                    chunks = ctx.alloc().compositeBuffer(Integer.MAX_VALUE);
+                }
+                chunks.addComponent(true, msg.retain());
                 break;
             case Constants.MSG_DTC_APPLY:
-                handleDtcApply();
+                final Subscription applied = subscription(msg);
+                handleDtcApply(channel.eventLoop(), applied, msg.readLong());
+                break;
+            case Constants.MSG_COMPRESSION:
+                final Subscription compressed = subscription(msg);
+                compressed.compression = StreamCompression.forId(msg.readByte());
+                LOG.debug("Channel {} tree {} using {} compression", channel, compressed.tree,
+                    compressed.compression);
+                break;
+            case Constants.MSG_JOURNAL:
+                final Subscription journaled = subscription(msg);
+                journaled.epoch = msg.readLong();
+                if (msg.readBoolean()) {
+                    LOG.info("Channel {} tree {} resuming from {}", channel, journaled.tree, journaled.position);
+                } else {
+                    LOG.info("Channel {} tree {} cannot resume from {}, receiving full state", channel,
+                        journaled.tree, journaled.position);
+                    journaled.position.invalidate();
+                    journaled.snapshotting = true;
+                    journaled.pendingSequence = -1;
+                    journaled.generation++;
+                }
+                break;
+            case Constants.MSG_SNAPSHOT_END:
+                handleSnapshotEnd(channel.eventLoop(), subscription(msg), msg.readLong());
                 break;
             case Constants.MSG_PING:
                 LOG.trace("Received PING from Source, sending PONG");
-                ctx.channel().writeAndFlush(Constants.PONG);
+                channel.writeAndFlush(pong(ctx));
                 break;
             default:
                 throw new IllegalStateException("Unexpected message type " + msgType);
         }
     }
 
-    private void handleEmptyData() {
-        final DOMDataTreeWriteTransaction tx = chain.newWriteOnlyTransaction();
+    @Override
+    public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) {
+        LOG.warn("Closing channel {} due to an error", ctx.channel(), cause);
+        ctx.close();
+    }
+
+    @Override
+    public void handlerRemoved(final ChannelHandlerContext ctx) {
+        if (chunks != null) {
+            chunks.release();
+            chunks = null;
+        }
+        if (pendingTx != null) {
+            LOG.debug("Channel {} discarding {} unapplied candidates", ctx.channel(), pendingCount);
+            pendingTx.cancel();
+            pendingTx = null;
+            pendingCount = 0;
+        }
+    }
+
+    private ByteBuf pong(final ChannelHandlerContext ctx) {
+        final ByteBuf ret = ctx.alloc().buffer(5 + subscriptions.size() * 16);
+        ret.writeByte(Constants.MSG_PONG).writeInt(subscriptions.size());
+        for (Subscription subscription : subscriptions) {
+            subscription.position.writeTo(ret);
+        }
+        return ret;
+    }
 
+    private Subscription subscription(final ByteBuf msg) {
+        final int id = msg.readInt();
+        checkState(id >= 0 && id < subscriptions.size(), "Unknown subscription %s", id);
+        return subscriptions.get(id);
+    }
+
+    private void handleEmptyData(final EventLoop loop, final Subscription subscription, final long sequence) {
+        final DOMDataTreeIdentifier tree = subscription.tree;
+        final DOMDataTreeWriteTransaction tx = pendingTransaction();
         if (tree.getRootIdentifier().isEmpty()) {
             tx.put(tree.getDatastoreType(), YangInstanceIdentifier.empty(), EMPTY_ROOT);
         } else {
             tx.delete(tree.getDatastoreType(), tree.getRootIdentifier());
         }
-        commit(tx);
+        subscription.snapshotting = false;
+        candidateAdded(loop, subscription, sequence);
+    }
+
+    private void handleSnapshotEnd(final EventLoop loop, final Subscription subscription, final long sequence) {
+        LOG.info("Tree {} received complete state at {}, replica is ready", subscription.tree, sequence);
+        subscription.snapshotting = false;
+        // Commit an empty transaction, so that the position is recorded only after all chunks have been committed
+        pendingTransaction();
+        candidateAdded(loop, subscription, sequence);
     }
 
-    private void handleDtcApply() throws IOException {
-        checkState(!chunks.isEmpty(), "No chunks to apply");
+    private void handleDtcApply(final EventLoop loop, final Subscription subscription, final long timestamp)
+            throws IOException {
+        checkState(chunks != null, "No chunks to apply");
 
-        final ByteBuf bufs = Unpooled.wrappedBuffer(chunks.toArray(new ByteBuf[0]));
-        chunks.clear();
+        final ByteBuf bufs = chunks;
+        chunks = null;
 
-        final DataTreeCandidate candidate;
-        try (ByteBufInputStream stream = new ByteBufInputStream(bufs)) {
-            candidate = DataTreeCandidateInputOutput.readDataTreeCandidate(NormalizedNodeDataInput.newDataInput(stream),
-                receiver);
+        try (DataInputStream stream = new DataInputStream(subscription.compression.wrap(
+                new ByteBufInputStream(bufs, true)))) {
+            final NormalizedNodeDataInput input = NormalizedNodeDataInput.newDataInput(stream);
+            // The source may have batched multiple candidates into a single stream, apply all of them in order
+            final long start = System.nanoTime();
+            final int count = input.readInt();
+            for (int i = 0; i < count; ++i) {
+                final long sequence = input.readLong();
+                final DataTreeCandidate candidate = DataTreeCandidateInputOutput.readDataTreeCandidate(input,
+                    receiver);
+                DataTreeCandidateUtils.applyToTransaction(pendingTransaction(), subscription.tree.getDatastoreType(),
+                    candidate);
+                if (i == count - 1) {
+                    subscription.pendingTimestamp = timestamp;
+                }
+                candidateAdded(loop, subscription, sequence);
+            }
+            // This includes merging candidates into the pending transaction, but not their commit
+            metrics.candidatesDecoded(count, System.nanoTime() - start);
         }
+    }
 
-        final DOMDataTreeWriteTransaction tx = chain.newWriteOnlyTransaction();
-        DataTreeCandidateUtils.applyToTransaction(tx, tree.getDatastoreType(), candidate);
-        commit(tx);
+    private DOMDataTreeWriteTransaction pendingTransaction() {
+        if (pendingTx == null) {
+            pendingTx = chain.newWriteOnlyTransaction();
+        }
+        return pendingTx;
     }
 
-    private static void commit(final DOMDataTreeWriteTransaction tx) {
+    private void candidateAdded(final EventLoop loop, final Subscription subscription, final long sequence) {
+        pendingCount++;
+        if (!subscription.snapshotting) {
+            subscription.pendingSequence = sequence;
+        }
+        // Commit immediately if the chain is idle, otherwise keep merging into the pending transaction until the
+        // in-flight commit completes or the batch is full
+        if (inflightCommits == 0 || pendingCount >= maxBatchSize) {
+            commitPending(loop);
+        }
+    }
+
+    private void commitPending(final EventLoop loop) {
+        final DOMDataTreeWriteTransaction tx = pendingTx;
+        final int count = pendingCount;
+        pendingTx = null;
+        pendingCount = 0;
+        inflightCommits++;
+
+        // Capture positions reached by this transaction
+        final int size = subscriptions.size();
+        final long[] epochs = new long[size];
+        final long[] sequences = new long[size];
+        final long[] timestamps = new long[size];
+        final int[] generations = new int[size];
+        for (int i = 0; i < size; ++i) {
+            final Subscription subscription = subscriptions.get(i);
+            generations[i] = subscription.generation;
+            epochs[i] = subscription.epoch;
+            sequences[i] = subscription.pendingSequence;
+            timestamps[i] = subscription.pendingTimestamp;
+            subscription.pendingSequence = -1;
+            subscription.pendingTimestamp = 0;
+        }
+
+        LOG.trace("Committing {} candidates", count);
+        final long start = System.nanoTime();
         tx.commit().addCallback(new FutureCallback<CommitInfo>() {
             @Override
             public void onSuccess(final CommitInfo result) {
                 LOG.trace("Transaction committed with {}", result);
+                metrics.candidatesCommitted(count, System.nanoTime() - start);
+                final long now = System.currentTimeMillis();
+                for (int i = 0; i < size; ++i) {
+                    if (timestamps[i] != 0) {
+                        metrics.replicationLag(subscriptions.get(i).tree, now - timestamps[i]);
+                    }
+                }
+                loop.execute(() -> {
+                    for (int i = 0; i < size; ++i) {
+                        final Subscription subscription = subscriptions.get(i);
+                        if (sequences[i] >= 0 && generations[i] == subscription.generation) {
+                            subscription.position.committed(epochs[i], sequences[i]);
+                        }
+                    }
+                    commitCompleted(loop);
+                });
             }
 
             @Override
             public void onFailure(final Throwable cause) {
                 // Handled by transaction chain listener
+                loop.execute(() -> commitCompleted(loop));
             }
         }, MoreExecutors.directExecutor());
     }
+
+    // Not private, as it is invoked from lambdas within an anonymous class
+    void commitCompleted(final EventLoop loop) {
+        inflightCommits--;
+        if (inflightCommits == 0 && pendingTx != null) {
+            commitPending(loop);
+        }
+    }
 }
@@ -9,6 +9,7 @@ package org.opendaylight.mdsal.replicate.netty;
 
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.ListenableFuture;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.ByteBuf;
@@ -19,51 +20,47 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
-import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.timeout.IdleStateHandler;
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map.Entry;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import org.checkerframework.checker.lock.qual.GuardedBy;
 import org.checkerframework.checker.lock.qual.Holding;
-import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
 import org.opendaylight.mdsal.dom.api.DOMDataBroker;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
 import org.opendaylight.mdsal.singleton.common.api.ClusterSingletonService;
 import org.opendaylight.mdsal.singleton.common.api.ServiceGroupIdentifier;
 import org.opendaylight.yangtools.util.concurrent.FluentFutures;
-import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeDataOutput;
 import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeStreamVersion;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-final class SinkSingletonService extends ChannelInitializer<SocketChannel> implements ClusterSingletonService {
+final class SinkSingletonService extends ChannelInitializer<Channel> implements ClusterSingletonService {
     private static final Logger LOG = LoggerFactory.getLogger(SinkSingletonService.class);
     private static final ServiceGroupIdentifier SGID =
             ServiceGroupIdentifier.create(SinkSingletonService.class.getName());
-    // TODO: allow different trees?
-    private static final DOMDataTreeIdentifier TREE = new DOMDataTreeIdentifier(LogicalDatastoreType.CONFIGURATION,
-        YangInstanceIdentifier.empty());
     private static long CHANNEL_CLOSE_TIMEOUT_S = 10;
-    private static final ByteBuf TREE_REQUEST;
-
-    static {
-        try {
-            TREE_REQUEST = Unpooled.unreleasableBuffer(requestTree(TREE));
-        } catch (IOException e) {
-            throw new ExceptionInInitializerError(e);
-        }
-    }
 
     private final BootstrapSupport bootstrapSupport;
     private final DOMDataBroker dataBroker;
-    private final InetSocketAddress sourceAddress;
+    private final SocketAddress sourceAddress;
     private final Duration reconnectDelay;
     private final int maxMissedKeepalives;
     private final Duration keepaliveInterval;
+    private final int maxBatchSize;
+    private final StreamCompression compression;
+    private final ReplicationMetrics metrics;
+    // Subscribed trees in the order of their subscription. Positions are retained across reconnects, so that we can
+    // resume replication.
+    private final ImmutableMap<DOMDataTreeIdentifier, SinkPosition> trees;
 
     @GuardedBy("this")
     private ChannelFuture futureChannel;
@@ -71,14 +68,19 @@ final class SinkSingletonService extends ChannelInitializer<SocketChannel> imple
     private Bootstrap bs;
 
     SinkSingletonService(final BootstrapSupport bootstrapSupport, final DOMDataBroker dataBroker,
-            final InetSocketAddress sourceAddress, final Duration reconnectDelay, final Duration keepaliveInterval,
-            final int maxMissedKeepalives) {
+            final SocketAddress sourceAddress, final Duration reconnectDelay, final Duration keepaliveInterval,
+            final int maxMissedKeepalives, final int maxBatchSize, final StreamCompression compression,
+            final Collection<DOMDataTreeIdentifier> trees, final ReplicationMetrics metrics) {
         this.bootstrapSupport = requireNonNull(bootstrapSupport);
         this.dataBroker = requireNonNull(dataBroker);
         this.sourceAddress = requireNonNull(sourceAddress);
         this.reconnectDelay = requireNonNull(reconnectDelay);
         this.keepaliveInterval = requireNonNull(keepaliveInterval);
         this.maxMissedKeepalives = maxMissedKeepalives;
+        this.maxBatchSize = maxBatchSize;
+        this.compression = requireNonNull(compression);
+        this.metrics = requireNonNull(metrics);
+        this.trees = trees.stream().collect(ImmutableMap.toImmutableMap(tree -> tree, tree -> new SinkPosition()));
         LOG.info("Replication sink from {} waiting for cluster-wide mastership", sourceAddress);
     }
 
@@ -90,7 +92,10 @@ final class SinkSingletonService extends ChannelInitializer<SocketChannel> imple
     @Override
     public synchronized void instantiateServiceInstance() {
         LOG.info("Replication sink started with source {}", sourceAddress);
-        this.bs = bootstrapSupport.newBootstrap();
+        this.bs = bootstrapSupport.newBootstrap(sourceAddress);
+        if (sourceAddress instanceof InetSocketAddress) {
+            bs.option(ChannelOption.SO_KEEPALIVE, true);
+        }
         doConnect();
     }
 
@@ -100,7 +105,6 @@ final class SinkSingletonService extends ChannelInitializer<SocketChannel> imple
         final ScheduledExecutorService group = bs.config().group();
 
         futureChannel = bs
-            .option(ChannelOption.SO_KEEPALIVE, true)
             .handler(this)
             .connect(sourceAddress, null);
         futureChannel.addListener((ChannelFutureListener) future -> channelResolved(future, group));
@@ -140,15 +144,16 @@ final class SinkSingletonService extends ChannelInitializer<SocketChannel> imple
     }
 
     @Override
-    protected void initChannel(final SocketChannel ch) {
+    protected void initChannel(final Channel ch) {
         ch.pipeline()
+            .addLast("frameEncoder", MessageFrameEncoder.INSTANCE)
             .addLast("frameDecoder", new MessageFrameDecoder())
+            .addLast("metricsHandler", new MetricsHandler(metrics))
             .addLast("idleStateHandler", new IdleStateHandler(
                 keepaliveInterval.toNanos() * maxMissedKeepalives, 0, 0, TimeUnit.NANOSECONDS))
             .addLast("keepaliveHandler", new SinkKeepaliveHandler())
-            .addLast("requestHandler", new SinkRequestHandler(TREE, dataBroker.createMergingTransactionChain(
-                new SinkTransactionChainListener(ch))))
-            .addLast("frameEncoder", MessageFrameEncoder.INSTANCE);
+            .addLast("requestHandler", new SinkRequestHandler(trees, dataBroker.createMergingTransactionChain(
+                new SinkTransactionChainListener(ch)), maxBatchSize, metrics));
     }
 
     private synchronized void channelResolved(final ChannelFuture completedFuture,
@@ -158,7 +163,21 @@ final class SinkSingletonService extends ChannelInitializer<SocketChannel> imple
                 final Channel ch = completedFuture.channel();
                 LOG.info("Channel {} established", ch);
                 ch.closeFuture().addListener((ChannelFutureListener) future -> channelClosed(future, group));
-                ch.writeAndFlush(TREE_REQUEST);
+                final List<ByteBuf> requests = new ArrayList<>(trees.size());
+                try {
+                    for (Entry<DOMDataTreeIdentifier, SinkPosition> entry : trees.entrySet()) {
+                        requests.add(requestTree(entry.getKey(), compression, entry.getValue()));
+                    }
+                } catch (IOException e) {
+                    LOG.error("Failed to serialize subscribe request, closing channel {}", ch, e);
+                    requests.forEach(ByteBuf::release);
+                    ch.close();
+                    return;
+                }
+                // Protocol version has to precede any subscription
+                ch.write(ch.alloc().buffer(5).writeByte(Constants.MSG_VERSION).writeInt(Constants.PROTOCOL_VERSION));
+                requests.forEach(ch::write);
+                ch.flush();
             } else {
                 LOG.info("Failed to connect to source {}, reconnecting in {}", sourceAddress,
                     reconnectDelay.getSeconds(), completedFuture.cause());
@@ -181,7 +200,8 @@ final class SinkSingletonService extends ChannelInitializer<SocketChannel> imple
         }
     }
 
-    private static ByteBuf requestTree(final DOMDataTreeIdentifier tree) throws IOException {
+    static ByteBuf requestTree(final DOMDataTreeIdentifier tree, final StreamCompression compression,
+            final SinkPosition position) throws IOException {
         final ByteBuf ret = Unpooled.buffer();
 
         try (ByteBufOutputStream stream = new ByteBufOutputStream(ret)) {
@@ -189,6 +209,8 @@ final class SinkSingletonService extends ChannelInitializer<SocketChannel> imple
             try (NormalizedNodeDataOutput output = NormalizedNodeStreamVersion.current().newDataOutput(stream)) {
                 tree.getDatastoreType().writeTo(output);
                 output.writeYangInstanceIdentifier(tree.getRootIdentifier());
+                output.writeByte(compression.id());
+                position.writeTo(output);
             }
         }
 
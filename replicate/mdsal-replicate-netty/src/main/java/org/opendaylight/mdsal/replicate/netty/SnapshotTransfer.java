@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.replicate.netty;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.Lists;
+import io.netty.channel.Channel;
+import io.netty.util.ReferenceCountUtil;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.mdsal.replicate.netty.ReplicationJournal.Entry;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeStreamVersion;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Transfer of the initial snapshot of a subscribed subtree. The snapshot is split into chunks, each of which is
+ * a self-contained DataTreeCandidate serialization stream. Chunks are encoded in parallel, but written out in order,
+ * with at most {@link #MAX_AHEAD} chunks being encoded ahead of the channel, so that memory used by the transfer does
+ * not grow with the size of the subtree. Writes are suspended while the channel is not writable.
+ */
+final class SnapshotTransfer {
+    private static final Logger LOG = LoggerFactory.getLogger(SnapshotTransfer.class);
+    private static final int MAX_AHEAD = Math.max(2, Runtime.getRuntime().availableProcessors());
+    // Marker of a chunk which failed to encode, compared by identity
+    private static final List<Object> FAILED = Collections.unmodifiableList(new ArrayList<>(0));
+
+    // Encoded chunks, null if the chunk has not been encoded yet or has already been written out
+    private final AtomicReferenceArray<List<Object>> encoded;
+    private final List<List<Entry>> chunks;
+    private final StreamCompression compression;
+    private final NormalizedNodeStreamVersion version;
+    private final ReplicationMetrics metrics;
+    private final Executor executor;
+    private final Runnable onComplete;
+    private final Channel channel;
+    private final int subscription;
+
+    // Accessed from the channel's event loop only
+    private int nextWrite;
+    private boolean failed;
+    private boolean closed;
+
+    /**
+     * Create a new transfer.
+     *
+     * @param channel Channel to write to
+     * @param subscription Subscription identifier
+     * @param chunks Snapshot chunks, as produced by {@link #split(DataTreeCandidate, long, int)}
+     * @param compression Stream compression
+     * @param version Stream version
+     * @param executor Executor to encode chunks on
+     * @param metrics Metrics to report encoding to
+     * @param onComplete Callback invoked on the channel's event loop once all chunks have been written
+     */
+    SnapshotTransfer(final Channel channel, final int subscription, final List<List<Entry>> chunks,
+            final StreamCompression compression, final NormalizedNodeStreamVersion version, final Executor executor,
+            final ReplicationMetrics metrics, final Runnable onComplete) {
+        checkArgument(!chunks.isEmpty(), "Snapshot has no chunks");
+        this.channel = requireNonNull(channel);
+        this.subscription = subscription;
+        this.chunks = requireNonNull(chunks);
+        this.compression = requireNonNull(compression);
+        this.version = requireNonNull(version);
+        this.executor = requireNonNull(executor);
+        this.metrics = requireNonNull(metrics);
+        this.onComplete = requireNonNull(onComplete);
+
+        encoded = new AtomicReferenceArray<>(chunks.size());
+    }
+
+    /**
+     * Split a snapshot into chunks of at most {@code chunkSize} candidates. If the snapshot is a container, it is
+     * written without its lists and containers, so that any stale data is removed. Each container is then split the
+     * same way and each entry of the lists is written by a separate candidate. This way a snapshot of the entire
+     * datastore is split at the lists of its top-level containers. Otherwise the snapshot is transferred as a single
+     * candidate.
+     *
+     * @param snapshot Snapshot candidate
+     * @param sequence Journal sequence number the snapshot corresponds to
+     * @param chunkSize Maximum number of candidates in a chunk
+     * @return Snapshot chunks
+     */
+    static @NonNull List<List<Entry>> split(final DataTreeCandidate snapshot, final long sequence,
+            final int chunkSize) {
+        checkArgument(chunkSize > 0, "Invalid chunk size %s", chunkSize);
+        final Optional<NormalizedNode<?, ?>> optData = snapshot.getRootNode().getDataAfter();
+        final long now = System.currentTimeMillis();
+        if (optData.isEmpty() || !(optData.get() instanceof ContainerNode)) {
+            return List.of(List.of(new Entry(sequence, snapshot, now)));
+        }
+
+        final List<Entry> ret = new ArrayList<>();
+        splitContainer(snapshot.getRootPath(), (ContainerNode) optData.get(), sequence, now, ret);
+        return Lists.partition(ret, chunkSize);
+    }
+
+    private static void splitContainer(final YangInstanceIdentifier path, final ContainerNode data,
+            final long sequence, final long now, final List<Entry> out) {
+        final DataContainerNodeBuilder<NodeIdentifier, ContainerNode> skeleton = Builders.containerBuilder()
+            .withNodeIdentifier(data.getIdentifier());
+        final List<ContainerNode> containers = new ArrayList<>();
+        final List<Entry> entries = new ArrayList<>();
+        for (DataContainerChild<?, ?> child : data.getValue()) {
+            if (child instanceof ContainerNode) {
+                containers.add((ContainerNode) child);
+            } else if (child instanceof MapNode) {
+                final YangInstanceIdentifier listPath = path.node(child.getIdentifier());
+                for (MapEntryNode entry : ((MapNode) child).getValue()) {
+                    entries.add(new Entry(sequence,
+                        DataTreeCandidates.fromNormalizedNode(listPath.node(entry.getIdentifier()), entry), now));
+                }
+            } else {
+                skeleton.withChild(child);
+            }
+        }
+
+        // The skeleton has to be written first, as it replaces the entire subtree
+        out.add(new Entry(sequence, DataTreeCandidates.fromNormalizedNode(path, skeleton.build()), now));
+        for (ContainerNode container : containers) {
+            splitContainer(path.node(container.getIdentifier()), container, sequence, now, out);
+        }
+        out.addAll(entries);
+    }
+
+    /**
+     * Start the transfer. This method does not block.
+     */
+    void start() {
+        LOG.debug("Channel {} subscription {} sending snapshot in {} chunks", channel, subscription, chunks.size());
+        for (int i = 0, end = Math.min(MAX_AHEAD, chunks.size()); i < end; ++i) {
+            submit(i);
+        }
+    }
+
+    private void submit(final int index) {
+        executor.execute(() -> encode(index));
+    }
+
+    /**
+     * Resume writing chunks after the channel has become writable. Must be invoked from the channel's event loop.
+     */
+    void resume() {
+        writeEncoded();
+    }
+
+    /**
+     * Abort the transfer, releasing any chunks which have not been written out. Must be invoked from the channel's
+     * event loop.
+     */
+    void close() {
+        closed = true;
+        releaseEncoded();
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void encode(final int index) {
+        final List<Entry> chunk = chunks.get(index);
+        final List<Object> out = new ArrayList<>();
+        final long start = System.nanoTime();
+        try {
+            AbstractSourceMessage.encodeDeltas(chunk, compression, version, channel.alloc(), out);
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Channel {} subscription {} failed to encode snapshot chunk {}", channel, subscription, index, e);
+            out.forEach(ReferenceCountUtil::release);
+            encoded.set(index, FAILED);
+            channel.eventLoop().execute(this::writeEncoded);
+            return;
+        }
+
+        metrics.candidatesEncoded(chunk.size(), System.nanoTime() - start);
+        out.add(AbstractSourceMessage.apply(channel.alloc(), subscription, chunk));
+        encoded.set(index, out);
+        channel.eventLoop().execute(this::writeEncoded);
+    }
+
+    private void writeEncoded() {
+        if (closed) {
+            // Chunks which completed encoding after we were closed
+            releaseEncoded();
+            return;
+        }
+
+        boolean wrote = false;
+        while (nextWrite < chunks.size() && !failed && channel.isWritable()) {
+            final List<Object> bufs = encoded.getAndSet(nextWrite, null);
+            if (bufs == null) {
+                break;
+            }
+            if (bufs == FAILED) {
+                failed = true;
+                channel.close();
+                break;
+            }
+
+            bufs.forEach(channel::write);
+            wrote = true;
+
+            final int next = nextWrite++ + MAX_AHEAD;
+            if (next < chunks.size()) {
+                submit(next);
+            }
+        }
+
+        if (wrote) {
+            channel.flush();
+            if (nextWrite == chunks.size()) {
+                LOG.debug("Channel {} subscription {} snapshot sent", channel, subscription);
+                onComplete.run();
+            }
+        }
+    }
+
+    private void releaseEncoded() {
+        for (int i = nextWrite; i < chunks.size(); ++i) {
+            final List<Object> bufs = encoded.getAndSet(i, null);
+            if (bufs != null) {
+                bufs.forEach(ReferenceCountUtil::release);
+            }
+        }
+    }
+}
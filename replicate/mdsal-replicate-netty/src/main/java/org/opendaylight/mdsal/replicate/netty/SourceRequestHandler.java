@@ -7,47 +7,306 @@
  */
 package org.opendaylight.mdsal.replicate.netty;
 
+import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Verify.verify;
 import static java.util.Objects.requireNonNull;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import java.io.IOException;
-import java.util.Collection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.checkerframework.checker.lock.qual.Holding;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
-import org.opendaylight.mdsal.dom.api.ClusteredDOMDataTreeChangeListener;
-import org.opendaylight.mdsal.dom.api.DOMDataTreeChangeService;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
-import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.mdsal.replicate.netty.ReplicationJournal.Entry;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
 import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeDataInput;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeStreamVersion;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Final inbound handler on source side. Handles requests coming from sink and reacts to them.
+ * Final inbound handler on source side. Handles requests coming from sink and reacts to them. A sink can subscribe to
+ * any number of subtrees, each subscription being identified by the order in which it was requested, starting at 0.
  */
 final class SourceRequestHandler extends SimpleChannelInboundHandler<ByteBuf> {
     private static final Logger LOG = LoggerFactory.getLogger(SourceRequestHandler.class);
 
-    private final DOMDataTreeChangeService dtcs;
+    /**
+     * Journal subscriber batching reported changes. Changes are accumulated until either {@link #maxBatchSize}
+     * candidates are pending or {@link #flushDelay} elapses, at which point they are written out and flushed. Batches
+     * reported by the journal are written in their shared encoding. If the subscription cannot be resumed, changes are
+     * held back until a snapshot of the subtree, as provided by the journal, has been sent.
+     *
+     * <p>
+     * Nothing is written while the channel is not writable, i.e. while its outbound buffer exceeds its high watermark.
+     * If more than {@link #maxPendingCandidates} changes accumulate in the meantime, they are dropped and the sink is
+     * resynchronized with a fresh snapshot once the channel becomes writable again, so that the amount of memory held
+     * on behalf of a slow sink remains bounded.
+     */
+    private final class DeltaListener implements ReplicationJournal.Subscriber {
+        private final DOMDataTreeIdentifier dataTree;
+        private final StreamCompression compression;
+        private final Channel channel;
+        private final int id;
 
-    private ListenerRegistration<?> reg;
+        @GuardedBy("this")
+        private List<AbstractSourceMessage> pending = new ArrayList<>();
+        @GuardedBy("this")
+        private int pendingCount;
+        @GuardedBy("this")
+        private boolean flushScheduled;
+        // Changes received while waiting for the snapshot, null if the snapshot has been sent
+        @GuardedBy("this")
+        private List<ReplicationJournal.Batch> backlog;
+        @GuardedBy("this")
+        private int backlogCount;
+        // Snapshot being transferred, null if there is none
+        @GuardedBy("this")
+        private SnapshotTransfer transfer;
+        // True if pending changes have been dropped and a resync is needed once the channel becomes writable
+        @GuardedBy("this")
+        private boolean resyncNeeded;
+        @GuardedBy("this")
+        private long snapshotSequence;
 
-    SourceRequestHandler(final DOMDataTreeChangeService dtcs) {
-        this.dtcs = requireNonNull(dtcs);
+        private ReplicationJournal journal;
+
+        DeltaListener(final Channel channel, final int id, final DOMDataTreeIdentifier dataTree,
+                final StreamCompression compression) {
+            this.channel = requireNonNull(channel);
+            this.id = id;
+            this.dataTree = requireNonNull(dataTree);
+            this.compression = requireNonNull(compression);
+        }
+
+        void subscribe(final ReplicationJournal newJournal, final long epoch, final long sequence) {
+            journal = newJournal;
+            journal.subscribe(this, epoch, sequence);
+        }
+
+        void close() {
+            journal.unsubscribe(this);
+            synchronized (this) {
+                if (transfer != null) {
+                    transfer.close();
+                    transfer = null;
+                }
+            }
+        }
+
+        /**
+         * Invoked on the channel's event loop when the channel becomes writable again.
+         */
+        void channelWritable() {
+            synchronized (this) {
+                if (transfer != null) {
+                    transfer.resume();
+                }
+                if (!resyncNeeded) {
+                    flushPending();
+                    return;
+                }
+                resyncNeeded = false;
+            }
+
+            // Journal invokes us with its lock held, hence we must not hold our lock while calling it
+            LOG.info("Channel {} tree {} caught up, resynchronizing", channel, dataTree);
+            journal.unsubscribe(this);
+            subscribe(journal, 0, 0);
+        }
+
+        @Override
+        public synchronized void onResumed(final long epoch, final List<Entry> entries) {
+            LOG.info("Channel {} tree {} resuming with {} changes", channel, dataTree, entries.size());
+            sendJournal(epoch, true);
+            if (!entries.isEmpty()) {
+                enqueue(AbstractSourceMessage.of(id, entries, compression), entries.size());
+            }
+        }
+
+        @Override
+        public synchronized void onResync(final long epoch, final long sequence,
+                final @Nullable DataTreeCandidate last) {
+            LOG.info("Channel {} tree {} needs a snapshot at {}", channel, dataTree, sequence);
+            sendJournal(epoch, false);
+            if (transfer != null) {
+                // Superseded by the snapshot we are about to send
+                transfer.close();
+                transfer = null;
+            }
+            backlog = new ArrayList<>();
+            backlogCount = 0;
+            snapshotSequence = sequence;
+            sendSnapshot(last == null ? null : last.getRootNode().getDataAfter()
+                .map(data -> DataTreeCandidates.fromNormalizedNode(last.getRootPath(), data))
+                .orElse(null));
+        }
+
+        @Override
+        public synchronized void onEntries(final ReplicationJournal.Batch batch) {
+            LOG.debug("Channel {} tree {} has {} changes", channel, dataTree, batch.entries().size());
+            if (backlog != null) {
+                backlog.add(batch);
+                backlogCount += batch.entries().size();
+                if (backlogCount > maxPendingCandidates) {
+                    LOG.warn("Channel {} tree {} is not accepting its snapshot with {} changes held back, closing it",
+                        channel, dataTree, backlogCount);
+                    channel.close();
+                }
+            } else {
+                enqueue(batch);
+            }
+        }
+
+        /**
+         * Send the snapshot of the subtree, followed by any changes held back while it is being transferred. The
+         * snapshot is the state of the subtree at the sequence number it is tagged with, hence the changes held back
+         * are exactly those not included in it.
+         *
+         * @param candidate Snapshot candidate, null if the subtree is not present
+         */
+        @Holding("this")
+        private void sendSnapshot(final @Nullable DataTreeCandidate candidate) {
+            if (candidate == null) {
+                LOG.debug("Channel {} tree {} has empty data", channel, dataTree);
+                channel.writeAndFlush(AbstractSourceMessage.empty(id, snapshotSequence));
+                sendBacklog();
+            } else {
+                transfer = new SnapshotTransfer(channel, id, SnapshotTransfer.split(candidate, snapshotSequence,
+                    maxBatchSize), compression, version, ForkJoinPool.commonPool(), metrics, this::snapshotSent);
+                transfer.start();
+            }
+        }
+
+        private synchronized void snapshotSent() {
+            transfer = null;
+            final ByteBuf msg = channel.alloc().buffer(13);
+            msg.writeByte(Constants.MSG_SNAPSHOT_END).writeInt(id).writeLong(snapshotSequence);
+            channel.writeAndFlush(msg);
+            sendBacklog();
+        }
+
+        @Holding("this")
+        private void sendBacklog() {
+            final List<ReplicationJournal.Batch> held = backlog;
+            backlog = null;
+            backlogCount = 0;
+            held.forEach(this::enqueue);
+        }
+
+        @Holding("this")
+        private void sendJournal(final long epoch, final boolean resumed) {
+            final ByteBuf msg = channel.alloc().buffer(14);
+            msg.writeByte(Constants.MSG_JOURNAL).writeInt(id).writeLong(epoch).writeBoolean(resumed);
+            channel.writeAndFlush(msg);
+        }
+
+        @Holding("this")
+        private void enqueue(final ReplicationJournal.Batch batch) {
+            enqueue(AbstractSourceMessage.of(id, batch, compression), batch.entries().size());
+        }
+
+        @Holding("this")
+        private void enqueue(final AbstractSourceMessage message, final int count) {
+            if (resyncNeeded) {
+                // The snapshot will include this change
+                return;
+            }
+
+            pending.add(message);
+            pendingCount += count;
+            if (pendingCount > maxPendingCandidates && !channel.isWritable()) {
+                LOG.warn("Channel {} tree {} is not keeping up with {} pending changes, dropping them", channel,
+                    dataTree, pendingCount);
+                pending = new ArrayList<>();
+                pendingCount = 0;
+                resyncNeeded = true;
+            } else if (pendingCount >= maxBatchSize) {
+                flushPending();
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                if (flushDelay.isZero()) {
+                    channel.eventLoop().execute(this::scheduledFlush);
+                } else {
+                    channel.eventLoop().schedule(this::scheduledFlush, flushDelay.toNanos(), TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+
+        private synchronized void scheduledFlush() {
+            flushScheduled = false;
+            flushPending();
+        }
+
+        @Holding("this")
+        private void flushPending() {
+            if (!pending.isEmpty() && channel.isWritable()) {
+                LOG.trace("Channel {} tree {} sending {} changes", channel, dataTree, pendingCount);
+                pending.forEach(channel::write);
+                channel.flush();
+                pending = new ArrayList<>();
+                pendingCount = 0;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return channel + "/" + id;
+        }
+    }
+
+    private final List<DeltaListener> subscriptions = new ArrayList<>();
+    private final Function<DOMDataTreeIdentifier, ReplicationJournal> journals;
+    private final NormalizedNodeStreamVersion version;
+    private final ReplicationMetrics metrics;
+    private final Duration flushDelay;
+    private final int maxBatchSize;
+    private final int maxPendingCandidates;
+
+    // Set once the sink has completed the protocol version handshake, accessed from the channel's event loop only
+    private boolean versioned;
+
+    SourceRequestHandler(final Function<DOMDataTreeIdentifier, ReplicationJournal> journals,
+            final NormalizedNodeStreamVersion version, final Duration flushDelay, final int maxBatchSize,
+            final int maxPendingCandidates, final ReplicationMetrics metrics) {
+        this.journals = requireNonNull(journals);
+        this.version = requireNonNull(version);
+        this.flushDelay = requireNonNull(flushDelay);
+        this.maxBatchSize = maxBatchSize;
+        this.maxPendingCandidates = maxPendingCandidates;
+        this.metrics = requireNonNull(metrics);
+    }
+
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) {
+        if (ctx.channel().isWritable()) {
+            LOG.debug("Channel {} became writable", ctx.channel());
+            subscriptions.forEach(DeltaListener::channelWritable);
+        } else {
+            LOG.debug("Channel {} became unwritable, pausing", ctx.channel());
+        }
+        ctx.fireChannelWritabilityChanged();
     }
 
     @Override
     public void channelInactive(final ChannelHandlerContext ctx) {
         LOG.info("Channel {} going inactive", ctx.channel());
-        if (reg != null) {
-            reg.close();
-            reg = null;
-        }
+        subscriptions.forEach(DeltaListener::close);
+        subscriptions.clear();
         ctx.fireChannelInactive();
     }
 
@@ -59,10 +318,20 @@ final class SourceRequestHandler extends SimpleChannelInboundHandler<ByteBuf> {
         final Channel channel = ctx.channel();
         LOG.trace("Channel {} received message type {}", channel, msgType);
         switch (msgType) {
+            case Constants.MSG_VERSION:
+                handshake(channel, msg.readInt());
+                break;
             case Constants.MSG_SUBSCRIBE_REQ:
+                // Sinks which predate the handshake start with a subscribe request and would not understand our data
+                checkState(versioned, "Subscribe request without a protocol version handshake, sink does not speak "
+                    + "version %s", Constants.PROTOCOL_VERSION);
                 subscribe(channel, msg);
                 break;
             case Constants.MSG_PONG:
+                // Keepalive is independent of the protocol version, but the position report is not
+                if (versioned) {
+                    reportBacklogs(msg);
+                }
                 break;
             default:
                 throw new IllegalStateException("Unexpected message type " + msgType);
@@ -75,30 +344,72 @@ final class SourceRequestHandler extends SimpleChannelInboundHandler<ByteBuf> {
         ctx.close();
     }
 
-    private void subscribe(final Channel channel, final ByteBuf msg) throws IOException {
-        verify(reg == null, "Unexpected subscription when already subscribed");
+    private void handshake(final Channel channel, final int sinkVersion) {
+        checkState(!versioned, "Duplicate protocol version handshake");
+        final ChannelFuture future = channel.writeAndFlush(channel.alloc().buffer(5)
+            .writeByte(Constants.MSG_VERSION).writeInt(Constants.PROTOCOL_VERSION));
+        if (sinkVersion != Constants.PROTOCOL_VERSION) {
+            LOG.warn("Channel {} sink speaks protocol version {}, we speak {}, closing", channel, sinkVersion,
+                Constants.PROTOCOL_VERSION);
+            future.addListener(ChannelFutureListener.CLOSE);
+            return;
+        }
+
+        LOG.debug("Channel {} speaks protocol version {}", channel, sinkVersion);
+        versioned = true;
+    }
+
+    private void reportBacklogs(final ByteBuf msg) {
+        final int count = msg.readInt();
+        // The sink may be reporting subscriptions we have not seen yet
+        for (int i = 0, end = Math.min(count, subscriptions.size()); i < end; ++i) {
+            final long epoch = msg.readLong();
+            final long sequence = msg.readLong();
+            final DeltaListener listener = subscriptions.get(i);
+            final ReplicationJournal journal = listener.journal;
+            metrics.sinkBacklog(listener.dataTree, epoch == journal.epoch()
+                ? Math.max(0, journal.lastSequence() - sequence) : -1);
+        }
+    }
 
+    private void subscribe(final Channel channel, final ByteBuf msg) throws IOException {
         final DOMDataTreeIdentifier dataTree;
+        final StreamCompression compression;
+        final long epoch;
+        final long sequence;
         try (ByteBufInputStream input = new ByteBufInputStream(msg)) {
             final NormalizedNodeDataInput normalizedInput = NormalizedNodeDataInput.newDataInput(input);
 
             dataTree = new DOMDataTreeIdentifier(LogicalDatastoreType.readFrom(normalizedInput),
                 normalizedInput.readYangInstanceIdentifier());
+            // Compression is always requested, unknown algorithms fall back to none
+            compression = StreamCompression.forId(normalizedInput.readByte());
+            // Resume position is optional, the sink does not send it unless it has one
+            if (input.available() > 0) {
+                epoch = normalizedInput.readLong();
+                sequence = normalizedInput.readLong();
+            } else {
+                epoch = 0;
+                sequence = 0;
+            }
         }
 
-        LOG.info("Channel {} subscribing to {}", channel, dataTree);
-        reg = dtcs.registerDataTreeChangeListener(dataTree, new ClusteredDOMDataTreeChangeListener() {
-            @Override
-            public void onInitialData() {
-                LOG.debug("Channel {} tree {} has empty data", channel, dataTree);
-                channel.writeAndFlush(AbstractSourceMessage.empty());
-            }
+        for (DeltaListener existing : subscriptions) {
+            verify(!dataTree.equals(existing.dataTree), "Unexpected subscription when already subscribed to %s",
+                dataTree);
+        }
 
-            @Override
-            public void onDataTreeChanged(final Collection<DataTreeCandidate> changes) {
-                LOG.debug("Channel {} tree {} has {} changes", channel, dataTree, changes.size());
-                channel.writeAndFlush(AbstractSourceMessage.of(changes));
-            }
-        });
+        final int id = subscriptions.size();
+        if (compression != StreamCompression.NONE) {
+            // Acknowledge compression before any data is sent
+            final ByteBuf ack = channel.alloc().buffer(6);
+            ack.writeByte(Constants.MSG_COMPRESSION).writeInt(id).writeByte(compression.id());
+            channel.writeAndFlush(ack);
+        }
+
+        LOG.info("Channel {} subscription {} to {} with {} compression", channel, id, dataTree, compression);
+        final DeltaListener listener = new DeltaListener(channel, id, dataTree, compression);
+        subscriptions.add(listener);
+        listener.subscribe(journals.apply(dataTree), epoch, sequence);
     }
 }
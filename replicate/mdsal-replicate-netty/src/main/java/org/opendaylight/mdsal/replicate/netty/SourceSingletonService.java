@@ -13,20 +13,26 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
+import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
-import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.handler.timeout.IdleStateHandler;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import org.checkerframework.checker.lock.qual.GuardedBy;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeChangeService;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
 import org.opendaylight.mdsal.singleton.common.api.ClusterSingletonService;
 import org.opendaylight.mdsal.singleton.common.api.ServiceGroupIdentifier;
 import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeStreamVersion;
@@ -35,32 +41,44 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Cluster Singleton Service handler for delta stream source. Responsible for starting/stopping the delta stream source
- * for a particular port.
+ * for a particular address.
  */
-final class SourceSingletonService extends ChannelInitializer<SocketChannel> implements ClusterSingletonService {
+final class SourceSingletonService extends ChannelInitializer<Channel> implements ClusterSingletonService {
     private static final Logger LOG = LoggerFactory.getLogger(SourceSingletonService.class);
     private static final ServiceGroupIdentifier SGID =
             ServiceGroupIdentifier.create(SourceSingletonService.class.getName());
 
     private final BootstrapSupport bootstrapSupport;
     private final DOMDataTreeChangeService dtcs;
-    private final int listenPort;
+    private final SocketAddress listenAddress;
 
     @GuardedBy("this")
-    private final Collection<SocketChannel> children = new HashSet<>();
+    private final Collection<Channel> children = new HashSet<>();
     private final Duration keepaliveInterval;
     private final int maxMissedKeepalives;
+    private final Duration flushDelay;
+    private final int maxBatchSize;
+    private final int journalSize;
+    private final ReplicationMetrics metrics;
+    @GuardedBy("this")
+    private final Map<DOMDataTreeIdentifier, ReplicationJournal> journals = new HashMap<>();
     @GuardedBy("this")
     private Channel serverChannel;
 
     SourceSingletonService(final BootstrapSupport bootstrapSupport, final DOMDataTreeChangeService dtcs,
-            final int listenPort, final Duration keepaliveInterval, final int maxMissedKeepalives) {
+            final SocketAddress listenAddress, final Duration keepaliveInterval, final int maxMissedKeepalives,
+            final Duration flushDelay, final int maxBatchSize, final int journalSize,
+            final ReplicationMetrics metrics) {
         this.bootstrapSupport = requireNonNull(bootstrapSupport);
         this.dtcs = requireNonNull(dtcs);
-        this.listenPort = listenPort;
+        this.listenAddress = requireNonNull(listenAddress);
         this.keepaliveInterval = requireNonNull(keepaliveInterval);
         this.maxMissedKeepalives = maxMissedKeepalives;
-        LOG.info("Replication source on port {} waiting for cluster-wide mastership", listenPort);
+        this.flushDelay = requireNonNull(flushDelay);
+        this.maxBatchSize = maxBatchSize;
+        this.journalSize = journalSize;
+        this.metrics = requireNonNull(metrics);
+        LOG.info("Replication source on {} waiting for cluster-wide mastership", listenAddress);
     }
 
     @Override
@@ -70,25 +88,29 @@ final class SourceSingletonService extends ChannelInitializer<SocketChannel> imp
 
     @Override
     public synchronized void instantiateServiceInstance() {
-        final ChannelFuture future = bootstrapSupport.newServerBootstrap()
-                .option(ChannelOption.SO_BACKLOG, 3)
-                .childOption(ChannelOption.SO_KEEPALIVE, true)
-                .childHandler(this)
-                .bind(listenPort);
+        final ServerBootstrap bootstrap = bootstrapSupport.newServerBootstrap(listenAddress)
+                .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(
+                    Constants.WRITE_BUFFER_LOW_WATERMARK, Constants.WRITE_BUFFER_HIGH_WATERMARK))
+                .childHandler(this);
+        if (listenAddress instanceof InetSocketAddress) {
+            // TCP-specific options, other transports do not support them
+            bootstrap.option(ChannelOption.SO_BACKLOG, 3).childOption(ChannelOption.SO_KEEPALIVE, true);
+        }
+        final ChannelFuture future = bootstrap.bind(listenAddress);
 
         try {
             future.sync();
         } catch (InterruptedException e) {
-            throw new IllegalStateException("Failed to bind port " + listenPort, e);
+            throw new IllegalStateException("Failed to bind " + listenAddress, e);
         }
 
         serverChannel = future.channel();
-        LOG.info("Replication source started on port {}", listenPort);
+        LOG.info("Replication source started on {}", listenAddress);
     }
 
     @Override
     public synchronized ListenableFuture<?> closeServiceInstance() {
-        LOG.info("Replication source on port {} shutting down", listenPort);
+        LOG.info("Replication source on {} shutting down", listenAddress);
 
         final List<ListenableFuture<Void>> futures = new ArrayList<>();
 
@@ -97,39 +119,52 @@ final class SourceSingletonService extends ChannelInitializer<SocketChannel> imp
         serverChannel = null;
 
         // Close all child channels
-        for (SocketChannel channel : children) {
+        for (Channel channel : children) {
             futures.add(closeChannel(channel));
         }
         children.clear();
 
+        // Close all journals, positions in them become invalid
+        journals.values().forEach(ReplicationJournal::close);
+        journals.clear();
+
         final ListenableFuture<?> ret = Futures.nonCancellationPropagating(Futures.successfulAsList(futures));
         ret.addListener(() -> {
-            LOG.info("Replication source on port {} shut down", listenPort);
+            LOG.info("Replication source on {} shut down", listenAddress);
         }, MoreExecutors.directExecutor());
         return ret;
     }
 
     @Override
-    public synchronized void initChannel(final SocketChannel ch) {
+    public synchronized void initChannel(final Channel ch) {
         if (serverChannel == null) {
             LOG.debug("Channel {} established while shutting down, closing it", ch);
             ch.close();
             return;
         }
 
+        final NormalizedNodeStreamVersion version = NormalizedNodeStreamVersion.current();
         ch.pipeline()
+            .addLast("frameEncoder", MessageFrameEncoder.INSTANCE)
             .addLast("frameDecoder", new MessageFrameDecoder())
+            .addLast("metricsHandler", new MetricsHandler(metrics))
             .addLast("idleStateHandler", new IdleStateHandler(0, keepaliveInterval.toNanos(), 0, TimeUnit.NANOSECONDS))
             .addLast("keepaliveHandler", new SourceKeepaliveHandler(maxMissedKeepalives))
-            .addLast("requestHandler", new SourceRequestHandler(dtcs))
+            .addLast("requestHandler", new SourceRequestHandler(this::journalFor, version, flushDelay,
+                // Once more candidates are pending than the journal can hold, a sink reconnecting would need to be
+                // resynchronized anyway
+                maxBatchSize, Math.max(maxBatchSize, journalSize), metrics))
             // Output, in reverse order
-            .addLast("frameEncoder", MessageFrameEncoder.INSTANCE)
-            .addLast("dtclHandler", new DeltaEncoder(NormalizedNodeStreamVersion.current()));
+            .addLast("dtclHandler", new DeltaEncoder(version, metrics));
         children.add(ch);
 
         LOG.info("Channel {} established", ch);
     }
 
+    private synchronized ReplicationJournal journalFor(final DOMDataTreeIdentifier tree) {
+        return journals.computeIfAbsent(tree, key -> ReplicationJournal.create(dtcs, key, journalSize));
+    }
+
     private static ListenableFuture<Void> closeChannel(final Channel ch) {
         final SettableFuture<Void> ret = SettableFuture.create();
         ch.closeFuture().addListener(chf -> {
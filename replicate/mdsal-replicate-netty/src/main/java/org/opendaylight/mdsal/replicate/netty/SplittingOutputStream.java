@@ -11,7 +11,7 @@ import static com.google.common.base.Verify.verify;
 import static java.util.Objects.requireNonNull;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
+import io.netty.buffer.ByteBufAllocator;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.List;
@@ -19,7 +19,8 @@ import java.util.Objects;
 
 /**
  * An OutputStream which makes sure to slice messages to a maximum size. This prevents array reallocations and
- * GC thrashing on huge objects.
+ * GC thrashing on huge objects. Chunks are allocated from the specified {@link ByteBufAllocator}, which is usually the
+ * channel's, so that they are pooled and can be direct buffers, which the transport can write without further copying.
  */
 final class SplittingOutputStream extends OutputStream {
     private static final int INIT_BUF = 4096;
@@ -28,11 +29,13 @@ final class SplittingOutputStream extends OutputStream {
         verify(INIT_BUF <= Constants.LENGTH_FIELD_MAX);
     }
 
+    private final ByteBufAllocator alloc;
     private final List<Object> out;
 
     private ByteBuf buf;
 
-    SplittingOutputStream(final List<Object> out) {
+    SplittingOutputStream(final ByteBufAllocator alloc, final List<Object> out) {
+        this.alloc = requireNonNull(alloc);
         this.out = requireNonNull(out);
         allocBuffer();
     }
@@ -63,15 +66,19 @@ final class SplittingOutputStream extends OutputStream {
 
     @Override
     public void close() {
-        if (buf.writerIndex() != 0) {
-            out.add(buf);
+        if (buf != null) {
+            // A chunk always contains the message type, hence check for some payload
+            if (buf.writerIndex() > 1) {
+                out.add(buf);
+            } else {
+                buf.release();
+            }
+            buf = null;
         }
-        buf = null;
     }
 
     private void allocBuffer() {
-        // FIXME: use buffer allocator?
-        buf = Unpooled.buffer(INIT_BUF, Constants.LENGTH_FIELD_MAX);
+        buf = alloc.buffer(INIT_BUF, Constants.LENGTH_FIELD_MAX);
         buf.writeByte(Constants.MSG_DTC_CHUNK);
     }
 
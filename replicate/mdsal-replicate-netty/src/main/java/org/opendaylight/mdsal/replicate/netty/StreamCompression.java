@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.replicate.netty;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * Compression applied to DataTreeCandidate serialization streams. The algorithm is requested by the sink in its
+ * {@link Constants#MSG_SUBSCRIBE_REQ} and acknowledged by the source via {@link Constants#MSG_COMPRESSION}. Only the
+ * payload of {@link Constants#MSG_DTC_CHUNK} messages is compressed, framing and control messages are not affected.
+ * Peers which predate {@link Constants#PROTOCOL_VERSION} understand neither the request nor the candidate count which
+ * starts every stream, hence compression is only ever negotiated after the version handshake.
+ */
+enum StreamCompression {
+    /**
+     * No compression.
+     */
+    NONE(0) {
+        @Override
+        OutputStream wrap(final OutputStream out) {
+            return out;
+        }
+
+        @Override
+        InputStream wrap(final InputStream in) {
+            return in;
+        }
+    },
+    /**
+     * Deflate compression, as implemented by {@link Deflater}.
+     */
+    DEFLATE(1) {
+        @Override
+        OutputStream wrap(final OutputStream out) {
+            final Deflater deflater = new Deflater();
+            return new DeflaterOutputStream(out, deflater, BUFFER_SIZE) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        deflater.end();
+                    }
+                }
+            };
+        }
+
+        @Override
+        InputStream wrap(final InputStream in) {
+            final Inflater inflater = new Inflater();
+            return new InflaterInputStream(in, inflater, BUFFER_SIZE) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        inflater.end();
+                    }
+                }
+            };
+        }
+    };
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final byte id;
+
+    StreamCompression(final int id) {
+        this.id = (byte) id;
+    }
+
+    /**
+     * Return the identifier of this algorithm, as used on the wire.
+     *
+     * @return Wire identifier
+     */
+    final byte id() {
+        return id;
+    }
+
+    /**
+     * Wrap an OutputStream, compressing any data written to it. Closing the returned stream closes the wrapped stream.
+     *
+     * @param out Stream to wrap
+     * @return A compressing stream
+     */
+    abstract @NonNull OutputStream wrap(OutputStream out);
+
+    /**
+     * Wrap an InputStream, decompressing any data read from it. Closing the returned stream closes the wrapped stream.
+     *
+     * @param in Stream to wrap
+     * @return A decompressing stream
+     */
+    abstract @NonNull InputStream wrap(InputStream in);
+
+    /**
+     * Return the algorithm corresponding to a wire identifier. Unknown identifiers map to {@link #NONE}, so that a sink
+     * requesting an algorithm unknown to the source falls back to uncompressed transfer.
+     *
+     * @param id Wire identifier
+     * @return Corresponding algorithm
+     */
+    static @NonNull StreamCompression forId(final int id) {
+        for (StreamCompression compression : values()) {
+            if (compression.id == id) {
+                return compression;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Return the algorithm corresponding to a configuration value, such as {@code deflate}.
+     *
+     * @param name Configuration value
+     * @return Corresponding algorithm
+     * @throws IllegalArgumentException if the name does not match any algorithm
+     */
+    static @NonNull StreamCompression forName(final String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -8,6 +8,7 @@
 package org.opendaylight.mdsal.replicate.netty;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
@@ -15,7 +16,9 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 
+import io.netty.channel.local.LocalAddress;
 import java.net.Inet4Address;
+import java.net.InetSocketAddress;
 import java.time.Duration;
 import java.util.concurrent.ExecutionException;
 import org.junit.After;
@@ -41,12 +44,10 @@ import org.opendaylight.yangtools.concepts.Registration;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
-import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
 import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
-import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
 import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
@@ -81,8 +82,9 @@ public class IntegrationTest extends AbstractDataBrokerTest {
     @Test
     public void testSourceToSink() throws InterruptedException, ExecutionException {
         // Make sure to start source...
-        final Registration source = NettyReplication.createSource(support, getDomBroker(), css, true, TEST_PORT,
-            Duration.ZERO, 5);
+        final ReplicationStatistics sourceStats = new ReplicationStatistics();
+        final Registration source = NettyReplication.createSource(support, getDomBroker(), css, true,
+            new InetSocketAddress(TEST_PORT), Duration.ZERO, 5, Duration.ZERO, 1000, 100, sourceStats);
         // ... and give it some time start up and open up the port
         Thread.sleep(1000);
 
@@ -95,8 +97,10 @@ public class IntegrationTest extends AbstractDataBrokerTest {
         doReturn(sinkChain).when(sinkBroker).createMergingTransactionChain(any());
 
         // Kick of the sink ...
+        final ReplicationStatistics sinkStats = new ReplicationStatistics();
         final Registration sink = NettyReplication.createSink(support, sinkBroker, css, true,
-            Inet4Address.getLoopbackAddress(), TEST_PORT, Duration.ZERO, Duration.ZERO, 3);
+            new InetSocketAddress(Inet4Address.getLoopbackAddress(), TEST_PORT), Duration.ZERO, Duration.ZERO, 3, 1,
+            "deflate", "config", sinkStats);
         // ... and sync on it starting up
 
         // verify the connection was established and MSG_EMPTY_DATA was transferred
@@ -112,13 +116,19 @@ public class IntegrationTest extends AbstractDataBrokerTest {
         verify(sinkChain, timeout(2000).times(deltaCount + 1)).newWriteOnlyTransaction();
         verify(sinkTx, timeout(2000).times(deltaCount + 1)).commit();
 
+        // verify that the transfer has been accounted for
+        assertEquals(deltaCount, sourceStats.getCandidatesEncoded());
+        assertTrue(sourceStats.getMessagesSent() >= deltaCount * 2);
+        assertTrue(sinkStats.getMessagesReceived() >= deltaCount * 2);
+        assertTrue(sinkStats.getBytesReceived() > 0);
+
         sink.close();
         source.close();
     }
 
     /**
-     * Add some data first and then start replication. Only 1 change is expected to return from the Source and it
-     * should contain the initial state of the Source's datastore.
+     * Add some data first and then start replication. The initial state of the Source's datastore is expected to be
+     * transferred in chunks, one for the root container and one for each list entry.
      */
     @Test
     public void testReplicateInitialState() throws InterruptedException, ExecutionException {
@@ -128,7 +138,7 @@ public class IntegrationTest extends AbstractDataBrokerTest {
 
         // Make sure to start source...
         final Registration source = NettyReplication.createSource(support, getDomBroker(), css, true, TEST_PORT,
-            Duration.ZERO, 5);
+            Duration.ZERO, 5, Duration.ZERO, 1000, 100);
         // ... and give it some time start up and open up the port
         Thread.sleep(1000);
 
@@ -142,37 +152,72 @@ public class IntegrationTest extends AbstractDataBrokerTest {
 
         // Kick of the sink ...
         final Registration sink = NettyReplication.createSink(support, sinkBroker, css, true,
-            Inet4Address.getLoopbackAddress(), TEST_PORT, Duration.ZERO, Duration.ZERO, 3);
+            Inet4Address.getLoopbackAddress(), TEST_PORT, Duration.ZERO, Duration.ZERO, 3, 1000, "none", "config");
         // ... and sync on it starting up
 
-        // verify the connection was established and MSG_EMPTY_DATA was transferred
+        // verify the connection was established
         verify(sinkBroker, timeout(1000)).createMergingTransactionChain(any());
-        verify(sinkChain, timeout(2000).times(1)).newWriteOnlyTransaction();
 
-        // verify that the initial data invoked onDataTreeChanged() and was transferred to sink
-        ArgumentCaptor<NormalizedNode<?, ?>> dataCaptor = ArgumentCaptor.forClass(NormalizedNode.class);
-        verify(sinkTx, timeout(2000).times(1)).put(any(), any(), dataCaptor.capture());
+        // verify that the initial state was transferred as the root without the list, followed by each list entry
+        final ArgumentCaptor<YangInstanceIdentifier> pathCaptor = ArgumentCaptor.forClass(YangInstanceIdentifier.class);
+        final ArgumentCaptor<NormalizedNode<?, ?>> dataCaptor = ArgumentCaptor.forClass(NormalizedNode.class);
+        verify(sinkTx, timeout(2000).times(deltaCount + 1)).put(any(), pathCaptor.capture(), dataCaptor.capture());
+        assertEquals(YangInstanceIdentifier.empty(), pathCaptor.getAllValues().get(0));
+        assertEquals(ImmutableNodes.containerNode(SchemaContext.NAME), dataCaptor.getAllValues().get(0));
+
         // verify that the initial state contains everything
-        NormalizedNode<?, ?> capturedInitialState = dataCaptor.getAllValues().iterator().next();
-        NormalizedNode<?, ?> expectedEntityState = generateNormalizedNodeForEntities(deltaCount);
-        assertEquals(expectedEntityState, capturedInitialState);
+        final MapNode expectedEntities = generateEntities(deltaCount);
+        final YangInstanceIdentifier listPath = YangInstanceIdentifier.create(expectedEntities.getIdentifier());
+        for (MapEntryNode expected : expectedEntities.getValue()) {
+            final int index = dataCaptor.getAllValues().indexOf(expected);
+            assertTrue(index > 0);
+            assertEquals(listPath.node(expected.getIdentifier()), pathCaptor.getAllValues().get(index));
+        }
+
+        // chunks may be merged into fewer transactions, but the final one records the snapshot as complete
+        verify(sinkTx, timeout(2000).atLeast(2)).commit();
+
+        sink.close();
+        source.close();
+    }
+
+    /**
+     * Replicate over an in-JVM transport, which does not involve the network stack at all.
+     */
+    @Test
+    public void testLocalTransport() throws InterruptedException, ExecutionException {
+        final LocalAddress address = new LocalAddress("replication");
+        final Registration source = NettyReplication.createSource(support, getDomBroker(), css, true, address,
+            Duration.ZERO, 5, Duration.ZERO, 1000, 100, ReplicationMetrics.noop());
+        Thread.sleep(1000);
 
-        verify(sinkTx, timeout(2000).times(1)).commit();
+        final DOMTransactionChain sinkChain = mock(DOMTransactionChain.class);
+        final DOMDataTreeWriteTransaction sinkTx = mock(DOMDataTreeWriteTransaction.class);
+        doReturn(CommitInfo.emptyFluentFuture()).when(sinkTx).commit();
+        doReturn(sinkTx).when(sinkChain).newWriteOnlyTransaction();
+        final DOMDataBroker sinkBroker = mock(DOMDataBroker.class);
+        doReturn(sinkChain).when(sinkBroker).createMergingTransactionChain(any());
+
+        final Registration sink = NettyReplication.createSink(support, sinkBroker, css, true, address,
+            Duration.ZERO, Duration.ZERO, 3, 1, "none", "config", ReplicationMetrics.noop());
+
+        verify(sinkTx, timeout(1000)).put(eq(LogicalDatastoreType.CONFIGURATION), eq(YangInstanceIdentifier.empty()),
+            any(ContainerNode.class));
+
+        final int deltaCount = 5;
+        generateModification(getDataBroker(), deltaCount);
+        verify(sinkTx, timeout(2000).times(deltaCount + 1)).commit();
 
         sink.close();
         source.close();
     }
 
-    private static ContainerNode generateNormalizedNodeForEntities(final int amount) {
+    private static MapNode generateEntities(final int amount) {
         final CollectionNodeBuilder<MapEntryNode, MapNode> builder = ImmutableNodes.mapNodeBuilder(ENTITY_QNAME);
         for (int i = 0; i < amount; i++) {
             builder.withChild(ImmutableNodes.mapEntry(ENTITY_QNAME, ENTITY_NAME_QNAME, "testEntity" + i));
         }
-
-        return Builders.containerBuilder()
-                .withNodeIdentifier(new NodeIdentifier(SchemaContext.NAME))
-                .withChild(builder.build())
-                .build();
+        return builder.build();
     }
 
     private static void generateModification(final DataBroker broker, final int amount)
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.replicate.netty;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import io.netty.buffer.ByteBuf;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeChangeService;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
+import org.opendaylight.mdsal.replicate.netty.ReplicationJournal.Entry;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeStreamVersion;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+@RunWith(MockitoJUnitRunner.StrictStubs.class)
+public class ReplicationJournalTest {
+    private static final DOMDataTreeIdentifier TREE = new DOMDataTreeIdentifier(LogicalDatastoreType.CONFIGURATION,
+        YangInstanceIdentifier.empty());
+
+    private static final class RecordingSubscriber implements ReplicationJournal.Subscriber {
+        final List<Long> sequences = new ArrayList<>();
+        Long resyncSequence;
+        DataTreeCandidate resyncCandidate;
+
+        @Override
+        public void onResumed(final long epoch, final List<Entry> backlog) {
+            backlog.forEach(entry -> sequences.add(entry.sequence()));
+        }
+
+        @Override
+        public void onResync(final long epoch, final long sequence, final DataTreeCandidate last) {
+            resyncSequence = sequence;
+            resyncCandidate = last;
+        }
+
+        @Override
+        public void onEntries(final ReplicationJournal.Batch batch) {
+            batch.entries().forEach(entry -> sequences.add(entry.sequence()));
+        }
+    }
+
+    @Mock
+    private DOMDataTreeChangeService dtcs;
+    @Mock
+    private ListenerRegistration<?> reg;
+
+    @Before
+    public void before() {
+        doReturn(reg).when(dtcs).registerDataTreeChangeListener(any(), any());
+    }
+
+    @Test
+    public void testResume() {
+        final ReplicationJournal journal = ReplicationJournal.create(dtcs, TREE, 2);
+        // Initial state is not journaled
+        journal.onDataTreeChanged(List.of(mock(DataTreeCandidate.class)));
+
+        final RecordingSubscriber first = new RecordingSubscriber();
+        journal.subscribe(first, 0, 0);
+        assertEquals(Long.valueOf(0), first.resyncSequence);
+
+        journal.onDataTreeChanged(List.of(mock(DataTreeCandidate.class), mock(DataTreeCandidate.class)));
+        final DataTreeCandidate last = mock(DataTreeCandidate.class);
+        journal.onDataTreeChanged(List.of(last));
+        assertEquals(List.of(1L, 2L, 3L), first.sequences);
+
+        // Entry 1 has been dropped, hence we can resume only from 1 or later
+        final RecordingSubscriber second = new RecordingSubscriber();
+        journal.subscribe(second, journal.epoch(), 1);
+        assertNull(second.resyncSequence);
+        assertEquals(List.of(2L, 3L), second.sequences);
+
+        final RecordingSubscriber third = new RecordingSubscriber();
+        journal.subscribe(third, journal.epoch(), 0);
+        assertEquals(Long.valueOf(3), third.resyncSequence);
+        assertSame(last, third.resyncCandidate);
+        assertEquals(List.of(), third.sequences);
+
+        // Nothing to replay, but up to date
+        final RecordingSubscriber fourth = new RecordingSubscriber();
+        journal.subscribe(fourth, journal.epoch(), 3);
+        assertNull(fourth.resyncSequence);
+        assertEquals(List.of(), fourth.sequences);
+
+        journal.unsubscribe(first);
+        journal.onDataTreeChanged(List.of(mock(DataTreeCandidate.class)));
+        assertEquals(List.of(1L, 2L, 3L), first.sequences);
+        assertEquals(List.of(2L, 3L, 4L), second.sequences);
+        assertEquals(List.of(4L), fourth.sequences);
+    }
+
+    @Test
+    public void testEpochMismatch() {
+        final ReplicationJournal journal = ReplicationJournal.create(dtcs, TREE, 10);
+        journal.onInitialData();
+        journal.onDataTreeChanged(List.of(mock(DataTreeCandidate.class)));
+
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        journal.subscribe(subscriber, journal.epoch() + 1, 0);
+        assertEquals(Long.valueOf(1), subscriber.resyncSequence);
+        assertEquals(List.of(), subscriber.sequences);
+    }
+
+    @Test
+    public void testResyncBeforeInitialData() {
+        final ReplicationJournal journal = ReplicationJournal.create(dtcs, TREE, 10);
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        journal.subscribe(subscriber, 0, 0);
+        assertNull(subscriber.resyncSequence);
+
+        // Resync happens with the initial state, subsequent changes are reported as entries
+        final DataTreeCandidate initial = mock(DataTreeCandidate.class);
+        journal.onDataTreeChanged(List.of(initial, mock(DataTreeCandidate.class)));
+        assertEquals(Long.valueOf(0), subscriber.resyncSequence);
+        assertSame(initial, subscriber.resyncCandidate);
+        assertEquals(List.of(1L), subscriber.sequences);
+    }
+
+    @Test
+    public void testSharedEncoding() throws IOException {
+        final ReplicationJournal.Batch batch = new ReplicationJournal.Batch(List.of(new Entry(1,
+            DataTreeCandidates.fromNormalizedNode(YangInstanceIdentifier.empty(),
+                ImmutableNodes.containerNode(SchemaContext.NAME)), 0)));
+        final NormalizedNodeStreamVersion version = NormalizedNodeStreamVersion.current();
+
+        final List<ByteBuf> encoded = batch.encoded(StreamCompression.NONE, version);
+        assertFalse(encoded.isEmpty());
+        assertSame(encoded, batch.encoded(StreamCompression.NONE, version));
+        assertNotSame(encoded, batch.encoded(StreamCompression.DEFLATE, version));
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.replicate.netty;
+
+import static org.junit.Assert.assertEquals;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+public class ReplicationStatisticsTest {
+    @Test
+    public void testPendingWriteBytes() {
+        final ReplicationStatistics stats = new ReplicationStatistics();
+        final EmbeddedChannel first = new EmbeddedChannel(new MetricsHandler(stats));
+        final EmbeddedChannel second = new EmbeddedChannel(new MetricsHandler(stats));
+
+        // Reports from different channels add up, reports from the same channel replace each other
+        stats.pendingWriteBytes(first, 100);
+        stats.pendingWriteBytes(second, 20);
+        assertEquals(120, stats.getPendingWriteBytes());
+        stats.pendingWriteBytes(first, 50);
+        assertEquals(70, stats.getPendingWriteBytes());
+
+        // A flushed channel has nothing pending
+        second.flush();
+        assertEquals(50, stats.getPendingWriteBytes());
+
+        // A closed channel no longer contributes
+        first.close();
+        assertEquals(0, stats.getPendingWriteBytes());
+
+        stats.pendingWriteBytes(second, 10);
+        stats.reset();
+        assertEquals(0, stats.getPendingWriteBytes());
+    }
+}
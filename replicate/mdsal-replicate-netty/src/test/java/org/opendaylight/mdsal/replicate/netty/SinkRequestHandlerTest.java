@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.replicate.netty;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.opendaylight.mdsal.common.api.CommitInfo;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeWriteTransaction;
+import org.opendaylight.mdsal.dom.api.DOMTransactionChain;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+
+@RunWith(MockitoJUnitRunner.StrictStubs.class)
+public class SinkRequestHandlerTest {
+    private static final DOMDataTreeIdentifier TREE = new DOMDataTreeIdentifier(LogicalDatastoreType.CONFIGURATION,
+        YangInstanceIdentifier.empty());
+
+    @Mock
+    private DOMTransactionChain chain;
+    @Mock
+    private DOMDataTreeWriteTransaction tx;
+
+    private EmbeddedChannel channel;
+
+    @Before
+    public void before() {
+        channel = new EmbeddedChannel(new SinkRequestHandler(Map.of(TREE, new SinkPosition()), chain, 1,
+            ReplicationMetrics.noop()));
+    }
+
+    @After
+    public void after() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void testDataAfterVersion() {
+        doReturn(tx).when(chain).newWriteOnlyTransaction();
+        doReturn(CommitInfo.emptyFluentFuture()).when(tx).commit();
+
+        channel.writeInbound(version(Constants.PROTOCOL_VERSION));
+        channel.writeInbound(emptyData());
+        assertTrue(channel.isOpen());
+        verify(tx).put(eq(LogicalDatastoreType.CONFIGURATION), eq(YangInstanceIdentifier.empty()), any());
+        verify(tx).commit();
+    }
+
+    @Test
+    public void testDataWithoutVersion() {
+        // A source which predates versioning starts sending data right away, which we cannot interpret
+        channel.writeInbound(emptyData());
+        assertFalse(channel.isOpen());
+        verifyNoInteractions(chain);
+    }
+
+    @Test
+    public void testVersionMismatch() {
+        channel.writeInbound(version(Constants.PROTOCOL_VERSION + 1));
+        assertFalse(channel.isOpen());
+        verifyNoInteractions(chain);
+    }
+
+    private ByteBuf version(final int version) {
+        return channel.alloc().buffer().writeByte(Constants.MSG_VERSION).writeInt(version);
+    }
+
+    private ByteBuf emptyData() {
+        return channel.alloc().buffer().writeByte(Constants.MSG_EMPTY_DATA).writeInt(0).writeLong(0);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.replicate.netty;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+import org.junit.Test;
+import org.opendaylight.mdsal.replicate.netty.ReplicationJournal.Entry;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+public class SnapshotTransferTest {
+    private static final QName CONTAINER = QName.create("urn:test", "container");
+    private static final QName LIST = QName.create("urn:test", "list");
+    private static final QName KEY = QName.create(LIST, "key");
+    private static final QName LEAF = QName.create(LIST, "leaf");
+
+    @Test
+    public void testSplitContainer() {
+        final LeafNode<String> leaf = ImmutableNodes.leafNode(LEAF, "value");
+        final DataTreeCandidate snapshot = DataTreeCandidates.fromNormalizedNode(YangInstanceIdentifier.empty(),
+            Builders.containerBuilder()
+                .withNodeIdentifier(new NodeIdentifier(SchemaContext.NAME))
+                .withChild(leaf)
+                .withChild(ImmutableNodes.mapNodeBuilder(LIST)
+                    .withChild(ImmutableNodes.mapEntry(LIST, KEY, "a"))
+                    .withChild(ImmutableNodes.mapEntry(LIST, KEY, "b"))
+                    .withChild(ImmutableNodes.mapEntry(LIST, KEY, "c"))
+                    .build())
+                .build());
+
+        final List<List<Entry>> chunks = SnapshotTransfer.split(snapshot, 5, 2);
+        assertEquals(2, chunks.size());
+        assertEquals(2, chunks.get(0).size());
+        assertEquals(2, chunks.get(1).size());
+
+        // The root is written without the list
+        final Entry root = chunks.get(0).get(0);
+        assertEquals(5, root.sequence());
+        assertEquals(YangInstanceIdentifier.empty(), root.candidate().getRootPath());
+        assertEquals(Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(SchemaContext.NAME))
+            .withChild(leaf)
+            .build(), root.candidate().getRootNode().getDataAfter().get());
+
+        // Followed by the list entries
+        final Entry last = chunks.get(1).get(1);
+        final NodeIdentifierWithPredicates lastId = NodeIdentifierWithPredicates.of(LIST, KEY, "c");
+        assertEquals(5, last.sequence());
+        assertEquals(YangInstanceIdentifier.create(new NodeIdentifier(LIST), lastId), last.candidate().getRootPath());
+        assertEquals(lastId, ((MapEntryNode) last.candidate().getRootNode().getDataAfter().get()).getIdentifier());
+    }
+
+    @Test
+    public void testSplitRootSubscription() {
+        // A subscription to the entire datastore sees top-level containers as children of the root
+        final LeafNode<String> leaf = ImmutableNodes.leafNode(LEAF, "value");
+        final DataTreeCandidate snapshot = DataTreeCandidates.fromNormalizedNode(YangInstanceIdentifier.empty(),
+            Builders.containerBuilder()
+                .withNodeIdentifier(new NodeIdentifier(SchemaContext.NAME))
+                .withChild(Builders.containerBuilder()
+                    .withNodeIdentifier(new NodeIdentifier(CONTAINER))
+                    .withChild(leaf)
+                    .withChild(ImmutableNodes.mapNodeBuilder(LIST)
+                        .withChild(ImmutableNodes.mapEntry(LIST, KEY, "a"))
+                        .withChild(ImmutableNodes.mapEntry(LIST, KEY, "b"))
+                        .build())
+                    .build())
+                .build());
+
+        final List<List<Entry>> chunks = SnapshotTransfer.split(snapshot, 1, 2);
+        assertEquals(2, chunks.size());
+
+        // The root is written empty, followed by the container without its list
+        final Entry root = chunks.get(0).get(0);
+        assertEquals(YangInstanceIdentifier.empty(), root.candidate().getRootPath());
+        assertEquals(ImmutableNodes.containerNode(SchemaContext.NAME),
+            root.candidate().getRootNode().getDataAfter().get());
+
+        final YangInstanceIdentifier containerPath = YangInstanceIdentifier.create(new NodeIdentifier(CONTAINER));
+        final Entry container = chunks.get(0).get(1);
+        assertEquals(containerPath, container.candidate().getRootPath());
+        assertEquals(Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(CONTAINER))
+            .withChild(leaf)
+            .build(), container.candidate().getRootNode().getDataAfter().get());
+
+        // Each list entry is a separate candidate
+        final NodeIdentifierWithPredicates aId = NodeIdentifierWithPredicates.of(LIST, KEY, "a");
+        final NodeIdentifierWithPredicates bId = NodeIdentifierWithPredicates.of(LIST, KEY, "b");
+        assertEquals(containerPath.node(LIST).node(aId), chunks.get(1).get(0).candidate().getRootPath());
+        assertEquals(containerPath.node(LIST).node(bId), chunks.get(1).get(1).candidate().getRootPath());
+    }
+
+    @Test
+    public void testSplitNonContainer() {
+        final DataTreeCandidate snapshot = DataTreeCandidates.fromNormalizedNode(
+            YangInstanceIdentifier.create(new NodeIdentifier(LEAF)), ImmutableNodes.leafNode(LEAF, "value"));
+
+        final List<List<Entry>> chunks = SnapshotTransfer.split(snapshot, 1, 10);
+        assertEquals(1, chunks.size());
+        assertEquals(1, chunks.get(0).size());
+        assertSame(snapshot, chunks.get(0).get(0).candidate());
+    }
+
+    @Test
+    public void testSplitEmptyContainer() {
+        final ContainerNode root = ImmutableNodes.containerNode(SchemaContext.NAME);
+        final List<List<Entry>> chunks = SnapshotTransfer.split(
+            DataTreeCandidates.fromNormalizedNode(YangInstanceIdentifier.empty(), root), 1, 10);
+        assertEquals(1, chunks.size());
+        assertEquals(root, chunks.get(0).get(0).candidate().getRootNode().getDataAfter().get());
+    }
+}
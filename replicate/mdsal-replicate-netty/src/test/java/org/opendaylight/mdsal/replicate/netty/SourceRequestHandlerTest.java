@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2020 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.mdsal.replicate.netty;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.opendaylight.mdsal.common.api.LogicalDatastoreType;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeChangeService;
+import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNodes;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeStreamVersion;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+@RunWith(MockitoJUnitRunner.StrictStubs.class)
+public class SourceRequestHandlerTest {
+    private static final DOMDataTreeIdentifier TREE = new DOMDataTreeIdentifier(LogicalDatastoreType.CONFIGURATION,
+        YangInstanceIdentifier.empty());
+    private static final DataTreeCandidate DELETE = DataTreeCandidates.newDataTreeCandidate(
+        YangInstanceIdentifier.empty(), DataTreeCandidateNodes.empty(new NodeIdentifier(SchemaContext.NAME)));
+
+    @Mock
+    private DOMDataTreeChangeService dtcs;
+    @Mock
+    private ListenerRegistration<?> reg;
+
+    private ReplicationJournal journal;
+    private EmbeddedChannel channel;
+
+    @Before
+    public void before() {
+        doReturn(reg).when(dtcs).registerDataTreeChangeListener(any(), any());
+        journal = ReplicationJournal.create(dtcs, TREE, 2);
+        journal.onInitialData();
+        channel = new EmbeddedChannel(new SourceRequestHandler(tree -> journal,
+            NormalizedNodeStreamVersion.current(), Duration.ZERO, 1, 2, ReplicationMetrics.noop()));
+    }
+
+    @After
+    public void after() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void testSlowSinkResync() throws IOException {
+        final SinkPosition position = new SinkPosition();
+        position.committed(journal.epoch(), 0);
+        handshake();
+        channel.writeInbound(SinkSingletonService.requestTree(TREE, StreamCompression.NONE, position));
+        assertJournal(true);
+
+        // Changes are written while the channel is writable
+        journal.onDataTreeChanged(List.of(mock(DataTreeCandidate.class)));
+        channel.runPendingTasks();
+        assertTrue(channel.readOutbound() instanceof AbstractSourceMessage);
+
+        // ... held back while it is not ...
+        setWritable(false);
+        journal.onDataTreeChanged(List.of(mock(DataTreeCandidate.class)));
+        journal.onDataTreeChanged(List.of(mock(DataTreeCandidate.class)));
+        channel.runPendingTasks();
+        assertNull(channel.readOutbound());
+
+        // ... and dropped once there are too many of them
+        journal.onDataTreeChanged(List.of(mock(DataTreeCandidate.class)));
+        journal.onDataTreeChanged(List.of(DELETE));
+        channel.runPendingTasks();
+        assertNull(channel.readOutbound());
+
+        // The sink is resynchronized once the channel becomes writable, with the state after the last change and
+        // without replaying any of the changes
+        setWritable(true);
+        assertJournal(false);
+        assertTrue(channel.readOutbound() instanceof AbstractSourceMessage);
+        assertNull(channel.readOutbound());
+
+        // Subsequent changes are written normally
+        journal.onDataTreeChanged(List.of(mock(DataTreeCandidate.class)));
+        channel.runPendingTasks();
+        assertTrue(channel.readOutbound() instanceof AbstractSourceMessage);
+        assertNull(channel.readOutbound());
+    }
+
+    @Test
+    public void testSlowSinkCatchUp() throws IOException {
+        final SinkPosition position = new SinkPosition();
+        position.committed(journal.epoch(), 0);
+        handshake();
+        channel.writeInbound(SinkSingletonService.requestTree(TREE, StreamCompression.NONE, position));
+        assertJournal(true);
+
+        setWritable(false);
+        journal.onDataTreeChanged(List.of(mock(DataTreeCandidate.class)));
+        journal.onDataTreeChanged(List.of(mock(DataTreeCandidate.class)));
+        channel.runPendingTasks();
+        assertNull(channel.readOutbound());
+
+        // Held back changes are written once the channel becomes writable
+        setWritable(true);
+        assertTrue(channel.readOutbound() instanceof AbstractSourceMessage);
+        assertTrue(channel.readOutbound() instanceof AbstractSourceMessage);
+        assertNull(channel.readOutbound());
+    }
+
+    @Test
+    public void testSubscribeWithoutVersion() throws IOException {
+        // A sink which predates versioning starts with a subscribe request and must not receive any data
+        channel.writeInbound(SinkSingletonService.requestTree(TREE, StreamCompression.NONE, new SinkPosition()));
+        assertNull(channel.readOutbound());
+        assertFalse(channel.isOpen());
+    }
+
+    @Test
+    public void testPongBeforeVersion() {
+        // Keepalive works regardless of the protocol version, a sink which predates it does not report positions
+        channel.writeInbound(channel.alloc().buffer().writeByte(Constants.MSG_PONG));
+        assertTrue(channel.isOpen());
+    }
+
+    @Test
+    public void testVersionMismatch() throws IOException {
+        channel.writeInbound(channel.alloc().buffer().writeByte(Constants.MSG_VERSION)
+            .writeInt(Constants.PROTOCOL_VERSION + 1));
+        // The sink is told which version we speak before the connection is closed
+        assertVersion();
+        assertNull(channel.readOutbound());
+        assertFalse(channel.isOpen());
+    }
+
+    private void handshake() {
+        channel.writeInbound(channel.alloc().buffer().writeByte(Constants.MSG_VERSION)
+            .writeInt(Constants.PROTOCOL_VERSION));
+        assertVersion();
+        assertTrue(channel.isOpen());
+    }
+
+    private void assertVersion() {
+        final ByteBuf msg = channel.readOutbound();
+        try {
+            assertEquals(Constants.MSG_VERSION, msg.readByte());
+            assertEquals(Constants.PROTOCOL_VERSION, msg.readInt());
+            assertFalse(msg.isReadable());
+        } finally {
+            msg.release();
+        }
+    }
+
+    private void setWritable(final boolean writable) {
+        channel.unsafe().outboundBuffer().setUserDefinedWritability(1, writable);
+        channel.runPendingTasks();
+        assertEquals(writable, channel.isWritable());
+    }
+
+    private void assertJournal(final boolean resumed) {
+        final ByteBuf msg = channel.readOutbound();
+        try {
+            assertEquals(Constants.MSG_JOURNAL, msg.readByte());
+            assertEquals(0, msg.readInt());
+            assertEquals(journal.epoch(), msg.readLong());
+            assertEquals(resumed, msg.readBoolean());
+            assertFalse(msg.isReadable());
+        } finally {
+            msg.release();
+        }
+    }
+}